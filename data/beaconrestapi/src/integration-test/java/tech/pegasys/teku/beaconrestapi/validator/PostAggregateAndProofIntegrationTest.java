@@ -49,7 +49,7 @@ public class PostAggregateAndProofIntegrationTest extends AbstractDataBackedRest
     final tech.pegasys.teku.api.schema.SignedAggregateAndProof schemaSignedAggregateAndProof =
         new tech.pegasys.teku.api.schema.SignedAggregateAndProof(signedAggregateAndProof);
 
-    doThrow(new RuntimeException()).when(validatorApiChannel).sendAggregateAndProof(any());
+    doThrow(new RuntimeException()).when(validatorApiChannel).sendAggregateAndProofs(any());
 
     Response response =
         post(PostAggregateAndProof.ROUTE, jsonProvider.objectToJSON(schemaSignedAggregateAndProof));
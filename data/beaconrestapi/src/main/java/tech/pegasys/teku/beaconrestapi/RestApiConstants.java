@@ -41,6 +41,9 @@ public class RestApiConstants {
   public static final String PARENT_ROOT = "parent_root";
   public static final String STATUS = "status";
 
+  public static final String HEADER_ACCEPT = "Accept";
+  public static final String HEADER_CONTENT_TYPE_OCTET_STREAM = "application/octet-stream";
+
   public static final String TAG_ADMIN = "Admin";
   public static final String TAG_BEACON = "Beacon";
   public static final String TAG_NODE = "Node";
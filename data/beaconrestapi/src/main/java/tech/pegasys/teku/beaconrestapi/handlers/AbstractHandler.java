@@ -18,11 +18,15 @@ import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
 import java.util.Optional;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
 
 public abstract class AbstractHandler implements Handler {
+  private static final int STREAMING_BUFFER_SIZE = 64 * 1024;
+
   protected final JsonProvider jsonProvider;
 
   protected AbstractHandler(final JsonProvider jsonProvider) {
@@ -93,12 +97,42 @@ public abstract class AbstractHandler implements Handler {
             }));
   }
 
+  /**
+   * Writes the result directly to the response output stream when available so that large responses
+   * are never held in memory as a single serialized string.
+   */
+  protected <T> void handleOptionalStreamingResult(
+      final Context ctx,
+      SafeFuture<Optional<T>> future,
+      StreamingResultProcessor<T> resultProcessor,
+      final int missingStatus) {
+    ctx.result(
+        future.thenApplyChecked(
+            result -> {
+              if (result.isPresent()) {
+                final OutputStream out =
+                    new BufferedOutputStream(ctx.res.getOutputStream(), STREAMING_BUFFER_SIZE);
+                resultProcessor.process(ctx, result.get(), out);
+                out.flush();
+              } else {
+                ctx.status(missingStatus);
+              }
+              return null;
+            }));
+  }
+
   @FunctionalInterface
   public interface ResultProcessor<T> {
     // Process result, returning an optional serialized response
     Optional<String> process(Context context, T result) throws Exception;
   }
 
+  @FunctionalInterface
+  public interface StreamingResultProcessor<T> {
+    // Write the serialized result to the response, which will not be buffered by Javalin
+    void process(Context context, T result, OutputStream out) throws Exception;
+  }
+
   @FunctionalInterface
   public interface ErrorProcessor {
     SafeFuture<String> handleError(Context context, Throwable t);
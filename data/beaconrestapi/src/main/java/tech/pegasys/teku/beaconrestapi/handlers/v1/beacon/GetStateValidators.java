@@ -27,13 +27,14 @@ import static tech.pegasys.teku.beaconrestapi.RestApiConstants.STATUS;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.TAG_V1_BEACON;
 import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_NOT_FOUND;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import io.javalin.http.Context;
 import io.javalin.plugin.openapi.annotations.HttpMethod;
 import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -118,11 +119,12 @@ public class GetStateValidators extends AbstractHandler {
         chainDataProvider.getStateValidators(
             pathParamMap.getOrDefault(PARAM_STATE_ID, "head"), validators, statusFilter);
 
-    handleOptionalResult(ctx, future, this::handleResult, SC_NOT_FOUND);
+    handleOptionalStreamingResult(ctx, future, this::handleResult, SC_NOT_FOUND);
   }
 
-  private Optional<String> handleResult(Context ctx, final List<ValidatorResponse> response)
-      throws JsonProcessingException {
-    return Optional.of(jsonProvider.objectToJSON(new GetStateValidatorsResponse(response)));
+  private void handleResult(
+      final Context ctx, final List<ValidatorResponse> response, final OutputStream out)
+      throws IOException {
+    jsonProvider.writeObject(out, new GetStateValidatorsResponse(response));
   }
 }
@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.beaconrestapi.handlers.v1.beacon;
 
+import static java.util.Arrays.asList;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 import static javax.servlet.http.HttpServletResponse.SC_OK;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.INVALID_BODY_SUPPLIED;
@@ -53,11 +54,15 @@ public class PostAttestationData extends AbstractHandler {
   @OpenApi(
       path = ROUTE,
       method = HttpMethod.POST,
-      summary = "Submit a signed attestation",
+      summary = "Submit signed attestations",
       tags = {TAG_V1_BEACON, TAG_VALIDATOR_REQUIRED},
-      requestBody = @OpenApiRequestBody(content = {@OpenApiContent(from = Attestation.class)}),
+      requestBody =
+          @OpenApiRequestBody(
+              content = {@OpenApiContent(from = Attestation.class, isArray = true)}),
       description =
-          "Submit a signed attestation to the beacon node to be validated and submitted if valid.\n\n"
+          "Submit a signed attestation, or an array of signed attestations, to the beacon node to be "
+              + "validated and submitted if valid. Submitting all attestations for a slot as a "
+              + "single array allows them to be validated as a batch.\n\n"
               + "This endpoint does not protected against slashing.",
       responses = {
         @OpenApiResponse(
@@ -69,12 +74,28 @@ public class PostAttestationData extends AbstractHandler {
   @Override
   public void handle(final Context ctx) throws Exception {
     try {
-      Attestation attestation = jsonProvider.jsonToObject(ctx.body(), Attestation.class);
-      provider.submitAttestation(attestation);
+      final String body = ctx.body();
+      if (isJsonArray(body)) {
+        final Attestation[] attestations = jsonProvider.jsonToObject(body, Attestation[].class);
+        provider.submitAttestations(asList(attestations));
+      } else {
+        final Attestation attestation = jsonProvider.jsonToObject(body, Attestation.class);
+        provider.submitAttestation(attestation);
+      }
       ctx.status(SC_OK);
     } catch (final IllegalArgumentException | JsonMappingException e) {
       ctx.result(BadRequest.badRequest(jsonProvider, e.getMessage()));
       ctx.status(SC_BAD_REQUEST);
     }
   }
+
+  private static boolean isJsonArray(final String body) {
+    for (int i = 0; i < body.length(); i++) {
+      final char c = body.charAt(i);
+      if (!Character.isWhitespace(c)) {
+        return c == '[';
+      }
+    }
+    return false;
+  }
 }
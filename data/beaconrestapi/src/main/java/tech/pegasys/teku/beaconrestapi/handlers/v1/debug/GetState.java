@@ -13,6 +13,8 @@
 
 package tech.pegasys.teku.beaconrestapi.handlers.v1.debug;
 
+import static tech.pegasys.teku.beaconrestapi.RestApiConstants.HEADER_ACCEPT;
+import static tech.pegasys.teku.beaconrestapi.RestApiConstants.HEADER_CONTENT_TYPE_OCTET_STREAM;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.PARAM_STATE_ID;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.PARAM_STATE_ID_DESCRIPTION;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_BAD_REQUEST;
@@ -24,7 +26,6 @@ import static tech.pegasys.teku.beaconrestapi.RestApiConstants.SERVICE_UNAVAILAB
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.TAG_DEBUG;
 import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_NOT_FOUND;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
 import io.javalin.plugin.openapi.annotations.HttpMethod;
@@ -32,6 +33,8 @@ import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
@@ -61,10 +64,19 @@ public class GetState extends AbstractHandler implements Handler {
       method = HttpMethod.GET,
       summary = "Get state",
       tags = {TAG_DEBUG},
-      description = "Returns full BeaconState object for given state_id.",
+      description =
+          "Returns full BeaconState object for given state_id. "
+              + "The state is returned as SSZ if the Accept header requests "
+              + HEADER_CONTENT_TYPE_OCTET_STREAM
+              + ".",
       pathParams = {@OpenApiParam(name = PARAM_STATE_ID, description = PARAM_STATE_ID_DESCRIPTION)},
       responses = {
-        @OpenApiResponse(status = RES_OK, content = @OpenApiContent(from = GetStateResponse.class)),
+        @OpenApiResponse(
+            status = RES_OK,
+            content = {
+              @OpenApiContent(from = GetStateResponse.class),
+              @OpenApiContent(from = String.class, type = HEADER_CONTENT_TYPE_OCTET_STREAM)
+            }),
         @OpenApiResponse(status = RES_BAD_REQUEST),
         @OpenApiResponse(status = RES_NOT_FOUND),
         @OpenApiResponse(status = RES_INTERNAL_ERROR),
@@ -73,13 +85,35 @@ public class GetState extends AbstractHandler implements Handler {
   @Override
   public void handle(@NotNull final Context ctx) throws Exception {
     final Map<String, String> pathParamMap = ctx.pathParamMap();
-    final SafeFuture<Optional<BeaconState>> future =
-        chainDataProvider.getBeaconState(pathParamMap.get(PARAM_STATE_ID));
-    handleOptionalResult(ctx, future, this::handleResult, SC_NOT_FOUND);
+    final String stateId = pathParamMap.get(PARAM_STATE_ID);
+    if (isSszRequested(ctx)) {
+      handleOptionalStreamingResult(
+          ctx,
+          chainDataProvider.getInternalBeaconState(stateId),
+          this::handleSszResult,
+          SC_NOT_FOUND);
+    } else {
+      final SafeFuture<Optional<BeaconState>> future = chainDataProvider.getBeaconState(stateId);
+      handleOptionalStreamingResult(ctx, future, this::handleJsonResult, SC_NOT_FOUND);
+    }
   }
 
-  private Optional<String> handleResult(Context ctx, final BeaconState response)
-      throws JsonProcessingException {
-    return Optional.of(jsonProvider.objectToJSON(new GetStateResponse(response)));
+  private boolean isSszRequested(final Context ctx) {
+    final String accept = ctx.header(HEADER_ACCEPT);
+    return accept != null && accept.contains(HEADER_CONTENT_TYPE_OCTET_STREAM);
+  }
+
+  private void handleSszResult(
+      final Context ctx,
+      final tech.pegasys.teku.datastructures.state.BeaconState state,
+      final OutputStream out)
+      throws IOException {
+    ctx.contentType(HEADER_CONTENT_TYPE_OCTET_STREAM);
+    state.sszSerialize(out);
+  }
+
+  private void handleJsonResult(
+      final Context ctx, final BeaconState response, final OutputStream out) throws IOException {
+    jsonProvider.writeObject(out, new GetStateResponse(response));
   }
 }
@@ -13,13 +13,25 @@
 
 package tech.pegasys.teku.beaconrestapi;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.javalin.core.util.Header;
 import io.javalin.http.Context;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.tuweni.bytes.Bytes;
 import org.mockito.ArgumentCaptor;
 import tech.pegasys.teku.api.ChainDataProvider;
 import tech.pegasys.teku.api.NetworkDataProvider;
@@ -37,6 +49,9 @@ public abstract class AbstractBeaconHandlerTest {
   protected final Eth2Network eth2Network = mock(Eth2Network.class);
 
   protected final Context context = mock(Context.class);
+  private final ByteArrayOutputStream streamedResponse = new ByteArrayOutputStream();
+  // Handlers which stream their response need a real context to write to the response output
+  protected final Context streamingContext = createStreamingContext();
   protected final JsonProvider jsonProvider = new JsonProvider();
   protected final NetworkDataProvider network = new NetworkDataProvider(eth2Network);
 
@@ -72,6 +87,44 @@ public abstract class AbstractBeaconHandlerTest {
     return jsonProvider.jsonToObject(data, clazz);
   }
 
+  protected <T> T getStreamedResponseFromFuture(Class<T> clazz) throws JsonProcessingException {
+    final Bytes data = getStreamedBytesFromFuture();
+    return jsonProvider.jsonToObject(new String(data.toArrayUnsafe(), UTF_8), clazz);
+  }
+
+  protected Bytes getStreamedBytesFromFuture() {
+    verify(streamingContext).result(args.capture());
+    SafeFuture<String> future = args.getValue();
+    assertThat(future).isCompleted();
+    future.join();
+    return Bytes.wrap(streamedResponse.toByteArray());
+  }
+
+  private Context createStreamingContext() {
+    final HttpServletResponse response = mock(HttpServletResponse.class);
+    try {
+      when(response.getOutputStream())
+          .thenReturn(
+              new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                  return true;
+                }
+
+                @Override
+                public void setWriteListener(final WriteListener writeListener) {}
+
+                @Override
+                public void write(final int b) {
+                  streamedResponse.write(b);
+                }
+              });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return spy(new Context(mock(HttpServletRequest.class), response, Map.of()));
+  }
+
   protected BadRequest getBadRequestFromFuture() throws JsonProcessingException {
     verify(context).result(args.capture());
     SafeFuture<String> future = args.getValue();
@@ -16,6 +16,7 @@ package tech.pegasys.teku.beaconrestapi.handlers.v1.beacon;
 import static java.util.Collections.emptySet;
 import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
@@ -57,22 +58,23 @@ public class GetStateValidatorsTest extends AbstractBeaconHandlerTest {
 
   @Test
   public void shouldGetValidatorFromState() throws Exception {
-    when(context.pathParamMap()).thenReturn(Map.of("state_id", "head"));
-    when(context.queryParamMap()).thenReturn(Map.of("id", List.of("1", "2", "3,4")));
+    doReturn(Map.of("state_id", "head")).when(streamingContext).pathParamMap();
+    doReturn(Map.of("id", List.of("1", "2", "3,4"))).when(streamingContext).queryParamMap();
     when(chainDataProvider.getStateValidators("head", List.of("1", "2", "3", "4"), emptySet()))
         .thenReturn(SafeFuture.completedFuture(Optional.of(List.of(validatorResponse))));
-    handler.handle(context);
-    GetStateValidatorsResponse response = getResponseFromFuture(GetStateValidatorsResponse.class);
+    handler.handle(streamingContext);
+    GetStateValidatorsResponse response =
+        getStreamedResponseFromFuture(GetStateValidatorsResponse.class);
     assertThat(response.data).containsExactly(validatorResponse);
   }
 
   @Test
   public void shouldGetNotFoundForMissingState() throws Exception {
-    when(context.pathParamMap()).thenReturn(Map.of("state_id", "1"));
-    when(context.queryParamMap()).thenReturn(Map.of("id", List.of("1")));
+    doReturn(Map.of("state_id", "1")).when(streamingContext).pathParamMap();
+    doReturn(Map.of("id", List.of("1"))).when(streamingContext).queryParamMap();
     when(chainDataProvider.getStateValidators("1", List.of("1"), emptySet()))
         .thenReturn(SafeFuture.completedFuture(Optional.empty()));
-    handler.handle(context);
-    verify(context).status(SC_NOT_FOUND);
+    handler.handle(streamingContext);
+    verify(streamingContext).status(SC_NOT_FOUND);
   }
 }
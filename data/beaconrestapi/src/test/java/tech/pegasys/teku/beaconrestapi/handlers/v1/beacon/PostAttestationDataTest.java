@@ -15,13 +15,16 @@ package tech.pegasys.teku.beaconrestapi.handlers.v1.beacon;
 
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 import static javax.servlet.http.HttpServletResponse.SC_OK;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.javalin.http.Context;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import tech.pegasys.teku.api.ValidatorDataProvider;
 import tech.pegasys.teku.api.schema.Attestation;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
@@ -48,6 +51,32 @@ public class PostAttestationDataTest {
     verify(context).status(SC_OK);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldBeAbleToSubmitMultipleAttestations() throws Exception {
+    final List<Attestation> attestations =
+        List.of(
+            new Attestation(dataStructureUtil.randomAttestation()),
+            new Attestation(dataStructureUtil.randomAttestation()));
+    when(context.body()).thenReturn(" " + jsonProvider.objectToJSON(attestations));
+    handler.handle(context);
+
+    final ArgumentCaptor<List<Attestation>> args = ArgumentCaptor.forClass(List.class);
+    verify(provider).submitAttestations(args.capture());
+    assertThat(args.getValue()).usingRecursiveComparison().isEqualTo(attestations);
+    verify(context).status(SC_OK);
+  }
+
+  @Test
+  void shouldReturnBadRequestIfAnyAttestationInvalid() throws Exception {
+    final Attestation attestation = new Attestation(dataStructureUtil.randomAttestation());
+    when(context.body())
+        .thenReturn("[" + jsonProvider.objectToJSON(attestation) + ", {\"a\": \"field\"}]");
+    handler.handle(context);
+
+    verify(context).status(SC_BAD_REQUEST);
+  }
+
   @Test
   void shouldReturnBadRequestIfAttestationInvalid() throws Exception {
     when(context.body()).thenReturn("{\"a\": \"field\"}");
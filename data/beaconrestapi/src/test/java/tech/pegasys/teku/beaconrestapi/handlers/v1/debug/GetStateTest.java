@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.beaconrestapi.handlers.v1.debug;
+
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.api.response.v1.debug.GetStateResponse;
+import tech.pegasys.teku.api.schema.BeaconState;
+import tech.pegasys.teku.beaconrestapi.AbstractBeaconHandlerTest;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+public class GetStateTest extends AbstractBeaconHandlerTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final tech.pegasys.teku.datastructures.state.BeaconState state =
+      dataStructureUtil.randomBeaconState(16);
+  private final GetState handler = new GetState(chainDataProvider, jsonProvider);
+
+  @BeforeEach
+  void setUp() {
+    doReturn(Map.of("state_id", "head")).when(streamingContext).pathParamMap();
+  }
+
+  @Test
+  public void shouldReturnStateAsJson() throws Exception {
+    when(chainDataProvider.getBeaconState("head"))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(new BeaconState(state))));
+
+    handler.handle(streamingContext);
+
+    final GetStateResponse response = getStreamedResponseFromFuture(GetStateResponse.class);
+    assertThat(response.data).usingRecursiveComparison().isEqualTo(new BeaconState(state));
+    verify(chainDataProvider, never()).getInternalBeaconState("head");
+  }
+
+  @Test
+  public void shouldReturnStateAsSszWhenRequested() throws Exception {
+    doReturn("application/octet-stream").when(streamingContext).header("Accept");
+    when(chainDataProvider.getInternalBeaconState("head"))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(state)));
+
+    handler.handle(streamingContext);
+
+    assertThat(getStreamedBytesFromFuture()).isEqualTo(SimpleOffsetSerializer.serialize(state));
+    verify(streamingContext).contentType("application/octet-stream");
+  }
+
+  @Test
+  public void shouldReturnNotFoundForMissingState() throws Exception {
+    when(chainDataProvider.getBeaconState("head"))
+        .thenReturn(SafeFuture.completedFuture(Optional.empty()));
+
+    handler.handle(streamingContext);
+
+    assertThat(getStreamedBytesFromFuture().isEmpty()).isTrue();
+    verify(streamingContext).status(SC_NOT_FOUND);
+  }
+}
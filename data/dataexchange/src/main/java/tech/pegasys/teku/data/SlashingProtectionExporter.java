@@ -22,12 +22,15 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.api.schema.BLSPubKey;
 import tech.pegasys.teku.api.schema.PublicKeyException;
+import tech.pegasys.teku.data.signingrecord.SigningRecordJournal;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
 import tech.pegasys.teku.data.slashinginterchange.InterchangeFormat;
 import tech.pegasys.teku.data.slashinginterchange.Metadata;
@@ -49,41 +52,71 @@ public class SlashingProtectionExporter {
   }
 
   public void initialise(final Path slashProtectionPath) {
+    // Records in the journal are newer than those in the per-validator files
+    final Map<Bytes, ValidatorSigningRecord> journalRecords = readJournal(slashProtectionPath);
     File slashingProtectionRecords = slashProtectionPath.toFile();
     Arrays.stream(slashingProtectionRecords.listFiles())
         .filter(file -> file.isFile() && file.getName().endsWith(".yml"))
-        .forEach(this::readSlashProtectionFile);
+        .forEach(file -> readSlashProtectionFile(file, journalRecords));
+    journalRecords.forEach(
+        (pubkey, record) ->
+            addSigningHistory(
+                SigningRecordJournal.FILE_NAME, pubkey.toUnprefixedHexString(), record));
   }
 
-  private void readSlashProtectionFile(final File file) {
+  private Map<Bytes, ValidatorSigningRecord> readJournal(final Path slashProtectionPath) {
+    try {
+      return SigningRecordJournal.readRecords(slashProtectionPath);
+    } catch (IOException e) {
+      log.exit(1, "Failed to read from file " + SigningRecordJournal.FILE_NAME, e);
+      return Collections.emptyMap();
+    }
+  }
+
+  private void readSlashProtectionFile(
+      final File file, final Map<Bytes, ValidatorSigningRecord> journalRecords) {
+    final String pubkey = file.getName().substring(0, file.getName().length() - ".yml".length());
+    try {
+      if (journalRecords.containsKey(Bytes.fromHexString(pubkey))) {
+        return;
+      }
+    } catch (IllegalArgumentException e) {
+      log.exit(1, "Public key in file " + file.getName() + " does not appear valid.");
+    }
     try {
       Optional<ValidatorSigningRecord> maybeRecord =
           syncDataAccessor.read(file.toPath()).map(ValidatorSigningRecord::fromBytes);
       if (maybeRecord.isEmpty()) {
         log.exit(1, "Failed to read from file " + file.getName());
       }
-      ValidatorSigningRecord validatorSigningRecord = maybeRecord.get();
+      addSigningHistory(file.getName(), pubkey, maybeRecord.get());
+    } catch (IOException e) {
+      log.exit(1, "Failed to read from file " + file.toString(), e);
+    }
+  }
 
-      if (genesisValidatorsRoot == null
-          && validatorSigningRecord.getGenesisValidatorsRoot() != null) {
-        this.genesisValidatorsRoot = validatorSigningRecord.getGenesisValidatorsRoot();
-      } else if (validatorSigningRecord.getGenesisValidatorsRoot() != null
-          && !genesisValidatorsRoot.equals(validatorSigningRecord.getGenesisValidatorsRoot())) {
-        log.exit(
-            1,
-            "The genesisValidatorsRoot of "
-                + file.getName()
-                + " does not match the expected "
-                + genesisValidatorsRoot.toHexString());
-      }
-      final String pubkey = file.getName().substring(0, file.getName().length() - ".yml".length());
+  private void addSigningHistory(
+      final String source,
+      final String pubkey,
+      final ValidatorSigningRecord validatorSigningRecord) {
+    if (genesisValidatorsRoot == null
+        && validatorSigningRecord.getGenesisValidatorsRoot() != null) {
+      this.genesisValidatorsRoot = validatorSigningRecord.getGenesisValidatorsRoot();
+    } else if (validatorSigningRecord.getGenesisValidatorsRoot() != null
+        && !genesisValidatorsRoot.equals(validatorSigningRecord.getGenesisValidatorsRoot())) {
+      log.exit(
+          1,
+          "The genesisValidatorsRoot of "
+              + source
+              + " does not match the expected "
+              + genesisValidatorsRoot.toHexString());
+    }
+    try {
       log.display("Exporting " + pubkey);
       signingHistoryList.add(
           new SigningHistory(BLSPubKey.fromHexString(pubkey), validatorSigningRecord));
-    } catch (IOException e) {
-      log.exit(1, "Failed to read from file " + file.toString(), e);
     } catch (PublicKeyException e) {
-      log.exit(1, "Public key in file " + file.getName() + " does not appear valid.");
+      log.exit(1, "Public key in file " + source + " does not appear valid.");
     }
   }
 
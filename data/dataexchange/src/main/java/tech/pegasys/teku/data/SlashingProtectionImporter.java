@@ -25,8 +25,11 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.data.signingrecord.SigningRecordJournal;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
 import tech.pegasys.teku.data.slashinginterchange.Metadata;
 import tech.pegasys.teku.data.slashinginterchange.SignedAttestation;
@@ -117,23 +120,76 @@ public class SlashingProtectionImporter {
 
   public void updateLocalRecords(final Path slashingProtectionPath) {
     this.slashingProtectionPath = slashingProtectionPath;
-    data.forEach(this::updateLocalRecord);
+    if (SigningRecordJournal.exists(slashingProtectionPath)) {
+      // Records in the journal take precedence over the per-validator files so must be updated
+      try (SigningRecordJournal journal = SigningRecordJournal.open(slashingProtectionPath)) {
+        data.forEach(signingHistory -> updateJournalRecord(journal, signingHistory));
+      } catch (IOException e) {
+        log.exit(1, "Failed to update " + SigningRecordJournal.FILE_NAME, e);
+      }
+    } else {
+      data.forEach(this::updateLocalRecord);
+    }
     log.display("Updated " + data.size() + " validator slashing protection records");
   }
 
+  private void updateJournalRecord(
+      final SigningRecordJournal journal, final SigningHistory signingHistory) {
+    final Bytes validator = signingHistory.pubkey.toBytes();
+    log.display("Importing " + validator.toUnprefixedHexString().toLowerCase());
+    Optional<ValidatorSigningRecord> existingRecord = journal.getRecord(validator);
+    if (existingRecord.isEmpty()) {
+      existingRecord = readExistingFile(validatorFile(signingHistory));
+    }
+    checkGenesisValidatorsRoot(signingHistory, existingRecord);
+
+    try {
+      journal.append(
+          Map.of(
+              validator,
+              signingHistory.toValidatorSigningRecord(
+                  existingRecord, metadata.genesisValidatorsRoot)));
+    } catch (IOException e) {
+      log.exit(1, "Validator " + signingHistory.pubkey.toHexString() + " was not updated.");
+    }
+  }
+
   private void updateLocalRecord(final SigningHistory signingHistory) {
+    log.display(
+        "Importing " + signingHistory.pubkey.toBytes().toUnprefixedHexString().toLowerCase());
+    Path outputFile = validatorFile(signingHistory);
+    Optional<ValidatorSigningRecord> existingRecord = readExistingFile(outputFile);
+    checkGenesisValidatorsRoot(signingHistory, existingRecord);
+
+    try {
+      syncDataAccessor.syncedWrite(
+          outputFile,
+          signingHistory
+              .toValidatorSigningRecord(existingRecord, metadata.genesisValidatorsRoot)
+              .toBytes());
+    } catch (IOException e) {
+      log.exit(1, "Validator " + signingHistory.pubkey.toHexString() + " was not updated.");
+    }
+  }
+
+  private Path validatorFile(final SigningHistory signingHistory) {
     String validatorString = signingHistory.pubkey.toBytes().toUnprefixedHexString().toLowerCase();
+    return slashingProtectionPath.resolve(validatorString + ".yml");
+  }
 
-    log.display("Importing " + validatorString);
-    Path outputFile = slashingProtectionPath.resolve(validatorString + ".yml");
-    Optional<ValidatorSigningRecord> existingRecord = Optional.empty();
+  private Optional<ValidatorSigningRecord> readExistingFile(final Path outputFile) {
     if (outputFile.toFile().exists()) {
       try {
-        existingRecord = syncDataAccessor.read(outputFile).map(ValidatorSigningRecord::fromBytes);
+        return syncDataAccessor.read(outputFile).map(ValidatorSigningRecord::fromBytes);
       } catch (IOException e) {
         log.exit(1, "Failed to read existing file: " + outputFile.toString());
       }
     }
+    return Optional.empty();
+  }
+
+  private void checkGenesisValidatorsRoot(
+      final SigningHistory signingHistory, final Optional<ValidatorSigningRecord> existingRecord) {
     if (existingRecord.isPresent()
         && metadata.genesisValidatorsRoot.compareTo(existingRecord.get().getGenesisValidatorsRoot())
             != 0) {
@@ -143,15 +199,5 @@ public class SlashingProtectionImporter {
               + signingHistory.pubkey.toHexString()
               + " has a different validators signing root to the data being imported");
     }
-
-    try {
-      syncDataAccessor.syncedWrite(
-          outputFile,
-          signingHistory
-              .toValidatorSigningRecord(existingRecord, metadata.genesisValidatorsRoot)
-              .toBytes());
-    } catch (IOException e) {
-      log.exit(1, "Validator " + signingHistory.pubkey.toHexString() + " was not updated.");
-    }
   }
 }
@@ -269,6 +269,15 @@ public class ChainDataProvider {
         .thenApply(state -> state.map(BeaconState::new));
   }
 
+  /**
+   * Returns the internal state, allowing it to be serialized as SSZ straight from its backing tree
+   * rather than converting it to the API schema.
+   */
+  public SafeFuture<Optional<tech.pegasys.teku.datastructures.state.BeaconState>>
+      getInternalBeaconState(final String stateIdParam) {
+    return defaultStateSelectorFactory.defaultStateSelector(stateIdParam).getState();
+  }
+
   // TODO remove when removing old rest api
   public SafeFuture<Optional<BeaconState>> getStateByStateRoot(final Bytes32 stateRoot) {
     if (!isStoreAvailable()) {
@@ -167,10 +167,20 @@ public class ValidatorDataProvider {
   }
 
   public void submitAttestation(Attestation attestation) {
+    checkNonZeroSignature(attestation);
+    validatorApiChannel.sendSignedAttestation(attestation.asInternalAttestation());
+  }
+
+  public void submitAttestations(List<Attestation> attestations) {
+    attestations.forEach(this::checkNonZeroSignature);
+    validatorApiChannel.sendSignedAttestations(
+        attestations.stream().map(Attestation::asInternalAttestation).collect(toList()));
+  }
+
+  private void checkNonZeroSignature(final Attestation attestation) {
     if (attestation.signature.asInternalBLSSignature().toSSZBytes().isZero()) {
       throw new IllegalArgumentException("Signed attestations must have a non zero signature");
     }
-    validatorApiChannel.sendSignedAttestation(attestation.asInternalAttestation());
   }
 
   public SafeFuture<ValidatorBlockResult> submitSignedBlock(
@@ -204,9 +214,10 @@ public class ValidatorDataProvider {
   }
 
   public void sendAggregateAndProofs(List<SignedAggregateAndProof> aggregateAndProofs) {
-    aggregateAndProofs.stream()
-        .map(SignedAggregateAndProof::asInternalSignedAggregateAndProof)
-        .forEach(validatorApiChannel::sendAggregateAndProof);
+    validatorApiChannel.sendAggregateAndProofs(
+        aggregateAndProofs.stream()
+            .map(SignedAggregateAndProof::asInternalSignedAggregateAndProof)
+            .collect(toList()));
   }
 
   public void subscribeToBeaconCommittee(final List<BeaconCommitteeSubscriptionRequest> requests) {
@@ -21,6 +21,7 @@ import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.core.results.BlockImportResult.FailureReason;
@@ -289,6 +290,41 @@ public class ValidatorDataProviderTest {
         .isInstanceOf(IllegalArgumentException.class);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void submitAttestations_shouldSubmitAllAttestationsTogether() {
+    final List<tech.pegasys.teku.datastructures.operations.Attestation> internalAttestations =
+        List.of(dataStructureUtil.randomAttestation(), dataStructureUtil.randomAttestation());
+    final ArgumentCaptor<List<tech.pegasys.teku.datastructures.operations.Attestation>>
+        attestationsCaptor = ArgumentCaptor.forClass(List.class);
+
+    provider.submitAttestations(
+        internalAttestations.stream().map(Attestation::new).collect(Collectors.toList()));
+
+    verify(validatorApiChannel).sendSignedAttestations(attestationsCaptor.capture());
+    assertThat(attestationsCaptor.getValue())
+        .usingRecursiveComparison()
+        .isEqualTo(internalAttestations);
+  }
+
+  @Test
+  public void submitAttestations_shouldThrowIllegalArgumentExceptionWhenAnySignatureIsEmpty() {
+    final tech.pegasys.teku.datastructures.operations.Attestation unsignedAttestation =
+        new tech.pegasys.teku.datastructures.operations.Attestation(
+            new Bitlist(4, Constants.MAX_VALIDATORS_PER_COMMITTEE),
+            dataStructureUtil.randomAttestationData(),
+            tech.pegasys.teku.bls.BLSSignature.empty());
+
+    assertThatThrownBy(
+            () ->
+                provider.submitAttestations(
+                    List.of(
+                        new Attestation(dataStructureUtil.randomAttestation()),
+                        new Attestation(unsignedAttestation))))
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(validatorApiChannel, never()).sendSignedAttestations(any());
+  }
+
   @Test
   public void submitSignedBlock_shouldReturn200ForSuccess()
       throws ExecutionException, InterruptedException {
@@ -13,11 +13,14 @@
 
 package tech.pegasys.teku.provider;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.io.IOException;
+import java.io.OutputStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.api.schema.BLSPubKey;
@@ -64,6 +67,14 @@ public class JsonProvider {
     return objectMapper.writeValueAsString(object);
   }
 
+  /**
+   * Serializes the object directly to the stream rather than building the full JSON in memory. The
+   * stream is flushed but left open.
+   */
+  public <T> void writeObject(OutputStream out, T object) throws IOException {
+    objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, object);
+  }
+
   public <T> String objectToPrettyJSON(T object) throws JsonProcessingException {
     return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(object);
   }
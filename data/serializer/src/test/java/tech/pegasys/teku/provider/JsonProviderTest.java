@@ -18,6 +18,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
@@ -114,4 +117,14 @@ class JsonProviderTest {
     assertThat(result.epoch).isEqualTo(UInt64.ZERO);
     assertThat(result.pubkeys).isEqualTo(List.of(BLSPubKey.fromHexString(PUBKEY)));
   }
+
+  @Test
+  public void writeObjectShouldMatchObjectToJson() throws IOException {
+    final BeaconState state = new BeaconState(dataStructureUtil.randomBeaconState(16));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    jsonProvider.writeObject(out, state);
+
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(jsonProvider.objectToJSON(state));
+  }
 }
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.data.signingrecord;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An append only log of {@link ValidatorSigningRecord} updates for any number of validators. All
+ * updates are written to a single file so a batch of updates for many validators is made durable
+ * with a single sync rather than one per validator.
+ *
+ * <p>Each entry holds the validator's public key, the serialized record and a checksum. When
+ * opened, the log is replayed with later entries replacing earlier ones for the same validator. An
+ * incomplete entry at the end of the file, left by a crash part way through a write, is discarded.
+ *
+ * <p>As the log grows it is compacted by writing the latest record for each validator to a new file
+ * which then atomically replaces the log.
+ */
+public class SigningRecordJournal implements Closeable {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final String FILE_NAME = "signing-records.journal";
+  private static final String COMPACTION_FILE_NAME = FILE_NAME + ".tmp";
+  private static final long MIN_COMPACTION_SIZE = 16 * 1024 * 1024;
+  private static final int COMPACTION_GROWTH_FACTOR = 4;
+  // Key length, data length and checksum
+  private static final int ENTRY_OVERHEAD = 3 * Integer.BYTES;
+
+  private final Path journalFile;
+  private final Path compactionFile;
+  private final Map<Bytes, ValidatorSigningRecord> records;
+  private final long minCompactionSize;
+  private FileChannel channel;
+  private long compactedSize;
+  // Set when a failed write couldn't be rolled back, leaving a torn entry in the journal
+  private boolean failed = false;
+
+  private SigningRecordJournal(
+      final Path directory,
+      final FileChannel channel,
+      final Map<Bytes, ValidatorSigningRecord> records,
+      final long minCompactionSize) {
+    this.journalFile = directory.resolve(FILE_NAME);
+    this.compactionFile = directory.resolve(COMPACTION_FILE_NAME);
+    this.channel = channel;
+    this.records = records;
+    this.minCompactionSize = minCompactionSize;
+  }
+
+  /**
+   * Opens the journal in the specified directory, creating it if it doesn't exist.
+   *
+   * @param directory the directory to store the journal in
+   * @return the opened journal with all existing records loaded
+   * @throws IOException if an IO error occurs while reading the journal
+   */
+  public static SigningRecordJournal open(final Path directory) throws IOException {
+    return open(directory, MIN_COMPACTION_SIZE);
+  }
+
+  @VisibleForTesting
+  static SigningRecordJournal open(final Path directory, final long minCompactionSize)
+      throws IOException {
+    return open(
+        directory,
+        minCompactionSize,
+        file ->
+            FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE));
+  }
+
+  @VisibleForTesting
+  static SigningRecordJournal open(
+      final Path directory, final long minCompactionSize, final ChannelOpener channelOpener)
+      throws IOException {
+    Files.createDirectories(directory);
+    // A compaction that didn't complete leaves the existing journal untouched
+    Files.deleteIfExists(directory.resolve(COMPACTION_FILE_NAME));
+    final FileChannel channel = channelOpener.open(directory.resolve(FILE_NAME));
+    try {
+      final Map<Bytes, ValidatorSigningRecord> records = new HashMap<>();
+      final long validLength = replay(channel, records);
+      if (validLength < channel.size()) {
+        LOG.warn(
+            "Discarding {} bytes of incomplete signing record updates from {}",
+            channel.size() - validLength,
+            directory.resolve(FILE_NAME));
+        channel.truncate(validLength);
+        channel.force(true);
+      }
+      channel.position(validLength);
+      final SigningRecordJournal journal =
+          new SigningRecordJournal(directory, channel, records, minCompactionSize);
+      journal.compactedSize = validLength;
+      return journal;
+    } catch (final IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public static boolean exists(final Path directory) {
+    return directory.resolve(FILE_NAME).toFile().exists();
+  }
+
+  /**
+   * Reads the latest record for each validator from the journal in the specified directory without
+   * modifying it.
+   *
+   * @param directory the directory containing the journal
+   * @return the latest record for each validator, keyed by compressed public key, or an empty map
+   *     if there is no journal
+   * @throws IOException if an IO error occurs while reading the journal
+   */
+  public static Map<Bytes, ValidatorSigningRecord> readRecords(final Path directory)
+      throws IOException {
+    final Map<Bytes, ValidatorSigningRecord> records = new HashMap<>();
+    if (!exists(directory)) {
+      return records;
+    }
+    try (FileChannel channel =
+        FileChannel.open(directory.resolve(FILE_NAME), StandardOpenOption.READ)) {
+      replay(channel, records);
+    }
+    return records;
+  }
+
+  /**
+   * Deletes the journal in the specified directory, if any, once its records have been stored
+   * elsewhere.
+   *
+   * @param directory the directory containing the journal
+   * @throws IOException if an IO error occurs while deleting the journal
+   */
+  public static void delete(final Path directory) throws IOException {
+    if (Files.deleteIfExists(directory.resolve(FILE_NAME))) {
+      syncDirectory(directory);
+    }
+  }
+
+  public synchronized Optional<ValidatorSigningRecord> getRecord(final Bytes validator) {
+    return Optional.ofNullable(records.get(validator));
+  }
+
+  public synchronized Map<Bytes, ValidatorSigningRecord> getRecords() {
+    return new HashMap<>(records);
+  }
+
+  /**
+   * Appends the specified records to the journal and waits for them to be flushed to hardware
+   * storage before returning.
+   *
+   * @param updatedRecords the new records, keyed by compressed validator public key
+   * @throws IOException if an IO error occurs while writing, or a previous write failed and
+   *     couldn't be undone so no further records can be made durable
+   */
+  public synchronized void append(final Map<Bytes, ValidatorSigningRecord> updatedRecords)
+      throws IOException {
+    if (failed) {
+      throw new IOException(
+          "Signing record journal "
+              + journalFile
+              + " is unusable after a failed write could not be undone");
+    }
+    checkState(channel.isOpen(), "Signing record journal is closed");
+    if (updatedRecords.isEmpty()) {
+      return;
+    }
+    final Map<Bytes, Bytes> serializedRecords = new HashMap<>();
+    updatedRecords.forEach(
+        (validator, record) -> serializedRecords.put(validator, record.toBytes()));
+    final long startPosition = channel.position();
+    try {
+      writeFully(channel, encode(serializedRecords));
+      channel.force(true);
+    } catch (final IOException e) {
+      // Don't leave a partial entry that would hide any entries appended after it
+      try {
+        channel.truncate(startPosition);
+        channel.position(startPosition);
+      } catch (final IOException truncateError) {
+        // Entries appended after the partial one would be reported as durable but discarded on
+        // replay, so refuse all further appends rather than risk signing a slashable message
+        e.addSuppressed(truncateError);
+        failed = true;
+        try {
+          channel.close();
+        } catch (final IOException closeError) {
+          e.addSuppressed(closeError);
+        }
+      }
+      throw e;
+    }
+    records.putAll(updatedRecords);
+
+    if (channel.size() > Math.max(minCompactionSize, compactedSize * COMPACTION_GROWTH_FACTOR)) {
+      compact();
+    }
+  }
+
+  private void compact() throws IOException {
+    final Map<Bytes, Bytes> serializedRecords = new HashMap<>();
+    records.forEach((validator, record) -> serializedRecords.put(validator, record.toBytes()));
+    try (FileChannel compacted =
+        FileChannel.open(
+            compactionFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      writeFully(compacted, encode(serializedRecords));
+      compacted.force(true);
+    }
+    Files.move(
+        compactionFile,
+        journalFile,
+        StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    // The rename itself is only durable once the directory entry has been synced
+    syncDirectory(journalFile.getParent());
+    channel.close();
+    channel = FileChannel.open(journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    compactedSize = channel.size();
+    channel.position(compactedSize);
+    LOG.debug("Compacted signing record journal to {} bytes", compactedSize);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    channel.close();
+  }
+
+  private static ByteBuffer encode(final Map<Bytes, Bytes> serializedRecords) {
+    final int size =
+        serializedRecords.entrySet().stream()
+            .mapToInt(entry -> ENTRY_OVERHEAD + entry.getKey().size() + entry.getValue().size())
+            .sum();
+    final ByteBuffer buffer = ByteBuffer.allocate(size);
+    final CRC32 checksum = new CRC32();
+    serializedRecords.forEach(
+        (validator, data) -> {
+          final byte[] key = validator.toArrayUnsafe();
+          final byte[] value = data.toArrayUnsafe();
+          checksum.reset();
+          checksum.update(key);
+          checksum.update(value);
+          buffer.putInt(key.length).put(key).putInt(value.length).put(value);
+          buffer.putInt((int) checksum.getValue());
+        });
+    return buffer.flip();
+  }
+
+  /**
+   * Reads all complete entries from the channel into {@code records}.
+   *
+   * @return the length of the file up to the end of the last complete entry
+   */
+  private static long replay(
+      final FileChannel channel, final Map<Bytes, ValidatorSigningRecord> records)
+      throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, buffer.position()) < 0) {
+        break;
+      }
+    }
+    buffer.flip();
+    final CRC32 checksum = new CRC32();
+    long validLength = 0;
+    while (buffer.remaining() >= ENTRY_OVERHEAD) {
+      final int keyLength = buffer.getInt();
+      if (keyLength < 0 || keyLength > buffer.remaining() - Integer.BYTES) {
+        break;
+      }
+      final byte[] key = new byte[keyLength];
+      buffer.get(key);
+      final int valueLength = buffer.getInt();
+      if (valueLength < 0 || valueLength > buffer.remaining() - Integer.BYTES) {
+        break;
+      }
+      final byte[] value = new byte[valueLength];
+      buffer.get(value);
+      checksum.reset();
+      checksum.update(key);
+      checksum.update(value);
+      if (buffer.getInt() != (int) checksum.getValue()) {
+        break;
+      }
+      records.put(Bytes.wrap(key), ValidatorSigningRecord.fromBytes(Bytes.wrap(value)));
+      validLength = buffer.position();
+    }
+    return validLength;
+  }
+
+  private static void syncDirectory(final Path directory) throws IOException {
+    try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      directoryChannel.force(true);
+    } catch (final IOException e) {
+      // Some platforms, notably Windows, don't support opening or syncing directories
+      LOG.debug("Unable to sync directory {}", directory, e);
+    }
+  }
+
+  @VisibleForTesting
+  @FunctionalInterface
+  interface ChannelOpener {
+    FileChannel open(Path file) throws IOException;
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
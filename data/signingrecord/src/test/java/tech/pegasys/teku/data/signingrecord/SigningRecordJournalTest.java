@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.data.signingrecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class SigningRecordJournalTest {
+  private static final Bytes32 GENESIS_VALIDATORS_ROOT = Bytes32.fromHexString("0x1234");
+  private static final Bytes VALIDATOR_1 = Bytes.fromHexString("01".repeat(48));
+  private static final Bytes VALIDATOR_2 = Bytes.fromHexString("02".repeat(48));
+
+  @TempDir Path dir;
+
+  @Test
+  void shouldCreateEmptyJournal() throws Exception {
+    assertThat(SigningRecordJournal.exists(dir)).isFalse();
+    try (SigningRecordJournal journal = SigningRecordJournal.open(dir)) {
+      assertThat(journal.getRecords()).isEmpty();
+      assertThat(journal.getRecord(VALIDATOR_1)).isEmpty();
+    }
+    assertThat(SigningRecordJournal.exists(dir)).isTrue();
+  }
+
+  @Test
+  void shouldReplayLatestRecordForEachValidator() throws Exception {
+    try (SigningRecordJournal journal = SigningRecordJournal.open(dir)) {
+      journal.append(Map.of(VALIDATOR_1, record(1), VALIDATOR_2, record(2)));
+      journal.append(Map.of(VALIDATOR_1, record(3)));
+      assertThat(journal.getRecord(VALIDATOR_1)).contains(record(3));
+    }
+
+    assertThat(SigningRecordJournal.readRecords(dir))
+        .isEqualTo(Map.of(VALIDATOR_1, record(3), VALIDATOR_2, record(2)));
+    try (SigningRecordJournal journal = SigningRecordJournal.open(dir)) {
+      assertThat(journal.getRecords())
+          .isEqualTo(Map.of(VALIDATOR_1, record(3), VALIDATOR_2, record(2)));
+    }
+  }
+
+  @Test
+  void shouldDiscardIncompleteEntryAtEndOfJournal() throws Exception {
+    try (SigningRecordJournal journal = SigningRecordJournal.open(dir)) {
+      journal.append(Map.of(VALIDATOR_1, record(1)));
+      journal.append(Map.of(VALIDATOR_1, record(2)));
+    }
+    final Path journalFile = dir.resolve(SigningRecordJournal.FILE_NAME);
+    final byte[] data = Files.readAllBytes(journalFile);
+    Files.write(journalFile, Bytes.wrap(data).slice(0, data.length - 3).toArrayUnsafe());
+
+    try (SigningRecordJournal journal = SigningRecordJournal.open(dir)) {
+      assertThat(journal.getRecord(VALIDATOR_1)).contains(record(1));
+      // New entries are still readable after the incomplete one is discarded
+      journal.append(Map.of(VALIDATOR_2, record(4)));
+    }
+    assertThat(SigningRecordJournal.readRecords(dir))
+        .isEqualTo(Map.of(VALIDATOR_1, record(1), VALIDATOR_2, record(4)));
+  }
+
+  @Test
+  void shouldCompactJournalWhenItGrows() throws Exception {
+    final long minCompactionSize = 2048;
+    try (SigningRecordJournal journal = SigningRecordJournal.open(dir, minCompactionSize)) {
+      for (int i = 0; i < 100; i++) {
+        journal.append(Map.of(VALIDATOR_1, record(i), VALIDATOR_2, record(i + 1)));
+        assertThat(Files.size(dir.resolve(SigningRecordJournal.FILE_NAME)))
+            .isLessThanOrEqualTo(minCompactionSize);
+      }
+      journal.append(Map.of(VALIDATOR_1, record(500)));
+    }
+
+    assertThat(SigningRecordJournal.readRecords(dir))
+        .isEqualTo(Map.of(VALIDATOR_1, record(500), VALIDATOR_2, record(100)));
+  }
+
+  @Test
+  void shouldReturnEmptyRecordsWhenJournalDoesNotExist() throws IOException {
+    assertThat(SigningRecordJournal.readRecords(dir)).isEmpty();
+  }
+
+  @Test
+  void shouldUndoFailedWriteAndContinueAppending() throws Exception {
+    final FailingFileChannel[] channel = new FailingFileChannel[1];
+    try (SigningRecordJournal journal = openFailingJournal(channel)) {
+      journal.append(Map.of(VALIDATOR_1, record(1)));
+      channel[0].failWrites = true;
+      assertThatThrownBy(() -> journal.append(Map.of(VALIDATOR_1, record(2))))
+          .isInstanceOf(IOException.class);
+
+      channel[0].failWrites = false;
+      journal.append(Map.of(VALIDATOR_2, record(3)));
+    }
+
+    assertThat(SigningRecordJournal.readRecords(dir))
+        .isEqualTo(Map.of(VALIDATOR_1, record(1), VALIDATOR_2, record(3)));
+  }
+
+  @Test
+  void shouldRejectAppendsWhenFailedWriteCannotBeUndone() throws Exception {
+    final FailingFileChannel[] channel = new FailingFileChannel[1];
+    try (SigningRecordJournal journal = openFailingJournal(channel)) {
+      journal.append(Map.of(VALIDATOR_1, record(1)));
+      channel[0].failWrites = true;
+      channel[0].failTruncate = true;
+      assertThatThrownBy(() -> journal.append(Map.of(VALIDATOR_1, record(2))))
+          .isInstanceOf(IOException.class);
+
+      channel[0].failWrites = false;
+      channel[0].failTruncate = false;
+      // Would be lost on replay behind the partial entry so must not be reported as durable
+      assertThatThrownBy(() -> journal.append(Map.of(VALIDATOR_2, record(3))))
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("unusable");
+    }
+
+    assertThat(SigningRecordJournal.readRecords(dir)).isEqualTo(Map.of(VALIDATOR_1, record(1)));
+  }
+
+  private SigningRecordJournal openFailingJournal(final FailingFileChannel[] channel)
+      throws IOException {
+    return SigningRecordJournal.open(
+        dir,
+        Long.MAX_VALUE,
+        file -> {
+          channel[0] =
+              new FailingFileChannel(
+                  FileChannel.open(
+                      file,
+                      StandardOpenOption.CREATE,
+                      StandardOpenOption.READ,
+                      StandardOpenOption.WRITE));
+          return channel[0];
+        });
+  }
+
+  private ValidatorSigningRecord record(final int blockSlot) {
+    return new ValidatorSigningRecord(
+        GENESIS_VALIDATORS_ROOT, UInt64.valueOf(blockSlot), UInt64.ONE, UInt64.valueOf(2));
+  }
+
+  /** Delegates to a real channel but can fail part way through writes and fail truncation */
+  private static class FailingFileChannel extends FileChannel {
+    private final FileChannel delegate;
+    private volatile boolean failWrites = false;
+    private volatile boolean failTruncate = false;
+
+    private FailingFileChannel(final FileChannel delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+      if (failWrites) {
+        // Leave a partial entry behind, as a crash or full disk would
+        final ByteBuffer partial = src.duplicate();
+        partial.limit(partial.position() + partial.remaining() / 2);
+        delegate.write(partial);
+        throw new IOException("Write failed");
+      }
+      return delegate.write(src);
+    }
+
+    @Override
+    public FileChannel truncate(final long size) throws IOException {
+      if (failTruncate) {
+        throw new IOException("Truncate failed");
+      }
+      delegate.truncate(size);
+      return this;
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+      return delegate.read(dst);
+    }
+
+    @Override
+    public long read(final ByteBuffer[] dsts, final int offset, final int length)
+        throws IOException {
+      return delegate.read(dsts, offset, length);
+    }
+
+    @Override
+    public long write(final ByteBuffer[] srcs, final int offset, final int length)
+        throws IOException {
+      return delegate.write(srcs, offset, length);
+    }
+
+    @Override
+    public long position() throws IOException {
+      return delegate.position();
+    }
+
+    @Override
+    public FileChannel position(final long newPosition) throws IOException {
+      delegate.position(newPosition);
+      return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+      return delegate.size();
+    }
+
+    @Override
+    public void force(final boolean metaData) throws IOException {
+      delegate.force(metaData);
+    }
+
+    @Override
+    public long transferTo(final long position, final long count, final WritableByteChannel target)
+        throws IOException {
+      return delegate.transferTo(position, count, target);
+    }
+
+    @Override
+    public long transferFrom(final ReadableByteChannel src, final long position, final long count)
+        throws IOException {
+      return delegate.transferFrom(src, position, count);
+    }
+
+    @Override
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+      return delegate.read(dst, position);
+    }
+
+    @Override
+    public int write(final ByteBuffer src, final long position) throws IOException {
+      return delegate.write(src, position);
+    }
+
+    @Override
+    public MappedByteBuffer map(final MapMode mode, final long position, final long size)
+        throws IOException {
+      return delegate.map(mode, position, size);
+    }
+
+    @Override
+    public FileLock lock(final long position, final long size, final boolean shared)
+        throws IOException {
+      return delegate.lock(position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(final long position, final long size, final boolean shared)
+        throws IOException {
+      return delegate.tryLock(position, size, shared);
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+      delegate.close();
+    }
+  }
+}
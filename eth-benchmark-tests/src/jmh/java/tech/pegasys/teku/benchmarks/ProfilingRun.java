@@ -22,6 +22,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.benchmarks.gen.BlockIO;
@@ -83,7 +84,11 @@ public class ProfilingRun {
       BeaconChainUtil localChain = BeaconChainUtil.create(recentChainData, validatorKeys, false);
       recentChainData.initializeFromGenesis(initialState);
       ForkChoice forkChoice =
-          new ForkChoice(new SyncForkChoiceExecutor(), recentChainData, new StateTransition());
+          new ForkChoice(
+              new SyncForkChoiceExecutor(),
+              recentChainData,
+              new StateTransition(),
+              new NoOpMetricsSystem());
       BlockImporter blockImporter =
           new BlockImporter(
               recentChainData, forkChoice, WeakSubjectivityValidator.lenient(), localEventBus);
@@ -154,7 +159,11 @@ public class ProfilingRun {
       recentChainData.initializeFromGenesis(initialState);
       initialState = null;
       ForkChoice forkChoice =
-          new ForkChoice(new SyncForkChoiceExecutor(), recentChainData, new StateTransition());
+          new ForkChoice(
+              new SyncForkChoiceExecutor(),
+              recentChainData,
+              new StateTransition(),
+              new NoOpMetricsSystem());
       BlockImporter blockImporter =
           new BlockImporter(
               recentChainData, forkChoice, WeakSubjectivityValidator.lenient(), localEventBus);
@@ -13,13 +13,26 @@
 
 package tech.pegasys.teku.benchmarks;
 
+import static tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer.deserialize;
 import static tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer.serialize;
 
 import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.BeaconStateImpl;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
 import tech.pegasys.teku.ssz.sos.SimpleOffsetSerializable;
 
 public class SSZBenchmark {
@@ -32,4 +45,46 @@ public class SSZBenchmark {
   public void BeaconStateSerialization() {
     serialize(state);
   }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 1)
+  @Measurement(iterations = 5, time = 2)
+  public void BeaconStateHashTreeRoot(UnhashedState unhashedState, Blackhole bh) {
+    bh.consume(unhashedState.state.hash_tree_root());
+  }
+
+  @Benchmark
+  @Warmup(iterations = 2, time = 1)
+  @Measurement(iterations = 5, time = 2)
+  public void BeaconStateHashTreeRootPerNode(UnhashedState unhashedState, Blackhole bh) {
+    bh.consume(hashPerNode(unhashedState.state.getBackingNode()));
+  }
+
+  /**
+   * Hashes one branch node at a time by concatenating the child hashes, as the tree did before
+   * dirty nodes were hashed in batches. Serves as the baseline for {@link
+   * #BeaconStateHashTreeRoot}.
+   */
+  private static Bytes32 hashPerNode(TreeNode node) {
+    if (!(node instanceof BranchNode)) {
+      return node.hashTreeRoot();
+    }
+    BranchNode branch = (BranchNode) node;
+    Bytes32 leftHash = hashPerNode(branch.left());
+    // Default subtrees share a single child instance, which the cached tree only hashed once
+    Bytes32 rightHash = branch.right() == branch.left() ? leftHash : hashPerNode(branch.right());
+    return Hash.sha2_256(Bytes.concatenate(leftHash, rightHash));
+  }
+
+  @State(Scope.Thread)
+  public static class UnhashedState {
+    private final Bytes stateBytes = serialize(SSZBenchmark.state);
+    private BeaconState state;
+
+    @Setup(Level.Invocation)
+    public void deserializeState() {
+      // A freshly deserialized state has no cached hashes
+      state = deserialize(stateBytes, BeaconStateImpl.class);
+    }
+  }
 }
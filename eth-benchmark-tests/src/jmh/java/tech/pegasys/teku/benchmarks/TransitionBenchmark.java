@@ -18,6 +18,7 @@ import static org.mockito.Mockito.mock;
 import com.google.common.eventbus.EventBus;
 import java.util.Iterator;
 import java.util.List;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
@@ -85,7 +86,11 @@ public abstract class TransitionBenchmark {
     localChain.initializeStorage();
 
     ForkChoice forkChoice =
-        new ForkChoice(new SyncForkChoiceExecutor(), recentChainData, new StateTransition());
+        new ForkChoice(
+            new SyncForkChoiceExecutor(),
+            recentChainData,
+            new StateTransition(),
+            new NoOpMetricsSystem());
     blockImporter =
         new BlockImporter(
             recentChainData, forkChoice, WeakSubjectivityValidator.lenient(), localEventBus);
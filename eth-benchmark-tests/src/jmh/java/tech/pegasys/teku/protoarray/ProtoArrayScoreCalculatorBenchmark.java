@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.protoarray;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.storageSystem.InMemoryStorageSystemBuilder;
+import tech.pegasys.teku.storage.storageSystem.StorageSystem;
+import tech.pegasys.teku.storage.store.UpdatableStore.StoreTransaction;
+import tech.pegasys.teku.util.config.Constants;
+
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class ProtoArrayScoreCalculatorBenchmark {
+  private static final long BALANCE = 32_000_000_000L;
+
+  @Param({"100000", "250000", "500000"})
+  int validatorCount;
+
+  @Param({"64"})
+  int blockCount;
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final Map<Bytes32, Integer> indices = new HashMap<>();
+  private StorageSystem storageSystem;
+  private long[] oldBalances;
+  private long[] newBalances;
+
+  @Setup(Level.Trial)
+  public void init() {
+    Constants.setConstants("mainnet");
+    storageSystem = InMemoryStorageSystemBuilder.buildDefault();
+    storageSystem.chainUpdater().initializeGenesis();
+
+    final Bytes32[] roots = new Bytes32[blockCount];
+    for (int i = 0; i < blockCount; i++) {
+      roots[i] = dataStructureUtil.randomBytes32();
+      indices.put(roots[i], i);
+    }
+
+    // Every validator has attested to a new block since the last head update
+    final StoreTransaction transaction = storageSystem.recentChainData().startStoreTransaction();
+    for (int i = 0; i < validatorCount; i++) {
+      final VoteTracker vote = transaction.getVote(UInt64.valueOf(i));
+      vote.setCurrentRoot(roots[i % blockCount]);
+      vote.setNextRoot(roots[(i + 1) % blockCount]);
+      vote.setNextEpoch(UInt64.ONE);
+    }
+    transaction.commit().join();
+
+    oldBalances = new long[validatorCount];
+    Arrays.fill(oldBalances, BALANCE);
+    newBalances = new long[validatorCount];
+    Arrays.fill(newBalances, BALANCE - 1000);
+  }
+
+  private int getIndex(final Bytes32 root) {
+    return indices.getOrDefault(root, ProtoArray.NONE);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    storageSystem.close();
+  }
+
+  @Benchmark
+  @Warmup(iterations = 3, time = 1)
+  @Measurement(iterations = 5, time = 2)
+  public void computeDeltasWithChangedVotes(Blackhole bh) {
+    // The transaction is never committed so every invocation sees the same votes
+    final StoreTransaction transaction = storageSystem.recentChainData().startStoreTransaction();
+    bh.consume(
+        ProtoArrayScoreCalculator.computeDeltas(
+            transaction, blockCount, this::getIndex, oldBalances, oldBalances));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 3, time = 1)
+  @Measurement(iterations = 5, time = 2)
+  public void computeDeltasWithChangedVotesAndBalances(Blackhole bh) {
+    final StoreTransaction transaction = storageSystem.recentChainData().startStoreTransaction();
+    bh.consume(
+        ProtoArrayScoreCalculator.computeDeltas(
+            transaction, blockCount, this::getIndex, oldBalances, newBalances));
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_committee_count_per_slot;
+import static tech.pegasys.teku.datastructures.util.CommitteeUtil.get_beacon_committee;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.core.operationvalidators.AttestationDataStateTransitionValidator;
+import tech.pegasys.teku.core.operationvalidators.OperationInvalidReason;
+import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.datastructures.operations.Attestation;
+import tech.pegasys.teku.datastructures.operations.AttestationData;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.Checkpoint;
+import tech.pegasys.teku.datastructures.state.Validator;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.time.SystemTimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
+import tech.pegasys.teku.util.config.Constants;
+
+/**
+ * Measures selecting the attestations for a block from a pool holding two epochs worth of
+ * aggregates for every committee, as seen by a mainnet node.
+ */
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class AttestationPackingBenchmark {
+  private static final BLSPublicKey PUBKEY = BLSPublicKey.random(0);
+
+  @Param({"65536", "131072"})
+  int validatorCount;
+
+  // Distinct aggregates seen for each committee, each covering a random subset of it
+  @Param({"4", "16"})
+  int aggregatesPerCommittee;
+
+  private final DataStructureUtil dataStructureUtil =
+      new DataStructureUtil(0).withPubKeyGenerator(() -> PUBKEY);
+  private final Random random = new Random(1);
+  private AggregatingAttestationPool pool;
+  private BeaconState state;
+  private AttestationForkChecker forkChecker;
+
+  @Setup(Level.Trial)
+  public void init() {
+    Constants.setConstants("mainnet");
+    final UInt64 slot = UInt64.valueOf(10L * Constants.SLOTS_PER_EPOCH);
+    state =
+        dataStructureUtil
+            .randomBeaconState(validatorCount, 0)
+            .updated(
+                mutableState -> {
+                  mutableState.setSlot(slot);
+                  for (int i = 0; i < validatorCount; i++) {
+                    final Validator validator = mutableState.getValidators().get(i);
+                    mutableState
+                        .getValidators()
+                        .set(
+                            i,
+                            validator
+                                .withActivation_epoch(UInt64.ZERO)
+                                .withExit_epoch(Constants.FAR_FUTURE_EPOCH)
+                                .withSlashed(false)
+                                .withEffective_balance(
+                                    UInt64.valueOf(Constants.MAX_EFFECTIVE_BALANCE)));
+                  }
+                });
+    forkChecker = new AttestationForkChecker(state);
+    pool =
+        new AggregatingAttestationPool(
+            new AttestationDataStateTransitionValidator() {
+              @Override
+              public Optional<OperationInvalidReason> validate(
+                  final BeaconState state, final AttestationData data) {
+                return Optional.empty();
+              }
+            },
+            new NoOpMetricsSystem(),
+            new SystemTimeProvider());
+
+    // Aggregating the signatures isn't what's being measured so every aggregate shares one
+    final BLSSignature signature = dataStructureUtil.randomSignature();
+    final UInt64 firstSlot = slot.minus(2L * Constants.SLOTS_PER_EPOCH);
+    for (UInt64 attestationSlot = firstSlot;
+        attestationSlot.isLessThan(slot);
+        attestationSlot = attestationSlot.increment()) {
+      final UInt64 epoch = compute_epoch_at_slot(attestationSlot);
+      final Checkpoint target = new Checkpoint(epoch, dataStructureUtil.randomBytes32());
+      final Checkpoint source = new Checkpoint(epoch.minus(1), dataStructureUtil.randomBytes32());
+      final Bytes32 blockRoot = dataStructureUtil.randomBytes32();
+      final UInt64 committeeCount = get_committee_count_per_slot(state, epoch);
+      for (UInt64 index = UInt64.ZERO;
+          index.isLessThan(committeeCount);
+          index = index.increment()) {
+        final List<Integer> committee = get_beacon_committee(state, attestationSlot, index);
+        final AttestationData data =
+            new AttestationData(attestationSlot, index, blockRoot, source, target);
+        for (int i = 0; i < aggregatesPerCommittee; i++) {
+          addAggregate(data, committee.size(), signature);
+        }
+      }
+    }
+  }
+
+  private void addAggregate(
+      final AttestationData data, final int committeeSize, final BLSSignature signature) {
+    final Bitlist bits = new Bitlist(committeeSize, Constants.MAX_VALIDATORS_PER_COMMITTEE);
+    for (int i = 0; i < committeeSize; i++) {
+      if (random.nextInt(4) == 0) {
+        bits.setBit(i);
+      }
+    }
+    final ValidateableAttestation attestation =
+        ValidateableAttestation.from(new Attestation(bits, data, signature));
+    attestation.saveCommitteeShufflingSeed(state);
+    pool.add(attestation);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 3, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+  public void getAttestationsForBlock(final Blackhole bh) {
+    bh.consume(pool.getAttestationsForBlock(state, forkChecker));
+  }
+}
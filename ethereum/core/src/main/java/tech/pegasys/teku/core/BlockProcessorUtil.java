@@ -26,6 +26,7 @@ import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.initiate_val
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.process_deposit;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.slash_validator;
 import static tech.pegasys.teku.datastructures.util.CommitteeUtil.get_beacon_committee;
+import static tech.pegasys.teku.datastructures.util.ValidatorsUtil.is_slashable_validator;
 import static tech.pegasys.teku.util.config.Constants.DOMAIN_RANDAO;
 import static tech.pegasys.teku.util.config.Constants.EPOCHS_PER_ETH1_VOTING_PERIOD;
 import static tech.pegasys.teku.util.config.Constants.EPOCHS_PER_HISTORICAL_VECTOR;
@@ -98,14 +99,7 @@ public final class BlockProcessorUtil {
           block.getSlot().compareTo(state.getLatest_block_header().getSlot()) > 0,
           "process_block_header: Verify that the block is newer than latest block header");
 
-      // Cache the current block as the new latest block
-      state.setLatest_block_header(
-          new BeaconBlockHeader(
-              block.getSlot(),
-              block.getProposer_index(),
-              block.getParent_root(),
-              Bytes32.ZERO, // Overwritten in the next `process_slot` call
-              block.getBody().hash_tree_root()));
+      process_block_header_no_validation(state, block);
 
       // Only if we are processing blocks (not proposing them)
       Validator proposer =
@@ -118,6 +112,25 @@ public final class BlockProcessorUtil {
     }
   }
 
+  /**
+   * Caches the block as the new latest block header without checking it against the state. Only
+   * suitable for blocks which are already known to be valid.
+   *
+   * @param state
+   * @param block
+   */
+  public static void process_block_header_no_validation(
+      MutableBeaconState state, BeaconBlock block) {
+    // Cache the current block as the new latest block
+    state.setLatest_block_header(
+        new BeaconBlockHeader(
+            block.getSlot(),
+            block.getProposer_index(),
+            block.getParent_root(),
+            Bytes32.ZERO, // Overwritten in the next `process_slot` call
+            block.getBody().hash_tree_root()));
+  }
+
   public static void process_randao_no_validation(MutableBeaconState state, BeaconBlockBody body)
       throws BlockProcessingException {
     try {
@@ -312,6 +325,28 @@ public final class BlockProcessorUtil {
     }
   }
 
+  /**
+   * Slashes the validators from attester slashings which are already known to be valid, without
+   * verifying the slashed attestations or their signatures.
+   *
+   * @param state
+   * @param attesterSlashings
+   */
+  public static void process_attester_slashings_no_validation(
+      MutableBeaconState state, SSZList<AttesterSlashing> attesterSlashings) {
+    for (AttesterSlashing attesterSlashing : attesterSlashings) {
+      final List<Integer> indicesToSlash = new ArrayList<>();
+      for (UInt64 index : attesterSlashing.getIntersectingValidatorIndices()) {
+        final int validatorIndex = toIntExact(index.longValue());
+        if (is_slashable_validator(
+            state.getValidators().get(validatorIndex), get_current_epoch(state))) {
+          indicesToSlash.add(validatorIndex);
+        }
+      }
+      indicesToSlash.forEach(indexToSlash -> slash_validator(state, indexToSlash));
+    }
+  }
+
   /**
    * Processes attestations
    *
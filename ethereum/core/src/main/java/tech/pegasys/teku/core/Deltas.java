@@ -16,20 +16,68 @@ package tech.pegasys.teku.core;
 import java.util.List;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
+/**
+ * Rewards and penalties per validator index. Values are accumulated into primitive arrays holding
+ * unsigned 64 bit values to avoid allocating a {@link UInt64} per validator and delta.
+ */
 public class Deltas {
-  private final List<UInt64> rewards;
-  private final List<UInt64> penalties;
+  private final long[] rewards;
+  private final long[] penalties;
+
+  public Deltas(final int validatorCount) {
+    this.rewards = new long[validatorCount];
+    this.penalties = new long[validatorCount];
+  }
 
   public Deltas(final List<UInt64> rewards, final List<UInt64> penalties) {
-    this.rewards = rewards;
-    this.penalties = penalties;
+    this.rewards = rewards.stream().mapToLong(UInt64::longValue).toArray();
+    this.penalties = penalties.stream().mapToLong(UInt64::longValue).toArray();
   }
 
   public UInt64 getReward(final int validatorIndex) {
-    return rewards.get(validatorIndex);
+    return UInt64.fromLongBits(rewards[validatorIndex]);
   }
 
   public UInt64 getPenalty(final int validatorIndex) {
-    return penalties.get(validatorIndex);
+    return UInt64.fromLongBits(penalties[validatorIndex]);
+  }
+
+  public void addReward(final int validatorIndex, final UInt64 amount) {
+    rewards[validatorIndex] = plus(rewards[validatorIndex], amount.longValue());
+  }
+
+  public void addPenalty(final int validatorIndex, final UInt64 amount) {
+    penalties[validatorIndex] = plus(penalties[validatorIndex], amount.longValue());
+  }
+
+  /** Adds all rewards and penalties of {@code other} to this deltas */
+  public void add(final Deltas other) {
+    for (int i = 0; i < rewards.length; i++) {
+      rewards[i] = plus(rewards[i], other.rewards[i]);
+      penalties[i] = plus(penalties[i], other.penalties[i]);
+    }
+  }
+
+  /**
+   * Applies the deltas to the balances in place. The reward of each validator is added to its
+   * balance, then the penalty is subtracted with the balance floored at zero, matching a call to
+   * increase_balance followed by decrease_balance.
+   *
+   * @param balances the unsigned balances indexed by validator index
+   * @throws ArithmeticException if a balance overflows
+   */
+  public void applyTo(final long[] balances) {
+    for (int i = 0; i < rewards.length; i++) {
+      final long balance = plus(balances[i], rewards[i]);
+      balances[i] = Long.compareUnsigned(penalties[i], balance) > 0 ? 0 : balance - penalties[i];
+    }
+  }
+
+  private static long plus(final long value, final long amount) {
+    final long result = value + amount;
+    if (Long.compareUnsigned(result, value) < 0) {
+      throw new ArithmeticException("uint64 overflow");
+    }
+    return result;
   }
 }
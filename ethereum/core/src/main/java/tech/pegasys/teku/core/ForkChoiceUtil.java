@@ -234,6 +234,31 @@ public class ForkChoiceUtil {
       final ForkChoiceStrategy forkChoiceStrategy,
       final Consumer<BeaconState> beaconStateConsumer,
       final IndexedAttestationProvider indexedAttestationProvider) {
+    return on_block(
+        store,
+        signed_block,
+        maybePreState,
+        forkChoiceStrategy,
+        preState ->
+            st.initiate(
+                preState, signed_block, true, beaconStateConsumer, indexedAttestationProvider));
+  }
+
+  /**
+   * Variant of {@link #on_block(MutableStore, SignedBeaconBlock, Optional, StateTransition,
+   * ForkChoiceStrategy, Consumer, IndexedAttestationProvider)} where the post state is supplied by
+   * the caller, for example because the state transition has already been run on another thread.
+   *
+   * @param blockTransition supplies the validated post state of the block. Only invoked once the
+   *     block has passed the checks against the store
+   */
+  @CheckReturnValue
+  public static BlockImportResult on_block(
+      final MutableStore store,
+      final SignedBeaconBlock signed_block,
+      Optional<BeaconState> maybePreState,
+      final ForkChoiceStrategy forkChoiceStrategy,
+      final BlockTransition blockTransition) {
     final BeaconBlock block = signed_block.getMessage();
 
     // Return early if precondition checks fail;
@@ -249,9 +274,7 @@ public class ForkChoiceUtil {
 
     // Check the block is valid and compute the post-state
     try {
-      state =
-          st.initiate(
-              preState, signed_block, true, beaconStateConsumer, indexedAttestationProvider);
+      state = blockTransition.apply(preState);
     } catch (StateTransitionException e) {
       return BlockImportResult.failedStateTransition(e);
     }
@@ -305,7 +328,13 @@ public class ForkChoiceUtil {
         store.getFinalizedCheckpoint().getRoot());
   }
 
-  private static Optional<BlockImportResult> checkOnBlockConditions(
+  /**
+   * Performs the checks of {@code on_block} which don't require the state transition, so that
+   * blocks which can't be imported are rejected before paying for their state transition.
+   *
+   * @return the failed import result if the block can't be imported, otherwise empty
+   */
+  public static Optional<BlockImportResult> checkOnBlockConditions(
       final BeaconBlock block,
       final BeaconState preState,
       final ReadOnlyStore store,
@@ -514,4 +543,10 @@ public class ForkChoiceUtil {
     }
     return SUCCESSFUL;
   }
+
+  /** Calculates the post state of a block being processed by on_block */
+  @FunctionalInterface
+  public interface BlockTransition {
+    BeaconState apply(BeaconState preState) throws StateTransitionException;
+  }
 }
@@ -152,10 +152,19 @@ public class StateTransition {
    * Processes slot
    */
   private static BeaconState process_slot(BeaconState preState) {
+    return process_slot(preState, preState.hash_tree_root());
+  }
+
+  /**
+   * Processes slot using a state root which is already known rather than hashing the state.
+   *
+   * @param preState the state to process the slot of
+   * @param previous_state_root the hash tree root of {@code preState}
+   */
+  static BeaconState process_slot(BeaconState preState, Bytes32 previous_state_root) {
     return preState.updated(
         state -> {
           // Cache state root
-          Bytes32 previous_state_root = state.hash_tree_root();
           int index = state.getSlot().mod(SLOTS_PER_HISTORICAL_ROOT).intValue();
           state.getState_roots().set(index, previous_state_root);
 
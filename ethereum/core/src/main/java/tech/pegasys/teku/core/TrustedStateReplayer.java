@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core;
+
+import static tech.pegasys.teku.util.config.Constants.SLOTS_PER_EPOCH;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.core.epoch.EpochProcessor;
+import tech.pegasys.teku.core.exceptions.BlockProcessingException;
+import tech.pegasys.teku.core.exceptions.EpochProcessingException;
+import tech.pegasys.teku.datastructures.blocks.BeaconBlock;
+import tech.pegasys.teku.datastructures.blocks.BeaconBlockBody;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.MutableBeaconState;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * Replays blocks which have previously been fully validated, such as finalized blocks loaded from
+ * storage, to regenerate a state.
+ *
+ * <p>No signatures, proposer indices or other block validity checks are verified. The state root
+ * cached by each slot is taken from the block processed in that slot or, for empty slots, from the
+ * supplied state root lookup so the state is only hashed when a root isn't known. The final state
+ * is checked against the state root of the last block replayed.
+ */
+public class TrustedStateReplayer {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Counter replayedBlocksCounter;
+  private final Counter replayedSlotsCounter;
+  private final Counter hashedStateRootsCounter;
+
+  public TrustedStateReplayer(final MetricsSystem metricsSystem) {
+    replayedBlocksCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "trusted_replay_blocks_total",
+            "Number of previously validated blocks replayed to regenerate states");
+    replayedSlotsCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "trusted_replay_slots_total",
+            "Number of slots processed while replaying previously validated blocks");
+    hashedStateRootsCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "trusted_replay_hashed_state_roots_total",
+            "Number of replayed slots which had to hash the state as the state root was unknown");
+  }
+
+  /**
+   * Applies the blocks to the state in order.
+   *
+   * @param preState the state to apply the blocks to
+   * @param blocks the blocks to apply, in slot order, which must all be valid
+   * @param stateRootLookup provides the known state root at a slot, if any
+   * @return the state after the last block is applied
+   * @throws IllegalStateException if the resulting state doesn't match the last block's state root
+   */
+  public BeaconState replay(
+      final BeaconState preState,
+      final Stream<SignedBeaconBlock> blocks,
+      final Function<UInt64, Optional<Bytes32>> stateRootLookup) {
+    final long startTime = System.nanoTime();
+    final Replay replay = new Replay(preState, stateRootLookup);
+    blocks.forEach(replay::processBlock);
+    final BeaconState state = replay.complete();
+
+    final long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    LOG.debug(
+        "Replayed {} blocks over {} slots to slot {} in {} ms",
+        replay.blockCount,
+        state.getSlot().minusMinZero(preState.getSlot()),
+        state.getSlot(),
+        durationMillis);
+    return state;
+  }
+
+  private class Replay {
+    private final Function<UInt64, Optional<Bytes32>> stateRootLookup;
+    private BeaconState state;
+    private Optional<Bytes32> stateRoot = Optional.empty();
+    private Optional<SignedBeaconBlock> lastBlock = Optional.empty();
+    private int blockCount = 0;
+
+    private Replay(
+        final BeaconState preState, final Function<UInt64, Optional<Bytes32>> stateRootLookup) {
+      this.state = preState;
+      this.stateRootLookup = stateRootLookup;
+    }
+
+    private void processBlock(final SignedBeaconBlock signedBlock) {
+      final BeaconBlock block = signedBlock.getMessage();
+      try {
+        processSlots(block.getSlot());
+        state = state.updated(s -> applyBlock(s, block));
+      } catch (BlockProcessingException | EpochProcessingException | IllegalArgumentException e) {
+        throw new IllegalStateException("Replaying block " + signedBlock.getRoot() + " failed", e);
+      }
+      // A valid block commits to the root of the state after it is processed
+      stateRoot = Optional.of(block.getState_root());
+      lastBlock = Optional.of(signedBlock);
+      blockCount++;
+      replayedBlocksCounter.inc();
+    }
+
+    private void processSlots(final UInt64 slot) throws EpochProcessingException {
+      while (state.getSlot().compareTo(slot) < 0) {
+        state = StateTransition.process_slot(state, getStateRoot());
+        // Process epoch on the start slot of the next epoch
+        if (state.getSlot().plus(UInt64.ONE).mod(SLOTS_PER_EPOCH).equals(UInt64.ZERO)) {
+          state = EpochProcessor.processEpoch(state);
+        }
+        state = state.updated(s -> s.setSlot(s.getSlot().plus(UInt64.ONE)));
+        stateRoot = Optional.empty();
+        replayedSlotsCounter.inc();
+      }
+    }
+
+    private Bytes32 getStateRoot() {
+      return stateRoot
+          .or(() -> stateRootLookup.apply(state.getSlot()))
+          .orElseGet(
+              () -> {
+                hashedStateRootsCounter.inc();
+                return state.hash_tree_root();
+              });
+    }
+
+    private void applyBlock(final MutableBeaconState blockState, final BeaconBlock block)
+        throws BlockProcessingException {
+      final BeaconBlockBody body = block.getBody();
+      BlockProcessorUtil.process_block_header_no_validation(blockState, block);
+      BlockProcessorUtil.process_randao_no_validation(blockState, body);
+      BlockProcessorUtil.process_eth1_data(blockState, body);
+      BlockProcessorUtil.process_proposer_slashings_no_validation(
+          blockState, body.getProposer_slashings());
+      BlockProcessorUtil.process_attester_slashings_no_validation(
+          blockState, body.getAttester_slashings());
+      BlockProcessorUtil.process_attestations_no_validation(blockState, body.getAttestations());
+      // Deposit signatures decide whether a validator is added so are still checked
+      BlockProcessorUtil.process_deposits(blockState, body.getDeposits());
+      BlockProcessorUtil.process_voluntary_exits_no_validation(
+          blockState, body.getVoluntary_exits());
+    }
+
+    private BeaconState complete() {
+      lastBlock.ifPresent(
+          block -> {
+            final Bytes32 actualStateRoot = state.hash_tree_root();
+            if (!actualStateRoot.equals(block.getMessage().getState_root())) {
+              throw new IllegalStateException(
+                  "Replayed state root "
+                      + actualStateRoot
+                      + " does not match state root of block "
+                      + block.getRoot());
+            }
+          });
+      return state;
+    }
+  }
+}
@@ -70,12 +70,35 @@ public class BatchSignatureVerifier implements BLSSignatureVerifier {
    */
   public synchronized boolean batchVerify() {
     if (complete) throw new IllegalStateException("Reuse of disposable instance");
-    List<BatchSemiAggregate> batchSemiAggregates =
-        toVerify.stream()
-            .parallel()
-            .map(job -> BLS.prepareBatchVerify(job.idx, job.publicKeys, job.message, job.signature))
-            .collect(Collectors.toList());
+    List<BatchSemiAggregate> batchSemiAggregates = prepareBatchVerify(0);
     complete = true;
     return BLS.completeBatchVerify(batchSemiAggregates);
   }
+
+  /** @return the number of signatures collected so far */
+  synchronized int getSignatureCount() {
+    return toVerify.size();
+  }
+
+  /**
+   * Prepares all the signatures collected so far for verification without completing it, so that
+   * they can be verified together with signatures from other instances. Unlike {@link
+   * #batchVerify()} this method doesn't dispose the instance and may be called more than once.
+   *
+   * <p>Batch indices must be unique across all the aggregates passed to a single {@link
+   * BLS#completeBatchVerify(List)} call, otherwise invalid signatures from different instances may
+   * compensate each other. Callers combining several instances must therefore pass a distinct
+   * {@code baseIndex} range to each of them.
+   *
+   * @param baseIndex the batch index of the first signature collected by this instance
+   */
+  synchronized List<BatchSemiAggregate> prepareBatchVerify(final int baseIndex) {
+    return toVerify.stream()
+        .parallel()
+        .map(
+            job ->
+                BLS.prepareBatchVerify(
+                    baseIndex + job.idx, job.publicKeys, job.message, job.signature))
+        .collect(Collectors.toList());
+  }
 }
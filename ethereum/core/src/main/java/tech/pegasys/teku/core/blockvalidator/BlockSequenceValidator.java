@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.blockvalidator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BatchSemiAggregate;
+import tech.pegasys.teku.core.StateTransition;
+import tech.pegasys.teku.core.StateTransitionException;
+import tech.pegasys.teku.core.lookup.CapturingIndexedAttestationProvider;
+import tech.pegasys.teku.core.lookup.IndexedAttestationProvider;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/**
+ * Validates a sequence of blocks where every block is the child of the previous one, such as a
+ * batch of blocks downloaded during sync.
+ *
+ * <p>The state transition is run for each block in turn but the verification of BLS signatures is
+ * deferred until all the blocks have been processed. The signatures from all the blocks are then
+ * verified together with a single {@link BLS#completeBatchVerify(List)} call, so that the cost of
+ * the final pairing check is shared by the whole sequence rather than paid for each block. If the
+ * combined verification fails the sequence is bisected to find the first block with an invalid
+ * signature.
+ *
+ * <p>The results of the state transition are kept for each valid block so the blocks can be
+ * imported without processing them again.
+ */
+public class BlockSequenceValidator {
+  private static final Logger LOG = LogManager.getLogger();
+
+  /**
+   * Validates the blocks against the given state.
+   *
+   * @param preState the post state of the parent of the first block
+   * @param blocks the blocks to validate, each block must be the child of the previous one
+   * @return the leading blocks from {@code blocks} which are valid
+   */
+  public List<ValidatedBlock> validate(
+      final BeaconState preState, final List<SignedBeaconBlock> blocks) {
+    final DeferredSignatureBlockValidator blockValidator = new DeferredSignatureBlockValidator();
+    final StateTransition stateTransition = new StateTransition(blockValidator);
+    final List<ValidatedBlock> processedBlocks = new ArrayList<>();
+    BeaconState state = preState;
+    for (SignedBeaconBlock block : blocks) {
+      if (!processedBlocks.isEmpty()
+          && !block.getParent_root().equals(blocks.get(processedBlocks.size() - 1).getRoot())) {
+        LOG.debug("Block {} is not a child of the previous block", block.getRoot());
+        break;
+      }
+      final Map<Bytes32, SlotAndBlockRoot> stateRoots = new HashMap<>();
+      final CapturingIndexedAttestationProvider indexedAttestationProvider =
+          new CapturingIndexedAttestationProvider();
+      try {
+        state =
+            stateTransition.initiate(
+                state,
+                block,
+                true,
+                beaconState ->
+                    stateRoots.put(
+                        beaconState.hash_tree_root(),
+                        new SlotAndBlockRoot(
+                            beaconState.getSlot(),
+                            beaconState.getLatest_block_header().hash_tree_root())),
+                indexedAttestationProvider);
+      } catch (final StateTransitionException e) {
+        break;
+      }
+      processedBlocks.add(
+          new ValidatedBlock(
+              block, state, stateRoots, indexedAttestationProvider.getIndexedAttestations()));
+    }
+    // Signatures may have been collected for a block which then failed its post state checks
+    final int validBlockCount =
+        countValidSignatures(
+            blockValidator.getBlockSignatures().subList(0, processedBlocks.size()));
+    return processedBlocks.subList(0, validBlockCount);
+  }
+
+  private int countValidSignatures(final List<BatchSignatureVerifier> blockSignatures) {
+    if (blockSignatures.isEmpty() || verify(blockSignatures)) {
+      return blockSignatures.size();
+    }
+    return findFirstInvalid(blockSignatures);
+  }
+
+  /** Bisects a list of block signatures which is known to fail verification */
+  private int findFirstInvalid(final List<BatchSignatureVerifier> blockSignatures) {
+    if (blockSignatures.size() == 1) {
+      return 0;
+    }
+    final int middle = blockSignatures.size() / 2;
+    final List<BatchSignatureVerifier> firstHalf = blockSignatures.subList(0, middle);
+    if (verify(firstHalf)) {
+      return middle + findFirstInvalid(blockSignatures.subList(middle, blockSignatures.size()));
+    }
+    return findFirstInvalid(firstHalf);
+  }
+
+  private boolean verify(final List<BatchSignatureVerifier> blockSignatures) {
+    // Each block gets its own range of batch indices so only one signature in the whole sequence
+    // skips the random multiplier
+    final int[] baseIndices = new int[blockSignatures.size()];
+    int nextIndex = 0;
+    for (int i = 0; i < blockSignatures.size(); i++) {
+      baseIndices[i] = nextIndex;
+      nextIndex += blockSignatures.get(i).getSignatureCount();
+    }
+    final List<BatchSemiAggregate> semiAggregates =
+        IntStream.range(0, blockSignatures.size())
+            .parallel()
+            .mapToObj(i -> blockSignatures.get(i).prepareBatchVerify(baseIndices[i]))
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+    return BLS.completeBatchVerify(semiAggregates);
+  }
+
+  /**
+   * Performs all block validations except that signatures are only collected, one {@link
+   * BatchSignatureVerifier} per block, to be verified later.
+   */
+  private static class DeferredSignatureBlockValidator implements BlockValidator {
+    private final List<BatchSignatureVerifier> blockSignatures = new ArrayList<>();
+
+    @Override
+    public SafeFuture<BlockValidationResult> validatePreState(
+        final BeaconState preState,
+        final SignedBeaconBlock block,
+        final IndexedAttestationProvider indexedAttestationProvider) {
+      final BatchSignatureVerifier signatureVerifier = new BatchSignatureVerifier();
+      blockSignatures.add(signatureVerifier);
+      return new SimpleBlockValidator(true, true, true, signatureVerifier)
+          .validatePreState(preState, block, indexedAttestationProvider);
+    }
+
+    @Override
+    public SafeFuture<BlockValidationResult> validatePostState(
+        final BeaconState postState, final SignedBeaconBlock block) {
+      return new SimpleBlockValidator().validatePostState(postState, block);
+    }
+
+    public List<BatchSignatureVerifier> getBlockSignatures() {
+      return blockSignatures;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.blockvalidator;
+
+import java.util.Collection;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
+import tech.pegasys.teku.datastructures.operations.IndexedAttestation;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+
+/**
+ * A block found to be valid by {@link BlockSequenceValidator}, along with the results of its state
+ * transition so that it can be imported without processing it again.
+ */
+public class ValidatedBlock {
+  private final SignedBeaconBlock block;
+  private final BeaconState postState;
+  private final Map<Bytes32, SlotAndBlockRoot> stateRoots;
+  private final Collection<IndexedAttestation> indexedAttestations;
+
+  public ValidatedBlock(
+      final SignedBeaconBlock block,
+      final BeaconState postState,
+      final Map<Bytes32, SlotAndBlockRoot> stateRoots,
+      final Collection<IndexedAttestation> indexedAttestations) {
+    this.block = block;
+    this.postState = postState;
+    this.stateRoots = stateRoots;
+    this.indexedAttestations = indexedAttestations;
+  }
+
+  public SignedBeaconBlock getBlock() {
+    return block;
+  }
+
+  public BeaconState getPostState() {
+    return postState;
+  }
+
+  /** The roots of the empty slot states processed before the block, as for a state transition. */
+  public Map<Bytes32, SlotAndBlockRoot> getStateRoots() {
+    return stateRoots;
+  }
+
+  public Collection<IndexedAttestation> getIndexedAttestations() {
+    return indexedAttestations;
+  }
+}
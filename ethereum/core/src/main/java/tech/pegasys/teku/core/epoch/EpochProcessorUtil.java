@@ -25,7 +25,6 @@ import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_total_ba
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_validator_churn_limit;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.initiate_validator_exit;
 import static tech.pegasys.teku.datastructures.util.ValidatorsUtil.decrease_balance;
-import static tech.pegasys.teku.datastructures.util.ValidatorsUtil.increase_balance;
 import static tech.pegasys.teku.datastructures.util.ValidatorsUtil.is_active_validator;
 import static tech.pegasys.teku.datastructures.util.ValidatorsUtil.is_eligible_for_activation;
 import static tech.pegasys.teku.datastructures.util.ValidatorsUtil.is_eligible_for_activation_queue;
@@ -207,10 +206,11 @@ public final class EpochProcessorUtil {
       Deltas attestation_deltas =
           new RewardsAndPenaltiesCalculator(state, matchingAttestations).getAttestationDeltas();
 
-      for (int i = 0; i < state.getValidators().size(); i++) {
-        increase_balance(state, i, attestation_deltas.getReward(i));
-        decrease_balance(state, i, attestation_deltas.getPenalty(i));
-      }
+      // Equivalent to increase_balance and decrease_balance for each validator but updates the
+      // packed balances in bulk
+      long[] balances = state.getBalanceValues();
+      attestation_deltas.applyTo(balances);
+      state.setBalanceValues(balances);
     } catch (IllegalArgumentException e) {
       throw new EpochProcessingException(e);
     }
@@ -348,10 +348,10 @@ public final class EpochProcessorUtil {
 
     // Update effective balances with hysteresis
     SSZMutableList<Validator> validators = state.getValidators();
-    SSZList<UInt64> balances = state.getBalances();
+    long[] balances = state.getBalanceValues();
     for (int index = 0; index < validators.size(); index++) {
       Validator validator = validators.get(index);
-      UInt64 balance = balances.get(index);
+      UInt64 balance = UInt64.fromLongBits(balances[index]);
 
       final UInt64 hysteresis_increment =
           EFFECTIVE_BALANCE_INCREMENT.dividedBy(HYSTERESIS_QUOTIENT);
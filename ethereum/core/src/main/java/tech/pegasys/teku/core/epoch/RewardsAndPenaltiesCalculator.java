@@ -29,9 +29,7 @@ import static tech.pegasys.teku.util.config.Constants.MIN_EPOCHS_TO_INACTIVITY_P
 import static tech.pegasys.teku.util.config.Constants.PROPOSER_REWARD_QUOTIENT;
 
 import com.google.common.base.Suppliers;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
@@ -52,7 +50,6 @@ public class RewardsAndPenaltiesCalculator {
 
   private final BeaconState state;
   private final MatchingAttestations matchingAttestations;
-  private final List<UInt64> noValues;
   private final Supplier<Map<Integer, UInt64>> eligibleValidatorBaseRewards;
   private final boolean isInInactivityLeak;
 
@@ -60,7 +57,6 @@ public class RewardsAndPenaltiesCalculator {
       final BeaconState state, final MatchingAttestations matchingAttestations) {
     this.state = state;
     this.matchingAttestations = matchingAttestations;
-    noValues = Collections.nCopies(state.getValidators().size(), UInt64.ZERO);
     eligibleValidatorBaseRewards = Suppliers.memoize(this::calculateEligibleValidatorBaseRewards);
     isInInactivityLeak = getFinalityDelay().compareTo(MIN_EPOCHS_TO_INACTIVITY_PENALTY) > 0;
   }
@@ -123,13 +119,7 @@ public class RewardsAndPenaltiesCalculator {
    * @return
    */
   private Deltas getAttestationComponentDeltas(SSZList<PendingAttestation> attestations) {
-    int validatorCount = state.getValidators().size();
-    List<UInt64> rewards = new ArrayList<>(validatorCount);
-    List<UInt64> penalties = new ArrayList<>(validatorCount);
-    for (int i = 0; i < validatorCount; i++) {
-      rewards.add(UInt64.ZERO);
-      penalties.add(UInt64.ZERO);
-    }
+    Deltas deltas = new Deltas(state.getValidators().size());
     UInt64 totalBalance = get_total_active_balance(state);
     Set<Integer> unslashedAttestingIndices =
         get_unslashed_attesting_indices(state, attestations, HashSet::new);
@@ -142,17 +132,17 @@ public class RewardsAndPenaltiesCalculator {
         if (isInInactivityLeak) {
           // Since full base reward will be canceled out by inactivity penalty deltas,
           // optimal participation receives full base reward compensation here.
-          add(rewards, index, getBaseReward(index));
+          deltas.addReward(index, getBaseReward(index));
         } else {
           UInt64 rewardNumerator =
               getBaseReward(index).times(attestingBalance.dividedBy(increment));
-          add(rewards, index, rewardNumerator.dividedBy(totalBalance.dividedBy(increment)));
+          deltas.addReward(index, rewardNumerator.dividedBy(totalBalance.dividedBy(increment)));
         }
       } else {
-        add(penalties, index, getBaseReward(index));
+        deltas.addPenalty(index, getBaseReward(index));
       }
     }
-    return new Deltas(rewards, penalties);
+    return deltas;
   }
 
   /**
@@ -190,11 +180,7 @@ public class RewardsAndPenaltiesCalculator {
 
   /** Return proposer and inclusion delay micro-rewards/penalties for each validator */
   public Deltas getInclusionDelayDeltas() {
-    int validatorCount = state.getValidators().size();
-    List<UInt64> rewards = new ArrayList<>(validatorCount);
-    for (int i = 0; i < validatorCount; i++) {
-      rewards.add(UInt64.ZERO);
-    }
+    Deltas deltas = new Deltas(state.getValidators().size());
     SSZList<PendingAttestation> matchingSourceAttestations =
         matchingAttestations.getMatchingSourceAttestations(get_previous_epoch(state));
 
@@ -215,18 +201,16 @@ public class RewardsAndPenaltiesCalculator {
                 .min(Comparator.comparing(PendingAttestation::getInclusion_delay))
                 .ifPresent(
                     a -> {
-                      add(
-                          rewards,
-                          toIntExact(a.getProposer_index().longValue()),
-                          getProposerReward(index));
+                      deltas.addReward(
+                          toIntExact(a.getProposer_index().longValue()), getProposerReward(index));
 
                       UInt64 maxAttesterReward =
                           getBaseReward(index).minus(getProposerReward(index));
-                      add(rewards, index, maxAttesterReward.dividedBy(a.getInclusion_delay()));
+                      deltas.addReward(index, maxAttesterReward.dividedBy(a.getInclusion_delay()));
                     }));
 
     // No penalties associtated with inclusion delay
-    return new Deltas(rewards, noValues);
+    return deltas;
   }
 
   /**
@@ -235,11 +219,7 @@ public class RewardsAndPenaltiesCalculator {
    * @return
    */
   public Deltas getInactivityPenaltyDeltas() {
-    int validatorCount = state.getValidators().size();
-    List<UInt64> penalties = new ArrayList<>(validatorCount);
-    for (int i = 0; i < validatorCount; i++) {
-      penalties.add(UInt64.ZERO);
-    }
+    Deltas deltas = new Deltas(state.getValidators().size());
 
     if (isInInactivityLeak) {
       SSZList<PendingAttestation> matchingTargetAttestations =
@@ -249,14 +229,11 @@ public class RewardsAndPenaltiesCalculator {
       for (int index : getEligibleValidatorIndices()) {
         // If validator is performing optimally this cancels all rewards for a neutral balance
         UInt64 baseReward = getBaseReward(index);
-        add(
-            penalties,
-            index,
-            BASE_REWARDS_PER_EPOCH.times(baseReward).minus(getProposerReward(index)));
+        deltas.addPenalty(
+            index, BASE_REWARDS_PER_EPOCH.times(baseReward).minus(getProposerReward(index)));
         if (!matchingTargetAttestingIndices.contains(index)) {
           final UInt64 effectiveBalance = state.getValidators().get(index).getEffective_balance();
-          add(
-              penalties,
+          deltas.addPenalty(
               index,
               effectiveBalance.times(getFinalityDelay()).dividedBy(INACTIVITY_PENALTY_QUOTIENT));
         }
@@ -264,7 +241,7 @@ public class RewardsAndPenaltiesCalculator {
     }
 
     // No rewards associated with inactivity penalties
-    return new Deltas(noValues, penalties);
+    return deltas;
   }
 
   /**
@@ -274,33 +251,13 @@ public class RewardsAndPenaltiesCalculator {
    * @throws IllegalArgumentException
    */
   public Deltas getAttestationDeltas() throws IllegalArgumentException {
-    Deltas sourceDeltas = getSourceDeltas();
-    Deltas targetDeltas = getTargetDeltas();
-    Deltas headDeltas = getHeadDeltas();
-    Deltas inclusionDelayDeltas = getInclusionDelayDeltas();
-    Deltas inactivityDeltas = getInactivityPenaltyDeltas();
-
-    List<UInt64> rewards = new ArrayList<>();
-    List<UInt64> penalties = new ArrayList<>();
-    for (int i = 0; i < state.getValidators().size(); i++) {
-      rewards.add(
-          sourceDeltas
-              .getReward(i)
-              .plus(targetDeltas.getReward(i))
-              .plus(headDeltas.getReward(i))
-              .plus(inclusionDelayDeltas.getReward(i)));
-      penalties.add(
-          sourceDeltas
-              .getPenalty(i)
-              .plus(targetDeltas.getPenalty(i))
-              .plus(headDeltas.getPenalty(i))
-              .plus(inactivityDeltas.getPenalty(i)));
-    }
-    return new Deltas(rewards, penalties);
-  }
-
-  private void add(final List<UInt64> list, int index, UInt64 amount) {
-    final UInt64 current = list.get(index);
-    list.set(index, current.plus(amount));
+    Deltas deltas = new Deltas(state.getValidators().size());
+    deltas.add(getSourceDeltas());
+    deltas.add(getTargetDeltas());
+    deltas.add(getHeadDeltas());
+    // Inclusion delay deltas have no penalties and inactivity deltas have no rewards
+    deltas.add(getInclusionDelayDeltas());
+    deltas.add(getInactivityPenaltyDeltas());
+    return deltas;
   }
 }
@@ -26,7 +26,7 @@ import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.datastructures.blocks.BeaconBlockHeader;
 import tech.pegasys.teku.datastructures.operations.ProposerSlashing;
 import tech.pegasys.teku.datastructures.state.BeaconState;
-import tech.pegasys.teku.datastructures.state.BeaconStateCache;
+import tech.pegasys.teku.datastructures.state.ValidatorPublicKeyRegistry;
 
 public class ProposerSlashingSignatureVerifier {
 
@@ -40,11 +40,8 @@ public class ProposerSlashingSignatureVerifier {
     final BeaconBlockHeader header1 = proposerSlashing.getHeader_1().getMessage();
     final BeaconBlockHeader header2 = proposerSlashing.getHeader_2().getMessage();
     BLSPublicKey publicKey =
-        BeaconStateCache.getTransitionCaches(state)
-            .getValidatorsPubKeys()
-            .get(
-                header1.getProposer_index(),
-                idx -> state.getValidators().get(toIntExact(idx.longValue())).getPubkey());
+        ValidatorPublicKeyRegistry.getInstance()
+            .getPublicKey(state, toIntExact(header1.getProposer_index().longValue()));
 
     if (!signatureVerifier.verify(
         publicKey,
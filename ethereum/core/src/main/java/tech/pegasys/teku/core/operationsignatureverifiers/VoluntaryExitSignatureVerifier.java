@@ -25,7 +25,7 @@ import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.datastructures.operations.VoluntaryExit;
 import tech.pegasys.teku.datastructures.state.BeaconState;
-import tech.pegasys.teku.datastructures.state.BeaconStateCache;
+import tech.pegasys.teku.datastructures.state.ValidatorPublicKeyRegistry;
 
 public class VoluntaryExitSignatureVerifier {
 
@@ -34,11 +34,8 @@ public class VoluntaryExitSignatureVerifier {
     final VoluntaryExit exit = signedExit.getMessage();
 
     BLSPublicKey publicKey =
-        BeaconStateCache.getTransitionCaches(state)
-            .getValidatorsPubKeys()
-            .get(
-                exit.getValidator_index(),
-                idx -> state.getValidators().get(toIntExact(idx.longValue())).getPubkey());
+        ValidatorPublicKeyRegistry.getInstance()
+            .getPublicKey(state, toIntExact(exit.getValidator_index().longValue()));
 
     final Bytes32 domain = get_domain(state, DOMAIN_VOLUNTARY_EXIT, exit.getEpoch());
     final Bytes signing_root = compute_signing_root(exit, domain);
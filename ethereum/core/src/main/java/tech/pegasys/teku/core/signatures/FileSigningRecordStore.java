@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.data.signingrecord.SigningRecordJournal;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+
+/** Stores the signing record of each validator in a separate file, synced on every update. */
+public class FileSigningRecordStore implements SigningRecordStore {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final SyncDataAccessor dataAccessor;
+  private final Path slashingProtectionBaseDir;
+
+  public FileSigningRecordStore(
+      final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir) {
+    this.dataAccessor = dataAccessor;
+    this.slashingProtectionBaseDir = slashingProtectionBaseDir;
+  }
+
+  /**
+   * Creates a store for the specified directory. If the directory contains a journal written by
+   * {@link GroupCommitSigningRecordStore} its records are more recent than the per-validator files,
+   * so they are first written to the files and the journal is then deleted.
+   *
+   * @param dataAccessor the accessor used to write the per-validator files
+   * @param slashingProtectionBaseDir the slashing protection directory
+   * @return the store
+   * @throws IOException if the journal can't be read or its records can't be written
+   */
+  public static FileSigningRecordStore create(
+      final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir)
+      throws IOException {
+    final FileSigningRecordStore store =
+        new FileSigningRecordStore(dataAccessor, slashingProtectionBaseDir);
+    if (SigningRecordJournal.exists(slashingProtectionBaseDir)) {
+      final Map<Bytes, ValidatorSigningRecord> records =
+          SigningRecordJournal.readRecords(slashingProtectionBaseDir);
+      LOG.info("Moving {} signing records from journal to validator files", records.size());
+      for (Map.Entry<Bytes, ValidatorSigningRecord> entry : records.entrySet()) {
+        dataAccessor.syncedWrite(
+            store.validatorRecordPath(entry.getKey()), entry.getValue().toBytes());
+      }
+      SigningRecordJournal.delete(slashingProtectionBaseDir);
+    }
+    return store;
+  }
+
+  @Override
+  public Optional<ValidatorSigningRecord> load(final BLSPublicKey validator) throws IOException {
+    return dataAccessor.read(validatorRecordPath(validator)).map(ValidatorSigningRecord::fromBytes);
+  }
+
+  @Override
+  public SafeFuture<Void> store(final BLSPublicKey validator, final ValidatorSigningRecord record) {
+    return SafeFuture.fromRunnable(
+        () -> dataAccessor.syncedWrite(validatorRecordPath(validator), record.toBytes()));
+  }
+
+  private Path validatorRecordPath(final BLSPublicKey validator) {
+    return validatorRecordPath(validator.toBytesCompressed());
+  }
+
+  private Path validatorRecordPath(final Bytes validator) {
+    return slashingProtectionBaseDir.resolve(validator.toUnprefixedHexString() + ".yml");
+  }
+}
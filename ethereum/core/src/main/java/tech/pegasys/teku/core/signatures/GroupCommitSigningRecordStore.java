@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.data.signingrecord.SigningRecordJournal;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+
+/**
+ * Stores signing records in a {@link SigningRecordJournal}, committing all the updates received
+ * while the previous commit was in progress together with a single sync.
+ *
+ * <p>The futures returned from {@link #store(BLSPublicKey, ValidatorSigningRecord)} only complete
+ * once the commit including the record has been flushed to hardware storage, so callers can still
+ * wait for the record to be persisted before signing.
+ *
+ * <p>Validators without a record in the journal fall back to their per-validator file, so records
+ * written by {@link FileSigningRecordStore} or imported from the interchange format are still
+ * respected.
+ */
+public class GroupCommitSigningRecordStore implements SigningRecordStore {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final SigningRecordJournal journal;
+  private final SigningRecordStore validatorFileStore;
+  private final AsyncRunner asyncRunner;
+  private final Counter commitCounter;
+  private final Counter committedRecordCounter;
+
+  private List<PendingRecord> pendingRecords = new ArrayList<>();
+  private boolean commitScheduled = false;
+
+  public GroupCommitSigningRecordStore(
+      final SigningRecordJournal journal,
+      final SigningRecordStore validatorFileStore,
+      final AsyncRunner asyncRunner,
+      final MetricsSystem metricsSystem) {
+    this.journal = journal;
+    this.validatorFileStore = validatorFileStore;
+    this.asyncRunner = asyncRunner;
+    this.commitCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.VALIDATOR,
+            "slashing_protection_commits_total",
+            "Number of batches of signing records flushed to the slashing protection journal");
+    this.committedRecordCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.VALIDATOR,
+            "slashing_protection_committed_records_total",
+            "Number of signing records flushed to the slashing protection journal");
+  }
+
+  /**
+   * Opens the journal in the slashing protection directory. The per-validator files in the same
+   * directory are used for validators without a record in the journal.
+   *
+   * @param slashingProtectionBaseDir the slashing protection directory
+   * @param asyncRunner the runner to commit updates on, which should have a single thread
+   * @param metricsSystem the metrics system
+   * @return the store
+   * @throws IOException if the journal can't be opened
+   */
+  public static GroupCommitSigningRecordStore create(
+      final Path slashingProtectionBaseDir,
+      final AsyncRunner asyncRunner,
+      final MetricsSystem metricsSystem)
+      throws IOException {
+    return new GroupCommitSigningRecordStore(
+        SigningRecordJournal.open(slashingProtectionBaseDir),
+        new FileSigningRecordStore(new SyncDataAccessor(), slashingProtectionBaseDir),
+        asyncRunner,
+        metricsSystem);
+  }
+
+  @Override
+  public Optional<ValidatorSigningRecord> load(final BLSPublicKey validator) throws IOException {
+    final Optional<ValidatorSigningRecord> record = journal.getRecord(toKey(validator));
+    return record.isPresent() ? record : validatorFileStore.load(validator);
+  }
+
+  @Override
+  public SafeFuture<Void> store(final BLSPublicKey validator, final ValidatorSigningRecord record) {
+    final SafeFuture<Void> result = new SafeFuture<>();
+    final boolean scheduleCommit;
+    synchronized (this) {
+      pendingRecords.add(new PendingRecord(toKey(validator), record, result));
+      scheduleCommit = !commitScheduled;
+      commitScheduled = true;
+    }
+    if (scheduleCommit) {
+      asyncRunner.runAsync(this::commit).finish(this::failPendingRecords);
+    }
+    return result;
+  }
+
+  private void commit() {
+    final List<PendingRecord> batch;
+    synchronized (this) {
+      batch = pendingRecords;
+      pendingRecords = new ArrayList<>();
+      commitScheduled = false;
+    }
+    // Later updates for the same validator replace earlier ones
+    final Map<Bytes, ValidatorSigningRecord> records = new HashMap<>();
+    batch.forEach(pending -> records.put(pending.validator, pending.record));
+    try {
+      journal.append(records);
+    } catch (final IOException | RuntimeException e) {
+      LOG.error("Failed to write {} signing records", records.size(), e);
+      batch.forEach(pending -> pending.result.completeExceptionally(e));
+      return;
+    }
+    commitCounter.inc();
+    committedRecordCounter.inc(records.size());
+    batch.forEach(pending -> pending.result.complete(null));
+  }
+
+  private void failPendingRecords(final Throwable error) {
+    final List<PendingRecord> failed;
+    synchronized (this) {
+      failed = pendingRecords;
+      pendingRecords = new ArrayList<>();
+      commitScheduled = false;
+    }
+    LOG.error("Failed to schedule commit of {} signing records", failed.size(), error);
+    failed.forEach(pending -> pending.result.completeExceptionally(error));
+  }
+
+  private static Bytes toKey(final BLSPublicKey validator) {
+    return validator.toBytesCompressed();
+  }
+
+  private static class PendingRecord {
+    private final Bytes validator;
+    private final ValidatorSigningRecord record;
+    private final SafeFuture<Void> result;
+
+    private PendingRecord(
+        final Bytes validator, final ValidatorSigningRecord record, final SafeFuture<Void> result) {
+      this.validator = validator;
+      this.record = record;
+      this.result = result;
+    }
+  }
+}
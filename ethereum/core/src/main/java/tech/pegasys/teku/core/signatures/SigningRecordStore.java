@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import java.io.IOException;
+import java.util.Optional;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/** Durable storage for the {@link ValidatorSigningRecord} of each validator. */
+public interface SigningRecordStore {
+
+  /**
+   * Loads the stored signing record for a validator.
+   *
+   * @param validator the validator to load the record for
+   * @return the stored record or empty if the validator has never signed
+   * @throws IOException if an IO error occurs while reading
+   */
+  Optional<ValidatorSigningRecord> load(BLSPublicKey validator) throws IOException;
+
+  /**
+   * Stores the signing record for a validator.
+   *
+   * <p>Records for the same validator must be stored in the order they were created. Each record
+   * replaces any record stored before it, even if that record hasn't been flushed yet.
+   *
+   * @param validator the validator the record is for
+   * @param record the new signing record
+   * @return a future which completes once the record has been flushed to hardware storage
+   */
+  SafeFuture<Void> store(BLSPublicKey validator, ValidatorSigningRecord record);
+}
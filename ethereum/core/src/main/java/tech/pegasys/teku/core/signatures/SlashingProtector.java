@@ -14,63 +14,93 @@
 package tech.pegasys.teku.core.signatures;
 
 import java.io.IOException;
-import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
-import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
+/**
+ * Checks whether it is safe for a validator to sign a block or attestation and, if so, records that
+ * it has been signed in the {@link SigningRecordStore}.
+ *
+ * <p>The returned futures only complete with {@code true} once the updated record has been
+ * persisted. The in-memory record is updated immediately so later requests are checked against it
+ * even while it is being persisted. If persisting fails the request is rejected but the in-memory
+ * record is kept, which can only cause later requests to be rejected, never wrongly allowed.
+ */
 public class SlashingProtector {
 
   private final Map<BLSPublicKey, ValidatorSigningRecord> signingRecords = new HashMap<>();
 
-  private final SyncDataAccessor dataAccessor;
-  private final Path slashingProtectionBaseDir;
+  private final SigningRecordStore signingRecordStore;
+  private final LabelledMetric<OperationTimer> checkDurationTimer;
 
   public SlashingProtector(
-      final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir) {
-    this.dataAccessor = dataAccessor;
-    this.slashingProtectionBaseDir = slashingProtectionBaseDir;
+      final SigningRecordStore signingRecordStore, final MetricsSystem metricsSystem) {
+    this.signingRecordStore = signingRecordStore;
+    this.checkDurationTimer =
+        metricsSystem.createLabelledTimer(
+            TekuMetricCategory.VALIDATOR,
+            "slashing_protection_check_duration",
+            "Time taken to check and persist the signing record for a block or attestation",
+            "type");
   }
 
-  public synchronized SafeFuture<Boolean> maySignBlock(
+  public SafeFuture<Boolean> maySignBlock(
       final BLSPublicKey validator, final Bytes32 genesisValidatorsRoot, final UInt64 slot) {
-    return SafeFuture.of(
-        () -> {
-          final ValidatorSigningRecord signingRecord =
-              loadSigningRecord(validator, genesisValidatorsRoot);
-          return handleResult(validator, signingRecord.maySignBlock(genesisValidatorsRoot, slot));
-        });
+    final TimingContext timingContext = checkDurationTimer.labels("block").startTimer();
+    return recordSigningIfAllowed(
+            validator,
+            genesisValidatorsRoot,
+            record -> record.maySignBlock(genesisValidatorsRoot, slot))
+        .alwaysRun(timingContext::stopTimer);
   }
 
-  public synchronized SafeFuture<Boolean> maySignAttestation(
+  public SafeFuture<Boolean> maySignAttestation(
       final BLSPublicKey validator,
       final Bytes32 genesisValidatorsRoot,
       final UInt64 sourceEpoch,
       final UInt64 targetEpoch) {
-    return SafeFuture.of(
-        () -> {
-          final ValidatorSigningRecord signingRecord =
-              loadSigningRecord(validator, genesisValidatorsRoot);
-          return handleResult(
-              validator,
-              signingRecord.maySignAttestation(genesisValidatorsRoot, sourceEpoch, targetEpoch));
-        });
+    final TimingContext timingContext = checkDurationTimer.labels("attestation").startTimer();
+    return recordSigningIfAllowed(
+            validator,
+            genesisValidatorsRoot,
+            record -> record.maySignAttestation(genesisValidatorsRoot, sourceEpoch, targetEpoch))
+        .alwaysRun(timingContext::stopTimer);
   }
 
-  private Boolean handleResult(
-      final BLSPublicKey validator, final Optional<ValidatorSigningRecord> newRecord)
-      throws IOException {
-    if (newRecord.isEmpty()) {
-      return false;
+  private SafeFuture<Boolean> recordSigningIfAllowed(
+      final BLSPublicKey validator,
+      final Bytes32 genesisValidatorsRoot,
+      final SigningCheck signingCheck) {
+    final SafeFuture<Void> storeResult;
+    synchronized (this) {
+      final ValidatorSigningRecord newRecord;
+      try {
+        final Optional<ValidatorSigningRecord> maybeNewRecord =
+            signingCheck.apply(loadSigningRecord(validator, genesisValidatorsRoot));
+        if (maybeNewRecord.isEmpty()) {
+          return SafeFuture.completedFuture(false);
+        }
+        newRecord = maybeNewRecord.get();
+      } catch (final IOException | RuntimeException e) {
+        return SafeFuture.failedFuture(e);
+      }
+      signingRecords.put(validator, newRecord);
+      // Hand the record to the store while still holding the lock so records for a validator reach
+      // the store in the order they were created and an older record can't overwrite a newer one
+      storeResult = signingRecordStore.store(validator, newRecord);
     }
-    writeSigningRecord(validator, newRecord.get());
-    return true;
+    return storeResult.thenApply(__ -> true);
   }
 
   private ValidatorSigningRecord loadSigningRecord(
@@ -80,22 +110,14 @@ public class SlashingProtector {
       return record;
     }
     record =
-        dataAccessor
-            .read(validatorRecordPath(validator))
-            .map(ValidatorSigningRecord::fromBytes)
+        signingRecordStore
+            .load(validator)
             .orElseGet(() -> new ValidatorSigningRecord(genesisValidatorsRoot));
     signingRecords.put(validator, record);
     return record;
   }
 
-  private void writeSigningRecord(final BLSPublicKey validator, final ValidatorSigningRecord record)
-      throws IOException {
-    dataAccessor.syncedWrite(validatorRecordPath(validator), record.toBytes());
-    signingRecords.put(validator, record);
-  }
-
-  private Path validatorRecordPath(final BLSPublicKey validator) {
-    return slashingProtectionBaseDir.resolve(
-        validator.toBytesCompressed().toUnprefixedHexString() + ".yml");
+  private interface SigningCheck {
+    Optional<ValidatorSigningRecord> apply(ValidatorSigningRecord record);
   }
 }
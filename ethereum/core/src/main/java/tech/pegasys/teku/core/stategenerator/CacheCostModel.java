@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.stategenerator;
+
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_block_root_at_slot;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.isBlockRootAvailableFromState;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.Checkpoint;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+
+/** Describes the memory held by cached values and the cost of regenerating them once evicted. */
+public interface CacheCostModel<K, V> {
+
+  /**
+   * The furthest distance, in slots, searched for a cached ancestor. Values without a cached
+   * ancestor this close are assumed to cost this much to regenerate.
+   */
+  long MAX_REGENERATION_COST = 256;
+
+  /**
+   * Returns the root of the tree backing the value, which is used to estimate the memory the value
+   * holds.
+   *
+   * @param value the cached value
+   * @return the backing tree or empty if the value doesn't hold significant memory
+   */
+  Optional<TreeNode> getBackingNode(V value);
+
+  /**
+   * Finds the ancestors the value could be regenerated from and the number of slots which would
+   * have to be processed from each. This may read from the value so it's only called once, when
+   * the value is added to the cache.
+   *
+   * @param key the key of the cached value
+   * @param value the cached value
+   * @return the ancestors the value can be regenerated from
+   */
+  RegenerationSources<K> getRegenerationSources(K key, V value);
+
+  /** Cost model for values which are cheap to regenerate and don't hold significant memory. */
+  static <K, V> CacheCostModel<K, V> none() {
+    return new CacheCostModel<>() {
+      @Override
+      public Optional<TreeNode> getBackingNode(final V value) {
+        return Optional.empty();
+      }
+
+      @Override
+      public RegenerationSources<K> getRegenerationSources(final K key, final V value) {
+        return new RegenerationSources<>(0);
+      }
+    };
+  }
+
+  /**
+   * Cost model for block states keyed by block root. The closest cached ancestor is found from the
+   * block roots recorded in the state itself.
+   */
+  static CacheCostModel<Bytes32, SignedBlockAndState> blockAndStates() {
+    return new CacheCostModel<>() {
+      @Override
+      public Optional<TreeNode> getBackingNode(final SignedBlockAndState value) {
+        return Optional.of(value.getState().getBackingNode());
+      }
+
+      @Override
+      public RegenerationSources<Bytes32> getRegenerationSources(
+          final Bytes32 key, final SignedBlockAndState value) {
+        final BeaconState state = value.getState();
+        final long slot = state.getSlot().longValue();
+        final RegenerationSources<Bytes32> sources =
+            new RegenerationSources<>(MAX_REGENERATION_COST);
+        for (long distance = 1; distance <= slot && distance < MAX_REGENERATION_COST; distance++) {
+          final UInt64 ancestorSlot = UInt64.valueOf(slot - distance);
+          if (!isBlockRootAvailableFromState(state, ancestorSlot)) {
+            break;
+          }
+          sources.add(get_block_root_at_slot(state, ancestorSlot), distance);
+        }
+        return sources;
+      }
+    };
+  }
+
+  /**
+   * Cost model for checkpoint states. A checkpoint state is regenerated by processing empty slots
+   * from either an earlier checkpoint state for the same block or the block's state.
+   */
+  static CacheCostModel<Checkpoint, BeaconState> checkpointStates() {
+    return new CacheCostModel<>() {
+      @Override
+      public Optional<TreeNode> getBackingNode(final BeaconState value) {
+        return Optional.of(value.getBackingNode());
+      }
+
+      @Override
+      public RegenerationSources<Checkpoint> getRegenerationSources(
+          final Checkpoint key, final BeaconState value) {
+        final long slot = value.getSlot().longValue();
+        final long blockSlot = value.getLatest_block_header().getSlot().longValue();
+        final long blockStateCost = Math.min(Math.max(slot - blockSlot, 0), MAX_REGENERATION_COST);
+        final RegenerationSources<Checkpoint> sources = new RegenerationSources<>(blockStateCost);
+        UInt64 epoch = key.getEpoch();
+        while (epoch.isGreaterThan(UInt64.ZERO)) {
+          epoch = epoch.decrement();
+          final Checkpoint ancestor = new Checkpoint(epoch, key.getRoot());
+          final long cost = slot - ancestor.getEpochStartSlot().longValue();
+          if (cost >= blockStateCost) {
+            // No cheaper than starting from the block's state
+            break;
+          }
+          sources.add(ancestor, cost);
+        }
+        return sources;
+      }
+    };
+  }
+
+  /**
+   * The ancestors a cached value can be regenerated from, cheapest first, with the number of slots
+   * which would have to be processed from each. Finding the current regeneration cost then only
+   * requires cache lookups.
+   */
+  final class RegenerationSources<K> {
+    private final Map<K, Long> costByAncestor = new LinkedHashMap<>();
+    private final long defaultCost;
+
+    /** @param defaultCost the cost when none of the ancestors are cached */
+    public RegenerationSources(final long defaultCost) {
+      this.defaultCost = defaultCost;
+    }
+
+    /**
+     * Adds an ancestor. Ancestors must be added in order of increasing cost, an ancestor which was
+     * already added keeps its lower cost.
+     */
+    public void add(final K ancestor, final long cost) {
+      costByAncestor.putIfAbsent(ancestor, cost);
+    }
+
+    /**
+     * @param isCached tests whether a key is currently cached
+     * @return the cost of regenerating from the cheapest cached ancestor
+     */
+    public long getCost(final Predicate<K> isCached) {
+      for (Map.Entry<K, Long> entry : costByAncestor.entrySet()) {
+        if (isCached.test(entry.getKey())) {
+          return entry.getValue();
+        }
+      }
+      return defaultCost;
+    }
+  }
+}
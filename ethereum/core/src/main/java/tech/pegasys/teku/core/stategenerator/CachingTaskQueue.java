@@ -28,7 +28,6 @@ import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
-import tech.pegasys.teku.infrastructure.collections.LimitedMap;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 
 public class CachingTaskQueue<K, V> {
@@ -42,7 +41,7 @@ public class CachingTaskQueue<K, V> {
   private final AtomicInteger activeTasks = new AtomicInteger(0);
   private final Queue<CacheableTask<K, V>> queuedTasks = new ConcurrentLinkedQueue<>();
 
-  private final Map<K, V> cache;
+  private final MemoryBudgetedCache<K, V> cache;
   private final AsyncRunner asyncRunner;
   private final MetricsSystem metricsSystem;
   private final String metricsPrefix;
@@ -53,12 +52,16 @@ public class CachingTaskQueue<K, V> {
       final MetricsSystem metricsSystem,
       final String metricsPrefix,
       final IntSupplier activeTaskLimit,
-      final int maxCacheSize) {
+      final int maxCacheSize,
+      final long maxCacheBytes,
+      final CacheCostModel<K, V> costModel) {
     this.asyncRunner = asyncRunner;
     this.metricsSystem = metricsSystem;
     this.metricsPrefix = metricsPrefix;
     this.activeTaskLimit = activeTaskLimit;
-    this.cache = LimitedMap.createSoft(maxCacheSize);
+    this.cache =
+        new MemoryBudgetedCache<>(
+            metricsSystem, metricsPrefix, maxCacheSize, maxCacheBytes, costModel);
 
     final LabelledMetric<Counter> labelledCounter =
         metricsSystem.createLabelledCounter(
@@ -77,12 +80,34 @@ public class CachingTaskQueue<K, V> {
       final MetricsSystem metricsSystem,
       final String metricsPrefix,
       final int maxCacheSize) {
+    return create(
+        asyncRunner,
+        metricsSystem,
+        metricsPrefix,
+        maxCacheSize,
+        Long.MAX_VALUE,
+        CacheCostModel.none());
+  }
+
+  /**
+   * Creates a queue whose cache is limited by the estimated memory held by the cached values as
+   * well as by the number of values.
+   */
+  public static <K, V> CachingTaskQueue<K, V> create(
+      final AsyncRunner asyncRunner,
+      final MetricsSystem metricsSystem,
+      final String metricsPrefix,
+      final int maxCacheSize,
+      final long maxCacheBytes,
+      final CacheCostModel<K, V> costModel) {
     return new CachingTaskQueue<>(
         asyncRunner,
         metricsSystem,
         metricsPrefix,
         () -> Math.max(2, Runtime.getRuntime().availableProcessors()),
-        maxCacheSize);
+        maxCacheSize,
+        maxCacheBytes,
+        costModel);
   }
 
   public void startMetrics() {
@@ -106,6 +131,11 @@ public class CachingTaskQueue<K, V> {
         metricsPrefix + "_cache_size",
         "Number of checkpoint states held in the in-memory store",
         cache::size);
+    metricsSystem.createGauge(
+        TekuMetricCategory.STORAGE,
+        metricsPrefix + "_cache_bytes",
+        "Estimated memory held by the cached values, in bytes",
+        cache::getEstimatedBytes);
   }
 
   public synchronized SafeFuture<Optional<V>> perform(final CacheableTask<K, V> task) {
@@ -131,7 +161,7 @@ public class CachingTaskQueue<K, V> {
         task.streamIntermediateSteps()
             .map(
                 key ->
-                    Optional.ofNullable(cache.get(key))
+                    Optional.ofNullable(cache.peek(key))
                         .map(value -> SafeFuture.completedFuture(Optional.of(value)))
                         .orElse(pendingTasks.get(key)))
             .filter(Objects::nonNull)
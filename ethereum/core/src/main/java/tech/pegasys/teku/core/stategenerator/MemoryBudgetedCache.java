@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.stategenerator;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import tech.pegasys.teku.core.stategenerator.CacheCostModel.RegenerationSources;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.ssz.backing.tree.SharedTreeNodeCounter;
+
+/**
+ * A cache limited by the estimated memory its values hold, with a limit on the number of values as
+ * a backstop.
+ *
+ * <p>Memory is estimated from the distinct tree nodes backing the cached values so nodes shared
+ * between states are only counted once. When a limit is exceeded, the value evicted is the one with
+ * the lowest regeneration cost per byte that evicting it would release, with ties going to the
+ * least recently used value.
+ *
+ * <p>The ancestors each value could be regenerated from are found when it's added, before taking
+ * the cache lock, so lookups and eviction only check which of those ancestors are still cached.
+ */
+class MemoryBudgetedCache<K, V> {
+  /** Rough average size of a leaf node and a branch node with its cached hash. */
+  static final long ESTIMATED_BYTES_PER_NODE = 80;
+
+  private final Map<K, V> values = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<K, RegenerationSources<K>> regenerationSources = new HashMap<>();
+  private final SharedTreeNodeCounter nodeCounter = new SharedTreeNodeCounter();
+  private final int maxSize;
+  private final long maxBytes;
+  private final CacheCostModel<K, V> costModel;
+
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter regenerationAvoidedCounter;
+
+  MemoryBudgetedCache(
+      final MetricsSystem metricsSystem,
+      final String metricsPrefix,
+      final int maxSize,
+      final long maxBytes,
+      final CacheCostModel<K, V> costModel) {
+    this.maxSize = maxSize;
+    this.maxBytes = maxBytes;
+    this.costModel = costModel;
+
+    final LabelledMetric<Counter> requestCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.STORAGE,
+            metricsPrefix + "_cache_requests_total",
+            "Total number of cache lookups",
+            "result");
+    hitCounter = requestCounter.labels("hit");
+    missCounter = requestCounter.labels("miss");
+    regenerationAvoidedCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.STORAGE,
+            metricsPrefix + "_cache_regeneration_avoided_slots_total",
+            "Estimated number of slots of state regeneration avoided by cache hits");
+  }
+
+  /** Returns the cached value, recording the lookup in the hit rate metrics. */
+  public synchronized V get(final K key) {
+    final V value = values.get(key);
+    if (value == null) {
+      missCounter.inc();
+      return null;
+    }
+    hitCounter.inc();
+    regenerationAvoidedCounter.inc(getRegenerationCost(key));
+    return value;
+  }
+
+  /** Returns the cached value without recording the lookup in the hit rate metrics. */
+  public synchronized V peek(final K key) {
+    return values.get(key);
+  }
+
+  public void put(final K key, final V value) {
+    final RegenerationSources<K> sources = costModel.getRegenerationSources(key, value);
+    synchronized (this) {
+      put(key, value, sources);
+    }
+  }
+
+  public void putAll(final Map<K, V> newValues) {
+    final Map<K, RegenerationSources<K>> newSources = new HashMap<>();
+    newValues.forEach(
+        (key, value) -> newSources.put(key, costModel.getRegenerationSources(key, value)));
+    synchronized (this) {
+      newValues.forEach((key, value) -> put(key, value, newSources.get(key)));
+    }
+  }
+
+  private void put(final K key, final V value, final RegenerationSources<K> sources) {
+    final V previous = values.put(key, value);
+    if (previous == value) {
+      return;
+    }
+    if (previous != null) {
+      release(previous);
+    }
+    regenerationSources.put(key, sources);
+    costModel.getBackingNode(value).ifPresent(nodeCounter::add);
+    evictIfRequired();
+  }
+
+  public synchronized void remove(final K key) {
+    final V removed = values.remove(key);
+    if (removed != null) {
+      regenerationSources.remove(key);
+      release(removed);
+    }
+  }
+
+  public synchronized int size() {
+    return values.size();
+  }
+
+  /** @return the estimated memory held by cached values, in bytes */
+  public synchronized long getEstimatedBytes() {
+    return nodeCounter.getNodeCount() * ESTIMATED_BYTES_PER_NODE;
+  }
+
+  private void release(final V value) {
+    costModel.getBackingNode(value).ifPresent(nodeCounter::remove);
+  }
+
+  private void evictIfRequired() {
+    // Always keep the most valuable entry, even if it alone exceeds the memory budget
+    while (values.size() > maxSize || (getEstimatedBytes() > maxBytes && values.size() > 1)) {
+      remove(selectEvictionCandidate());
+    }
+  }
+
+  private K selectEvictionCandidate() {
+    K candidate = null;
+    double candidateScore = Double.MAX_VALUE;
+    // Iterates from least to most recently used so ties evict the least recently used
+    for (Map.Entry<K, V> entry : values.entrySet()) {
+      final K key = entry.getKey();
+      final V value = entry.getValue();
+      final long regenerationCost = getRegenerationCost(key);
+      final long releasedBytes =
+          costModel
+                  .getBackingNode(value)
+                  .map(nodeCounter::countExclusiveNodes)
+                  .orElse(0L)
+              * ESTIMATED_BYTES_PER_NODE;
+      final double score = (double) regenerationCost / (releasedBytes + 1);
+      if (score < candidateScore) {
+        candidate = key;
+        candidateScore = score;
+      }
+    }
+    return candidate;
+  }
+
+  private long getRegenerationCost(final K key) {
+    return regenerationSources.get(key).getCost(ancestor -> isCachedAncestor(key, ancestor));
+  }
+
+  private boolean isCachedAncestor(final K key, final K ancestor) {
+    // Avoid get as it would change the order of the access ordered map
+    return !ancestor.equals(key) && values.containsKey(ancestor);
+  }
+}
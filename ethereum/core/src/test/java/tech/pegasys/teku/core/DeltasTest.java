@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class DeltasTest {
+
+  @Test
+  void add_shouldSumRewardsAndPenalties() {
+    final Deltas deltas = new Deltas(2);
+    deltas.addReward(0, UInt64.valueOf(5));
+    deltas.addPenalty(1, UInt64.valueOf(3));
+
+    deltas.add(
+        new Deltas(
+            List.of(UInt64.valueOf(1), UInt64.valueOf(2)),
+            List.of(UInt64.valueOf(10), UInt64.valueOf(20))));
+
+    assertThat(deltas.getReward(0)).isEqualTo(UInt64.valueOf(6));
+    assertThat(deltas.getReward(1)).isEqualTo(UInt64.valueOf(2));
+    assertThat(deltas.getPenalty(0)).isEqualTo(UInt64.valueOf(10));
+    assertThat(deltas.getPenalty(1)).isEqualTo(UInt64.valueOf(23));
+  }
+
+  @Test
+  void addReward_shouldFailOnOverflow() {
+    final Deltas deltas = new Deltas(1);
+    deltas.addReward(0, UInt64.MAX_VALUE);
+    assertThatThrownBy(() -> deltas.addReward(0, UInt64.ONE))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void applyTo_shouldIncreaseThenDecreaseBalances() {
+    final Deltas deltas =
+        new Deltas(
+            List.of(UInt64.valueOf(10), UInt64.valueOf(10), UInt64.ZERO),
+            List.of(UInt64.valueOf(5), UInt64.valueOf(200), UInt64.ZERO));
+    final long[] balances = {100, 100, UInt64.MAX_VALUE.longValue()};
+
+    deltas.applyTo(balances);
+
+    assertThat(balances).containsExactly(105, 0, UInt64.MAX_VALUE.longValue());
+  }
+}
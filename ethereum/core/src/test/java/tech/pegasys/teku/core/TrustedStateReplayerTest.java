@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tech.pegasys.teku.util.config.Constants.SLOTS_PER_HISTORICAL_ROOT;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSKeyGenerator;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class TrustedStateReplayerTest {
+
+  private static final List<BLSKeyPair> VALIDATOR_KEYS = BLSKeyGenerator.generateKeyPairs(3);
+  private final ChainBuilder chainBuilder = ChainBuilder.create(VALIDATOR_KEYS);
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final TrustedStateReplayer replayer = new TrustedStateReplayer(metricsSystem);
+
+  private SignedBlockAndState genesis;
+  private SignedBlockAndState lastBlockAndState;
+
+  @BeforeEach
+  void setUp() {
+    genesis = chainBuilder.generateGenesis();
+    chainBuilder.generateBlocksUpToSlot(3);
+    // Leave some empty slots
+    chainBuilder.generateBlockAtSlot(12);
+    lastBlockAndState = chainBuilder.generateBlockAtSlot(13);
+  }
+
+  @Test
+  void shouldHashStateWhenStateRootsAreUnknown() {
+    final BeaconState result =
+        replayer.replay(genesis.getState(), streamBlocks(), __ -> Optional.empty());
+
+    assertThat(result).isEqualTo(lastBlockAndState.getState());
+    assertThat(getCounterValue("trusted_replay_blocks_total")).isEqualTo(5);
+    assertThat(getCounterValue("trusted_replay_slots_total")).isEqualTo(13);
+    // Genesis and the empty slots from 4 to 11 have no block to provide their state root
+    assertThat(getCounterValue("trusted_replay_hashed_state_roots_total")).isEqualTo(9);
+  }
+
+  @Test
+  void shouldUseKnownStateRootsForEmptySlots() {
+    final BeaconState result =
+        replayer.replay(genesis.getState(), streamBlocks(), this::getCanonicalStateRoot);
+
+    assertThat(result).isEqualTo(lastBlockAndState.getState());
+    assertThat(getCounterValue("trusted_replay_hashed_state_roots_total")).isZero();
+  }
+
+  @Test
+  void shouldRejectResultWhenStateRootsAreIncorrect() {
+    assertThatThrownBy(
+            () ->
+                replayer.replay(
+                    genesis.getState(), streamBlocks(), __ -> Optional.of(Bytes32.ZERO)))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private Stream<SignedBeaconBlock> streamBlocks() {
+    return chainBuilder
+        .streamBlocksAndStates(genesis.getSlot().plus(UInt64.ONE), chainBuilder.getLatestSlot())
+        .map(SignedBlockAndState::getBlock);
+  }
+
+  private Optional<Bytes32> getCanonicalStateRoot(final UInt64 slot) {
+    return Optional.of(
+        lastBlockAndState
+            .getState()
+            .getState_roots()
+            .get(slot.mod(SLOTS_PER_HISTORICAL_ROOT).intValue()));
+  }
+
+  private long getCounterValue(final String name) {
+    return metricsSystem.getCounter(TekuMetricCategory.BEACON, name).getValue();
+  }
+}
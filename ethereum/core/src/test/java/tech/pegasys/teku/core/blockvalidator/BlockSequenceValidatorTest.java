@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.blockvalidator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSSecretKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.impl.mikuli.MikuliBLS12381;
+import tech.pegasys.teku.core.ChainBuilder;
+import tech.pegasys.teku.core.ChainBuilder.BlockOptions;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+
+public class BlockSequenceValidatorTest {
+  private static final Bytes32 ONE = Bytes32.fromHexStringLenient("0x01");
+  private static final Bytes32 CURVE_ORDER_MINUS_ONE =
+      Bytes32.fromHexString("0x73eda753299d7d483339d80809a1d80553bda402fffe5bfeffffffff00000000");
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final ChainBuilder chainBuilder = ChainBuilder.createDefault();
+  private final BlockSequenceValidator validator = new BlockSequenceValidator();
+
+  private BeaconState preState;
+  private List<SignedBeaconBlock> blocks;
+
+  @BeforeEach
+  void setUp() {
+    preState = chainBuilder.generateGenesis().getState();
+    chainBuilder.generateBlockAtSlot(1);
+    for (int slot = 2; slot <= 6; slot++) {
+      final BlockOptions options = BlockOptions.create();
+      chainBuilder.streamValidAttestationsForBlockAtSlot(slot).forEach(options::addAttestation);
+      chainBuilder.generateBlockAtSlot(slot, options);
+    }
+    blocks =
+        chainBuilder
+            .streamBlocksAndStates(1)
+            .map(SignedBlockAndState::getBlock)
+            .collect(Collectors.toList());
+  }
+
+  @Test
+  void shouldAcceptAllValidBlocks() {
+    assertThat(validator.validate(preState, blocks)).hasSize(blocks.size());
+  }
+
+  @Test
+  void shouldReturnPostStatesOfValidBlocks() {
+    final List<ValidatedBlock> validatedBlocks = validator.validate(preState, blocks);
+
+    assertThat(validatedBlocks)
+        .extracting(ValidatedBlock::getBlock)
+        .containsExactlyElementsOf(blocks);
+    assertThat(validatedBlocks)
+        .extracting(ValidatedBlock::getPostState)
+        .containsExactlyElementsOf(
+            chainBuilder
+                .streamBlocksAndStates(1)
+                .map(SignedBlockAndState::getState)
+                .collect(Collectors.toList()));
+  }
+
+  @Test
+  void shouldAcceptEmptySequence() {
+    assertThat(validator.validate(preState, List.of())).isEmpty();
+  }
+
+  @Test
+  void shouldFindFirstBlockWithInvalidSignature() {
+    for (int invalidIndex = 0; invalidIndex < blocks.size(); invalidIndex++) {
+      final List<SignedBeaconBlock> modifiedBlocks = new ArrayList<>(blocks);
+      modifiedBlocks.set(invalidIndex, withInvalidSignature(blocks.get(invalidIndex)));
+
+      assertThat(validator.validate(preState, modifiedBlocks)).hasSize(invalidIndex);
+    }
+  }
+
+  @Test
+  void shouldStopAtBlockWhichIsNotAChildOfThePreviousBlock() {
+    final List<SignedBeaconBlock> modifiedBlocks = new ArrayList<>(blocks);
+    modifiedBlocks.remove(3);
+
+    assertThat(validator.validate(preState, modifiedBlocks)).hasSize(3);
+  }
+
+  @Test
+  void shouldStopAtBlockWithInvalidStateRootAndIgnoreLaterSignatures() {
+    final List<SignedBeaconBlock> modifiedBlocks = new ArrayList<>(blocks);
+    modifiedBlocks.set(2, dataStructureUtil.randomSignedBeaconBlock(3, blocks.get(1).getRoot()));
+    modifiedBlocks.set(4, withInvalidSignature(blocks.get(4)));
+
+    assertThat(validator.validate(preState, modifiedBlocks)).hasSize(2);
+  }
+
+  @Test
+  void shouldRejectBlocksWithSignaturesWhichCompensateEachOther() {
+    // Without distinct batch indices across blocks the proposer signature of every block would be
+    // verified without a random multiplier, so an offset and its negation would cancel out
+    BLS.setBlsImplementation(MikuliBLS12381.INSTANCE);
+    try {
+      final Bytes message = Bytes.of(1, 2, 3);
+      final BLSSignature offset = BLS.sign(BLSSecretKey.fromBytes(ONE), message);
+      final BLSSignature negatedOffset =
+          BLS.sign(BLSSecretKey.fromBytes(CURVE_ORDER_MINUS_ONE), message);
+      final List<SignedBeaconBlock> modifiedBlocks = new ArrayList<>(blocks);
+      modifiedBlocks.set(1, withSignatureOffset(blocks.get(1), offset));
+      modifiedBlocks.set(2, withSignatureOffset(blocks.get(2), negatedOffset));
+
+      assertThat(validator.validate(preState, modifiedBlocks)).hasSize(1);
+    } finally {
+      BLS.resetBlsImplementation();
+    }
+  }
+
+  private SignedBeaconBlock withSignatureOffset(
+      final SignedBeaconBlock block, final BLSSignature offset) {
+    return new SignedBeaconBlock(
+        block.getMessage(), BLS.aggregate(List.of(block.getSignature(), offset)));
+  }
+
+  private SignedBeaconBlock withInvalidSignature(final SignedBeaconBlock block) {
+    return new SignedBeaconBlock(block.getMessage(), dataStructureUtil.randomSignature());
+  }
+}
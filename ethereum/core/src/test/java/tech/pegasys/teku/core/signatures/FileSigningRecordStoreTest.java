@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.data.signingrecord.SigningRecordJournal;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class FileSigningRecordStoreTest {
+  private static final Bytes32 GENESIS_VALIDATORS_ROOT = Bytes32.fromHexString("0x561234");
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final BLSPublicKey validator1 = dataStructureUtil.randomPublicKey();
+  private final BLSPublicKey validator2 = dataStructureUtil.randomPublicKey();
+
+  @TempDir Path baseDir;
+
+  @Test
+  void create_shouldMoveJournalRecordsToValidatorFiles() throws Exception {
+    final FileSigningRecordStore existingStore =
+        new FileSigningRecordStore(new SyncDataAccessor(), baseDir);
+    existingStore.store(validator1, record(1)).join();
+    existingStore.store(validator2, record(2)).join();
+    try (SigningRecordJournal journal = SigningRecordJournal.open(baseDir)) {
+      journal.append(Map.of(validator1.toBytesCompressed(), record(5)));
+    }
+
+    final FileSigningRecordStore store =
+        FileSigningRecordStore.create(new SyncDataAccessor(), baseDir);
+
+    assertThat(SigningRecordJournal.exists(baseDir)).isFalse();
+    assertThat(store.load(validator1)).contains(record(5));
+    assertThat(store.load(validator2)).contains(record(2));
+  }
+
+  @Test
+  void create_shouldNotCreateJournal() throws Exception {
+    FileSigningRecordStore.create(new SyncDataAccessor(), baseDir);
+
+    assertThat(SigningRecordJournal.exists(baseDir)).isFalse();
+  }
+
+  private ValidatorSigningRecord record(final int blockSlot) {
+    return new ValidatorSigningRecord(
+        GENESIS_VALIDATORS_ROOT, UInt64.valueOf(blockSlot), UInt64.ONE, UInt64.valueOf(2));
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.data.signingrecord.SigningRecordJournal;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class GroupCommitSigningRecordStoreTest {
+  private static final Bytes32 GENESIS_VALIDATORS_ROOT = Bytes32.fromHexString("0x561234");
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final BLSPublicKey validator1 = dataStructureUtil.randomPublicKey();
+  private final BLSPublicKey validator2 = dataStructureUtil.randomPublicKey();
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+
+  @TempDir Path baseDir;
+  private SigningRecordJournal journal;
+  private GroupCommitSigningRecordStore store;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    journal = SigningRecordJournal.open(baseDir);
+    store =
+        new GroupCommitSigningRecordStore(
+            journal,
+            new FileSigningRecordStore(new SyncDataAccessor(), baseDir),
+            asyncRunner,
+            new NoOpMetricsSystem());
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    journal.close();
+  }
+
+  @Test
+  void store_shouldNotCompleteUntilCommitted() throws Exception {
+    final SafeFuture<Void> result = store.store(validator1, record(1));
+
+    assertThat(result).isNotDone();
+    assertThat(SigningRecordJournal.readRecords(baseDir)).isEmpty();
+
+    asyncRunner.executeQueuedActions();
+    assertThat(result).isCompleted();
+    assertThat(SigningRecordJournal.readRecords(baseDir))
+        .containsEntry(validator1.toBytesCompressed(), record(1));
+  }
+
+  @Test
+  void store_shouldCommitPendingRecordsTogether() throws Exception {
+    final SafeFuture<Void> result1 = store.store(validator1, record(1));
+    final SafeFuture<Void> result2 = store.store(validator2, record(2));
+    final SafeFuture<Void> result3 = store.store(validator1, record(3));
+
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+    asyncRunner.executeQueuedActions();
+
+    assertThat(result1).isCompleted();
+    assertThat(result2).isCompleted();
+    assertThat(result3).isCompleted();
+    assertThat(SigningRecordJournal.readRecords(baseDir))
+        .hasSize(2)
+        .containsEntry(validator1.toBytesCompressed(), record(3))
+        .containsEntry(validator2.toBytesCompressed(), record(2));
+  }
+
+  @Test
+  void store_shouldScheduleNewCommitForRecordsReceivedAfterCommit() {
+    final SafeFuture<Void> result1 = store.store(validator1, record(1));
+    asyncRunner.executeQueuedActions();
+    final SafeFuture<Void> result2 = store.store(validator2, record(2));
+
+    assertThat(result1).isCompleted();
+    assertThat(result2).isNotDone();
+
+    asyncRunner.executeQueuedActions();
+    assertThat(result2).isCompleted();
+  }
+
+  @Test
+  void store_shouldFailPendingRecordsWhenWriteFails() throws Exception {
+    final SafeFuture<Void> result = store.store(validator1, record(1));
+    journal.close();
+
+    asyncRunner.executeQueuedActions();
+    assertThat(result).isCompletedExceptionally();
+  }
+
+  @Test
+  void load_shouldPreferJournalOverValidatorFile() throws Exception {
+    final FileSigningRecordStore fileStore =
+        new FileSigningRecordStore(new SyncDataAccessor(), baseDir);
+    fileStore.store(validator1, record(1)).join();
+    fileStore.store(validator2, record(2)).join();
+
+    store.store(validator1, record(5));
+    asyncRunner.executeQueuedActions();
+
+    assertThat(store.load(validator1)).contains(record(5));
+    assertThat(store.load(validator2)).contains(record(2));
+    assertThat(store.load(dataStructureUtil.randomPublicKey())).isEmpty();
+  }
+
+  @Test
+  void store_shouldPersistRecordsToJournal() throws Exception {
+    store.store(validator1, record(7));
+    asyncRunner.executeQueuedActions();
+    journal.close();
+
+    try (SigningRecordJournal reopened = SigningRecordJournal.open(baseDir)) {
+      assertThat(reopened.getRecord(validator1.toBytesCompressed())).contains(record(7));
+    }
+  }
+
+  private ValidatorSigningRecord record(final int blockSlot) {
+    return new ValidatorSigningRecord(
+        GENESIS_VALIDATORS_ROOT, UInt64.valueOf(blockSlot), UInt64.ONE, UInt64.valueOf(2));
+  }
+}
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -50,7 +51,8 @@ class SlashingProtectorTest {
       baseDir.resolve(validator.toBytesCompressed().toUnprefixedHexString() + ".yml");
 
   private final SlashingProtector slashingProtectionStorage =
-      new SlashingProtector(dataWriter, baseDir);
+      new SlashingProtector(
+          new FileSigningRecordStore(dataWriter, baseDir), new NoOpMetricsSystem());
 
   @ParameterizedTest(name = "maySignBlock({0})")
   @MethodSource("blockCases")
@@ -35,7 +35,13 @@ class CachingTaskQueueTest {
 
   private final CachingTaskQueue<Integer, String> taskQueue =
       new CachingTaskQueue<>(
-          SYNC_RUNNER, metricsSystem, METRICS_PREFIX, () -> MAX_CONCURRENT_TASKS, MAX_CACHE_SIZE);
+          SYNC_RUNNER,
+          metricsSystem,
+          METRICS_PREFIX,
+          () -> MAX_CONCURRENT_TASKS,
+          MAX_CACHE_SIZE,
+          Long.MAX_VALUE,
+          CacheCostModel.none());
 
   @BeforeEach
   void setUp() {
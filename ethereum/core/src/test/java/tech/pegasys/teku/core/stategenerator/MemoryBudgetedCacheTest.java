@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.stategenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.core.stategenerator.MemoryBudgetedCache.ESTIMATED_BYTES_PER_NODE;
+
+import java.nio.ByteOrder;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.ssz.backing.tree.SharedTreeNodeCounter;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeUtil;
+
+class MemoryBudgetedCacheTest {
+  private static final String METRICS_PREFIX = "stub";
+  private static final int LEAF_COUNT = 256;
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+
+  // Values are mostly versions of the same tree which differ from each other in a few leaves
+  private final TreeNode baseTree =
+      TreeUtil.createTree(
+          LongStream.range(0, LEAF_COUNT).mapToObj(this::leaf).collect(Collectors.toList()));
+  private final long baseTreeBytes =
+      TreeUtil.estimateNonDefaultNodes(baseTree) * ESTIMATED_BYTES_PER_NODE;
+
+  @Test
+  void shouldCountSharedNodesOnce() {
+    final MemoryBudgetedCache<Integer, TreeNode> cache = createCache(10, Long.MAX_VALUE);
+    cache.put(0, baseTree);
+    assertThat(cache.getEstimatedBytes()).isEqualTo(baseTreeBytes);
+
+    cache.put(1, version(baseTree, 1));
+    assertThat(cache.getEstimatedBytes()).isBetween(baseTreeBytes, baseTreeBytes * 5 / 4);
+
+    cache.remove(0);
+    cache.remove(1);
+    assertThat(cache.getEstimatedBytes()).isZero();
+  }
+
+  @Test
+  void shouldEvictWhenMaxSizeExceeded() {
+    final MemoryBudgetedCache<Integer, TreeNode> cache = createCache(2, Long.MAX_VALUE);
+    cache.put(0, baseTree);
+    cache.put(1, version(baseTree, 1));
+    cache.put(2, version(baseTree, 2));
+
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldEvictValueWithLowestRegenerationCostPerByteWhenMemoryBudgetExceeded() {
+    final TreeNode tree1 = version(baseTree, 1);
+    final SharedTreeNodeCounter counter = new SharedTreeNodeCounter();
+    final long baseAndChildBytes =
+        (counter.add(baseTree) + counter.add(tree1)) * ESTIMATED_BYTES_PER_NODE;
+    // Enough for all three values except for one of the small changes in a child value
+    final MemoryBudgetedCache<Integer, TreeNode> cache =
+        createCache(10, baseAndChildBytes + baseTreeBytes - 1);
+    cache.put(0, baseTree);
+    cache.put(1, tree1);
+
+    // Shares no nodes with the other values and has no cached ancestor
+    final TreeNode unrelatedTree =
+        TreeUtil.createTree(
+            LongStream.range(LEAF_COUNT, LEAF_COUNT * 2)
+                .mapToObj(this::leaf)
+                .collect(Collectors.toList()));
+    cache.put(-1, unrelatedTree);
+
+    // Value 1 releases the least memory but can be regenerated from its cached parent in one slot
+    assertThat(cache.peek(0)).isSameAs(baseTree);
+    assertThat(cache.peek(1)).isNull();
+    assertThat(cache.peek(-1)).isSameAs(unrelatedTree);
+    assertThat(cache.getEstimatedBytes()).isEqualTo(baseTreeBytes * 2);
+  }
+
+  @Test
+  void shouldPreferEvictingCheaplyRegeneratedValuesOverLeastRecentlyUsed() {
+    final TreeNode tree1 = version(baseTree, 1);
+    final TreeNode tree2 = version(tree1, 2);
+    final MemoryBudgetedCache<Integer, TreeNode> cache = createCache(2, Long.MAX_VALUE);
+    cache.put(0, baseTree);
+    cache.put(2, tree2);
+    cache.put(1, tree1);
+
+    // Value 0 is least recently used but has no cached ancestor to regenerate from
+    assertThat(cache.peek(0)).isNotNull();
+    assertThat(cache.peek(1)).isNotNull();
+    assertThat(cache.peek(2)).isNull();
+  }
+
+  @Test
+  void get_shouldRecordHitsMissesAndRegenerationAvoided() {
+    final MemoryBudgetedCache<Integer, TreeNode> cache = createCache(10, Long.MAX_VALUE);
+    cache.put(0, baseTree);
+    cache.put(3, version(baseTree, 3));
+
+    assertThat(cache.get(3)).isNotNull();
+    assertThat(cache.get(2)).isNull();
+
+    assertThat(getRequestCount("hit")).isEqualTo(1);
+    assertThat(getRequestCount("miss")).isEqualTo(1);
+    assertThat(
+            metricsSystem
+                .getCounter(
+                    TekuMetricCategory.STORAGE,
+                    METRICS_PREFIX + "_cache_regeneration_avoided_slots_total")
+                .getValue())
+        .isEqualTo(3);
+  }
+
+  @Test
+  void shouldOnlyFindRegenerationSourcesWhenValueIsAdded() {
+    final ChainCostModel costModel = new ChainCostModel();
+    final MemoryBudgetedCache<Integer, TreeNode> cache =
+        new MemoryBudgetedCache<>(metricsSystem, METRICS_PREFIX, 1, Long.MAX_VALUE, costModel);
+    cache.put(0, baseTree);
+    cache.get(0);
+    cache.get(0);
+    // Evicts one of the values
+    cache.put(1, version(baseTree, 1));
+
+    assertThat(costModel.sourcesRequested).isEqualTo(2);
+  }
+
+  @Test
+  void peek_shouldNotRecordMetrics() {
+    final MemoryBudgetedCache<Integer, TreeNode> cache = createCache(10, Long.MAX_VALUE);
+    cache.put(0, baseTree);
+
+    assertThat(cache.peek(0)).isSameAs(baseTree);
+    assertThat(cache.peek(1)).isNull();
+    assertThat(getRequestCount("hit")).isZero();
+    assertThat(getRequestCount("miss")).isZero();
+  }
+
+  private MemoryBudgetedCache<Integer, TreeNode> createCache(
+      final int maxSize, final long maxBytes) {
+    return new MemoryBudgetedCache<>(
+        metricsSystem, METRICS_PREFIX, maxSize, maxBytes, new ChainCostModel());
+  }
+
+  private TreeNode version(final TreeNode parent, final int key) {
+    return parent.updated(LEAF_COUNT + key, leaf(LEAF_COUNT + key));
+  }
+
+  private TreeNode leaf(final long value) {
+    return TreeNode.createLeafNode(
+        Bytes32.leftPad(Bytes.ofUnsignedLong(value, ByteOrder.BIG_ENDIAN)));
+  }
+
+  private long getRequestCount(final String result) {
+    return metricsSystem
+        .getCounter(TekuMetricCategory.STORAGE, METRICS_PREFIX + "_cache_requests_total")
+        .getValue(result);
+  }
+
+  /** Treats each key as a slot with key - 1 as its parent. */
+  private static class ChainCostModel implements CacheCostModel<Integer, TreeNode> {
+    private int sourcesRequested = 0;
+
+    @Override
+    public Optional<TreeNode> getBackingNode(final TreeNode value) {
+      return Optional.of(value);
+    }
+
+    @Override
+    public RegenerationSources<Integer> getRegenerationSources(
+        final Integer key, final TreeNode value) {
+      sourcesRequested++;
+      final RegenerationSources<Integer> sources = new RegenerationSources<>(MAX_REGENERATION_COST);
+      for (int ancestor = key - 1; ancestor >= 0; ancestor--) {
+        sources.add(ancestor, key - ancestor);
+      }
+      return sources;
+    }
+  }
+}
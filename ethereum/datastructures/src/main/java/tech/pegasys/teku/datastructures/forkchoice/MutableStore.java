@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.datastructures.forkchoice;
 
+import java.util.function.Consumer;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
@@ -42,4 +43,13 @@ public interface MutableStore extends ReadOnlyStore {
   void setBestJustifiedCheckpoint(Checkpoint best_justified_checkpoint);
 
   VoteTracker getVote(UInt64 validatorIndex);
+
+  /**
+   * Provides read access to the votes of all validators, including any changes pending in this
+   * store. The supplied {@link ValidatorVotes} must not be modified or retained after {@code
+   * processor} returns. Votes should be updated via {@link #getVote(UInt64)}.
+   *
+   * @param processor the function to apply to the current votes
+   */
+  void processVotes(Consumer<ValidatorVotes> processor);
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.datastructures.forkchoice;
+
+import static java.lang.Math.toIntExact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * Columnar storage for the latest vote of each validator, indexed by validator index.
+ *
+ * <p>Block roots are interned so that each vote only holds an int root id. This allows fork choice
+ * to walk every validator's vote without allocating or hashing a {@link VoteTracker} per validator.
+ *
+ * <p>Instances are not thread safe and must be synchronized externally.
+ */
+public class ValidatorVotes {
+  public static final int ZERO_ROOT_ID = 0;
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int MIN_ROOT_COUNT_BEFORE_COMPACTION = 1024;
+
+  private final List<Bytes32> roots;
+  private final Map<Bytes32, Integer> rootIds;
+  private final BitSet votedValidators;
+  private int[] currentRootIds;
+  private int[] nextRootIds;
+  private long[] nextEpochs;
+  private int validatorCount;
+  private int rootCompactionThreshold;
+
+  private ValidatorVotes(
+      final List<Bytes32> roots,
+      final Map<Bytes32, Integer> rootIds,
+      final BitSet votedValidators,
+      final int[] currentRootIds,
+      final int[] nextRootIds,
+      final long[] nextEpochs,
+      final int validatorCount,
+      final int rootCompactionThreshold) {
+    this.roots = roots;
+    this.rootIds = rootIds;
+    this.votedValidators = votedValidators;
+    this.currentRootIds = currentRootIds;
+    this.nextRootIds = nextRootIds;
+    this.nextEpochs = nextEpochs;
+    this.validatorCount = validatorCount;
+    this.rootCompactionThreshold = rootCompactionThreshold;
+  }
+
+  public static ValidatorVotes create() {
+    final ValidatorVotes votes =
+        new ValidatorVotes(
+            new ArrayList<>(),
+            new HashMap<>(),
+            new BitSet(),
+            new int[INITIAL_CAPACITY],
+            new int[INITIAL_CAPACITY],
+            new long[INITIAL_CAPACITY],
+            0,
+            MIN_ROOT_COUNT_BEFORE_COMPACTION);
+    votes.getOrCreateRootId(Bytes32.ZERO);
+    return votes;
+  }
+
+  public static ValidatorVotes create(final Map<UInt64, VoteTracker> votes) {
+    final ValidatorVotes validatorVotes = create();
+    validatorVotes.putAll(votes);
+    return validatorVotes;
+  }
+
+  public ValidatorVotes copy() {
+    return new ValidatorVotes(
+        new ArrayList<>(roots),
+        new HashMap<>(rootIds),
+        (BitSet) votedValidators.clone(),
+        Arrays.copyOf(currentRootIds, currentRootIds.length),
+        Arrays.copyOf(nextRootIds, nextRootIds.length),
+        Arrays.copyOf(nextEpochs, nextEpochs.length),
+        validatorCount,
+        rootCompactionThreshold);
+  }
+
+  /** @return One more than the highest validator index that has a vote recorded. */
+  public int getValidatorCount() {
+    return validatorCount;
+  }
+
+  public boolean hasVote(final int validatorIndex) {
+    return votedValidators.get(validatorIndex);
+  }
+
+  public int getCurrentRootId(final int validatorIndex) {
+    return currentRootIds[validatorIndex];
+  }
+
+  public int getNextRootId(final int validatorIndex) {
+    return nextRootIds[validatorIndex];
+  }
+
+  /** @return The number of root ids allocated, all ids are in the range {@code 0..rootCount}. */
+  public int getRootCount() {
+    return roots.size();
+  }
+
+  public Bytes32 getRoot(final int rootId) {
+    return roots.get(rootId);
+  }
+
+  /**
+   * Returns a new {@link VoteTracker} holding the vote for the given validator. Changes made to the
+   * returned tracker are not reflected in this object.
+   *
+   * @param validatorIndex The validator index to retrieve the vote for
+   * @return The vote if the validator has one recorded, otherwise empty.
+   */
+  public Optional<VoteTracker> getVote(final UInt64 validatorIndex) {
+    if (validatorIndex.isGreaterThanOrEqualTo(UInt64.valueOf(validatorCount))) {
+      return Optional.empty();
+    }
+    final int index = validatorIndex.intValue();
+    if (!votedValidators.get(index)) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new VoteTracker(
+            roots.get(currentRootIds[index]),
+            roots.get(nextRootIds[index]),
+            UInt64.fromLongBits(nextEpochs[index])));
+  }
+
+  public void putVote(final UInt64 validatorIndex, final VoteTracker vote) {
+    maybeCompactRoots();
+    setVote(validatorIndex, vote);
+  }
+
+  public void putAll(final Map<UInt64, VoteTracker> votes) {
+    maybeCompactRoots();
+    votes.forEach(this::setVote);
+  }
+
+  public Set<UInt64> getVotedValidatorIndices() {
+    return votedValidators.stream().mapToObj(UInt64::valueOf).collect(Collectors.toSet());
+  }
+
+  public Map<UInt64, VoteTracker> toMap() {
+    final Map<UInt64, VoteTracker> votes = new TreeMap<>();
+    for (int i = votedValidators.nextSetBit(0); i >= 0; i = votedValidators.nextSetBit(i + 1)) {
+      final UInt64 validatorIndex = UInt64.valueOf(i);
+      votes.put(validatorIndex, getVote(validatorIndex).orElseThrow());
+    }
+    return votes;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final ValidatorVotes that = (ValidatorVotes) o;
+    if (validatorCount != that.validatorCount || !votedValidators.equals(that.votedValidators)) {
+      return false;
+    }
+    // Root ids are not comparable between instances so compare the roots they refer to
+    for (int i = votedValidators.nextSetBit(0); i >= 0; i = votedValidators.nextSetBit(i + 1)) {
+      if (nextEpochs[i] != that.nextEpochs[i]
+          || !roots.get(currentRootIds[i]).equals(that.roots.get(that.currentRootIds[i]))
+          || !roots.get(nextRootIds[i]).equals(that.roots.get(that.nextRootIds[i]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = votedValidators.hashCode();
+    for (int i = votedValidators.nextSetBit(0); i >= 0; i = votedValidators.nextSetBit(i + 1)) {
+      result =
+          31 * result
+              + Objects.hash(
+                  roots.get(currentRootIds[i]), roots.get(nextRootIds[i]), nextEpochs[i]);
+    }
+    return result;
+  }
+
+  private void setVote(final UInt64 validatorIndex, final VoteTracker vote) {
+    final int index = toIntExact(validatorIndex.longValue());
+    ensureCapacity(index + 1);
+    currentRootIds[index] = getOrCreateRootId(vote.getCurrentRoot());
+    nextRootIds[index] = getOrCreateRootId(vote.getNextRoot());
+    nextEpochs[index] = vote.getNextEpoch().longValue();
+    votedValidators.set(index);
+    validatorCount = Math.max(validatorCount, index + 1);
+  }
+
+  private int getOrCreateRootId(final Bytes32 root) {
+    final Integer existingId = rootIds.get(root);
+    if (existingId != null) {
+      return existingId;
+    }
+    final int rootId = roots.size();
+    roots.add(root);
+    rootIds.put(root, rootId);
+    return rootId;
+  }
+
+  private void ensureCapacity(final int requiredCapacity) {
+    if (requiredCapacity <= currentRootIds.length) {
+      return;
+    }
+    final int newCapacity = Math.max(requiredCapacity, currentRootIds.length * 2);
+    currentRootIds = Arrays.copyOf(currentRootIds, newCapacity);
+    nextRootIds = Arrays.copyOf(nextRootIds, newCapacity);
+    nextEpochs = Arrays.copyOf(nextEpochs, newCapacity);
+  }
+
+  /**
+   * Roots are never removed as votes move on, so periodically rebuild the root table with only the
+   * roots that are still referenced by a vote.
+   */
+  private void maybeCompactRoots() {
+    if (roots.size() < rootCompactionThreshold) {
+      return;
+    }
+    final List<Bytes32> oldRoots = new ArrayList<>(roots);
+    final int[] newRootIds = new int[oldRoots.size()];
+    Arrays.fill(newRootIds, -1);
+    roots.clear();
+    rootIds.clear();
+    newRootIds[ZERO_ROOT_ID] = getOrCreateRootId(Bytes32.ZERO);
+    for (int i = 0; i < validatorCount; i++) {
+      currentRootIds[i] = remapRootId(currentRootIds[i], oldRoots, newRootIds);
+      nextRootIds[i] = remapRootId(nextRootIds[i], oldRoots, newRootIds);
+    }
+    rootCompactionThreshold = Math.max(MIN_ROOT_COUNT_BEFORE_COMPACTION, roots.size() * 2);
+  }
+
+  private int remapRootId(final int oldRootId, final List<Bytes32> oldRoots, final int[] newIds) {
+    if (newIds[oldRootId] < 0) {
+      newIds[oldRootId] = getOrCreateRootId(oldRoots.get(oldRootId));
+    }
+    return newIds[oldRootId];
+  }
+}
@@ -15,6 +15,7 @@ package tech.pegasys.teku.datastructures.state;
 
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.BeaconBlockHeader;
 import tech.pegasys.teku.datastructures.blocks.Eth1Data;
@@ -122,6 +123,16 @@ public interface BeaconState
     return new BeaconStateImpl();
   }
 
+  /**
+   * Creates a state backed by its SSZ serialization without deserializing it up front. Fields and
+   * list elements are only parsed when they're first accessed, so malformed parts of the SSZ which
+   * are never accessed are not detected. Updating the state reuses the unchanged parsed subtrees.
+   */
+  static BeaconState createLazily(Bytes ssz) {
+    final ContainerViewType<BeaconState> type = getSSZType();
+    return type.createFromBackingNode(type.sszDeserializeTree(ssz));
+  }
+
   static BeaconState create(
 
       // Versioning
@@ -269,6 +280,14 @@ public interface BeaconState
         UInt64.class, getAny(BALANCES_FIELD.getIndex()), UInt64View::new, AbstractBasicView::get);
   }
 
+  /**
+   * Returns a snapshot of all balances read directly from the packed backing chunks. Preferable to
+   * {@link #getBalances()} when reading every balance
+   */
+  default long[] getBalanceValues() {
+    return ViewUtils.getUInt64Values(getAny(BALANCES_FIELD.getIndex()));
+  }
+
   default SSZVector<Bytes32> getRandao_mixes() {
     return new SSZBackingVector<>(
         Bytes32.class,
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.datastructures.state;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.primitives.Ints;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.util.CommitteeUtil;
+import tech.pegasys.teku.infrastructure.collections.cache.Cache;
+import tech.pegasys.teku.infrastructure.collections.cache.LRUCache;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * The active validators of an epoch and their shuffled order, from which every beacon committee of
+ * the epoch is a view over a range of a single {@code int[]}.
+ *
+ * <p>The shuffling only depends on the seed and the active validator indices, so instances are
+ * shared by seed between all states of the same epoch rather than being recomputed by each state
+ * loaded or regenerated. A shared instance is only reused when its active validator indices match
+ * those of the state being queried.
+ */
+public class EpochShuffling {
+  private static final int MAX_SHARED_SHUFFLINGS = 16;
+  private static final Cache<Bytes32, EpochShuffling> SHARED_SHUFFLINGS =
+      new LRUCache<>(MAX_SHARED_SHUFFLINGS);
+
+  private final UInt64 epoch;
+  private final Bytes32 seed;
+  private final int[] activeValidatorIndices;
+  private volatile int[] shuffledIndices;
+
+  private EpochShuffling(
+      final UInt64 epoch, final Bytes32 seed, final int[] activeValidatorIndices) {
+    this.epoch = epoch;
+    this.seed = seed;
+    this.activeValidatorIndices = activeValidatorIndices;
+  }
+
+  /**
+   * Returns the shuffling for the given seed and active validators, reusing a previously created
+   * instance with the same seed and active validators where possible.
+   *
+   * @param epoch the epoch the shuffling is for
+   * @param seed the beacon attester seed for {@code epoch}
+   * @param activeValidatorIndices the sorted indices of the validators active in {@code epoch}
+   * @return the epoch shuffling
+   */
+  public static EpochShuffling getOrCreate(
+      final UInt64 epoch, final Bytes32 seed, final int[] activeValidatorIndices) {
+    final EpochShuffling shared =
+        SHARED_SHUFFLINGS.get(
+            seed, __ -> new EpochShuffling(epoch, seed, activeValidatorIndices));
+    if (shared.epoch.equals(epoch)
+        && Arrays.equals(shared.activeValidatorIndices, activeValidatorIndices)) {
+      return shared;
+    }
+    // Only possible for states which disagree about the validator set while sharing randao history
+    final EpochShuffling shuffling = new EpochShuffling(epoch, seed, activeValidatorIndices);
+    SHARED_SHUFFLINGS.invalidate(seed);
+    SHARED_SHUFFLINGS.get(seed, __ -> shuffling);
+    return shuffling;
+  }
+
+  public UInt64 getEpoch() {
+    return epoch;
+  }
+
+  public Bytes32 getSeed() {
+    return seed;
+  }
+
+  public int getActiveValidatorCount() {
+    return activeValidatorIndices.length;
+  }
+
+  /** Returns an unmodifiable view of the sorted active validator indices. */
+  public List<Integer> getActiveValidatorIndices() {
+    return Collections.unmodifiableList(Ints.asList(activeValidatorIndices));
+  }
+
+  /**
+   * Returns the committee at position {@code index} when the shuffled active validators are split
+   * into {@code count} committees.
+   *
+   * @param index the index of the committee within the epoch
+   * @param count the number of committees in the epoch
+   * @return an unmodifiable view of the committee members
+   */
+  public List<Integer> getCommittee(final int index, final int count) {
+    checkArgument(index >= 0 && index < count, "Committee index %s out of range", index);
+    final int[] shuffled = getShuffledIndices();
+    final int start = (int) ((long) shuffled.length * index / count);
+    final int end = (int) ((long) shuffled.length * (index + 1) / count);
+    return Collections.unmodifiableList(Ints.asList(shuffled).subList(start, end));
+  }
+
+  private int[] getShuffledIndices() {
+    int[] result = shuffledIndices;
+    if (result == null) {
+      synchronized (this) {
+        result = shuffledIndices;
+        if (result == null) {
+          result = activeValidatorIndices.clone();
+          CommitteeUtil.shuffle_list(result, seed);
+          shuffledIndices = result;
+        }
+      }
+    }
+    return result;
+  }
+}
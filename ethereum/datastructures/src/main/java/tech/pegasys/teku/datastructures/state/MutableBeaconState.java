@@ -24,6 +24,7 @@ import tech.pegasys.teku.ssz.SSZTypes.SSZBackingVector;
 import tech.pegasys.teku.ssz.SSZTypes.SSZMutableList;
 import tech.pegasys.teku.ssz.SSZTypes.SSZMutableVector;
 import tech.pegasys.teku.ssz.backing.ContainerViewWriteRef;
+import tech.pegasys.teku.ssz.backing.ListViewWrite;
 import tech.pegasys.teku.ssz.backing.view.AbstractBasicView;
 import tech.pegasys.teku.ssz.backing.view.BasicViews.Bytes32View;
 import tech.pegasys.teku.ssz.backing.view.BasicViews.UInt64View;
@@ -104,6 +105,15 @@ public interface MutableBeaconState extends BeaconState, ContainerViewWriteRef {
         UInt64.class, getAnyByRef(12), UInt64View::new, AbstractBasicView::get);
   }
 
+  /**
+   * Replaces all balances at once. Only the packed backing chunks holding changed balances are
+   * rebuilt which is much cheaper than setting balances one by one via {@link #getBalances()}
+   */
+  default void setBalanceValues(long[] balances) {
+    ListViewWrite<UInt64View> balancesView = getAnyByRef(12);
+    balancesView.setAll(ViewUtils.updateUInt64Values(balancesView.commitChanges(), balances));
+  }
+
   @Override
   default SSZMutableVector<Bytes32> getRandao_mixes() {
     return new SSZBackingVector<>(
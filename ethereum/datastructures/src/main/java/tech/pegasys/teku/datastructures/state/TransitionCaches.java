@@ -13,10 +13,7 @@
 
 package tech.pegasys.teku.datastructures.state;
 
-import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.tuweni.bytes.Bytes32;
-import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.infrastructure.collections.cache.Cache;
 import tech.pegasys.teku.infrastructure.collections.cache.LRUCache;
 import tech.pegasys.teku.infrastructure.collections.cache.NoOpCache;
@@ -25,21 +22,13 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 /** The container class for all transition caches. */
 public class TransitionCaches {
 
-  private static int MAX_ACTIVE_VALIDATORS_CACHE = 8;
+  private static int MAX_EPOCH_SHUFFLING_CACHE = 8;
   private static int MAX_BEACON_PROPOSER_INDEX_CACHE = 1;
-  private static int MAX_BEACON_COMMITTEE_CACHE = 64 * 64;
   private static int MAX_TOTAL_ACTIVE_BALANCE_CACHE = 1;
-  private static int MAX_COMMITTEE_SHUFFLE_CACHE = 2;
 
   private static final TransitionCaches NO_OP_INSTANCE =
       new TransitionCaches(
-          NoOpCache.getNoOpCache(),
-          NoOpCache.getNoOpCache(),
-          NoOpCache.getNoOpCache(),
-          NoOpCache.getNoOpCache(),
-          NoOpCache.getNoOpCache(),
-          NoOpCache.getNoOpCache(),
-          NoOpCache.getNoOpCache()) {
+          NoOpCache.getNoOpCache(), NoOpCache.getNoOpCache(), NoOpCache.getNoOpCache()) {
 
         @Override
         public TransitionCaches copy() {
@@ -57,44 +46,31 @@ public class TransitionCaches {
     return NO_OP_INSTANCE;
   }
 
-  private final Cache<UInt64, List<Integer>> activeValidators;
+  private final Cache<UInt64, EpochShuffling> epochShuffling;
   private final Cache<UInt64, Integer> beaconProposerIndex;
-  private final Cache<Pair<UInt64, UInt64>, List<Integer>> beaconCommittee;
   private final Cache<UInt64, Pair<UInt64, UInt64>> totalActiveBalance;
-  private final Cache<UInt64, BLSPublicKey> validatorsPubKeys;
-  private final Cache<BLSPublicKey, Integer> validatorIndex;
-  private final Cache<Bytes32, List<Integer>> committeeShuffle;
 
   private TransitionCaches() {
-    activeValidators = new LRUCache<>(MAX_ACTIVE_VALIDATORS_CACHE);
+    epochShuffling = new LRUCache<>(MAX_EPOCH_SHUFFLING_CACHE);
     beaconProposerIndex = new LRUCache<>(MAX_BEACON_PROPOSER_INDEX_CACHE);
-    beaconCommittee = new LRUCache<>(MAX_BEACON_COMMITTEE_CACHE);
     totalActiveBalance = new LRUCache<>(MAX_TOTAL_ACTIVE_BALANCE_CACHE);
-    validatorsPubKeys = new LRUCache<>(Integer.MAX_VALUE - 1);
-    validatorIndex = new LRUCache<>(Integer.MAX_VALUE - 1);
-    committeeShuffle = new LRUCache<>(MAX_COMMITTEE_SHUFFLE_CACHE);
   }
 
   public TransitionCaches(
-      Cache<UInt64, List<Integer>> activeValidators,
+      Cache<UInt64, EpochShuffling> epochShuffling,
       Cache<UInt64, Integer> beaconProposerIndex,
-      Cache<Pair<UInt64, UInt64>, List<Integer>> beaconCommittee,
-      Cache<UInt64, Pair<UInt64, UInt64>> totalActiveBalance,
-      Cache<UInt64, BLSPublicKey> validatorsPubKeys,
-      Cache<BLSPublicKey, Integer> validatorIndex,
-      Cache<Bytes32, List<Integer>> committeeShuffle) {
-    this.activeValidators = activeValidators;
+      Cache<UInt64, Pair<UInt64, UInt64>> totalActiveBalance) {
+    this.epochShuffling = epochShuffling;
     this.beaconProposerIndex = beaconProposerIndex;
-    this.beaconCommittee = beaconCommittee;
     this.totalActiveBalance = totalActiveBalance;
-    this.validatorsPubKeys = validatorsPubKeys;
-    this.validatorIndex = validatorIndex;
-    this.committeeShuffle = committeeShuffle;
   }
 
-  /** (epoch) -> (active validators) cache */
-  public Cache<UInt64, List<Integer>> getActiveValidators() {
-    return activeValidators;
+  /**
+   * (epoch) -> (active validators and committee shuffling) cache. The shufflings themselves are
+   * shared with other states, so copies of this cache only copy the references.
+   */
+  public Cache<UInt64, EpochShuffling> getEpochShuffling() {
+    return epochShuffling;
   }
 
   /** (slot) -> (beacon proposer index) cache */
@@ -102,44 +78,15 @@ public class TransitionCaches {
     return beaconProposerIndex;
   }
 
-  /** (slot, committeeIndex) -> (committee) cache */
-  public Cache<Pair<UInt64, UInt64>, List<Integer>> getBeaconCommittee() {
-    return beaconCommittee;
-  }
-
   /** (epoch) -> (total active balance) cache */
   public Cache<UInt64, Pair<UInt64, UInt64>> getTotalActiveBalance() {
     return totalActiveBalance;
   }
 
-  /** (validator index) -> (validator pub key) cache */
-  public Cache<UInt64, BLSPublicKey> getValidatorsPubKeys() {
-    return validatorsPubKeys;
-  }
-
-  /**
-   * (validator pub key) -> (validator index) cache
-   *
-   * <p>WARNING: May contain mappings for public keys of validators that are not yet registered in
-   * this state (but when registered are guaranteed to be at that index). Check index < total
-   * validator count before looking up the cache
-   */
-  public Cache<BLSPublicKey, Integer> getValidatorIndex() {
-    return validatorIndex;
-  }
-
-  /** (epoch committee seed) -> (validators shuffle for epoch) cache */
-  public Cache<Bytes32, List<Integer>> getCommitteeShuffle() {
-    return committeeShuffle;
-  }
-
   public void invalidate() {
-    activeValidators.clear();
+    epochShuffling.clear();
     beaconProposerIndex.clear();
-    beaconCommittee.clear();
     totalActiveBalance.clear();
-    validatorsPubKeys.clear();
-    committeeShuffle.clear();
   }
 
   /**
@@ -148,12 +95,6 @@ public class TransitionCaches {
    */
   public TransitionCaches copy() {
     return new TransitionCaches(
-        activeValidators.copy(),
-        beaconProposerIndex.copy(),
-        beaconCommittee.copy(),
-        totalActiveBalance.copy(),
-        validatorsPubKeys,
-        validatorIndex,
-        committeeShuffle.copy());
+        epochShuffling.copy(), beaconProposerIndex.copy(), totalActiveBalance.copy());
   }
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.datastructures.state;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.ssz.SSZTypes.SSZList;
+
+/**
+ * Process wide registry of validator public keys addressed by validator index.
+ *
+ * <p>Validator indices are assigned in eth1 deposit order, so an index refers to the same key in
+ * every state of a chain regardless of fork. Every state loaded or regenerated creates new {@link
+ * BLSPublicKey} instances for its validators which would each have to be decompressed again before
+ * use. Keeping a single instance per index means each key is decompressed at most once per process.
+ *
+ * <p>Keys are registered lazily from the validator list of the state being queried, so validators
+ * added by deposits are picked up the first time a state containing them is used. Keys are held
+ * separately for each genesis validators root. Once registered, the key for an index is returned
+ * without reading the state's validator list, which is what makes the registry cheaper than reading
+ * the key from the state. Index lookups by key are still checked against the queried state since a
+ * state which hasn't processed a deposit yet must not find its key.
+ */
+public class ValidatorPublicKeyRegistry {
+  private static final int MAX_CHAINS = 4;
+  private static final ValidatorPublicKeyRegistry INSTANCE = new ValidatorPublicKeyRegistry();
+
+  private final Map<Bytes32, ChainPublicKeys> chains =
+      new LinkedHashMap<>(MAX_CHAINS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Bytes32, ChainPublicKeys> eldest) {
+          return size() > MAX_CHAINS;
+        }
+      };
+
+  ValidatorPublicKeyRegistry() {}
+
+  public static ValidatorPublicKeyRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the public key of the validator at {@code validatorIndex} in the given state, reusing a
+   * previously decompressed instance where possible.
+   *
+   * @param state the state to get the key from
+   * @param validatorIndex the validator index, which must be less than the number of validators
+   * @return the validator's public key
+   * @throws IndexOutOfBoundsException if the state doesn't have a validator at {@code
+   *     validatorIndex}
+   */
+  public BLSPublicKey getPublicKey(final BeaconState state, final int validatorIndex) {
+    final SSZList<Validator> validators = state.getValidators();
+    Objects.checkIndex(validatorIndex, validators.size());
+    return getChain(state).getOrRegister(validators, validatorIndex);
+  }
+
+  /**
+   * Finds the index of the validator with the given public key in the given state.
+   *
+   * @param state the state to search
+   * @param publicKey the public key to find
+   * @return the validator index or empty if the key is not registered in {@code state}
+   */
+  public Optional<Integer> getValidatorIndex(
+      final BeaconState state, final BLSPublicKey publicKey) {
+    final SSZList<Validator> validators = state.getValidators();
+    final int validatorCount = validators.size();
+    if (validatorCount == 0) {
+      return Optional.empty();
+    }
+    final ChainPublicKeys chain = getChain(state);
+    chain.registerAll(validators);
+    final Bytes48 keyBytes = publicKey.toBytesCompressed();
+    // The last validator is the most likely to differ between states which have processed different
+    // deposits, in which case the registered keys can't be used to show the key is absent
+    if (!chain.matches(validatorCount - 1, validators.get(validatorCount - 1).getPubkey())) {
+      return findValidatorIndex(validators, keyBytes);
+    }
+    final int index = chain.indexOf(keyBytes);
+    if (index < 0 || index >= validatorCount) {
+      return Optional.empty();
+    }
+    if (!chain.matches(index, validators.get(index).getPubkey())) {
+      return findValidatorIndex(validators, keyBytes);
+    }
+    return Optional.of(index);
+  }
+
+  private ChainPublicKeys getChain(final BeaconState state) {
+    synchronized (chains) {
+      return chains.computeIfAbsent(
+          state.getGenesis_validators_root(), __ -> new ChainPublicKeys());
+    }
+  }
+
+  private static Optional<Integer> findValidatorIndex(
+      final SSZList<Validator> validators, final Bytes48 keyBytes) {
+    for (int i = 0; i < validators.size(); i++) {
+      if (validators.get(i).getPubkey().toBytesCompressed().equals(keyBytes)) {
+        return Optional.of(i);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** The public keys of the validators of a single chain. */
+  private static class ChainPublicKeys {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NOT_FOUND = -1;
+
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    // Keys by validator index, the first size entries are populated
+    private BLSPublicKey[] publicKeys = new BLSPublicKey[INITIAL_CAPACITY];
+    // Open addressing hash table of validator index + 1, with 0 marking an empty slot
+    private int[] indexTable = new int[INITIAL_CAPACITY * 2];
+    private int size = 0;
+
+    private ChainPublicKeys() {
+      final ReadWriteLock lock = new ReentrantReadWriteLock();
+      readLock = lock.readLock();
+      writeLock = lock.writeLock();
+    }
+
+    /**
+     * @return the registered key at {@code index}, first registering the keys of {@code validators}
+     *     up to that index if required
+     */
+    BLSPublicKey getOrRegister(final SSZList<Validator> validators, final int index) {
+      readLock.lock();
+      try {
+        if (index < size) {
+          return publicKeys[index];
+        }
+      } finally {
+        readLock.unlock();
+      }
+      writeLock.lock();
+      try {
+        while (size <= index) {
+          append(validators.get(size).getPubkey());
+        }
+        return publicKeys[index];
+      } finally {
+        writeLock.unlock();
+      }
+    }
+
+    void registerAll(final SSZList<Validator> validators) {
+      readLock.lock();
+      try {
+        if (size >= validators.size()) {
+          return;
+        }
+      } finally {
+        readLock.unlock();
+      }
+      writeLock.lock();
+      try {
+        while (size < validators.size()) {
+          append(validators.get(size).getPubkey());
+        }
+      } finally {
+        writeLock.unlock();
+      }
+    }
+
+    boolean matches(final int index, final BLSPublicKey stateKey) {
+      readLock.lock();
+      try {
+        return index < size && matchingKey(index, stateKey) != null;
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    int indexOf(final Bytes48 keyBytes) {
+      readLock.lock();
+      try {
+        final int mask = indexTable.length - 1;
+        for (int slot = firstSlot(keyBytes, mask);
+            indexTable[slot] != 0;
+            slot = (slot + 1) & mask) {
+          final int index = indexTable[slot] - 1;
+          if (publicKeys[index].toBytesCompressed().equals(keyBytes)) {
+            return index;
+          }
+        }
+        return NOT_FOUND;
+      } finally {
+        readLock.unlock();
+      }
+    }
+
+    private BLSPublicKey matchingKey(final int index, final BLSPublicKey stateKey) {
+      final BLSPublicKey registeredKey = publicKeys[index];
+      return registeredKey.equals(stateKey) ? registeredKey : null;
+    }
+
+    private void append(final BLSPublicKey publicKey) {
+      if (size == publicKeys.length) {
+        publicKeys = Arrays.copyOf(publicKeys, size * 2);
+        rebuildIndexTable(publicKeys.length * 2);
+      }
+      publicKeys[size] = publicKey;
+      insertIndex(size);
+      size++;
+    }
+
+    private void rebuildIndexTable(final int capacity) {
+      indexTable = new int[capacity];
+      for (int i = 0; i < size; i++) {
+        insertIndex(i);
+      }
+    }
+
+    private void insertIndex(final int index) {
+      final Bytes48 keyBytes = publicKeys[index].toBytesCompressed();
+      final int mask = indexTable.length - 1;
+      int slot = firstSlot(keyBytes, mask);
+      while (indexTable[slot] != 0) {
+        if (publicKeys[indexTable[slot] - 1].toBytesCompressed().equals(keyBytes)) {
+          // Duplicate keys can't be registered by deposits, keep the lowest index
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      indexTable[slot] = index + 1;
+    }
+
+    private static int firstSlot(final Bytes48 keyBytes, final int mask) {
+      final int hash = keyBytes.hashCode();
+      return (hash ^ (hash >>> 16)) & mask;
+    }
+  }
+}
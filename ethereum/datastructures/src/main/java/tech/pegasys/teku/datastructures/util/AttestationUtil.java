@@ -26,9 +26,7 @@ import static tech.pegasys.teku.util.config.Constants.DOMAIN_BEACON_ATTESTER;
 import static tech.pegasys.teku.util.config.Constants.MAX_VALIDATORS_PER_COMMITTEE;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -117,14 +115,14 @@ public class AttestationUtil {
         "Aggregation bitlist size (%s) does not match committee size (%s)",
         bits.getCurrentSize(),
         committee.size());
-    Set<Integer> attesting_indices = new HashSet<>();
+    // Committee members are distinct so no further deduplication is required
+    List<Integer> attesting_indices = new ArrayList<>(bits.getBitCount());
     for (int i = 0; i < committee.size(); i++) {
-      int index = committee.get(i);
       if (bits.getBit(i)) {
-        attesting_indices.add(index);
+        attesting_indices.add(committee.get(i));
       }
     }
-    return new ArrayList<>(attesting_indices);
+    return attesting_indices;
   }
 
   /**
@@ -49,9 +49,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalInt;
-import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -72,7 +70,6 @@ import tech.pegasys.teku.datastructures.state.ForkData;
 import tech.pegasys.teku.datastructures.state.MutableBeaconState;
 import tech.pegasys.teku.datastructures.state.SigningData;
 import tech.pegasys.teku.datastructures.state.Validator;
-import tech.pegasys.teku.infrastructure.collections.cache.Cache;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.SSZTypes.Bitvector;
 import tech.pegasys.teku.ssz.SSZTypes.Bytes4;
@@ -132,17 +129,10 @@ public class BeaconStateUtil {
       Integer cachedIndex = pubKeyToIndexMap.putIfAbsent(pubkey, state.getValidators().size());
       existingIndex = cachedIndex == null ? OptionalInt.empty() : OptionalInt.of(cachedIndex);
     } else {
-      SSZList<Validator> validators = state.getValidators();
-
-      Cache<UInt64, BLSPublicKey> publicKeyCache =
-          BeaconStateCache.getTransitionCaches(state).getValidatorsPubKeys();
-      Function<Integer, BLSPublicKey> validatorPubkey =
-          index ->
-              publicKeyCache.get(UInt64.valueOf(index), i -> validators.get(index).getPubkey());
       existingIndex =
-          IntStream.range(0, validators.size())
-              .filter(index -> pubkey.equals(validatorPubkey.apply(index)))
-              .findFirst();
+          ValidatorsUtil.getValidatorIndex(state, pubkey)
+              .map(OptionalInt::of)
+              .orElseGet(OptionalInt::empty);
     }
 
     if (existingIndex.isEmpty()) {
@@ -19,28 +19,22 @@ import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.bytes_to_int
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_start_slot_at_epoch;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_committee_count_per_slot;
-import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_seed;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.uint_to_bytes;
-import static tech.pegasys.teku.datastructures.util.ValidatorsUtil.get_active_validator_indices;
+import static tech.pegasys.teku.datastructures.util.ValidatorsUtil.getEpochShuffling;
 import static tech.pegasys.teku.util.config.Constants.ATTESTATION_SUBNET_COUNT;
-import static tech.pegasys.teku.util.config.Constants.DOMAIN_BEACON_ATTESTER;
 import static tech.pegasys.teku.util.config.Constants.MAX_EFFECTIVE_BALANCE;
 import static tech.pegasys.teku.util.config.Constants.SHUFFLE_ROUND_COUNT;
 import static tech.pegasys.teku.util.config.Constants.SLOTS_PER_EPOCH;
 import static tech.pegasys.teku.util.config.Constants.TARGET_AGGREGATORS_PER_COMMITTEE;
 
 import com.google.common.primitives.UnsignedBytes;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.datastructures.operations.Attestation;
 import tech.pegasys.teku.datastructures.state.BeaconState;
-import tech.pegasys.teku.datastructures.state.BeaconStateCache;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
 public class CommitteeUtil {
@@ -87,12 +81,6 @@ public class CommitteeUtil {
     return indexRet;
   }
 
-  private static List<Integer> shuffle_list(List<Integer> input, Bytes32 seed) {
-    int[] indexes = input.stream().mapToInt(i -> i).toArray();
-    shuffle_list(indexes, seed);
-    return Arrays.stream(indexes).boxed().collect(Collectors.toList());
-  }
-
   /**
    * Shuffles a list of integers in-place with ``seed`` as entropy.
    *
@@ -185,37 +173,6 @@ public class CommitteeUtil {
     }
   }
 
-  private static List<Integer> compute_committee_shuffle(
-      BeaconState state, List<Integer> indices, Bytes32 seed, int fromIndex, int toIndex) {
-    if (fromIndex < toIndex) {
-      int index_count = indices.size();
-      checkArgument(fromIndex < index_count, "CommitteeUtil.get_shuffled_index1");
-      checkArgument(toIndex <= index_count, "CommitteeUtil.get_shuffled_index1");
-    }
-    return BeaconStateCache.getTransitionCaches(state)
-        .getCommitteeShuffle()
-        .get(seed, s -> shuffle_list(indices, s))
-        .subList(fromIndex, toIndex);
-  }
-
-  /**
-   * Computes indices of a new committee based upon the seed parameter
-   *
-   * @param indices
-   * @param seed
-   * @param index
-   * @param count
-   * @return
-   * @see
-   *     <a>https://github.com/ethereum/eth2.0-specs/blob/v0.8.0/specs/core/0_beacon-chain.md#is_valid_merkle_branch</a>
-   */
-  public static List<Integer> compute_committee(
-      BeaconState state, List<Integer> indices, Bytes32 seed, int index, int count) {
-    int start = Math.floorDiv(indices.size() * index, count);
-    int end = Math.floorDiv(indices.size() * (index + 1), count);
-    return compute_committee_shuffle(state, indices, seed, start, end);
-  }
-
   /**
    * Return the beacon committee at ``slot`` for ``index``.
    *
@@ -228,23 +185,12 @@ public class CommitteeUtil {
     // Make sure state is within range of the slot being queried
     validateStateForCommitteeQuery(state, slot);
 
-    return BeaconStateCache.getTransitionCaches(state)
-        .getBeaconCommittee()
-        .get(
-            Pair.of(slot, index),
-            p -> {
-              UInt64 epoch = compute_epoch_at_slot(slot);
-              UInt64 committees_per_slot = get_committee_count_per_slot(state, epoch);
-              int committeeIndex =
-                  slot.mod(SLOTS_PER_EPOCH).times(committees_per_slot).plus(index).intValue();
-              int count = committees_per_slot.times(SLOTS_PER_EPOCH).intValue();
-              return compute_committee(
-                  state,
-                  get_active_validator_indices(state, epoch),
-                  get_seed(state, epoch, DOMAIN_BEACON_ATTESTER),
-                  committeeIndex,
-                  count);
-            });
+    UInt64 epoch = compute_epoch_at_slot(slot);
+    UInt64 committees_per_slot = get_committee_count_per_slot(state, epoch);
+    int committeeIndex =
+        slot.mod(SLOTS_PER_EPOCH).times(committees_per_slot).plus(index).intValue();
+    int count = committees_per_slot.times(SLOTS_PER_EPOCH).intValue();
+    return getEpochShuffling(state, epoch).getCommittee(committeeIndex, count);
   }
 
   private static void validateStateForCommitteeQuery(BeaconState state, UInt64 slot) {
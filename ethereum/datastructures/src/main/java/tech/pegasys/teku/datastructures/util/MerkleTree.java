@@ -53,7 +53,7 @@ public abstract class MerkleTree {
   }
 
   public SSZVector<Bytes32> getProof(Bytes32 value) {
-    int index = tree.get(0).indexOf(value);
+    int index = getLeafIndex(value);
     if (index == -1) {
       throw new IllegalArgumentException("Leaf value is missing from the MerkleTree");
     }
@@ -68,10 +68,10 @@ public abstract class MerkleTree {
       int siblingIndex = itemIndex % 2 == 1 ? itemIndex - 1 : itemIndex + 1;
 
       // If sibling is contained in the tree
-      if (siblingIndex < tree.get(i).size()) {
+      if (siblingIndex < getLevelSize(i)) {
 
         // Get the sibling from the tree
-        proof.add(tree.get(i).get(siblingIndex));
+        proof.add(getNode(i, siblingIndex));
       } else {
 
         // Get the zero hash at the appropriate
@@ -95,7 +95,7 @@ public abstract class MerkleTree {
     if ((viewLimit & (1 << depth)) != 0) {
       // For the right subtree
       return Hash.sha2_256(
-          Bytes.concatenate(tree.get(depth).get((viewLimit >> depth) - 1), deeperRoot));
+          Bytes.concatenate(getNode(depth, (viewLimit >> depth) - 1), deeperRoot));
     } else {
       // For the left subtree
       return Hash.sha2_256(Bytes.concatenate(deeperRoot, zeroHashes.get(depth)));
@@ -108,7 +108,7 @@ public abstract class MerkleTree {
    * @return proof (i.e. collection of siblings on the way to root for the given leaf)
    */
   public SSZVector<Bytes32> getProofWithViewBoundary(Bytes32 value, int viewLimit) {
-    return getProofWithViewBoundary(tree.get(0).indexOf(value), viewLimit);
+    return getProofWithViewBoundary(getLeafIndex(value), viewLimit);
   }
 
   /**
@@ -128,7 +128,7 @@ public abstract class MerkleTree {
       int limit = viewLimit >> i;
 
       checkArgument(
-          limit <= tree.get(i).size(), "MerkleTree: Tree is too small for given limit at height");
+          limit <= getLevelSize(i), "MerkleTree: Tree is too small for given limit at height");
 
       // If the sibling is equal to the limit,
       if (siblingIndex == limit) {
@@ -141,7 +141,7 @@ public abstract class MerkleTree {
       } else {
         // Within:
         // Return the tree node as-is without modifications
-        proof.add(tree.get(i).get(siblingIndex));
+        proof.add(getNode(i, siblingIndex));
       }
       itemIndex /= 2;
     }
@@ -159,7 +159,29 @@ public abstract class MerkleTree {
   }
 
   public Bytes32 getRoot() {
-    return Hash.sha2_256(Bytes.concatenate(tree.get(treeDepth).get(0), calcMixInValue()));
+    return Hash.sha2_256(Bytes.concatenate(getNode(treeDepth, 0), calcMixInValue()));
+  }
+
+  /**
+   * @param level height of the level in the tree, 0 for leaves
+   * @return number of nodes at the given level including the zero hash padding
+   */
+  protected int getLevelSize(int level) {
+    return tree.get(level).size();
+  }
+
+  /**
+   * @param level height of the level in the tree, 0 for leaves
+   * @param index of the node within the level
+   * @return the node hash
+   */
+  protected Bytes32 getNode(int level, int index) {
+    return tree.get(level).get(index);
+  }
+
+  /** @return index of the given leaf or -1 if the leaf is missing from the tree */
+  protected int getLeafIndex(Bytes32 leaf) {
+    return tree.get(0).indexOf(leaf);
   }
 
   @Override
@@ -13,7 +13,10 @@
 
 package tech.pegasys.teku.datastructures.util;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -21,10 +24,63 @@ import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
 
+/**
+ * Incremental merkle tree which stores all nodes of the levels computed so far.
+ *
+ * <p>The tree may be pruned up to a number of leaves after which no proofs for the earlier leaves
+ * are required. The nodes covering only pruned leaves are then discarded except for the frontier:
+ * the roots of the largest complete subtrees covering the pruned leaves, at most one per level.
+ * The root, proofs for the remaining leaves and proofs with any view limit not less than the
+ * pruned leaf count only depend on the frontier and remaining nodes.
+ */
 public class OptimizedMerkleTree extends MerkleTree {
 
+  private final Bytes32[] frontier;
+  private int prunedLeafCount = 0;
+
   public OptimizedMerkleTree(int treeDepth) {
     super(treeDepth);
+    frontier = new Bytes32[treeDepth + 1];
+  }
+
+  /**
+   * Restores a tree pruned up to the given number of leaves.
+   *
+   * @param treeDepth depth of the tree
+   * @param leafCount number of leaves added to the tree, all of which are pruned
+   * @param frontier frontier nodes as returned by {@link #getFrontier()}
+   * @return the restored tree
+   */
+  public static OptimizedMerkleTree fromFrontier(
+      int treeDepth, int leafCount, List<Bytes32> frontier) {
+    OptimizedMerkleTree merkleTree = new OptimizedMerkleTree(treeDepth);
+    merkleTree.prunedLeafCount = leafCount;
+    Iterator<Bytes32> frontierNodes = frontier.iterator();
+    for (int h = 0; h <= treeDepth; h++) {
+      if (merkleTree.isFrontierLevel(h)) {
+        checkArgument(frontierNodes.hasNext(), "MerkleTree: Too few frontier nodes");
+        merkleTree.frontier[h] = frontierNodes.next();
+      }
+    }
+    checkArgument(!frontierNodes.hasNext(), "MerkleTree: Too many frontier nodes");
+
+    // Compute the nodes partially covering the pruned leaves as if they were added one by one
+    for (int h = 0; h <= treeDepth; h++) {
+      List<Bytes32> stage = merkleTree.tree.get(h);
+      if (h > 0) {
+        int previousStageSize = merkleTree.getLevelSize(h - 1);
+        for (int i = merkleTree.getPrunedNodeCount(h); 2 * i + 1 < previousStageSize; i++) {
+          stage.add(
+              Hash.sha2_256(
+                  Bytes.concatenate(
+                      merkleTree.getNode(h - 1, 2 * i), merkleTree.getNode(h - 1, 2 * i + 1))));
+        }
+      }
+      if (merkleTree.getLevelSize(h) % 2 == 1 && h != treeDepth) {
+        stage.add(merkleTree.zeroHashes.get(h));
+      }
+    }
+    return merkleTree;
   }
 
   @Override
@@ -33,26 +89,24 @@ public class OptimizedMerkleTree extends MerkleTree {
         && tree.get(0).get(tree.get(0).size() - 1).equals(zeroHashes.get(0))) {
       tree.get(0).remove(tree.get(0).size() - 1);
     }
-    int stageSize = tree.get(0).size();
+    int stageSize = getLevelSize(0);
     tree.get(0).add(leaf);
     for (int h = 0; h <= treeDepth; h++) {
       List<Bytes32> stage = tree.get(h);
       if (h > 0) {
         // Remove elements that should be modified
         stageSize = stageSize / 2;
-        while (stage.size() != stageSize) {
+        while (getLevelSize(h) != stageSize) {
           stage.remove(stage.size() - 1);
         }
 
-        List<Bytes32> previousStage = tree.get(h - 1);
-        int previousStageSize = previousStage.size();
+        int previousStageSize = getLevelSize(h - 1);
         stage.add(
             Hash.sha2_256(
                 Bytes.concatenate(
-                    previousStage.get(previousStageSize - 2),
-                    previousStage.get(previousStageSize - 1))));
+                    getNode(h - 1, previousStageSize - 2), getNode(h - 1, previousStageSize - 1))));
       }
-      if (stage.size() % 2 == 1 && h != treeDepth) {
+      if (getLevelSize(h) % 2 == 1 && h != treeDepth) {
         stage.add(zeroHashes.get(h));
       }
     }
@@ -60,11 +114,81 @@ public class OptimizedMerkleTree extends MerkleTree {
 
   @Override
   public int getNumberOfLeaves() {
-    int lastLeafIndex = tree.get(0).size() - 1;
-    if (tree.get(0).get(lastLeafIndex).equals(Bytes32.ZERO)) {
-      return tree.get(0).size() - 1;
+    List<Bytes32> leaves = tree.get(0);
+    if (!leaves.isEmpty() && leaves.get(leaves.size() - 1).equals(Bytes32.ZERO)) {
+      return getLevelSize(0) - 1;
     }
-    return tree.get(0).size();
+    return getLevelSize(0);
+  }
+
+  /**
+   * Discards the nodes which are only required for proofs of the leaves before the given index.
+   *
+   * @param leafCount number of leaves to prune, must not be less than already pruned
+   */
+  public void prune(int leafCount) {
+    checkArgument(
+        leafCount >= prunedLeafCount && leafCount <= getNumberOfLeaves(),
+        "MerkleTree: Can't prune %s leaves, %s already pruned out of %s",
+        leafCount,
+        prunedLeafCount,
+        getNumberOfLeaves());
+    for (int h = 0; h <= treeDepth; h++) {
+      int prunedNodeCount = getPrunedNodeCount(h);
+      int newPrunedNodeCount = (int) ((long) leafCount >> h);
+      frontier[h] = newPrunedNodeCount % 2 == 1 ? getNode(h, newPrunedNodeCount - 1) : null;
+      tree.get(h).subList(0, newPrunedNodeCount - prunedNodeCount).clear();
+    }
+    prunedLeafCount = leafCount;
+  }
+
+  /** @return number of leaves pruned from the tree */
+  public int getPrunedLeafCount() {
+    return prunedLeafCount;
+  }
+
+  /** @return roots of the complete subtrees covering the pruned leaves, lowest level first */
+  public List<Bytes32> getFrontier() {
+    List<Bytes32> frontierNodes = new ArrayList<>();
+    for (int h = 0; h <= treeDepth; h++) {
+      if (isFrontierLevel(h)) {
+        frontierNodes.add(frontier[h]);
+      }
+    }
+    return frontierNodes;
+  }
+
+  @Override
+  protected int getLevelSize(int level) {
+    return getPrunedNodeCount(level) + tree.get(level).size();
+  }
+
+  @Override
+  protected Bytes32 getNode(int level, int index) {
+    int prunedNodeCount = getPrunedNodeCount(level);
+    if (index >= prunedNodeCount) {
+      return tree.get(level).get(index - prunedNodeCount);
+    }
+    checkArgument(
+        index == prunedNodeCount - 1 && isFrontierLevel(level),
+        "MerkleTree: Node %s at height %s has been pruned",
+        index,
+        level);
+    return frontier[level];
+  }
+
+  @Override
+  protected int getLeafIndex(Bytes32 leaf) {
+    int index = tree.get(0).indexOf(leaf);
+    return index == -1 ? -1 : index + prunedLeafCount;
+  }
+
+  private int getPrunedNodeCount(int level) {
+    return (int) ((long) prunedLeafCount >> level);
+  }
+
+  private boolean isFrontierLevel(int level) {
+    return getPrunedNodeCount(level) % 2 == 1;
   }
 
   @Override
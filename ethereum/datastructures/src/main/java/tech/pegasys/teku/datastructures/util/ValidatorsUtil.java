@@ -13,15 +13,19 @@
 
 package tech.pegasys.teku.datastructures.util;
 
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_seed;
+
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.BeaconStateCache;
+import tech.pegasys.teku.datastructures.state.EpochShuffling;
 import tech.pegasys.teku.datastructures.state.MutableBeaconState;
 import tech.pegasys.teku.datastructures.state.Validator;
+import tech.pegasys.teku.datastructures.state.ValidatorPublicKeyRegistry;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 import tech.pegasys.teku.util.config.Constants;
@@ -75,9 +79,7 @@ public class ValidatorsUtil {
       return Optional.empty();
     }
     return Optional.of(
-        BeaconStateCache.getTransitionCaches(state)
-            .getValidatorsPubKeys()
-            .get(validatorIndex, i -> state.getValidators().get(i.intValue()).getPubkey()));
+        ValidatorPublicKeyRegistry.getInstance().getPublicKey(state, validatorIndex.intValue()));
   }
 
   /**
@@ -90,40 +92,34 @@ public class ValidatorsUtil {
    *     <a>https://github.com/ethereum/eth2.0-specs/blob/v0.8.0/specs/core/0_beacon-chain.md#get_active_validator_indices</a>
    */
   public static List<Integer> get_active_validator_indices(BeaconState state, UInt64 epoch) {
+    return getEpochShuffling(state, epoch).getActiveValidatorIndices();
+  }
+
+  /**
+   * Get the active validators and committee shuffling for ``epoch``.
+   *
+   * @param state - Current BeaconState
+   * @param epoch - The epoch under consideration.
+   * @return The shuffling for the given epoch, shared with other states of the same epoch.
+   */
+  public static EpochShuffling getEpochShuffling(BeaconState state, UInt64 epoch) {
     return BeaconStateCache.getTransitionCaches(state)
-        .getActiveValidators()
+        .getEpochShuffling()
         .get(
             epoch,
             e -> {
               SSZList<Validator> validators = state.getValidators();
-              return IntStream.range(0, validators.size())
-                  .filter(index -> is_active_validator(validators.get(index), epoch))
-                  .boxed()
-                  .collect(Collectors.toList());
+              int[] activeValidatorIndices =
+                  IntStream.range(0, validators.size())
+                      .filter(index -> is_active_validator(validators.get(index), epoch))
+                      .toArray();
+              Bytes32 seed = get_seed(state, epoch, Constants.DOMAIN_BEACON_ATTESTER);
+              return EpochShuffling.getOrCreate(epoch, seed, activeValidatorIndices);
             });
   }
 
-  @SuppressWarnings("DoNotReturnNullOptionals")
   public static Optional<Integer> getValidatorIndex(BeaconState state, BLSPublicKey publicKey) {
-    final Integer validatorIndex =
-        BeaconStateCache.getTransitionCaches(state)
-            .getValidatorIndex()
-            .get(
-                publicKey,
-                key -> {
-                  SSZList<Validator> validators = state.getValidators();
-                  for (int i = 0; i < validators.size(); i++) {
-                    final Validator validator = validators.get(i);
-                    if (validator.getPubkey().equals(publicKey)) {
-                      return i;
-                    }
-                  }
-                  return null;
-                });
-    return Optional.ofNullable(validatorIndex)
-        // The cache is shared between all states, so filter out any cached responses for validators
-        // that are only added into later states
-        .filter(index -> index < state.getValidators().size());
+    return ValidatorPublicKeyRegistry.getInstance().getValidatorIndex(state, publicKey);
   }
 
   /**
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.datastructures.forkchoice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class ValidatorVotesTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+
+  @Test
+  void getVote_shouldBeEmptyWhenValidatorHasNotVoted() {
+    final ValidatorVotes votes = ValidatorVotes.create();
+    votes.putVote(UInt64.valueOf(5), dataStructureUtil.randomVoteTracker());
+
+    assertThat(votes.getVote(UInt64.valueOf(4))).isEmpty();
+    assertThat(votes.getVote(UInt64.valueOf(6))).isEmpty();
+    assertThat(votes.getValidatorCount()).isEqualTo(6);
+    assertThat(votes.getVotedValidatorIndices()).containsExactly(UInt64.valueOf(5));
+  }
+
+  @Test
+  void putVote_shouldRoundTrip() {
+    final ValidatorVotes votes = ValidatorVotes.create();
+    final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+    votes.putVote(UInt64.valueOf(1000), vote);
+
+    assertThat(votes.getVote(UInt64.valueOf(1000))).contains(vote);
+  }
+
+  @Test
+  void shouldShareRootIdsBetweenVotesForSameRoot() {
+    final Bytes32 root = dataStructureUtil.randomBytes32();
+    final ValidatorVotes votes = ValidatorVotes.create();
+    votes.putVote(UInt64.valueOf(0), new VoteTracker(Bytes32.ZERO, root, UInt64.ONE));
+    votes.putVote(UInt64.valueOf(1), new VoteTracker(root, root, UInt64.ONE));
+
+    assertThat(votes.getCurrentRootId(0)).isEqualTo(ValidatorVotes.ZERO_ROOT_ID);
+    assertThat(votes.getNextRootId(0)).isEqualTo(votes.getCurrentRootId(1));
+    assertThat(votes.getRoot(votes.getNextRootId(1))).isEqualTo(root);
+  }
+
+  @Test
+  void copy_shouldNotBeAffectedByLaterChanges() {
+    final ValidatorVotes votes = ValidatorVotes.create();
+    final VoteTracker originalVote = dataStructureUtil.randomVoteTracker();
+    votes.putVote(UInt64.ONE, originalVote);
+
+    final ValidatorVotes copy = votes.copy();
+    votes.putVote(UInt64.ONE, dataStructureUtil.randomVoteTracker());
+    votes.putVote(UInt64.valueOf(2), dataStructureUtil.randomVoteTracker());
+
+    assertThat(copy.toMap()).isEqualTo(Map.of(UInt64.ONE, originalVote));
+  }
+
+  @Test
+  void shouldRetainVotesWhenUnusedRootsAreCompacted() {
+    final ValidatorVotes votes = ValidatorVotes.create();
+    final Map<UInt64, VoteTracker> expected = new HashMap<>();
+    // Repeatedly move the votes of a few validators on to new roots
+    for (int i = 0; i < 5000; i++) {
+      final UInt64 validatorIndex = UInt64.valueOf(i % 3);
+      final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+      votes.putVote(validatorIndex, vote);
+      expected.put(validatorIndex, vote);
+    }
+
+    assertThat(votes.getRootCount()).isLessThan(2048);
+    assertThat(votes.toMap()).isEqualTo(expected);
+  }
+
+  @Test
+  void equals_shouldCompareVotesRatherThanRootIds() {
+    final VoteTracker vote1 = dataStructureUtil.randomVoteTracker();
+    final VoteTracker vote2 = dataStructureUtil.randomVoteTracker();
+    final ValidatorVotes votes1 = ValidatorVotes.create();
+    votes1.putVote(UInt64.ZERO, vote1);
+    votes1.putVote(UInt64.ONE, vote2);
+    final ValidatorVotes votes2 = ValidatorVotes.create();
+    votes2.putVote(UInt64.ONE, vote2);
+    votes2.putVote(UInt64.ZERO, vote1);
+
+    assertThat(votes1).isEqualTo(votes2);
+    assertThat(votes1.hashCode()).isEqualTo(votes2.hashCode());
+
+    votes2.putVote(UInt64.ONE, vote1);
+    assertThat(votes1).isNotEqualTo(votes2);
+  }
+}
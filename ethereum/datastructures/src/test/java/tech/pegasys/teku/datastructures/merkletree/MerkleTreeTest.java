@@ -14,6 +14,7 @@
 package tech.pegasys.teku.datastructures.merkletree;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.is_valid_merkle_branch;
 
 import java.util.ArrayList;
@@ -123,4 +124,79 @@ public class MerkleTreeTest {
     }
     assertThat(results).allSatisfy(Assertions::assertTrue);
   }
+
+  @Test
+  void prune_shouldKeepRootAndProofsForRemainingLeaves() {
+    final OptimizedMerkleTree fullTree = createTree(leaves.size());
+
+    for (int prunedLeafCount = 0; prunedLeafCount <= 12; prunedLeafCount++) {
+      final OptimizedMerkleTree prunedTree = createTree(12);
+      prunedTree.prune(prunedLeafCount);
+      for (int i = 12; i < leaves.size(); i++) {
+        prunedTree.add(leaves.get(i));
+      }
+
+      assertThat(prunedTree.getNumberOfLeaves()).isEqualTo(leaves.size());
+      assertThat(prunedTree.getRoot()).isEqualTo(fullTree.getRoot());
+      for (int index = prunedLeafCount; index < leaves.size(); index++) {
+        assertThat(prunedTree.getProof(index).asList())
+            .isEqualTo(fullTree.getProof(index).asList());
+        for (int viewLimit = index + 1; viewLimit <= leaves.size(); viewLimit++) {
+          assertThat(prunedTree.getProofWithViewBoundary(index, viewLimit).asList())
+              .isEqualTo(fullTree.getProofWithViewBoundary(index, viewLimit).asList());
+        }
+      }
+    }
+  }
+
+  @Test
+  void prune_shouldRejectProofsForPrunedLeaves() {
+    final OptimizedMerkleTree tree = createTree(8);
+    tree.prune(5);
+
+    assertThatThrownBy(() -> tree.getProof(3)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> tree.prune(4)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> tree.prune(9)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void fromFrontier_shouldRestorePrunedTree() {
+    final OptimizedMerkleTree fullTree = createTree(leaves.size());
+
+    for (int leafCount = 1; leafCount <= leaves.size(); leafCount++) {
+      final OptimizedMerkleTree prunedTree = createTree(leafCount);
+      final Bytes32 expectedRoot = prunedTree.getRoot();
+      prunedTree.prune(leafCount);
+
+      final OptimizedMerkleTree restoredTree =
+          OptimizedMerkleTree.fromFrontier(treeDepth, leafCount, prunedTree.getFrontier());
+      assertThat(restoredTree.getNumberOfLeaves()).isEqualTo(leafCount);
+      assertThat(restoredTree.getPrunedLeafCount()).isEqualTo(leafCount);
+      assertThat(restoredTree.getRoot()).isEqualTo(expectedRoot);
+
+      for (int i = leafCount; i < leaves.size(); i++) {
+        restoredTree.add(leaves.get(i));
+      }
+      assertThat(restoredTree.getRoot()).isEqualTo(fullTree.getRoot());
+    }
+  }
+
+  @Test
+  void fromFrontier_shouldRejectWrongNumberOfFrontierNodes() {
+    final OptimizedMerkleTree tree = createTree(6);
+    tree.prune(6);
+    final List<Bytes32> frontier = tree.getFrontier();
+    assertThatThrownBy(() -> OptimizedMerkleTree.fromFrontier(treeDepth, 7, frontier))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> OptimizedMerkleTree.fromFrontier(treeDepth, 4, frontier))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private OptimizedMerkleTree createTree(final int leafCount) {
+    final OptimizedMerkleTree tree = new OptimizedMerkleTree(treeDepth);
+    for (int i = 0; i < leafCount; i++) {
+      tree.add(leaves.get(i));
+    }
+    return tree;
+  }
 }
@@ -16,6 +16,7 @@ package tech.pegasys.teku.datastructures.state;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.junit.BouncyCastleExtension;
@@ -44,6 +45,32 @@ class BeaconStateTest {
         SimpleOffsetSerializer.classReflectionInfo.get(BeaconStateImpl.class).getVectorLengths());
   }
 
+  @Test
+  void createLazily_shouldMatchDeserializedState() {
+    BeaconState state = dataStructureUtil.randomBeaconState(16);
+    Bytes ssz = SimpleOffsetSerializer.serialize(state);
+
+    BeaconState lazyState = BeaconState.createLazily(ssz);
+
+    assertThat(lazyState.getSlot()).isEqualTo(state.getSlot());
+    assertThat(lazyState.getValidators()).isEqualTo(state.getValidators());
+    assertThat(lazyState.hash_tree_root()).isEqualTo(state.hash_tree_root());
+    assertThat(SimpleOffsetSerializer.serialize(lazyState)).isEqualTo(ssz);
+  }
+
+  @Test
+  void createLazily_shouldUpdateState() {
+    BeaconState state = dataStructureUtil.randomBeaconState(16);
+    BeaconState lazyState = BeaconState.createLazily(SimpleOffsetSerializer.serialize(state));
+    UInt64 balance = UInt64.valueOf(123456);
+
+    BeaconState expected = state.updated(s -> s.getBalances().set(3, balance));
+    BeaconState updated = lazyState.updated(s -> s.getBalances().set(3, balance));
+
+    assertThat(updated.getBalances().get(3)).isEqualTo(balance);
+    assertThat(updated.hash_tree_root()).isEqualTo(expected.hash_tree_root());
+  }
+
   @Test
   void simpleMutableBeaconStateTest() {
     UInt64 val1 = UInt64.valueOf(0x3333);
@@ -71,6 +98,33 @@ class BeaconStateTest {
     assertThat(v2).isSameAs(val1);
   }
 
+  @Test
+  void setBalanceValues_shouldUpdateBalancesAccessedByRef() {
+    BeaconState state = dataStructureUtil.randomBeaconState(16);
+    long[] balances = state.getBalanceValues();
+    assertThat(balances).hasSize(state.getBalances().size());
+    assertThat(balances[3]).isEqualTo(state.getBalances().get(3).longValue());
+
+    BeaconState updatedState =
+        state.updated(
+            mutableState -> {
+              mutableState.getBalances().set(0, UInt64.valueOf(7));
+              assertThat(mutableState.getBalanceValues()[0]).isEqualTo(7);
+
+              balances[3] = 12345;
+              mutableState.setBalanceValues(balances);
+              assertThat(mutableState.getBalances().get(0)).isEqualTo(state.getBalances().get(0));
+              assertThat(mutableState.getBalances().get(3)).isEqualTo(UInt64.valueOf(12345));
+
+              mutableState.getBalances().set(4, UInt64.valueOf(4));
+            });
+
+    assertThat(updatedState.getBalanceValues()[0]).isEqualTo(balances[0]);
+    assertThat(updatedState.getBalanceValues()[3]).isEqualTo(balances[3]);
+    assertThat(updatedState.getBalances().get(4)).isEqualTo(UInt64.valueOf(4));
+    assertThat(updatedState.getBalances().size()).isEqualTo(state.getBalances().size());
+  }
+
   @Test
   public void changeSpecConstantsTest() {
     try {
@@ -113,4 +167,13 @@ class BeaconStateTest {
     BeaconState state = SimpleOffsetSerializer.deserialize(bytes, BeaconStateImpl.class);
     assertEquals(beaconState, state);
   }
+
+  @Test
+  void sszSerialize_shouldStreamSameBytesAsSerializer() throws Exception {
+    BeaconState beaconState = dataStructureUtil.randomBeaconState(16);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    beaconState.sszSerialize(out);
+    assertThat(Bytes.wrap(out.toByteArray()))
+        .isEqualTo(SimpleOffsetSerializer.serialize(beaconState));
+  }
 }
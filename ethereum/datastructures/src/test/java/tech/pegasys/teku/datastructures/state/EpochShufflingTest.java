@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.datastructures.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_current_epoch;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.util.CommitteeUtil;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
+import tech.pegasys.teku.datastructures.util.ValidatorsUtil;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class EpochShufflingTest {
+  private static final int VALIDATOR_COUNT = 64;
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final BeaconState state =
+      dataStructureUtil
+          .randomBeaconState(VALIDATOR_COUNT)
+          .updated(
+              s -> {
+                for (int i = 0; i < VALIDATOR_COUNT; i++) {
+                  s.getValidators()
+                      .set(i, s.getValidators().get(i).withActivation_epoch(UInt64.ZERO));
+                }
+              });
+  private final UInt64 epoch = get_current_epoch(state);
+
+  @Test
+  void getEpochShuffling_shouldShareShufflingAcrossStates() {
+    final BeaconState reloadedState =
+        SimpleOffsetSerializer.deserialize(
+            SimpleOffsetSerializer.serialize(state), BeaconStateImpl.class);
+
+    final EpochShuffling shuffling = ValidatorsUtil.getEpochShuffling(state, epoch);
+    assertThat(ValidatorsUtil.getEpochShuffling(reloadedState, epoch)).isSameAs(shuffling);
+  }
+
+  @Test
+  void getEpochShuffling_shouldNotShareShufflingWhenActiveValidatorsDiffer() {
+    final EpochShuffling shuffling = ValidatorsUtil.getEpochShuffling(state, epoch);
+    final BeaconState otherState =
+        state.updated(
+            s -> s.getValidators().set(0, s.getValidators().get(0).withExit_epoch(epoch)));
+
+    final EpochShuffling otherShuffling = ValidatorsUtil.getEpochShuffling(otherState, epoch);
+    assertThat(otherShuffling).isNotSameAs(shuffling);
+    assertThat(otherShuffling.getActiveValidatorCount()).isEqualTo(VALIDATOR_COUNT - 1);
+    assertThat(otherShuffling.getActiveValidatorIndices()).doesNotContain(0);
+  }
+
+  @Test
+  void getCommittee_shouldMatchShuffledIndexOfEachMember() {
+    final EpochShuffling shuffling = ValidatorsUtil.getEpochShuffling(state, epoch);
+    final List<Integer> activeValidators = shuffling.getActiveValidatorIndices();
+    final int count = 10;
+
+    final List<Integer> allMembers = new ArrayList<>();
+    for (int index = 0; index < count; index++) {
+      final List<Integer> committee = shuffling.getCommittee(index, count);
+      final int start = VALIDATOR_COUNT * index / count;
+      for (int i = 0; i < committee.size(); i++) {
+        final int shuffledIndex =
+            CommitteeUtil.compute_shuffled_index(start + i, VALIDATOR_COUNT, shuffling.getSeed());
+        assertThat(committee.get(i)).isEqualTo(activeValidators.get(shuffledIndex));
+      }
+      allMembers.addAll(committee);
+    }
+    assertThat(allMembers).containsExactlyInAnyOrderElementsOf(activeValidators);
+  }
+}
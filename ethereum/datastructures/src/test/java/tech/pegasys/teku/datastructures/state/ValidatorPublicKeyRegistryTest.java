@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.datastructures.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
+
+class ValidatorPublicKeyRegistryTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final ValidatorPublicKeyRegistry registry = new ValidatorPublicKeyRegistry();
+  private final BeaconState state = dataStructureUtil.randomBeaconState();
+
+  @Test
+  void getPublicKey_shouldReuseKeyInstanceAcrossStates() {
+    final BeaconState reloadedState =
+        SimpleOffsetSerializer.deserialize(
+            SimpleOffsetSerializer.serialize(state), BeaconStateImpl.class);
+
+    final BLSPublicKey key = registry.getPublicKey(state, 3);
+    assertThat(key).isEqualTo(state.getValidators().get(3).getPubkey());
+    assertThat(registry.getPublicKey(reloadedState, 3)).isSameAs(key);
+  }
+
+  @Test
+  void getPublicKey_shouldRegisterValidatorsAddedAfterRegistryPopulated() {
+    final BLSPublicKey registeredKey = registry.getPublicKey(state, 2);
+    final Validator validator = dataStructureUtil.randomValidator();
+    final BeaconState nextState = state.updated(s -> s.getValidators().add(validator));
+    final int newIndex = nextState.getValidators().size() - 1;
+
+    assertThat(registry.getPublicKey(nextState, newIndex)).isEqualTo(validator.getPubkey());
+    assertThat(registry.getPublicKey(nextState, 2)).isSameAs(registeredKey);
+  }
+
+  @Test
+  void getPublicKey_shouldRejectIndexBeyondStateValidators() {
+    final Validator validator = dataStructureUtil.randomValidator();
+    final BeaconState nextState = state.updated(s -> s.getValidators().add(validator));
+    final int newIndex = nextState.getValidators().size() - 1;
+    registry.getPublicKey(nextState, newIndex);
+
+    // Registered from the later state but not yet a validator in this one
+    assertThatThrownBy(() -> registry.getPublicKey(state, newIndex))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void getValidatorIndex_shouldFindValidatorsAddedAfterRegistryPopulated() {
+    final BLSPublicKey firstKey = state.getValidators().get(0).getPubkey();
+    assertThat(registry.getValidatorIndex(state, firstKey)).contains(0);
+
+    final Validator validator = dataStructureUtil.randomValidator();
+    final BeaconState nextState = state.updated(s -> s.getValidators().add(validator));
+
+    assertThat(registry.getValidatorIndex(nextState, validator.getPubkey()))
+        .contains(nextState.getValidators().size() - 1);
+    assertThat(registry.getValidatorIndex(state, validator.getPubkey())).isEmpty();
+  }
+
+  @Test
+  void getValidatorIndex_shouldFindValidatorWhenStateDisagreesWithRegistry() {
+    final Validator validator = dataStructureUtil.randomValidator();
+    final Validator otherValidator = dataStructureUtil.randomValidator();
+    final BeaconState nextState = state.updated(s -> s.getValidators().add(validator));
+    final BeaconState otherState = state.updated(s -> s.getValidators().add(otherValidator));
+
+    assertThat(registry.getValidatorIndex(nextState, validator.getPubkey()))
+        .contains(nextState.getValidators().size() - 1);
+    assertThat(registry.getValidatorIndex(otherState, otherValidator.getPubkey()))
+        .contains(otherState.getValidators().size() - 1);
+    assertThat(registry.getValidatorIndex(otherState, validator.getPubkey())).isEmpty();
+  }
+
+  @Test
+  void getValidatorIndex_shouldRegisterMoreValidatorsThanInitialCapacity() {
+    BeaconState largeState = state;
+    for (int i = 0; i < 1100; i++) {
+      final Validator validator = dataStructureUtil.randomValidator();
+      largeState = largeState.updated(s -> s.getValidators().add(validator));
+    }
+    final int lastIndex = largeState.getValidators().size() - 1;
+
+    assertThat(registry.getValidatorIndex(largeState, state.getValidators().get(1).getPubkey()))
+        .contains(1);
+    assertThat(
+            registry.getValidatorIndex(
+                largeState, largeState.getValidators().get(lastIndex).getPubkey()))
+        .contains(lastIndex);
+  }
+}
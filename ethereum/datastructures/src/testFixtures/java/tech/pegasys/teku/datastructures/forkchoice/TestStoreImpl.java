@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
@@ -251,4 +252,9 @@ class TestStoreImpl implements MutableStore {
     this.votes.put(validatorIndex, vote);
     return vote;
   }
+
+  @Override
+  public void processVotes(final Consumer<ValidatorVotes> processor) {
+    processor.accept(ValidatorVotes.create(votes));
+  }
 }
@@ -19,6 +19,7 @@ import static tech.pegasys.teku.util.config.Constants.SLOTS_PER_EPOCH;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
@@ -26,6 +27,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -37,6 +39,7 @@ import tech.pegasys.teku.datastructures.operations.AttestationData;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.infrastructure.metrics.SettableGauge;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.time.TimeProvider;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 import tech.pegasys.teku.ssz.SSZTypes.SSZMutableList;
@@ -46,7 +49,8 @@ import tech.pegasys.teku.util.time.channels.SlotEventsChannel;
  * Maintains a pool of attestations. Attestations can be retrieved either for inclusion in a block
  * or as an aggregate to publish as part of the naive attestation aggregation algorithm. In both
  * cases the returned attestations are aggregated to maximise the number of validators that can be
- * included.
+ * included. Attestations for a block are then selected by {@link AttestationPacker} to maximise the
+ * newly included attesting balance.
  */
 public class AggregatingAttestationPool implements SlotEventsChannel {
 
@@ -56,11 +60,15 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
   private final AttestationDataStateTransitionValidator attestationDataValidator;
   private final AtomicInteger size = new AtomicInteger(0);
   private final SettableGauge sizeGauge;
+  private final AttestationPacker attestationPacker;
 
   public AggregatingAttestationPool(
       final AttestationDataStateTransitionValidator attestationDataValidator,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final TimeProvider timeProvider) {
     this.attestationDataValidator = attestationDataValidator;
+    this.attestationPacker =
+        new AttestationPacker(timeProvider, AttestationPacker.DEFAULT_TIME_BUDGET_MILLIS);
     this.sizeGauge =
         SettableGauge.create(
             metricsSystem,
@@ -157,15 +165,17 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
       final BeaconState stateAtBlockSlot, final AttestationForkChecker forkChecker) {
     final SSZMutableList<Attestation> attestations = BeaconBlockBodyLists.createAttestations();
 
-    dataHashBySlot.descendingMap().values().stream()
-        .flatMap(Collection::stream)
-        .map(attestationGroupByDataHash::get)
-        .filter(Objects::nonNull)
-        .filter(group -> isValid(stateAtBlockSlot, group.getAttestationData()))
-        .filter(forkChecker::areAttestationsFromCorrectFork)
-        .flatMap(MatchingDataAttestationGroup::stream)
-        .limit(attestations.getMaxSize())
-        .map(ValidateableAttestation::getAttestation)
+    // Most recent attestations first so they are preferred when otherwise equally valuable
+    final List<MatchingDataAttestationGroup> groups =
+        dataHashBySlot.descendingMap().values().stream()
+            .flatMap(Collection::stream)
+            .map(attestationGroupByDataHash::get)
+            .filter(Objects::nonNull)
+            .filter(group -> isValid(stateAtBlockSlot, group.getAttestationData()))
+            .filter(forkChecker::areAttestationsFromCorrectFork)
+            .collect(Collectors.toList());
+    attestationPacker
+        .pack(stateAtBlockSlot, groups, Math.toIntExact(attestations.getMaxSize()))
         .forEach(attestations::add);
     return attestations;
   }
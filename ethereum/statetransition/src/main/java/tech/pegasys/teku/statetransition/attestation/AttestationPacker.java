@@ -0,0 +1,313 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import static java.lang.Math.toIntExact;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.compute_epoch_at_slot;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_committee_count_per_slot;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_current_epoch;
+import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.get_previous_epoch;
+import static tech.pegasys.teku.datastructures.util.CommitteeUtil.get_beacon_committee;
+import static tech.pegasys.teku.util.config.Constants.MAX_EFFECTIVE_BALANCE;
+
+import com.google.common.base.Suppliers;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.datastructures.operations.Attestation;
+import tech.pegasys.teku.datastructures.operations.AttestationData;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.PendingAttestation;
+import tech.pegasys.teku.datastructures.state.Validator;
+import tech.pegasys.teku.infrastructure.time.TimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
+import tech.pegasys.teku.ssz.SSZTypes.SSZList;
+
+/**
+ * Selects the attestations to include in a block so as to maximise the attesting balance that is
+ * newly included by the block.
+ *
+ * <p>Each candidate aggregate is scored by the effective balance of the validators it covers that
+ * are not already covered by a {@link PendingAttestation} in the state or by an aggregate selected
+ * earlier. This is a weighted max-coverage problem which is solved with the lazy greedy algorithm:
+ * candidates are kept in a priority queue by their last computed score and only the candidate at
+ * the head of the queue is rescored, since a score can only decrease as more validators are
+ * covered.
+ *
+ * <p>Packing is bounded by a time budget. If the budget is exceeded the remaining slots are filled
+ * using the last computed scores so a block is never delayed waiting for the optimal selection.
+ */
+class AttestationPacker {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final UInt64 DEFAULT_TIME_BUDGET_MILLIS = UInt64.valueOf(200);
+
+  private static final Comparator<Candidate> BEST_FIRST =
+      Comparator.<Candidate>comparingLong(candidate -> candidate.score)
+          .reversed()
+          .thenComparingInt(candidate -> candidate.order);
+
+  private final TimeProvider timeProvider;
+  private final UInt64 timeBudgetMillis;
+
+  AttestationPacker(final TimeProvider timeProvider, final UInt64 timeBudgetMillis) {
+    this.timeProvider = timeProvider;
+    this.timeBudgetMillis = timeBudgetMillis;
+  }
+
+  /**
+   * Select up to {@code maxAttestations} attestations from the given groups.
+   *
+   * @param state the state the block is being created on, at the block's slot
+   * @param groups the groups to select from, in order of preference when candidates score equally
+   * @param maxAttestations the maximum number of attestations to select
+   * @return the selected attestations, highest scoring first
+   */
+  List<Attestation> pack(
+      final BeaconState state,
+      final Iterable<MatchingDataAttestationGroup> groups,
+      final int maxAttestations) {
+    final UInt64 deadline = timeProvider.getTimeInMillis().plus(timeBudgetMillis);
+    final CommitteeCoverages coverages = new CommitteeCoverages(state);
+    coverages.addIncludedAttestations(state.getPrevious_epoch_attestations());
+    coverages.addIncludedAttestations(state.getCurrent_epoch_attestations());
+
+    final PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+    int order = 0;
+    boolean deadlineReached = false;
+    for (MatchingDataAttestationGroup group : groups) {
+      final CommitteeCoverage coverage = coverages.get(group.getAttestationData());
+      for (ValidateableAttestation attestation : group) {
+        final Candidate candidate = new Candidate(attestation.getAttestation(), coverage, order++);
+        candidate.score = candidate.computeGain();
+        if (candidate.score > 0) {
+          queue.add(candidate);
+        }
+      }
+      if (isDeadlineReached(deadline)) {
+        deadlineReached = true;
+        break;
+      }
+    }
+
+    final List<Attestation> selected = new ArrayList<>();
+    while (selected.size() < maxAttestations && !queue.isEmpty() && !deadlineReached) {
+      final Candidate candidate = queue.poll();
+      final long gain = candidate.computeGain();
+      if (gain == 0) {
+        continue;
+      }
+      candidate.score = gain;
+      final Candidate next = queue.peek();
+      if (next == null || BEST_FIRST.compare(candidate, next) <= 0) {
+        candidate.select();
+        selected.add(candidate.attestation);
+      } else {
+        queue.add(candidate);
+      }
+      deadlineReached = isDeadlineReached(deadline);
+    }
+
+    if (deadlineReached) {
+      LOG.debug(
+          "Attestation packing exceeded time budget of {}ms with {} attestations selected",
+          timeBudgetMillis,
+          selected.size());
+      while (selected.size() < maxAttestations && !queue.isEmpty()) {
+        selected.add(queue.poll().attestation);
+      }
+    }
+    return selected;
+  }
+
+  private boolean isDeadlineReached(final UInt64 deadline) {
+    return timeProvider.getTimeInMillis().isGreaterThanOrEqualTo(deadline);
+  }
+
+  private static class CommitteeCoverages {
+    private final BeaconState state;
+    private final Map<CommitteeKey, CommitteeCoverage> coverageByCommittee = new HashMap<>();
+    // Committee members are spread across the whole registry so it is much faster to read every
+    // effective balance in order once than to look up each committee member
+    private final Supplier<long[]> effectiveBalances;
+
+    private CommitteeCoverages(final BeaconState state) {
+      this.state = state;
+      this.effectiveBalances = Suppliers.memoize(() -> loadEffectiveBalances(state));
+    }
+
+    private void addIncludedAttestations(final Iterable<PendingAttestation> pendingAttestations) {
+      for (PendingAttestation pendingAttestation : pendingAttestations) {
+        get(pendingAttestation.getData()).cover(pendingAttestation.getAggregation_bits());
+      }
+    }
+
+    private CommitteeCoverage get(final AttestationData data) {
+      return coverageByCommittee.computeIfAbsent(
+          new CommitteeKey(data.getSlot(), data.getIndex()),
+          key -> new CommitteeCoverage(state, key, effectiveBalances));
+    }
+
+    private static long[] loadEffectiveBalances(final BeaconState state) {
+      final SSZList<Validator> validators = state.getValidators();
+      final long[] balances = new long[toIntExact(validators.size())];
+      for (int i = 0; i < balances.length; i++) {
+        balances[i] = validators.get(i).getEffective_balance().longValue();
+      }
+      return balances;
+    }
+  }
+
+  private static class CommitteeKey {
+    private final UInt64 slot;
+    private final UInt64 index;
+
+    private CommitteeKey(final UInt64 slot, final UInt64 index) {
+      this.slot = slot;
+      this.index = index;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final CommitteeKey that = (CommitteeKey) o;
+      return slot.equals(that.slot) && index.equals(that.index);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(slot, index);
+    }
+  }
+
+  /**
+   * Tracks which positions in a committee are already covered and the effective balance of the
+   * validator at each position. Balances are only looked up once a candidate for the committee is
+   * found.
+   */
+  private static class CommitteeCoverage {
+    private final BeaconState state;
+    private final CommitteeKey key;
+    private final Supplier<long[]> effectiveBalances;
+    private final BitSet covered = new BitSet();
+    private long[] weights;
+
+    private CommitteeCoverage(
+        final BeaconState state, final CommitteeKey key, final Supplier<long[]> effectiveBalances) {
+      this.state = state;
+      this.key = key;
+      this.effectiveBalances = effectiveBalances;
+    }
+
+    private void cover(final Bitlist bits) {
+      bits.streamAllSetBits().forEach(covered::set);
+    }
+
+    private void cover(final BitSet bits) {
+      covered.or(bits);
+    }
+
+    private long getWeight(final int position, final int committeeSize) {
+      if (weights == null) {
+        weights = loadWeights(committeeSize);
+      }
+      return position < weights.length ? weights[position] : MAX_EFFECTIVE_BALANCE;
+    }
+
+    /**
+     * Loads the effective balance for each committee position. If the committee can't be calculated
+     * from the state, every validator is assumed to have the maximum effective balance.
+     */
+    private long[] loadWeights(final int committeeSize) {
+      final List<Integer> committee = getCommittee();
+      if (committee.size() != committeeSize) {
+        return new long[0];
+      }
+      final long[] balances = effectiveBalances.get();
+      final long[] weights = new long[committeeSize];
+      for (int i = 0; i < committeeSize; i++) {
+        weights[i] = balances[committee.get(i)];
+      }
+      return weights;
+    }
+
+    private List<Integer> getCommittee() {
+      // Only attestations from the previous and current epochs can be included in a block, and
+      // those are the only epochs the state is guaranteed to be able to derive committees for
+      final UInt64 epoch = compute_epoch_at_slot(key.slot);
+      if (epoch.isLessThan(get_previous_epoch(state))
+          || epoch.isGreaterThan(get_current_epoch(state))) {
+        return List.of();
+      }
+      try {
+        final UInt64 committeeCount = get_committee_count_per_slot(state, epoch);
+        if (key.index.isGreaterThanOrEqualTo(committeeCount)) {
+          return List.of();
+        }
+        return get_beacon_committee(state, key.slot, key.index);
+      } catch (final IllegalArgumentException | IndexOutOfBoundsException | ArithmeticException e) {
+        LOG.debug("Unable to calculate committee for attestation packing", e);
+        return List.of();
+      }
+    }
+  }
+
+  private static class Candidate {
+    private final Attestation attestation;
+    private final BitSet bits = new BitSet();
+    private final int committeeSize;
+    private final CommitteeCoverage coverage;
+    private final int order;
+    private long score;
+
+    private Candidate(
+        final Attestation attestation, final CommitteeCoverage coverage, final int order) {
+      this.attestation = attestation;
+      final Bitlist aggregationBits = attestation.getAggregation_bits();
+      aggregationBits.streamAllSetBits().forEach(bits::set);
+      this.committeeSize = aggregationBits.getCurrentSize();
+      this.coverage = coverage;
+      this.order = order;
+    }
+
+    private long computeGain() {
+      long gain = 0;
+      for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+        if (!coverage.covered.get(i)) {
+          gain += coverage.getWeight(i, committeeSize);
+        }
+      }
+      return gain;
+    }
+
+    private void select() {
+      coverage.cover(bits);
+    }
+  }
+}
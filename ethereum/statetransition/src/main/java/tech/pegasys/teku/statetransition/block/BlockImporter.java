@@ -15,12 +15,16 @@ package tech.pegasys.teku.statetransition.block;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.eventbus.EventBus;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import javax.annotation.CheckReturnValue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import tech.pegasys.teku.core.blockvalidator.BlockSequenceValidator;
+import tech.pegasys.teku.core.blockvalidator.ValidatedBlock;
 import tech.pegasys.teku.core.results.BlockImportResult;
 import tech.pegasys.teku.data.BlockProcessingRecord;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
@@ -28,6 +32,7 @@ import tech.pegasys.teku.datastructures.operations.Attestation;
 import tech.pegasys.teku.datastructures.operations.AttesterSlashing;
 import tech.pegasys.teku.datastructures.operations.ProposerSlashing;
 import tech.pegasys.teku.datastructures.operations.SignedVoluntaryExit;
+import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.CheckpointState;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.logging.LogFormatter;
@@ -46,6 +51,7 @@ public class BlockImporter {
   private final ForkChoice forkChoice;
   private final WeakSubjectivityValidator weakSubjectivityValidator;
   private final EventBus eventBus;
+  private final BlockSequenceValidator blockSequenceValidator = new BlockSequenceValidator();
 
   private final Subscribers<VerifiedBlockOperationsListener<Attestation>> attestationSubscribers =
       Subscribers.create(true);
@@ -72,6 +78,51 @@ public class BlockImporter {
 
   @CheckReturnValue
   public SafeFuture<BlockImportResult> importBlock(SignedBeaconBlock block) {
+    return importBlock(block, preState -> forkChoice.onBlock(block, preState));
+  }
+
+  /**
+   * Imports a block which has been found to be valid by {@link #validateBlocks(List)}, using the
+   * post state calculated during validation instead of running the state transition again.
+   */
+  @CheckReturnValue
+  public SafeFuture<BlockImportResult> importPreValidatedBlock(ValidatedBlock validatedBlock) {
+    return importBlock(
+        validatedBlock.getBlock(),
+        preState -> forkChoice.onPreValidatedBlock(validatedBlock, preState));
+  }
+
+  /**
+   * Validates a sequence of blocks, each the child of the previous one, verifying the signatures of
+   * all the blocks together in a single batch. None of the blocks are imported.
+   *
+   * @param blocks the blocks to validate
+   * @return the leading blocks which are valid and can be imported with {@link
+   *     #importPreValidatedBlock(ValidatedBlock)}. Empty if the parent state of the first block is
+   *     not available.
+   */
+  @CheckReturnValue
+  public SafeFuture<List<ValidatedBlock>> validateBlocks(final List<SignedBeaconBlock> blocks) {
+    if (blocks.isEmpty()) {
+      return SafeFuture.completedFuture(List.of());
+    }
+    return recentChainData
+        .retrieveBlockState(blocks.get(0).getParent_root())
+        .thenApply(
+            maybePreState ->
+                maybePreState
+                    .map(preState -> blockSequenceValidator.validate(preState, blocks))
+                    .orElse(List.of()))
+        .exceptionally(
+            error -> {
+              LOG.debug("Failed to validate blocks", error);
+              return List.of();
+            });
+  }
+
+  private SafeFuture<BlockImportResult> importBlock(
+      final SignedBeaconBlock block,
+      final Function<Optional<BeaconState>, SafeFuture<BlockImportResult>> forkChoiceImport) {
     if (recentChainData.containsBlock(block.getMessage().hash_tree_root())) {
       LOG.trace(
           "Importing known block {}.  Return successful result without re-processing.",
@@ -85,7 +136,7 @@ public class BlockImporter {
 
     return validateWeakSubjectivityPeriod()
         .thenCompose(__ -> recentChainData.retrieveBlockState(block.getParent_root()))
-        .thenCompose(preState -> forkChoice.onBlock(block, preState))
+        .thenCompose(forkChoiceImport)
         .thenApply(
             result -> {
               if (!result.isSuccessful()) {
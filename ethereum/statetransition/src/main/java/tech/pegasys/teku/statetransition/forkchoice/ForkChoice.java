@@ -13,26 +13,46 @@
 
 package tech.pegasys.teku.statetransition.forkchoice;
 
+import static tech.pegasys.teku.core.ForkChoiceUtil.checkOnBlockConditions;
 import static tech.pegasys.teku.core.ForkChoiceUtil.on_attestation;
 import static tech.pegasys.teku.core.ForkChoiceUtil.on_block;
 
 import com.google.common.base.Throwables;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
 import tech.pegasys.teku.core.StateTransition;
+import tech.pegasys.teku.core.StateTransitionException;
+import tech.pegasys.teku.core.blockvalidator.ValidatedBlock;
 import tech.pegasys.teku.core.lookup.CapturingIndexedAttestationProvider;
 import tech.pegasys.teku.core.results.BlockImportResult;
 import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
 import tech.pegasys.teku.datastructures.forkchoice.InvalidCheckpointException;
+import tech.pegasys.teku.datastructures.operations.IndexedAttestation;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.datastructures.util.AttestationProcessingResult;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.ExceptionThrowingSupplier;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.MetricsHistogram;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.protoarray.ForkChoiceStrategy;
 import tech.pegasys.teku.statetransition.forkchoice.ForkChoiceExecutor.ForkChoiceTask;
@@ -43,16 +63,74 @@ public class ForkChoice {
   private static final Logger LOG = LogManager.getLogger();
 
   private final ForkChoiceExecutor forkChoiceExecutor;
+  private final Optional<AsyncRunner> blockProcessingRunner;
   private final RecentChainData recentChainData;
   private final StateTransition stateTransition;
+  private final Queue<PendingAttestation> pendingAttestations = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean attestationBatchScheduled = new AtomicBoolean(false);
+  private final Counter attestationBatchCounter;
+  private final Counter appliedAttestationCounter;
+  private final MetricsHistogram attestationBatchSizeHistogram;
+  private final OperationTimer taskTimer;
 
   public ForkChoice(
       final ForkChoiceExecutor forkChoiceExecutor,
       final RecentChainData recentChainData,
-      final StateTransition stateTransition) {
+      final StateTransition stateTransition,
+      final MetricsSystem metricsSystem) {
+    this(forkChoiceExecutor, Optional.empty(), recentChainData, stateTransition, metricsSystem);
+  }
+
+  /**
+   * @param blockProcessingRunner the runner used to perform the state transition of blocks before
+   *     they are imported on the fork choice thread. Several blocks may be processed concurrently
+   */
+  public ForkChoice(
+      final ForkChoiceExecutor forkChoiceExecutor,
+      final AsyncRunner blockProcessingRunner,
+      final RecentChainData recentChainData,
+      final StateTransition stateTransition,
+      final MetricsSystem metricsSystem) {
+    this(
+        forkChoiceExecutor,
+        Optional.of(blockProcessingRunner),
+        recentChainData,
+        stateTransition,
+        metricsSystem);
+  }
+
+  private ForkChoice(
+      final ForkChoiceExecutor forkChoiceExecutor,
+      final Optional<AsyncRunner> blockProcessingRunner,
+      final RecentChainData recentChainData,
+      final StateTransition stateTransition,
+      final MetricsSystem metricsSystem) {
     this.forkChoiceExecutor = forkChoiceExecutor;
+    this.blockProcessingRunner = blockProcessingRunner;
     this.recentChainData = recentChainData;
     this.stateTransition = stateTransition;
+    attestationBatchCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "fork_choice_attestation_batches_total",
+            "Total number of batches of attestations applied to fork choice");
+    appliedAttestationCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "fork_choice_attestations_applied_total",
+            "Total number of attestations applied to fork choice in batches");
+    attestationBatchSizeHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.BEACON,
+            metricsSystem,
+            "fork_choice_attestation_batch_size",
+            "Number of attestations in each batch applied to fork choice",
+            3);
+    taskTimer =
+        metricsSystem.createTimer(
+            TekuMetricCategory.BEACON,
+            "fork_choice_task_duration",
+            "Time spent performing tasks on the fork choice thread");
     recentChainData.subscribeStoreInitialized(this::initializeProtoArrayForkChoice);
   }
 
@@ -116,42 +194,113 @@ public class ForkChoice {
 
   public SafeFuture<BlockImportResult> onBlock(
       final SignedBeaconBlock block, Optional<BeaconState> preState) {
-    return onForkChoiceThread(
+    final Optional<BlockImportResult> preconditionFailure =
+        findPreconditionFailure(block, preState);
+    if (preconditionFailure.isPresent()) {
+      return SafeFuture.completedFuture(preconditionFailure.get());
+    }
+    return processBlock(block, preState.orElseThrow())
+        .thenCompose(
+            processedBlock ->
+                onForkChoiceThread(() -> importProcessedBlock(block, preState, processedBlock)));
+  }
+
+  /**
+   * Imports a block which has already been validated against the same pre state by {@link
+   * tech.pegasys.teku.core.blockvalidator.BlockSequenceValidator}, reusing the results of its state
+   * transition rather than processing the block again.
+   */
+  public SafeFuture<BlockImportResult> onPreValidatedBlock(
+      final ValidatedBlock validatedBlock, Optional<BeaconState> preState) {
+    final SignedBeaconBlock block = validatedBlock.getBlock();
+    final Optional<BlockImportResult> preconditionFailure =
+        findPreconditionFailure(block, preState);
+    if (preconditionFailure.isPresent()) {
+      return SafeFuture.completedFuture(preconditionFailure.get());
+    }
+    final ProcessedBlock processedBlock =
+        new ProcessedBlock(
+            validatedBlock.getPostState(),
+            validatedBlock.getStateRoots(),
+            validatedBlock.getIndexedAttestations());
+    return onForkChoiceThread(() -> importProcessedBlock(block, preState, processedBlock));
+  }
+
+  /**
+   * Rejects blocks from the future, with an unknown parent or which conflict with finalization
+   * before running the state transition. The checks are repeated by on_block on the fork choice
+   * thread as the store may change while the block is being processed.
+   */
+  private Optional<BlockImportResult> findPreconditionFailure(
+      final SignedBeaconBlock block, final Optional<BeaconState> preState) {
+    return checkOnBlockConditions(
+        block.getMessage(),
+        preState.orElse(null),
+        recentChainData.getStore(),
+        getForkChoiceStrategy());
+  }
+
+  /**
+   * Runs the state transition for the block, including verifying its signatures and calculating
+   * state roots, away from the fork choice thread. Only the store updates, which depend on the
+   * blocks imported before this one, are then left for the fork choice thread.
+   */
+  private SafeFuture<ProcessedBlock> processBlock(
+      final SignedBeaconBlock block, final BeaconState preState) {
+    final ExceptionThrowingSupplier<ProcessedBlock> task =
         () -> {
-          final ForkChoiceStrategy forkChoiceStrategy = getForkChoiceStrategy();
-          final StoreTransaction transaction = recentChainData.startStoreTransaction();
+          final Map<Bytes32, SlotAndBlockRoot> stateRoots = new HashMap<>();
           final CapturingIndexedAttestationProvider indexedAttestationProvider =
               new CapturingIndexedAttestationProvider();
-          final BlockImportResult result =
-              on_block(
-                  transaction,
-                  block,
-                  preState,
-                  stateTransition,
-                  forkChoiceStrategy,
-                  beaconState ->
-                      transaction.putStateRoot(
-                          beaconState.hash_tree_root(),
-                          new SlotAndBlockRoot(
-                              beaconState.getSlot(),
-                              beaconState.getLatest_block_header().hash_tree_root())),
-                  indexedAttestationProvider);
-
-          if (!result.isSuccessful()) {
-            return SafeFuture.completedFuture(result);
+          try {
+            final BeaconState postState =
+                stateTransition.initiate(
+                    preState,
+                    block,
+                    true,
+                    beaconState ->
+                        stateRoots.put(
+                            beaconState.hash_tree_root(),
+                            new SlotAndBlockRoot(
+                                beaconState.getSlot(),
+                                beaconState.getLatest_block_header().hash_tree_root())),
+                    indexedAttestationProvider);
+            return new ProcessedBlock(
+                postState, stateRoots, indexedAttestationProvider.getIndexedAttestations());
+          } catch (final StateTransitionException e) {
+            return new ProcessedBlock(e);
           }
-          indexedAttestationProvider.getIndexedAttestations().stream()
-              .filter(
-                  attestation ->
-                      forkChoiceStrategy.contains(attestation.getData().getBeacon_block_root()))
-              .forEach(
-                  indexedAttestation ->
-                      forkChoiceStrategy.onAttestation(transaction, indexedAttestation));
-          return transaction
-              .commit()
-              .thenRun(() -> updateForkChoiceForImportedBlock(block, forkChoiceStrategy, result))
-              .thenApply(__ -> result);
-        });
+        };
+    return blockProcessingRunner
+        .map(runner -> runner.runAsync(task))
+        .orElseGet(() -> SafeFuture.of(task));
+  }
+
+  private SafeFuture<BlockImportResult> importProcessedBlock(
+      final SignedBeaconBlock block,
+      final Optional<BeaconState> preState,
+      final ProcessedBlock processedBlock) {
+    final ForkChoiceStrategy forkChoiceStrategy = getForkChoiceStrategy();
+    final StoreTransaction transaction = recentChainData.startStoreTransaction();
+    final BlockImportResult result =
+        on_block(
+            transaction, block, preState, forkChoiceStrategy, __ -> processedBlock.getPostState());
+
+    if (!result.isSuccessful()) {
+      return SafeFuture.completedFuture(result);
+    }
+    processedBlock.stateRoots.forEach(transaction::putStateRoot);
+    processedBlock.indexedAttestations.stream()
+        .filter(
+            attestation ->
+                forkChoiceStrategy.contains(attestation.getData().getBeacon_block_root()))
+        .forEach(
+            indexedAttestation ->
+                forkChoiceStrategy.onAttestation(transaction, indexedAttestation));
+    return transaction
+        .commit()
+        .thenRun(() -> updateForkChoiceForImportedBlock(block, forkChoiceStrategy, result))
+        .thenApply(__ -> result);
   }
 
   private void updateForkChoiceForImportedBlock(
@@ -179,22 +328,26 @@ public class ForkChoice {
             });
   }
 
+  /**
+   * Applies an attestation to fork choice.
+   *
+   * <p>Attestations are not applied individually. They are queued and the attestations that arrive
+   * while the fork choice thread is busy are then all applied in a single store transaction.
+   */
   public SafeFuture<AttestationProcessingResult> onAttestation(
       final ValidateableAttestation attestation) {
     return recentChainData
         .retrieveCheckpointState(attestation.getData().getTarget())
         .thenCompose(
-            targetBlockState ->
-                onForkChoiceThread(
-                    () -> {
-                      final StoreTransaction transaction = recentChainData.startStoreTransaction();
-                      final AttestationProcessingResult result =
-                          on_attestation(
-                              transaction, attestation, targetBlockState, getForkChoiceStrategy());
-                      return result.isSuccessful()
-                          ? transaction.commit().thenApply(__ -> result)
-                          : SafeFuture.completedFuture(result);
-                    }))
+            targetBlockState -> {
+              final PendingAttestation pendingAttestation =
+                  new PendingAttestation(attestation, targetBlockState);
+              pendingAttestations.add(pendingAttestation);
+              if (attestationBatchScheduled.compareAndSet(false, true)) {
+                onForkChoiceThread(this::applyPendingAttestations).reportExceptions();
+              }
+              return pendingAttestation.result;
+            })
         .exceptionallyCompose(
             error -> {
               final Throwable rootCause = Throwables.getRootCause(error);
@@ -206,6 +359,59 @@ public class ForkChoice {
             });
   }
 
+  private SafeFuture<Void> applyPendingAttestations() {
+    // Clear the flag before draining so attestations added from now on schedule a new batch
+    attestationBatchScheduled.set(false);
+    final List<PendingAttestation> batch = new ArrayList<>();
+    for (PendingAttestation pending = pendingAttestations.poll();
+        pending != null;
+        pending = pendingAttestations.poll()) {
+      batch.add(pending);
+    }
+    if (batch.isEmpty()) {
+      return SafeFuture.COMPLETE;
+    }
+    attestationBatchCounter.inc();
+    appliedAttestationCounter.inc(batch.size());
+    attestationBatchSizeHistogram.recordValue(batch.size());
+
+    final StoreTransaction transaction;
+    final ForkChoiceStrategy forkChoiceStrategy;
+    try {
+      transaction = recentChainData.startStoreTransaction();
+      forkChoiceStrategy = getForkChoiceStrategy();
+    } catch (final Throwable t) {
+      batch.forEach(pending -> pending.result.completeExceptionally(t));
+      return SafeFuture.COMPLETE;
+    }
+    final List<PendingAttestation> processed = new ArrayList<>();
+    boolean storeUpdated = false;
+    for (PendingAttestation pending : batch) {
+      try {
+        pending.processingResult =
+            on_attestation(
+                transaction, pending.attestation, pending.targetBlockState, forkChoiceStrategy);
+        storeUpdated |= pending.processingResult.isSuccessful();
+        processed.add(pending);
+      } catch (final Throwable t) {
+        pending.result.completeExceptionally(t);
+      }
+    }
+    final SafeFuture<Void> commitResult = storeUpdated ? transaction.commit() : SafeFuture.COMPLETE;
+    return commitResult.handle(
+        (__, error) -> {
+          processed.forEach(
+              pending -> {
+                if (error != null) {
+                  pending.result.completeExceptionally(error);
+                } else {
+                  pending.result.complete(pending.processingResult);
+                }
+              });
+          return null;
+        });
+  }
+
   public void save() {
     getForkChoiceStrategy().save();
   }
@@ -240,6 +446,55 @@ public class ForkChoice {
   }
 
   private <T> SafeFuture<T> onForkChoiceThread(final ForkChoiceTask<T> task) {
-    return forkChoiceExecutor.performTask(task);
+    return forkChoiceExecutor.performTask(
+        () -> {
+          final TimingContext timingContext = taskTimer.startTimer();
+          return task.performTask().alwaysRun(timingContext::stopTimer);
+        });
+  }
+
+  /** The result of running the state transition for a block ahead of importing it */
+  private static class ProcessedBlock {
+    private final Optional<BeaconState> postState;
+    private final Optional<StateTransitionException> error;
+    private final Map<Bytes32, SlotAndBlockRoot> stateRoots;
+    private final Collection<IndexedAttestation> indexedAttestations;
+
+    private ProcessedBlock(
+        final BeaconState postState,
+        final Map<Bytes32, SlotAndBlockRoot> stateRoots,
+        final Collection<IndexedAttestation> indexedAttestations) {
+      this.postState = Optional.of(postState);
+      this.error = Optional.empty();
+      this.stateRoots = stateRoots;
+      this.indexedAttestations = indexedAttestations;
+    }
+
+    private ProcessedBlock(final StateTransitionException error) {
+      this.postState = Optional.empty();
+      this.error = Optional.of(error);
+      this.stateRoots = Collections.emptyMap();
+      this.indexedAttestations = Collections.emptyList();
+    }
+
+    public BeaconState getPostState() throws StateTransitionException {
+      if (error.isPresent()) {
+        throw error.get();
+      }
+      return postState.orElseThrow();
+    }
+  }
+
+  private static class PendingAttestation {
+    private final ValidateableAttestation attestation;
+    private final Optional<BeaconState> targetBlockState;
+    private final SafeFuture<AttestationProcessingResult> result = new SafeFuture<>();
+    private AttestationProcessingResult processingResult;
+
+    private PendingAttestation(
+        final ValidateableAttestation attestation, final Optional<BeaconState> targetBlockState) {
+      this.attestation = attestation;
+      this.targetBlockState = targetBlockState;
+    }
   }
 }
@@ -34,7 +34,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
-import tech.pegasys.teku.bls.BLS;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
@@ -47,6 +46,8 @@ import tech.pegasys.teku.datastructures.util.ValidatorsUtil;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.collections.LimitedSet;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.statetransition.validation.signatures.AsyncBatchBLSSignatureVerifier;
+import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationService;
 import tech.pegasys.teku.storage.client.RecentChainData;
 import tech.pegasys.teku.util.config.Constants;
 
@@ -58,11 +59,15 @@ public class AggregateAttestationValidator {
       LimitedSet.create(VALID_AGGREGATE_SET_SIZE);
   private final AttestationValidator attestationValidator;
   private final RecentChainData recentChainData;
+  private final SignatureVerificationService signatureVerificationService;
 
   public AggregateAttestationValidator(
-      final RecentChainData recentChainData, final AttestationValidator attestationValidator) {
+      final RecentChainData recentChainData,
+      final AttestationValidator attestationValidator,
+      final SignatureVerificationService signatureVerificationService) {
     this.recentChainData = recentChainData;
     this.attestationValidator = attestationValidator;
+    this.signatureVerificationService = signatureVerificationService;
   }
 
   public void addSeenAggregate(final ValidateableAttestation attestation) {
@@ -88,10 +93,15 @@ public class AggregateAttestationValidator {
       return SafeFuture.completedFuture(IGNORE);
     }
 
+    // The aggregate, aggregator and selection proof signatures are all verified together
+    final AsyncBatchBLSSignatureVerifier signatureVerifier =
+        new AsyncBatchBLSSignatureVerifier(signatureVerificationService);
     return attestationValidator
-        .singleOrAggregateAttestationChecks(attestation, OptionalInt.empty())
+        .singleOrAggregateAttestationChecks(signatureVerifier, attestation, OptionalInt.empty())
         .thenCompose(
-            aggregateInternalValidationResult -> {
+            aggregateValidationResultWithState -> {
+              final InternalValidationResult aggregateInternalValidationResult =
+                  aggregateValidationResultWithState.getResult();
               if (aggregateInternalValidationResult == REJECT
                   || aggregateInternalValidationResult == IGNORE) {
                 LOG.trace("Rejecting aggregate because attestation failed validation");
@@ -106,10 +116,10 @@ public class AggregateAttestationValidator {
                               ? SafeFuture.completedFuture(Optional.empty())
                               : attestationValidator.resolveStateForAttestation(
                                   aggregate, maybeState.get()))
-                  .thenApply(
+                  .thenCompose(
                       maybeState -> {
                         if (maybeState.isEmpty()) {
-                          return SAVE_FOR_FUTURE;
+                          return SafeFuture.completedFuture(SAVE_FOR_FUTURE);
                         }
 
                         final BeaconState state = maybeState.get();
@@ -118,16 +128,7 @@ public class AggregateAttestationValidator {
                             ValidatorsUtil.getValidatorPubKey(state, aggregateAndProof.getIndex());
                         if (aggregatorPublicKey.isEmpty()) {
                           LOG.trace("Rejecting aggregate with invalid index");
-                          return REJECT;
-                        }
-
-                        if (!isSelectionProofValid(
-                            aggregateSlot,
-                            state,
-                            aggregatorPublicKey.get(),
-                            aggregateAndProof.getSelection_proof())) {
-                          LOG.trace("Rejecting aggregate with incorrect selection proof");
-                          return REJECT;
+                          return SafeFuture.completedFuture(REJECT);
                         }
 
                         final List<Integer> beaconCommittee =
@@ -139,37 +140,60 @@ public class AggregateAttestationValidator {
                             aggregateAndProof.getSelection_proof(), aggregatorModulo)) {
                           LOG.trace(
                               "Rejecting aggregate because selection proof does not select validator as aggregator");
-                          return REJECT;
+                          return SafeFuture.completedFuture(REJECT);
                         }
                         if (!beaconCommittee.contains(
                             toIntExact(aggregateAndProof.getIndex().longValue()))) {
                           LOG.trace(
                               "Rejecting aggregate because attester is not in committee. Should have been one of {}",
                               beaconCommittee);
-                          return REJECT;
-                        }
-
-                        if (!isSignatureValid(signedAggregate, state, aggregatorPublicKey.get())) {
-                          LOG.trace("Rejecting aggregate with invalid signature");
-                          return REJECT;
+                          return SafeFuture.completedFuture(REJECT);
                         }
 
-                        if (!receivedAggregatorIndexAndEpochs.add(aggregatorIndexAndEpoch)) {
-                          LOG.trace("Ignoring duplicate aggregate");
-                          return IGNORE;
-                        }
-
-                        if (!receivedValidAggregations.add(attestation.hash_tree_root())) {
-                          LOG.trace("Ignoring duplicate aggregate based on hash tree root");
-                          return IGNORE;
-                        }
-
-                        return aggregateInternalValidationResult;
+                        addSelectionProofSignature(
+                            signatureVerifier,
+                            aggregateSlot,
+                            state,
+                            aggregatorPublicKey.get(),
+                            aggregateAndProof.getSelection_proof());
+                        addAggregateSignature(
+                            signatureVerifier, signedAggregate, state, aggregatorPublicKey.get());
+
+                        return signatureVerifier
+                            .batchVerify()
+                            .thenApply(
+                                signaturesValid -> {
+                                  if (!signaturesValid) {
+                                    LOG.trace("Rejecting aggregate with invalid signature");
+                                    return REJECT;
+                                  }
+
+                                  if (!receivedAggregatorIndexAndEpochs.add(
+                                      aggregatorIndexAndEpoch)) {
+                                    LOG.trace("Ignoring duplicate aggregate");
+                                    return IGNORE;
+                                  }
+
+                                  if (!receivedValidAggregations.add(
+                                      attestation.hash_tree_root())) {
+                                    LOG.trace(
+                                        "Ignoring duplicate aggregate based on hash tree root");
+                                    return IGNORE;
+                                  }
+
+                                  // Only save the committee shuffling seed once the aggregate is
+                                  // known to be valid
+                                  aggregateValidationResultWithState
+                                      .getState()
+                                      .ifPresent(attestation::saveCommitteeShufflingSeed);
+                                  return aggregateInternalValidationResult;
+                                });
                       });
             });
   }
 
-  private boolean isSignatureValid(
+  private void addAggregateSignature(
+      final AsyncBatchBLSSignatureVerifier signatureVerifier,
       final SignedAggregateAndProof signedAggregate,
       final BeaconState state,
       final BLSPublicKey aggregatorPublicKey) {
@@ -181,10 +205,11 @@ public class AggregateAttestationValidator {
             state.getFork(),
             state.getGenesis_validators_root());
     final Bytes signingRoot = compute_signing_root(aggregateAndProof, domain);
-    return BLS.verify(aggregatorPublicKey, signingRoot, signedAggregate.getSignature());
+    signatureVerifier.verify(aggregatorPublicKey, signingRoot, signedAggregate.getSignature());
   }
 
-  private boolean isSelectionProofValid(
+  private void addSelectionProofSignature(
+      final AsyncBatchBLSSignatureVerifier signatureVerifier,
       final UInt64 aggregateSlot,
       final BeaconState state,
       final BLSPublicKey aggregatorPublicKey,
@@ -196,7 +221,7 @@ public class AggregateAttestationValidator {
             state.getFork(),
             state.getGenesis_validators_root());
     final Bytes signingRoot = compute_signing_root(aggregateSlot.longValue(), domain);
-    return BLS.verify(aggregatorPublicKey, signingRoot, selectionProof);
+    signatureVerifier.verify(aggregatorPublicKey, signingRoot, selectionProof);
   }
 
   private static class AggregatorIndexAndEpoch {
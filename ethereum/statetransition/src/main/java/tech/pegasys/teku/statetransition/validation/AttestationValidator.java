@@ -47,6 +47,8 @@ import tech.pegasys.teku.datastructures.util.CommitteeUtil;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.collections.LimitedSet;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.statetransition.validation.signatures.AsyncBatchBLSSignatureVerifier;
+import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationService;
 import tech.pegasys.teku.storage.client.RecentChainData;
 import tech.pegasys.teku.util.config.Constants;
 
@@ -61,11 +63,15 @@ public class AttestationValidator {
       LimitedSet.create(VALID_ATTESTATION_SET_SIZE);
   private final RecentChainData recentChainData;
   private final ForkChoiceUtilWrapper forkChoiceUtilWrapper;
+  private final SignatureVerificationService signatureVerificationService;
 
   public AttestationValidator(
-      RecentChainData recentChainData, ForkChoiceUtilWrapper forkChoiceUtilWrapper) {
+      RecentChainData recentChainData,
+      ForkChoiceUtilWrapper forkChoiceUtilWrapper,
+      SignatureVerificationService signatureVerificationService) {
     this.recentChainData = recentChainData;
     this.forkChoiceUtilWrapper = forkChoiceUtilWrapper;
+    this.signatureVerificationService = signatureVerificationService;
   }
 
   public SafeFuture<InternalValidationResult> validate(
@@ -76,15 +82,31 @@ public class AttestationValidator {
       return SafeFuture.completedFuture(internalValidationResult);
     }
 
+    final AsyncBatchBLSSignatureVerifier signatureVerifier =
+        new AsyncBatchBLSSignatureVerifier(signatureVerificationService);
     return singleOrAggregateAttestationChecks(
-            validateableAttestation, validateableAttestation.getReceivedSubnetId())
-        .thenApply(
+            signatureVerifier,
+            validateableAttestation,
+            validateableAttestation.getReceivedSubnetId())
+        .thenCompose(
             result -> {
-              if (result != ACCEPT) {
-                return result;
+              if (result.getResult() != ACCEPT) {
+                return SafeFuture.completedFuture(result.getResult());
               }
 
-              return addAndCheckFirstValidAttestation(attestation);
+              return signatureVerifier
+                  .batchVerify()
+                  .thenApply(
+                      signatureValid -> {
+                        if (!signatureValid) {
+                          return REJECT;
+                        }
+                        // Only save the committee shuffling seed once the attestation is known to
+                        // be valid
+                        validateableAttestation.saveCommitteeShufflingSeed(
+                            result.getState().orElseThrow());
+                        return addAndCheckFirstValidAttestation(attestation);
+                      });
             });
   }
 
@@ -116,14 +138,24 @@ public class AttestationValidator {
     return ACCEPT;
   }
 
-  SafeFuture<InternalValidationResult> singleOrAggregateAttestationChecks(
-      final ValidateableAttestation validateableAttestation, final OptionalInt receivedOnSubnetId) {
+  /**
+   * Performs the checks common to both single and aggregate attestations. The signature of the
+   * attestation is only added to {@code signatureVerifier}, so the result can only be relied on
+   * once the caller has also verified the collected signatures.
+   *
+   * @return the result of the checks, with the state the attestation was validated against when
+   *     it was accepted
+   */
+  SafeFuture<InternalValidationResultWithState> singleOrAggregateAttestationChecks(
+      final AsyncBatchBLSSignatureVerifier signatureVerifier,
+      final ValidateableAttestation validateableAttestation,
+      final OptionalInt receivedOnSubnetId) {
 
     Attestation attestation = validateableAttestation.getAttestation();
     final AttestationData data = attestation.getData();
     // The attestation's epoch matches its target
     if (!data.getTarget().getEpoch().equals(compute_epoch_at_slot(data.getSlot()))) {
-      return SafeFuture.completedFuture(REJECT);
+      return SafeFuture.completedFuture(InternalValidationResultWithState.of(REJECT));
     }
 
     // attestation.data.slot is within the last ATTESTATION_PROPAGATION_SLOT_RANGE slots (within a
@@ -134,10 +166,10 @@ public class AttestationValidator {
     final UInt64 currentTimeMillis = secondsToMillis(recentChainData.getStore().getTime());
     if (isCurrentTimeAfterAttestationPropagationSlotRange(currentTimeMillis, attestation)
         || isFromFarFuture(attestation, currentTimeMillis)) {
-      return SafeFuture.completedFuture(IGNORE);
+      return SafeFuture.completedFuture(InternalValidationResultWithState.of(IGNORE));
     }
     if (isCurrentTimeBeforeMinimumAttestationBroadcastTime(attestation, currentTimeMillis)) {
-      return SafeFuture.completedFuture(SAVE_FOR_FUTURE);
+      return SafeFuture.completedFuture(InternalValidationResultWithState.of(SAVE_FOR_FUTURE));
     }
 
     // The block being voted for (attestation.data.beacon_block_root) passes validation.
@@ -153,14 +185,14 @@ public class AttestationValidator {
         .thenApply(
             maybeState -> {
               if (maybeState.isEmpty()) {
-                return SAVE_FOR_FUTURE;
+                return InternalValidationResultWithState.of(SAVE_FOR_FUTURE);
               }
               final BeaconState state = maybeState.get();
               // The committee index is within the expected range
               if (data.getIndex()
                   .isGreaterThanOrEqualTo(
                       get_committee_count_per_slot(state, data.getTarget().getEpoch()))) {
-                return REJECT;
+                return InternalValidationResultWithState.of(REJECT);
               }
 
               // The attestation's committee index (attestation.data.index) is for the correct
@@ -168,7 +200,7 @@ public class AttestationValidator {
               if (receivedOnSubnetId.isPresent()
                   && computeSubnetForAttestation(state, attestation)
                       != receivedOnSubnetId.getAsInt()) {
-                return REJECT;
+                return InternalValidationResultWithState.of(REJECT);
               }
 
               // The check below is not specified in the Eth2 networking spec, yet an attestation
@@ -177,14 +209,15 @@ public class AttestationValidator {
               final List<Integer> committee =
                   get_beacon_committee(state, data.getSlot(), data.getIndex());
               if (committee.size() != attestation.getAggregation_bits().getCurrentSize()) {
-                return REJECT;
+                return InternalValidationResultWithState.of(REJECT);
               }
 
               // The signature of attestation is valid.
               final IndexedAttestation indexedAttestation =
                   get_indexed_attestation(state, attestation);
-              if (!is_valid_indexed_attestation(state, indexedAttestation).isSuccessful()) {
-                return REJECT;
+              if (!is_valid_indexed_attestation(state, indexedAttestation, signatureVerifier)
+                  .isSuccessful()) {
+                return InternalValidationResultWithState.of(REJECT);
               }
 
               // The attestation's target block is an ancestor of the block named in the LMD vote
@@ -195,7 +228,7 @@ public class AttestationValidator {
                       compute_start_slot_at_epoch(data.getTarget().getEpoch()))
                   .map(ancestorOfLMDVote -> ancestorOfLMDVote.equals(data.getTarget().getRoot()))
                   .orElse(false)) {
-                return REJECT;
+                return InternalValidationResultWithState.of(REJECT);
               }
 
               // The current finalized_checkpoint is an ancestor of the block defined by
@@ -209,12 +242,10 @@ public class AttestationValidator {
                       compute_start_slot_at_epoch(finalizedCheckpoint.getEpoch()))
                   .map(ancestorOfLMDVote -> ancestorOfLMDVote.equals(finalizedCheckpoint.getRoot()))
                   .orElse(false)) {
-                return REJECT;
+                return InternalValidationResultWithState.of(REJECT);
               }
 
-              // Save committee shuffling seed since the state is available and attestation is valid
-              validateableAttestation.saveCommitteeShufflingSeed(state);
-              return ACCEPT;
+              return InternalValidationResultWithState.of(ACCEPT, state);
             });
   }
 
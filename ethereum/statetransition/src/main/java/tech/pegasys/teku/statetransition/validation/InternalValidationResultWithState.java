@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation;
+
+import java.util.Optional;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+
+/**
+ * An {@link InternalValidationResult} along with the state the object was validated against, when
+ * one was available.
+ */
+public class InternalValidationResultWithState {
+  private final InternalValidationResult result;
+  private final Optional<BeaconState> state;
+
+  private InternalValidationResultWithState(
+      final InternalValidationResult result, final Optional<BeaconState> state) {
+    this.result = result;
+    this.state = state;
+  }
+
+  public static InternalValidationResultWithState of(
+      final InternalValidationResult result, final BeaconState state) {
+    return new InternalValidationResultWithState(result, Optional.of(state));
+  }
+
+  public static InternalValidationResultWithState of(final InternalValidationResult result) {
+    return new InternalValidationResultWithState(result, Optional.empty());
+  }
+
+  public InternalValidationResult getResult() {
+    return result;
+  }
+
+  public Optional<BeaconState> getState() {
+    return state;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation.signatures;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+
+/**
+ * Collects signatures to be verified in a queue and verifies everything queued as a single batch
+ * with {@link BLS#batchVerify(List, List, List)}, which spreads the work over all available cores.
+ *
+ * <p>Batches are formed from the requests which arrive while the worker threads are busy, up to a
+ * maximum batch size, so no delay is added when the service is idle. If a batch fails verification,
+ * each request in the batch is verified on its own so that one invalid signature doesn't cause
+ * other requests to be rejected.
+ *
+ * <p>When the queue is full, requests are verified on the calling thread.
+ */
+public class AggregatingSignatureVerificationService extends SignatureVerificationService {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 15_000;
+  public static final int DEFAULT_MAX_BATCH_SIZE = 250;
+
+  private final int numThreads;
+  private final int maxBatchSize;
+  private final BlockingQueue<SignatureTask> batchQueue;
+  private final ExecutorService executorService;
+  private final Counter batchCounter;
+  private final Counter taskCounter;
+  private final Counter batchFailureCounter;
+
+  @VisibleForTesting
+  AggregatingSignatureVerificationService(
+      final MetricsSystem metricsSystem,
+      final int numThreads,
+      final int queueCapacity,
+      final int maxBatchSize) {
+    this.numThreads = numThreads;
+    this.maxBatchSize = maxBatchSize;
+    this.batchQueue = new ArrayBlockingQueue<>(queueCapacity);
+    this.executorService =
+        Executors.newFixedThreadPool(
+            numThreads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("signature-verifier-%d")
+                .setDaemon(true)
+                .build());
+
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.BEACON,
+        "signature_verifications_queue_size",
+        "Current number of signature verification requests waiting to be verified",
+        batchQueue::size);
+    batchCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "signature_verifications_batch_count",
+            "Total number of batches of signature verification requests verified");
+    taskCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "signature_verifications_task_count",
+            "Total number of signature verification requests verified in batches");
+    batchFailureCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "signature_verifications_batch_failure_count",
+            "Total number of batches which failed verification and were verified individually");
+  }
+
+  public static SignatureVerificationService create(
+      final MetricsSystem metricsSystem, final int numThreads) {
+    return new AggregatingSignatureVerificationService(
+        metricsSystem, numThreads, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  @Override
+  protected SafeFuture<?> doStart() {
+    for (int i = 0; i < numThreads; i++) {
+      executorService.execute(this::run);
+    }
+    return SafeFuture.COMPLETE;
+  }
+
+  @Override
+  protected SafeFuture<?> doStop() {
+    executorService.shutdownNow();
+    final List<SignatureTask> remainingTasks = new ArrayList<>();
+    batchQueue.drainTo(remainingTasks);
+    remainingTasks.forEach(task -> task.result.cancel(false));
+    return SafeFuture.COMPLETE;
+  }
+
+  @Override
+  public SafeFuture<Boolean> verify(
+      final List<List<BLSPublicKey>> publicKeys,
+      final List<Bytes> messages,
+      final List<BLSSignature> signatures) {
+    final SignatureTask task = new SignatureTask(publicKeys, messages, signatures);
+    if (!isRunning() || !batchQueue.offer(task)) {
+      // Verify on the calling thread rather than dropping the request, applying back pressure
+      return SafeFuture.of(task::verify);
+    }
+    return task.result;
+  }
+
+  private void run() {
+    final List<SignatureTask> batch = new ArrayList<>(maxBatchSize);
+    try {
+      while (isRunning()) {
+        batch.add(batchQueue.take());
+        batchQueue.drainTo(batch, maxBatchSize - 1);
+        verifyBatch(batch);
+        batch.clear();
+      }
+    } catch (final InterruptedException e) {
+      LOG.debug("Signature verification thread interrupted, exiting");
+    }
+  }
+
+  @VisibleForTesting
+  void verifyBatch(final List<SignatureTask> batch) {
+    batchCounter.inc();
+    taskCounter.inc(batch.size());
+    if (batch.size() > 1) {
+      try {
+        if (verifyAll(batch)) {
+          batch.forEach(task -> task.result.complete(true));
+          return;
+        }
+      } catch (final Throwable t) {
+        LOG.debug("Failed to verify batch of signatures, verifying individually", t);
+      }
+      batchFailureCounter.inc();
+    }
+    batch.forEach(task -> SafeFuture.of(task::verify).propagateTo(task.result));
+  }
+
+  private boolean verifyAll(final List<SignatureTask> batch) {
+    final List<List<BLSPublicKey>> publicKeys = new ArrayList<>();
+    final List<Bytes> messages = new ArrayList<>();
+    final List<BLSSignature> signatures = new ArrayList<>();
+    for (SignatureTask task : batch) {
+      publicKeys.addAll(task.publicKeys);
+      messages.addAll(task.messages);
+      signatures.addAll(task.signatures);
+    }
+    return BLS.batchVerify(publicKeys, messages, signatures);
+  }
+
+  @VisibleForTesting
+  static class SignatureTask {
+    private final SafeFuture<Boolean> result = new SafeFuture<>();
+    private final List<List<BLSPublicKey>> publicKeys;
+    private final List<Bytes> messages;
+    private final List<BLSSignature> signatures;
+
+    @VisibleForTesting
+    SignatureTask(
+        final List<List<BLSPublicKey>> publicKeys,
+        final List<Bytes> messages,
+        final List<BLSSignature> signatures) {
+      this.publicKeys = publicKeys;
+      this.messages = messages;
+      this.signatures = signatures;
+    }
+
+    @VisibleForTesting
+    SafeFuture<Boolean> getResult() {
+      return result;
+    }
+
+    private boolean verify() {
+      return BLS.batchVerify(publicKeys, messages, signatures);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation.signatures;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.bls.BLSSignatureVerifier;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/**
+ * Implementation which doesn't perform any actual validations on {@link #verify(List, Bytes,
+ * BLSSignature)} call but just collects signatures. They are then submitted together to a {@link
+ * SignatureVerificationService} by the {@link #batchVerify()} call, which may verify them in a
+ * batch with signatures from other messages.
+ *
+ * <p>Every instance of this class is disposable, i.e. it is intended for just a single batch and a
+ * single {@link #batchVerify()} call.
+ *
+ * <p>This is thread-safe class.
+ */
+public class AsyncBatchBLSSignatureVerifier implements BLSSignatureVerifier {
+  private final SignatureVerificationService signatureVerificationService;
+  private final List<List<BLSPublicKey>> publicKeys = new ArrayList<>();
+  private final List<Bytes> messages = new ArrayList<>();
+  private final List<BLSSignature> signatures = new ArrayList<>();
+  private boolean complete = false;
+
+  public AsyncBatchBLSSignatureVerifier(
+      final SignatureVerificationService signatureVerificationService) {
+    this.signatureVerificationService = signatureVerificationService;
+  }
+
+  @Override
+  public synchronized boolean verify(
+      final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+    checkState(!complete, "Reuse of disposable instance");
+    this.publicKeys.add(publicKeys);
+    this.messages.add(message);
+    this.signatures.add(signature);
+    return true;
+  }
+
+  /**
+   * Verifies all the signatures collected with calls to {@link #verify(List, Bytes, BLSSignature)}.
+   * If no signatures were collected the result is true.
+   *
+   * <p>After this method is called the instance should be disposed and any subsequent calls to this
+   * instance methods would fail with exception
+   */
+  public synchronized SafeFuture<Boolean> batchVerify() {
+    checkState(!complete, "Reuse of disposable instance");
+    complete = true;
+    if (signatures.isEmpty()) {
+      return SafeFuture.completedFuture(true);
+    }
+    return signatureVerificationService.verify(publicKeys, messages, signatures);
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation.signatures;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.service.serviceutils.Service;
+
+/** Verifies signatures asynchronously, potentially combining them with other pending requests. */
+public abstract class SignatureVerificationService extends Service {
+
+  /** Creates a service which verifies each request immediately on the calling thread. */
+  public static SignatureVerificationService createSimple() {
+    return new SimpleSignatureVerificationService();
+  }
+
+  /**
+   * Verifies a set of signatures which must all be valid. Each signature is verified against its
+   * message using the public keys at the same position.
+   *
+   * @return A future completing with true if every signature is valid, otherwise false
+   */
+  public abstract SafeFuture<Boolean> verify(
+      List<List<BLSPublicKey>> publicKeys, List<Bytes> messages, List<BLSSignature> signatures);
+
+  public SafeFuture<Boolean> verify(
+      final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
+    return verify(
+        Collections.singletonList(publicKeys),
+        Collections.singletonList(message),
+        Collections.singletonList(signature));
+  }
+}
@@ -36,6 +36,7 @@ import tech.pegasys.teku.datastructures.operations.Attestation;
 import tech.pegasys.teku.datastructures.operations.AttestationData;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.time.StubTimeProvider;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
 import tech.pegasys.teku.util.config.Constants;
@@ -48,7 +49,8 @@ class AggregatingAttestationPoolTest {
       mock(AttestationDataStateTransitionValidator.class);
 
   private final AggregatingAttestationPool aggregatingPool =
-      new AggregatingAttestationPool(attestationDataValidator, new NoOpMetricsSystem());
+      new AggregatingAttestationPool(
+          attestationDataValidator, new NoOpMetricsSystem(), StubTimeProvider.withTimeInMillis(0));
 
   private final AttestationForkChecker forkChecker = mock(AttestationForkChecker.class);
 
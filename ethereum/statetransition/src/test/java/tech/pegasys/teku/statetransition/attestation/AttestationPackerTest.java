@@ -0,0 +1,226 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.datastructures.util.CommitteeUtil.get_beacon_committee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
+import tech.pegasys.teku.datastructures.operations.Attestation;
+import tech.pegasys.teku.datastructures.operations.AttestationData;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.PendingAttestation;
+import tech.pegasys.teku.datastructures.state.Validator;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.time.StubTimeProvider;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
+import tech.pegasys.teku.util.config.Constants;
+
+class AttestationPackerTest {
+  private static final UInt64 SLOT = UInt64.valueOf(100);
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final AttestationPacker packer =
+      new AttestationPacker(
+          StubTimeProvider.withTimeInMillis(0), AttestationPacker.DEFAULT_TIME_BUDGET_MILLIS);
+  private final List<MatchingDataAttestationGroup> groups = new ArrayList<>();
+
+  @Test
+  void pack_shouldPreferAttestationsWithMostNewValidators() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(SLOT);
+    final Attestation attestation1 = addAttestation(dataStructureUtil.randomAttestationData(), 1);
+    final Attestation attestation2 =
+        addAttestation(dataStructureUtil.randomAttestationData(), 1, 2, 3);
+    final Attestation attestation3 =
+        addAttestation(dataStructureUtil.randomAttestationData(), 1, 2);
+
+    assertThat(packer.pack(state, groups, 2)).containsExactly(attestation2, attestation3);
+  }
+
+  @Test
+  void pack_shouldSkipValidatorsAlreadyCoveredBySelectedAttestationsForSameCommittee() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(SLOT);
+    final AttestationData data = dataStructureUtil.randomAttestationData(SLOT);
+    addAttestation(data, 1, 2, 3);
+    // Different head vote but the same committee
+    final Attestation attestation2 = addAttestation(otherHead(data), 1, 2, 3, 4);
+    final Attestation attestation3 = addAttestation(dataStructureUtil.randomAttestationData(), 5);
+
+    assertThat(packer.pack(state, groups, 3)).containsExactly(attestation2, attestation3);
+  }
+
+  @Test
+  void pack_shouldExcludeValidatorsAlreadyIncludedInState() {
+    final AttestationData data = dataStructureUtil.randomAttestationData(SLOT);
+    final BeaconState state =
+        dataStructureUtil
+            .randomBeaconState(SLOT)
+            .updated(
+                mutableState ->
+                    mutableState
+                        .getCurrent_epoch_attestations()
+                        .add(
+                            new PendingAttestation(
+                                bitlistOf(1, 2, 3), data, UInt64.ONE, UInt64.ZERO)));
+    final Attestation attestation1 = addAttestation(data, 1, 2, 3, 4);
+    final Attestation attestation2 =
+        addAttestation(dataStructureUtil.randomAttestationData(), 5, 6);
+    addAttestation(otherHead(data), 2, 3);
+
+    assertThat(packer.pack(state, groups, 10)).containsExactly(attestation2, attestation1);
+  }
+
+  @Test
+  void pack_shouldWeighValidatorsByEffectiveBalance() {
+    final BeaconState state = createStateWithActiveValidators();
+    final List<Integer> committee = get_beacon_committee(state, SLOT, UInt64.ZERO);
+    final BeaconState weightedState =
+        state.updated(
+            mutableState -> {
+              for (int i = 0; i < committee.size(); i++) {
+                final int validatorIndex = committee.get(i);
+                final long balance = i == 0 ? Constants.MAX_EFFECTIVE_BALANCE : 1_000_000_000L;
+                mutableState
+                    .getValidators()
+                    .set(
+                        validatorIndex,
+                        mutableState
+                            .getValidators()
+                            .get(validatorIndex)
+                            .withEffective_balance(UInt64.valueOf(balance)));
+              }
+            });
+    final AttestationData data =
+        new AttestationData(
+            SLOT,
+            UInt64.ZERO,
+            dataStructureUtil.randomBytes32(),
+            dataStructureUtil.randomCheckpoint(),
+            dataStructureUtil.randomCheckpoint());
+    addAttestationForCommittee(data, committee.size(), 1, 2, 3);
+    final Attestation highBalanceAttestation =
+        addAttestationForCommittee(otherHead(data), committee.size(), 0);
+
+    assertThat(packer.pack(weightedState, groups, 1)).containsExactly(highBalanceAttestation);
+  }
+
+  @Test
+  void pack_shouldAssumeMaxEffectiveBalanceWhenCommitteeCannotBeCalculated() {
+    final BeaconState state = createStateWithActiveValidators();
+    final Attestation farFutureAttestation =
+        addAttestation(attestationDataAtSlot(UInt64.MAX_VALUE, UInt64.ZERO), 1, 2);
+    final Attestation invalidIndexAttestation =
+        addAttestation(attestationDataAtSlot(SLOT, UInt64.MAX_VALUE), 1);
+
+    assertThat(packer.pack(state, groups, 2))
+        .containsExactly(farFutureAttestation, invalidIndexAttestation);
+  }
+
+  @Test
+  void pack_shouldPreferMoreRecentAttestationsWhenScoresAreEqual() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(SLOT);
+    final Attestation attestation1 = addAttestation(dataStructureUtil.randomAttestationData(), 1);
+    final Attestation attestation2 = addAttestation(dataStructureUtil.randomAttestationData(), 2);
+
+    assertThat(packer.pack(state, groups, 2)).containsExactly(attestation1, attestation2);
+  }
+
+  @Test
+  void pack_shouldFillRemainingSlotsWithoutRescoringWhenTimeBudgetIsExceeded() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(SLOT);
+    final AttestationData data = dataStructureUtil.randomAttestationData(SLOT);
+    final Attestation attestation1 = addAttestation(otherHead(data), 1);
+    final Attestation attestation2 = addAttestation(data, 1, 2);
+    addAttestation(dataStructureUtil.randomAttestationData(), 3);
+
+    // Time runs out after the first attestation is selected
+    final AtomicInteger timeChecks = new AtomicInteger();
+    final AttestationPacker slowPacker =
+        new AttestationPacker(
+            () -> UInt64.valueOf(timeChecks.getAndIncrement() < groups.size() + 1 ? 0 : 1000),
+            AttestationPacker.DEFAULT_TIME_BUDGET_MILLIS);
+
+    // attestation1 no longer adds any validators but its score is not recalculated
+    assertThat(slowPacker.pack(state, groups, 2)).containsExactly(attestation2, attestation1);
+  }
+
+  private BeaconState createStateWithActiveValidators() {
+    return dataStructureUtil
+        .randomBeaconState(64)
+        .updated(
+            state -> {
+              state.setSlot(SLOT);
+              for (int i = 0; i < state.getValidators().size(); i++) {
+                final Validator validator = state.getValidators().get(i);
+                state
+                    .getValidators()
+                    .set(
+                        i,
+                        validator
+                            .withActivation_epoch(UInt64.ZERO)
+                            .withExit_epoch(Constants.FAR_FUTURE_EPOCH)
+                            .withSlashed(false));
+              }
+            });
+  }
+
+  private AttestationData attestationDataAtSlot(final UInt64 slot, final UInt64 index) {
+    return new AttestationData(
+        slot,
+        index,
+        dataStructureUtil.randomBytes32(),
+        dataStructureUtil.randomCheckpoint(),
+        dataStructureUtil.randomCheckpoint());
+  }
+
+  private AttestationData otherHead(final AttestationData data) {
+    return new AttestationData(
+        data.getSlot(),
+        data.getIndex(),
+        dataStructureUtil.randomBytes32(),
+        data.getSource(),
+        data.getTarget());
+  }
+
+  private Attestation addAttestation(final AttestationData data, final int... validators) {
+    return addAttestationForCommittee(data, 20, validators);
+  }
+
+  private Attestation addAttestationForCommittee(
+      final AttestationData data, final int committeeSize, final int... validators) {
+    final Attestation attestation =
+        new Attestation(
+            createBitlist(committeeSize, validators), data, dataStructureUtil.randomSignature());
+    final MatchingDataAttestationGroup group =
+        new MatchingDataAttestationGroup(data, dataStructureUtil.randomBytes32());
+    group.add(ValidateableAttestation.from(attestation));
+    groups.add(group);
+    return attestation;
+  }
+
+  private Bitlist bitlistOf(final int... validators) {
+    return createBitlist(20, validators);
+  }
+
+  private Bitlist createBitlist(final int committeeSize, final int... validators) {
+    final Bitlist bitlist = new Bitlist(committeeSize, Constants.MAX_VALIDATORS_PER_COMMITTEE);
+    IntStream.of(validators).forEach(bitlist::setBit);
+    return bitlist;
+  }
+}
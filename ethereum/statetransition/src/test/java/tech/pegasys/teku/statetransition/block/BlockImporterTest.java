@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +39,7 @@ import tech.pegasys.teku.bls.BLSKeyPair;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.core.AttestationGenerator;
 import tech.pegasys.teku.core.StateTransition;
+import tech.pegasys.teku.core.blockvalidator.ValidatedBlock;
 import tech.pegasys.teku.core.results.BlockImportResult;
 import tech.pegasys.teku.core.results.BlockImportResult.FailureReason;
 import tech.pegasys.teku.core.signatures.Signer;
@@ -71,7 +73,11 @@ public class BlockImporterTest {
   private final WeakSubjectivityValidator weakSubjectivityValidator =
       mock(WeakSubjectivityValidator.class);
   private final ForkChoice forkChoice =
-      new ForkChoice(new SyncForkChoiceExecutor(), recentChainData, new StateTransition());
+      new ForkChoice(
+          new SyncForkChoiceExecutor(),
+          recentChainData,
+          new StateTransition(),
+          new NoOpMetricsSystem());
   private final BeaconChainUtil localChain =
       BeaconChainUtil.create(recentChainData, validatorKeys, forkChoice, false);
 
@@ -125,6 +131,36 @@ public class BlockImporterTest {
     assertImportFailed(result, FailureReason.INTERNAL_ERROR);
   }
 
+  @Test
+  public void validateBlocks_shouldCountValidBlocksWithoutImportingThem() throws Exception {
+    final SignedBeaconBlock block1 = otherChain.createAndImportBlockAtSlot(1);
+    final SignedBeaconBlock block2 = otherChain.createAndImportBlockAtSlot(2);
+    final SignedBeaconBlock invalidBlock =
+        new SignedBeaconBlock(
+            otherChain.createAndImportBlockAtSlot(3).getMessage(), block1.getSignature());
+    localChain.setSlot(invalidBlock.getSlot());
+
+    assertThat(blockImporter.validateBlocks(List.of(block1, block2, invalidBlock)).get())
+        .extracting(ValidatedBlock::getBlock)
+        .containsExactly(block1, block2);
+    assertThat(recentChainData.containsBlock(block1.getRoot())).isFalse();
+  }
+
+  @Test
+  public void importPreValidatedBlock_success() throws Exception {
+    final SignedBeaconBlock block = otherChain.createBlockAtSlot(UInt64.ONE);
+    localChain.setSlot(block.getSlot());
+
+    final List<ValidatedBlock> validatedBlocks = blockImporter.validateBlocks(List.of(block)).get();
+    assertThat(validatedBlocks).hasSize(1);
+    final BlockImportResult result =
+        blockImporter.importPreValidatedBlock(validatedBlocks.get(0)).get();
+    assertWeakSubjectivityWasChecked();
+    assertSuccessfulResult(result);
+    assertThat(recentChainData.retrieveBlockState(block.getRoot()).get())
+        .contains(validatedBlocks.get(0).getPostState());
+  }
+
   @Test
   public void importBlock_alreadyInChain() throws Exception {
     final SignedBeaconBlock block = otherChain.createBlockAtSlot(UInt64.ONE);
@@ -379,7 +415,10 @@ public class BlockImporterTest {
     final SignedBlockAndState genesis = storageSystem.chainUpdater().initializeGenesis();
     final ForkChoice forkChoice =
         new ForkChoice(
-            new SyncForkChoiceExecutor(), storageSystem.recentChainData(), new StateTransition());
+            new SyncForkChoiceExecutor(),
+            storageSystem.recentChainData(),
+            new StateTransition(),
+            new NoOpMetricsSystem());
     final BlockImporter blockImporter =
         new BlockImporter(
             storageSystem.recentChainData(),
@@ -413,7 +452,10 @@ public class BlockImporterTest {
     final SignedBlockAndState genesis = storageSystem.chainUpdater().initializeGenesis();
     final ForkChoice forkChoice =
         new ForkChoice(
-            new SyncForkChoiceExecutor(), storageSystem.recentChainData(), new StateTransition());
+            new SyncForkChoiceExecutor(),
+            storageSystem.recentChainData(),
+            new StateTransition(),
+            new NoOpMetricsSystem());
     final BlockImporter blockImporter =
         new BlockImporter(
             storageSystem.recentChainData(),
@@ -455,7 +497,10 @@ public class BlockImporterTest {
     storageSystem.chainUpdater().initializeGenesis();
     final ForkChoice forkChoice =
         new ForkChoice(
-            new SyncForkChoiceExecutor(), storageSystem.recentChainData(), new StateTransition());
+            new SyncForkChoiceExecutor(),
+            storageSystem.recentChainData(),
+            new StateTransition(),
+            new NoOpMetricsSystem());
     final BlockImporter blockImporter =
         new BlockImporter(
             storageSystem.recentChainData(),
@@ -492,7 +537,10 @@ public class BlockImporterTest {
     final StorageSystem storageSystem = InMemoryStorageSystemBuilder.buildDefault();
     final ForkChoice forkChoice =
         new ForkChoice(
-            new SyncForkChoiceExecutor(), storageSystem.recentChainData(), new StateTransition());
+            new SyncForkChoiceExecutor(),
+            storageSystem.recentChainData(),
+            new StateTransition(),
+            new NoOpMetricsSystem());
     final BlockImporter blockImporter =
         new BlockImporter(
             storageSystem.recentChainData(),
@@ -517,7 +565,10 @@ public class BlockImporterTest {
     final StorageSystem storageSystem = InMemoryStorageSystemBuilder.buildDefault();
     final ForkChoice forkChoice =
         new ForkChoice(
-            new SyncForkChoiceExecutor(), storageSystem.recentChainData(), new StateTransition());
+            new SyncForkChoiceExecutor(),
+            storageSystem.recentChainData(),
+            new StateTransition(),
+            new NoOpMetricsSystem());
     final BlockImporter blockImporter =
         new BlockImporter(
             storageSystem.recentChainData(),
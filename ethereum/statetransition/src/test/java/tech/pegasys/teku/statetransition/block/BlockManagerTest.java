@@ -24,6 +24,7 @@ import com.google.common.eventbus.EventBus;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -69,7 +70,11 @@ public class BlockManagerTest {
   private final BeaconChainUtil remoteChain =
       BeaconChainUtil.create(remoteRecentChainData, validatorKeys);
   private final ForkChoice forkChoice =
-      new ForkChoice(new SyncForkChoiceExecutor(), localRecentChainData, new StateTransition());
+      new ForkChoice(
+          new SyncForkChoiceExecutor(),
+          localRecentChainData,
+          new StateTransition(),
+          new NoOpMetricsSystem());
 
   private final BlockImporter blockImporter =
       new BlockImporter(
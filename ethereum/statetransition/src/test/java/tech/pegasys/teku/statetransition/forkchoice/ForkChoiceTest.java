@@ -20,10 +20,13 @@ import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
 import static tech.pegasys.teku.util.config.Constants.SECONDS_PER_SLOT;
 
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.bls.BLSKeyPair;
@@ -35,6 +38,7 @@ import tech.pegasys.teku.core.StateTransition;
 import tech.pegasys.teku.core.results.BlockImportResult;
 import tech.pegasys.teku.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.datastructures.blocks.Eth1Data;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.datastructures.operations.Attestation;
 import tech.pegasys.teku.datastructures.operations.AttestationData;
@@ -43,6 +47,7 @@ import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.datastructures.util.AttestationProcessingResult;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
@@ -63,7 +68,8 @@ class ForkChoiceTest {
   private final RecentChainData recentChainData = storageSystem.recentChainData();
 
   private final ForkChoice forkChoice =
-      new ForkChoice(new SyncForkChoiceExecutor(), recentChainData, stateTransition);
+      new ForkChoice(
+          new SyncForkChoiceExecutor(), recentChainData, stateTransition, new NoOpMetricsSystem());
 
   @BeforeEach
   public void setup() {
@@ -100,6 +106,86 @@ class ForkChoiceTest {
     assertThat(recentChainData.getHeadSlot()).isEqualTo(blockAndState.getSlot());
   }
 
+  @Test
+  void onBlock_shouldProcessBlockOnBlockProcessingRunner() {
+    final StubAsyncRunner blockProcessingRunner = new StubAsyncRunner();
+    final ForkChoice pipelinedForkChoice =
+        new ForkChoice(
+            new SyncForkChoiceExecutor(),
+            blockProcessingRunner,
+            recentChainData,
+            stateTransition,
+            new NoOpMetricsSystem());
+    final SignedBlockAndState blockAndState = chainBuilder.generateBlockAtSlot(ONE);
+
+    final SafeFuture<BlockImportResult> importResult =
+        pipelinedForkChoice.onBlock(blockAndState.getBlock(), Optional.of(genesis.getState()));
+    assertThat(importResult).isNotDone();
+    assertThat(recentChainData.containsBlock(blockAndState.getRoot())).isFalse();
+
+    blockProcessingRunner.executeQueuedActions();
+    assertBlockImportedSuccessfully(importResult);
+    assertThat(recentChainData.getHeadBlock()).contains(blockAndState.getBlock());
+  }
+
+  @Test
+  void onBlock_shouldReportUnknownParentWithoutProcessingBlock() {
+    final StubAsyncRunner blockProcessingRunner = new StubAsyncRunner();
+    final ForkChoice pipelinedForkChoice =
+        new ForkChoice(
+            new SyncForkChoiceExecutor(),
+            blockProcessingRunner,
+            recentChainData,
+            stateTransition,
+            new NoOpMetricsSystem());
+    final SignedBlockAndState blockAndState = chainBuilder.generateBlockAtSlot(ONE);
+
+    final SafeFuture<BlockImportResult> importResult =
+        pipelinedForkChoice.onBlock(blockAndState.getBlock(), Optional.empty());
+    assertThat(blockProcessingRunner.hasDelayedActions()).isFalse();
+    assertThat(importResult)
+        .isCompletedWithValueMatching(
+            result -> result.getFailureReason() == BlockImportResult.FailureReason.UNKNOWN_PARENT);
+  }
+
+  @Test
+  void onBlock_shouldRejectBlockFromFutureWithoutProcessingBlock() {
+    final StubAsyncRunner blockProcessingRunner = new StubAsyncRunner();
+    final ForkChoice pipelinedForkChoice =
+        new ForkChoice(
+            new SyncForkChoiceExecutor(),
+            blockProcessingRunner,
+            recentChainData,
+            stateTransition,
+            new NoOpMetricsSystem());
+    final SignedBlockAndState blockAndState = chainBuilder.generateBlockAtSlot(20);
+
+    final SafeFuture<BlockImportResult> importResult =
+        pipelinedForkChoice.onBlock(blockAndState.getBlock(), Optional.of(genesis.getState()));
+    assertThat(blockProcessingRunner.hasDelayedActions()).isFalse();
+    assertThat(importResult)
+        .isCompletedWithValueMatching(
+            result ->
+                result.getFailureReason() == BlockImportResult.FailureReason.BLOCK_IS_FROM_FUTURE);
+  }
+
+  @Test
+  void onBlock_shouldReportStateTransitionFailureForInvalidBlock() {
+    final SignedBlockAndState blockAndState = chainBuilder.generateBlockAtSlot(ONE);
+    final SignedBeaconBlock invalidBlock =
+        new SignedBeaconBlock(
+            blockAndState.getBlock().getMessage(), dataStructureUtil.randomSignature());
+
+    final SafeFuture<BlockImportResult> importResult =
+        forkChoice.onBlock(invalidBlock, Optional.of(genesis.getState()));
+    assertThat(importResult)
+        .isCompletedWithValueMatching(
+            result ->
+                result.getFailureReason()
+                    == BlockImportResult.FailureReason.FAILED_STATE_TRANSITION);
+    assertThat(recentChainData.containsBlock(blockAndState.getRoot())).isFalse();
+  }
+
   @Test
   void onBlock_shouldTriggerReorgWhenSelectingChildOfChainHeadWhenForkChoiceSlotHasAdvanced() {
     // Advance the current head
@@ -239,6 +325,33 @@ class ForkChoiceTest {
                     targetBlock.getSlot(), targetCheckpoint.getEpochStartSlot())));
   }
 
+  @Test
+  void onAttestation_shouldApplyAttestationsQueuedWhileForkChoiceIsBusyInOneBatch() {
+    chainBuilder
+        .generateBlocksUpToSlot(7)
+        .forEach(blockAndState -> importBlock(chainBuilder, blockAndState));
+    final QueuingForkChoiceExecutor forkChoiceExecutor = new QueuingForkChoiceExecutor();
+    final ForkChoice queuingForkChoice =
+        new ForkChoice(
+            forkChoiceExecutor, recentChainData, stateTransition, new NoOpMetricsSystem());
+    forkChoiceExecutor.startQueuingTasks();
+
+    final List<SafeFuture<AttestationProcessingResult>> results =
+        chainBuilder
+            .streamValidAttestationsForBlockAtSlot(UInt64.valueOf(8))
+            .limit(3)
+            .map(ValidateableAttestation::from)
+            .map(queuingForkChoice::onAttestation)
+            .collect(Collectors.toList());
+    assertThat(results).hasSize(3).noneMatch(SafeFuture::isDone);
+
+    assertThat(forkChoiceExecutor.runQueuedTasks()).isEqualTo(1);
+    assertThat(results)
+        .allSatisfy(
+            result ->
+                assertThat(result).isCompletedWithValue(AttestationProcessingResult.SUCCESSFUL));
+  }
+
   private UInt64 applyAttestationFromValidator(
       final UInt64 validatorIndex, final SignedBlockAndState targetBlock) {
     // Note this attestation is wildly invalid but we're going to shove it straight into fork choice
@@ -266,6 +379,37 @@ class ForkChoiceTest {
     return updatedAttestationSlot;
   }
 
+  private static class QueuingForkChoiceExecutor implements ForkChoiceExecutor {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean queueTasks = false;
+
+    @Override
+    public <T> SafeFuture<T> performTask(final ForkChoiceTask<T> task) {
+      if (!queueTasks) {
+        return task.performTask();
+      }
+      final SafeFuture<T> result = new SafeFuture<>();
+      tasks.add(() -> task.performTask().propagateTo(result));
+      return result;
+    }
+
+    public void startQueuingTasks() {
+      queueTasks = true;
+    }
+
+    public int runQueuedTasks() {
+      int count = 0;
+      for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+        task.run();
+        count++;
+      }
+      return count;
+    }
+
+    @Override
+    public void stop() {}
+  }
+
   private void assertBlockImportedSuccessfully(final SafeFuture<BlockImportResult> importResult) {
     assertThat(importResult).isCompleted();
     final BlockImportResult result = importResult.join();
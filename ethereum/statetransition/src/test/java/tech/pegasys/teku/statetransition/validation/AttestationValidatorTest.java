@@ -50,6 +50,7 @@ import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
+import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationService;
 import tech.pegasys.teku.storage.client.ChainUpdater;
 import tech.pegasys.teku.storage.client.RecentChainData;
 import tech.pegasys.teku.storage.storageSystem.InMemoryStorageSystemBuilder;
@@ -89,7 +90,10 @@ class AttestationValidatorTest {
       new AttestationGenerator(chainBuilder.getValidatorKeys());
 
   private final AttestationValidator validator =
-      new AttestationValidator(recentChainData, new ForkChoiceUtilWrapper());
+      new AttestationValidator(
+          recentChainData,
+          new ForkChoiceUtilWrapper(),
+          SignatureVerificationService.createSimple());
 
   @BeforeAll
   public static void init() {
@@ -286,6 +290,21 @@ class AttestationValidatorTest {
     assertThat(validate(attestation)).isEqualTo(REJECT);
   }
 
+  @Test
+  public void shouldOnlySaveCommitteeShufflingSeedOnceSignatureIsVerified() {
+    final BeaconBlockAndState head = recentChainData.getHeadBlockAndState().orElseThrow();
+    final ValidateableAttestation invalidAttestation =
+        fromNetwork(attestationGenerator.attestationWithInvalidSignature(head));
+    final ValidateableAttestation validAttestation =
+        fromNetwork(attestationGenerator.validAttestation(head));
+
+    assertThat(validator.validate(invalidAttestation)).isCompletedWithValue(REJECT);
+    assertThat(invalidAttestation.getCommitteeShufflingSeed()).isEmpty();
+
+    assertThat(validator.validate(validAttestation)).isCompletedWithValue(ACCEPT);
+    assertThat(validAttestation.getCommitteeShufflingSeed()).isPresent();
+  }
+
   @Test
   public void shouldDeferAttestationWhenBlockBeingVotedForIsNotAvailable() throws Exception {
     final BeaconBlockAndState unknownBlockAndState =
@@ -361,7 +380,8 @@ class AttestationValidatorTest {
     when(forkChoiceUtilWrapper.get_ancestor(any(), any(), any()))
         .thenReturn(Optional.of(Bytes32.ZERO));
     final AttestationValidator validator =
-        new AttestationValidator(recentChainData, forkChoiceUtilWrapper);
+        new AttestationValidator(
+            recentChainData, forkChoiceUtilWrapper, SignatureVerificationService.createSimple());
     final BeaconBlockAndState blockAndState = recentChainData.getHeadBlockAndState().orElseThrow();
     final Attestation attestation = attestationGenerator.validAttestation(blockAndState);
     final int expectedSubnetId = computeSubnetForAttestation(blockAndState.getState(), attestation);
@@ -374,7 +394,8 @@ class AttestationValidatorTest {
   public void shouldRejectAttestationsThatHaveLMDVotesInconsistentWithFinalizedCheckpointRoot() {
     ForkChoiceUtilWrapper forkChoiceUtilWrapper = mock(ForkChoiceUtilWrapper.class);
     final AttestationValidator validator =
-        new AttestationValidator(recentChainData, forkChoiceUtilWrapper);
+        new AttestationValidator(
+            recentChainData, forkChoiceUtilWrapper, SignatureVerificationService.createSimple());
     final BeaconBlockAndState blockAndState = recentChainData.getHeadBlockAndState().orElseThrow();
     final Attestation attestation = attestationGenerator.validAttestation(blockAndState);
     when(forkChoiceUtilWrapper.get_ancestor(any(), any(), any()))
@@ -387,12 +408,13 @@ class AttestationValidatorTest {
   }
 
   private InternalValidationResult validate(final Attestation attestation) {
+    return validator.validate(fromNetwork(attestation)).join();
+  }
+
+  private ValidateableAttestation fromNetwork(final Attestation attestation) {
     final BeaconState state = recentChainData.getBestState().orElseThrow();
-    return validator
-        .validate(
-            ValidateableAttestation.fromNetwork(
-                attestation, computeSubnetForAttestation(state, attestation)))
-        .join();
+    return ValidateableAttestation.fromNetwork(
+        attestation, computeSubnetForAttestation(state, attestation));
   }
 
   private boolean hasSameValidators(final Attestation attestation1, final Attestation attestation) {
@@ -56,6 +56,7 @@ import tech.pegasys.teku.datastructures.util.BeaconStateUtil;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationService;
 import tech.pegasys.teku.storage.client.ChainUpdater;
 import tech.pegasys.teku.storage.client.RecentChainData;
 import tech.pegasys.teku.storage.storageSystem.InMemoryStorageSystemBuilder;
@@ -112,7 +113,8 @@ class SignedAggregateAndProofValidatorTest {
   private final AttestationValidator attestationValidator = mock(AttestationValidator.class);
 
   private final AggregateAttestationValidator validator =
-      new AggregateAttestationValidator(recentChainData, attestationValidator);
+      new AggregateAttestationValidator(
+          recentChainData, attestationValidator, SignatureVerificationService.createSimple());
   private SignedBlockAndState bestBlock;
   private SignedBlockAndState genesis;
 
@@ -132,7 +134,10 @@ class SignedAggregateAndProofValidatorTest {
     bestBlock = chainUpdater.addNewBestBlock();
 
     final AttestationValidator realAttestationValidator =
-        new AttestationValidator(recentChainData, new ForkChoiceUtilWrapper());
+        new AttestationValidator(
+            recentChainData,
+            new ForkChoiceUtilWrapper(),
+            SignatureVerificationService.createSimple());
     when(attestationValidator.resolveStateForAttestation(any(), any()))
         .thenAnswer(
             i ->
@@ -168,8 +173,8 @@ class SignedAggregateAndProofValidatorTest {
         generator.validAggregateAndProof(recentChainData.getHeadBlockAndState().orElseThrow());
     ValidateableAttestation attestation = ValidateableAttestation.aggregateFromValidator(aggregate);
     when(attestationValidator.singleOrAggregateAttestationChecks(
-            eq(attestation), eq(OptionalInt.empty())))
-        .thenReturn(SafeFuture.completedFuture(REJECT));
+            any(), eq(attestation), eq(OptionalInt.empty())))
+        .thenReturn(SafeFuture.completedFuture(InternalValidationResultWithState.of(REJECT)));
 
     assertThat(validator.validate(attestation)).isCompletedWithValue(REJECT);
   }
@@ -180,8 +185,8 @@ class SignedAggregateAndProofValidatorTest {
         generator.validAggregateAndProof(recentChainData.getHeadBlockAndState().orElseThrow());
     ValidateableAttestation attestation = ValidateableAttestation.aggregateFromValidator(aggregate);
     when(attestationValidator.singleOrAggregateAttestationChecks(
-            eq(attestation), eq(OptionalInt.empty())))
-        .thenReturn(SafeFuture.completedFuture(IGNORE));
+            any(), eq(attestation), eq(OptionalInt.empty())))
+        .thenReturn(SafeFuture.completedFuture(InternalValidationResultWithState.of(IGNORE)));
 
     assertThat(validator.validate(attestation)).isCompletedWithValue(IGNORE);
   }
@@ -192,8 +197,9 @@ class SignedAggregateAndProofValidatorTest {
         generator.validAggregateAndProof(recentChainData.getHeadBlockAndState().orElseThrow());
     ValidateableAttestation attestation = ValidateableAttestation.aggregateFromValidator(aggregate);
     when(attestationValidator.singleOrAggregateAttestationChecks(
-            eq(attestation), eq(OptionalInt.empty())))
-        .thenReturn(SafeFuture.completedFuture(SAVE_FOR_FUTURE));
+            any(), eq(attestation), eq(OptionalInt.empty())))
+        .thenReturn(
+            SafeFuture.completedFuture(InternalValidationResultWithState.of(SAVE_FOR_FUTURE)));
 
     assertThat(validator.validate(attestation)).isCompletedWithValue(SAVE_FOR_FUTURE);
   }
@@ -204,8 +210,9 @@ class SignedAggregateAndProofValidatorTest {
     final SignedAggregateAndProof aggregate = generator.validAggregateAndProof(target.toUnsigned());
     ValidateableAttestation attestation = ValidateableAttestation.aggregateFromValidator(aggregate);
     when(attestationValidator.singleOrAggregateAttestationChecks(
-            eq(attestation), eq(OptionalInt.empty())))
-        .thenReturn(SafeFuture.completedFuture(SAVE_FOR_FUTURE));
+            any(), eq(attestation), eq(OptionalInt.empty())))
+        .thenReturn(
+            SafeFuture.completedFuture(InternalValidationResultWithState.of(SAVE_FOR_FUTURE)));
 
     assertThat(validator.validate(attestation)).isCompletedWithValue(SAVE_FOR_FUTURE);
   }
@@ -221,8 +228,9 @@ class SignedAggregateAndProofValidatorTest {
             .generate();
     ValidateableAttestation attestation = ValidateableAttestation.aggregateFromValidator(aggregate);
     when(attestationValidator.singleOrAggregateAttestationChecks(
-            eq(attestation), eq(OptionalInt.empty())))
-        .thenReturn(SafeFuture.completedFuture(SAVE_FOR_FUTURE));
+            any(), eq(attestation), eq(OptionalInt.empty())))
+        .thenReturn(
+            SafeFuture.completedFuture(InternalValidationResultWithState.of(SAVE_FOR_FUTURE)));
 
     assertThat(validator.validate(attestation)).isCompletedWithValue(REJECT);
   }
@@ -478,8 +486,11 @@ class SignedAggregateAndProofValidatorTest {
   private void whenAttestationIsValid(final SignedAggregateAndProof aggregate) {
     ValidateableAttestation attestation = ValidateableAttestation.aggregateFromValidator(aggregate);
     when(attestationValidator.singleOrAggregateAttestationChecks(
-            eq(attestation), eq(OptionalInt.empty())))
-        .thenReturn(SafeFuture.completedFuture(ACCEPT));
+            any(), eq(attestation), eq(OptionalInt.empty())))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                InternalValidationResultWithState.of(
+                    ACCEPT, recentChainData.getBestState().orElseThrow())));
   }
 
   private CommitteeAssignment getCommitteeAssignment(
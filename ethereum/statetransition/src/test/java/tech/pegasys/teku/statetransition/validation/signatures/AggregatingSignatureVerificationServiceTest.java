@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation.signatures;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.statetransition.validation.signatures.AggregatingSignatureVerificationService.SignatureTask;
+
+public class AggregatingSignatureVerificationServiceTest {
+  private static final Bytes MESSAGE = Bytes.wrap("Test message".getBytes(UTF_8));
+
+  private final AggregatingSignatureVerificationService service =
+      new AggregatingSignatureVerificationService(new NoOpMetricsSystem(), 2, 100, 10);
+
+  @AfterEach
+  void tearDown() {
+    service.stop().join();
+  }
+
+  @Test
+  public void verifyBatch_shouldCompleteAllTasksWhenBatchIsValid() {
+    final List<SignatureTask> batch = createTasks(4);
+
+    service.verifyBatch(batch);
+
+    batch.forEach(task -> assertThat(task.getResult()).isCompletedWithValue(true));
+  }
+
+  @Test
+  public void verifyBatch_shouldOnlyFailInvalidTaskWhenBatchIsInvalid() {
+    final List<SignatureTask> batch = createTasks(3);
+    final BLSKeyPair keyPair = BLSKeyPair.random(99);
+    final SignatureTask invalidTask =
+        new SignatureTask(
+            List.of(List.of(keyPair.getPublicKey())),
+            List.of(MESSAGE),
+            List.of(BLSSignature.random(100)));
+    batch.add(1, invalidTask);
+
+    service.verifyBatch(batch);
+
+    assertThat(invalidTask.getResult()).isCompletedWithValue(false);
+    batch.stream()
+        .filter(task -> task != invalidTask)
+        .forEach(task -> assertThat(task.getResult()).isCompletedWithValue(true));
+  }
+
+  @Test
+  public void verifyBatch_shouldRequireAllSignaturesOfTaskToBeValid() {
+    final BLSKeyPair keyPair = BLSKeyPair.random(1);
+    final SignatureTask task =
+        new SignatureTask(
+            List.of(List.of(keyPair.getPublicKey()), List.of(keyPair.getPublicKey())),
+            List.of(MESSAGE, MESSAGE),
+            List.of(BLS.sign(keyPair.getSecretKey(), MESSAGE), BLSSignature.random(2)));
+
+    service.verifyBatch(List.of(task));
+
+    assertThat(task.getResult()).isCompletedWithValue(false);
+  }
+
+  @Test
+  public void verify_shouldVerifyImmediatelyWhenNotStarted() {
+    final BLSKeyPair keyPair = BLSKeyPair.random(1);
+
+    assertThat(
+            service.verify(
+                List.of(keyPair.getPublicKey()),
+                MESSAGE,
+                BLS.sign(keyPair.getSecretKey(), MESSAGE)))
+        .isCompletedWithValue(true);
+  }
+
+  @Test
+  public void verify_shouldVerifyQueuedSignatures() throws Exception {
+    service.start().join();
+    final List<SafeFuture<Boolean>> results =
+        IntStream.range(0, 20)
+            .mapToObj(
+                i -> {
+                  final BLSKeyPair keyPair = BLSKeyPair.random(i);
+                  final BLSSignature signature =
+                      i % 7 == 3
+                          ? BLSSignature.random(i + 1)
+                          : BLS.sign(keyPair.getSecretKey(), MESSAGE);
+                  return service.verify(List.of(keyPair.getPublicKey()), MESSAGE, signature);
+                })
+            .collect(Collectors.toList());
+
+    for (int i = 0; i < results.size(); i++) {
+      assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(i % 7 != 3);
+    }
+  }
+
+  private List<SignatureTask> createTasks(final int count) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i -> {
+              final BLSKeyPair keyPair = BLSKeyPair.random(i);
+              return new SignatureTask(
+                  List.of(List.of(keyPair.getPublicKey())),
+                  List.of(MESSAGE),
+                  List.of(BLS.sign(keyPair.getSecretKey(), MESSAGE)));
+            })
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.validation.signatures;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSKeyPair;
+import tech.pegasys.teku.bls.BLSSignature;
+
+public class AsyncBatchBLSSignatureVerifierTest {
+  private static final Bytes MESSAGE = Bytes.wrap("Test message".getBytes(UTF_8));
+  private final BLSKeyPair keyPair = BLSKeyPair.random(1);
+
+  private final AsyncBatchBLSSignatureVerifier verifier =
+      new AsyncBatchBLSSignatureVerifier(SignatureVerificationService.createSimple());
+
+  @Test
+  public void shouldBeValidWhenNoSignaturesAdded() {
+    assertThat(verifier.batchVerify()).isCompletedWithValue(true);
+  }
+
+  @Test
+  public void shouldBeValidWhenAllSignaturesAreValid() {
+    assertThat(verifier.verify(keyPair.getPublicKey(), MESSAGE, sign(MESSAGE))).isTrue();
+    final Bytes otherMessage = Bytes.of(1, 2, 3);
+    assertThat(verifier.verify(keyPair.getPublicKey(), otherMessage, sign(otherMessage))).isTrue();
+
+    assertThat(verifier.batchVerify()).isCompletedWithValue(true);
+  }
+
+  @Test
+  public void shouldBeInvalidWhenAnySignatureIsInvalid() {
+    // Signatures are only collected so are reported as valid until the batch is verified
+    assertThat(verifier.verify(keyPair.getPublicKey(), MESSAGE, sign(MESSAGE))).isTrue();
+    assertThat(verifier.verify(keyPair.getPublicKey(), MESSAGE, BLSSignature.random(2))).isTrue();
+
+    assertThat(verifier.batchVerify()).isCompletedWithValue(false);
+  }
+
+  @Test
+  public void shouldNotAllowReuse() {
+    verifier.batchVerify();
+
+    assertThatThrownBy(() -> verifier.verify(keyPair.getPublicKey(), MESSAGE, sign(MESSAGE)))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(verifier::batchVerify).isInstanceOf(IllegalStateException.class);
+  }
+
+  private BLSSignature sign(final Bytes message) {
+    return BLS.sign(keyPair.getSecretKey(), message);
+  }
+}
@@ -21,6 +21,7 @@ import static tech.pegasys.teku.util.config.Constants.MIN_ATTESTATION_INCLUSION_
 import java.util.List;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.teku.bls.BLSKeyPair;
 import tech.pegasys.teku.core.AttestationGenerator;
 import tech.pegasys.teku.core.BlockProposalTestUtil;
@@ -78,7 +79,11 @@ public class BeaconChainUtil {
     return create(
         storageClient,
         validatorKeys,
-        new ForkChoice(new SyncForkChoiceExecutor(), storageClient, new StateTransition()),
+        new ForkChoice(
+            new SyncForkChoiceExecutor(),
+            storageClient,
+            new StateTransition(),
+            new NoOpMetricsSystem()),
         true);
   }
 
@@ -89,7 +94,11 @@ public class BeaconChainUtil {
     return new BeaconChainUtil(
         validatorKeys,
         storageClient,
-        new ForkChoice(new SyncForkChoiceExecutor(), storageClient, new StateTransition()),
+        new ForkChoice(
+            new SyncForkChoiceExecutor(),
+            storageClient,
+            new StateTransition(),
+            new NoOpMetricsSystem()),
         signDeposits);
   }
 
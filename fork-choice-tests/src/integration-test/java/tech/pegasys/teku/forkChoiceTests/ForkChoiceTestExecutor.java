@@ -33,6 +33,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -161,7 +162,8 @@ public class ForkChoiceTestExecutor {
     storageClient.initializeFromGenesis(genesis);
 
     ForkChoice forkChoice =
-        new ForkChoice(SingleThreadedForkChoiceExecutor.create(), storageClient, st);
+        new ForkChoice(
+            SingleThreadedForkChoiceExecutor.create(), storageClient, st, new NoOpMetricsSystem());
 
     @SuppressWarnings("ModifiedButNotUsed")
     List<SignedBeaconBlock> blockBuffer = new ArrayList<>();
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.async;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+
+/**
+ * Runs tasks from a set of named, bounded queues on a shared {@link AsyncRunner}, always taking the
+ * next task from the highest priority queue that has one pending. Queues with the same priority
+ * take turns.
+ *
+ * <p>At most {@code maxConcurrentTasks} tasks are handed to the underlying runner at a time so that
+ * a flood of low priority tasks can't fill its executor queue ahead of higher priority tasks. When
+ * a queue is full, either the new task or the oldest pending task is dropped depending on the
+ * queue's {@link OverflowPolicy}. The future of a dropped task completes exceptionally with {@link
+ * RejectedExecutionException}, the same as when an executor's queue is full.
+ */
+public class PrioritizedTaskScheduler {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public enum OverflowPolicy {
+    /** Reject new tasks while the queue is full. */
+    DROP_NEWEST,
+    /** Drop the oldest pending task to make room, e.g. when older tasks are likely stale. */
+    DROP_OLDEST
+  }
+
+  private final AsyncRunner asyncRunner;
+  private final int maxConcurrentTasks;
+  private final MetricsSystem metricsSystem;
+  private final MetricCategory metricCategory;
+  private final String metricsPrefix;
+  private final LabelledMetric<Counter> droppedTaskCounter;
+  private final LabelledMetric<OperationTimer> queueWaitTimer;
+
+  private final Map<String, TaskQueue> queuesByName = new HashMap<>();
+  // Queues grouped by priority, highest priority first
+  private final List<PriorityGroup> priorityGroups = new ArrayList<>();
+  private int runningTaskLoops = 0;
+
+  public PrioritizedTaskScheduler(
+      final AsyncRunner asyncRunner,
+      final int maxConcurrentTasks,
+      final MetricsSystem metricsSystem,
+      final MetricCategory metricCategory,
+      final String metricsPrefix) {
+    checkArgument(maxConcurrentTasks > 0, "Max concurrent tasks must be greater than zero");
+    this.asyncRunner = asyncRunner;
+    this.maxConcurrentTasks = maxConcurrentTasks;
+    this.metricsSystem = metricsSystem;
+    this.metricCategory = metricCategory;
+    this.metricsPrefix = metricsPrefix;
+    this.droppedTaskCounter =
+        metricsSystem.createLabelledCounter(
+            metricCategory,
+            metricsPrefix + "_dropped_tasks_total",
+            "Number of tasks dropped because their queue was full",
+            "queue");
+    this.queueWaitTimer =
+        metricsSystem.createLabelledTimer(
+            metricCategory,
+            metricsPrefix + "_queue_wait_time",
+            "Time tasks spent queued before being run",
+            "queue");
+  }
+
+  /**
+   * Returns an {@link AsyncRunner} which adds tasks to the queue with the given name, creating the
+   * queue if it doesn't exist yet. Delayed tasks are added to the queue once the delay has passed.
+   *
+   * @param name the unique name of the queue, used to label metrics
+   * @param priority the priority of the queue, tasks from higher priority queues are run first
+   * @param capacity the maximum number of pending tasks
+   * @param overflowPolicy which task to drop when the queue is full
+   * @return the runner adding tasks to the queue
+   */
+  public synchronized AsyncRunner getOrCreateQueue(
+      final String name,
+      final int priority,
+      final int capacity,
+      final OverflowPolicy overflowPolicy) {
+    final TaskQueue existingQueue = queuesByName.get(name);
+    if (existingQueue != null) {
+      checkArgument(
+          existingQueue.priority == priority
+              && existingQueue.capacity == capacity
+              && existingQueue.overflowPolicy == overflowPolicy,
+          "Queue %s already exists with a different configuration",
+          name);
+      return existingQueue;
+    }
+    checkArgument(capacity > 0, "Queue capacity must be greater than zero");
+    final TaskQueue queue = new TaskQueue(name, priority, capacity, overflowPolicy);
+    queuesByName.put(name, queue);
+    priorityGroups.stream()
+        .filter(group -> group.priority == priority)
+        .findFirst()
+        .orElseGet(() -> createPriorityGroup(priority))
+        .queues
+        .add(queue);
+    metricsSystem.createIntegerGauge(
+        metricCategory,
+        metricsPrefix + "_" + name + "_queue_size",
+        "Current number of pending tasks in the " + name + " queue",
+        queue::size);
+    return queue;
+  }
+
+  private PriorityGroup createPriorityGroup(final int priority) {
+    final PriorityGroup group = new PriorityGroup(priority);
+    priorityGroups.add(group);
+    priorityGroups.sort(Comparator.comparingInt((PriorityGroup g) -> g.priority).reversed());
+    return group;
+  }
+
+  private void enqueue(final TaskQueue queue, final QueuedTask<?> task) {
+    final QueuedTask<?> droppedTask;
+    final boolean startTaskLoop;
+    synchronized (this) {
+      droppedTask = queue.add(task);
+      startTaskLoop = droppedTask != task && runningTaskLoops < maxConcurrentTasks;
+      if (startTaskLoop) {
+        runningTaskLoops++;
+      }
+    }
+    if (droppedTask != null) {
+      droppedTaskCounter.labels(queue.name).inc();
+      droppedTask.reject(queue.name);
+    }
+    if (startTaskLoop) {
+      asyncRunner
+          .runAsync(this::runQueuedTasks)
+          .finish(
+              error -> {
+                LOG.debug("Failed to start running queued tasks", error);
+                synchronized (this) {
+                  runningTaskLoops--;
+                }
+              });
+    }
+  }
+
+  /**
+   * Runs queued tasks until all queues are empty. Tasks which return a future are not waited on so
+   * they only occupy the task loop while running synchronously.
+   */
+  private void runQueuedTasks() {
+    while (true) {
+      final QueuedTask<?> task;
+      synchronized (this) {
+        task = pollNextTask();
+        if (task == null) {
+          runningTaskLoops--;
+          return;
+        }
+      }
+      task.run();
+    }
+  }
+
+  private QueuedTask<?> pollNextTask() {
+    for (PriorityGroup group : priorityGroups) {
+      final QueuedTask<?> task = group.poll();
+      if (task != null) {
+        return task;
+      }
+    }
+    return null;
+  }
+
+  synchronized int getPendingTaskCount() {
+    return queuesByName.values().stream().mapToInt(TaskQueue::size).sum();
+  }
+
+  private static class PriorityGroup {
+    private final int priority;
+    private final List<TaskQueue> queues = new ArrayList<>();
+    private int nextQueueIndex = 0;
+
+    private PriorityGroup(final int priority) {
+      this.priority = priority;
+    }
+
+    private QueuedTask<?> poll() {
+      for (int i = 0; i < queues.size(); i++) {
+        final TaskQueue queue = queues.get((nextQueueIndex + i) % queues.size());
+        final QueuedTask<?> task = queue.poll();
+        if (task != null) {
+          nextQueueIndex = (nextQueueIndex + i + 1) % queues.size();
+          return task;
+        }
+      }
+      return null;
+    }
+  }
+
+  private class TaskQueue implements AsyncRunner {
+    private final String name;
+    private final int priority;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    // Guarded by the enclosing scheduler
+    private final ArrayDeque<QueuedTask<?>> tasks = new ArrayDeque<>();
+
+    private TaskQueue(
+        final String name,
+        final int priority,
+        final int capacity,
+        final OverflowPolicy overflowPolicy) {
+      this.name = name;
+      this.priority = priority;
+      this.capacity = capacity;
+      this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public <U> SafeFuture<U> runAsync(final Supplier<SafeFuture<U>> action) {
+      final QueuedTask<U> task = new QueuedTask<>(action, queueWaitTimer.labels(name).startTimer());
+      enqueue(this, task);
+      return task.result;
+    }
+
+    @Override
+    public <U> SafeFuture<U> runAfterDelay(
+        final Supplier<SafeFuture<U>> action, final long delayAmount, final TimeUnit delayUnit) {
+      return asyncRunner
+          .getDelayedFuture(delayAmount, delayUnit)
+          .thenCompose(__ -> runAsync(action));
+    }
+
+    @Override
+    public void shutdown() {
+      // The underlying runner is shared and shut down by its owner
+    }
+
+    /** @return the task that was dropped to stay within capacity, if any */
+    private QueuedTask<?> add(final QueuedTask<?> task) {
+      if (tasks.size() < capacity) {
+        tasks.add(task);
+        return null;
+      }
+      if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+        return task;
+      }
+      tasks.add(task);
+      return tasks.poll();
+    }
+
+    private QueuedTask<?> poll() {
+      return tasks.poll();
+    }
+
+    private int size() {
+      synchronized (PrioritizedTaskScheduler.this) {
+        return tasks.size();
+      }
+    }
+  }
+
+  private static class QueuedTask<U> {
+    private final Supplier<SafeFuture<U>> action;
+    private final TimingContext queueTimer;
+    private final SafeFuture<U> result = new SafeFuture<>();
+
+    private QueuedTask(final Supplier<SafeFuture<U>> action, final TimingContext queueTimer) {
+      this.action = action;
+      this.queueTimer = queueTimer;
+    }
+
+    private void run() {
+      queueTimer.stopTimer();
+      try {
+        action.get().propagateTo(result);
+      } catch (final Throwable t) {
+        result.completeExceptionally(t);
+      }
+    }
+
+    private void reject(final String queueName) {
+      result.completeExceptionally(
+          new RejectedExecutionException("Task dropped because queue " + queueName + " is full"));
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.infrastructure.async.PrioritizedTaskScheduler.OverflowPolicy.DROP_NEWEST;
+import static tech.pegasys.teku.infrastructure.async.PrioritizedTaskScheduler.OverflowPolicy.DROP_OLDEST;
+import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+
+class PrioritizedTaskSchedulerTest {
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final List<String> executedTasks = new ArrayList<>();
+
+  private final PrioritizedTaskScheduler scheduler =
+      new PrioritizedTaskScheduler(
+          asyncRunner, 1, metricsSystem, TekuMetricCategory.NETWORK, "test");
+
+  @Test
+  void shouldRunTasksFromHigherPriorityQueuesFirst() {
+    final AsyncRunner low = scheduler.getOrCreateQueue("low", 1, 10, DROP_NEWEST);
+    final AsyncRunner high = scheduler.getOrCreateQueue("high", 2, 10, DROP_NEWEST);
+
+    low.runAsync(recordExecution("low1"));
+    low.runAsync(recordExecution("low2"));
+    high.runAsync(recordExecution("high1"));
+    asyncRunner.executeQueuedActions();
+
+    assertThat(executedTasks).containsExactly("high1", "low1", "low2");
+  }
+
+  @Test
+  void shouldAlternateBetweenQueuesWithSamePriority() {
+    final AsyncRunner queueA = scheduler.getOrCreateQueue("a", 1, 10, DROP_NEWEST);
+    final AsyncRunner queueB = scheduler.getOrCreateQueue("b", 1, 10, DROP_NEWEST);
+
+    queueA.runAsync(recordExecution("a1"));
+    queueA.runAsync(recordExecution("a2"));
+    queueA.runAsync(recordExecution("a3"));
+    queueB.runAsync(recordExecution("b1"));
+    queueB.runAsync(recordExecution("b2"));
+    asyncRunner.executeQueuedActions();
+
+    assertThat(executedTasks).containsExactly("a1", "b1", "a2", "b2", "a3");
+  }
+
+  @Test
+  void shouldCompleteFutureWithTaskResult() {
+    final AsyncRunner queue = scheduler.getOrCreateQueue("queue", 1, 10, DROP_NEWEST);
+    final SafeFuture<String> pendingResult = new SafeFuture<>();
+    final RuntimeException error = new RuntimeException("Oops");
+
+    final SafeFuture<String> result1 = queue.runAsync(() -> pendingResult);
+    final SafeFuture<Void> result2 =
+        queue.runAsync(
+            () -> {
+              throw error;
+            });
+    asyncRunner.executeQueuedActions();
+
+    assertThatSafeFuture(result2).isCompletedExceptionallyWith(error);
+    assertThat(result1).isNotDone();
+    pendingResult.complete("Done");
+    assertThat(result1).isCompletedWithValue("Done");
+  }
+
+  @Test
+  void shouldRejectNewTasksWhenQueueIsFull() {
+    final AsyncRunner queue = scheduler.getOrCreateQueue("queue", 1, 2, DROP_NEWEST);
+
+    final SafeFuture<Void> result1 = queue.runAsync(recordExecution("1"));
+    final SafeFuture<Void> result2 = queue.runAsync(recordExecution("2"));
+    final SafeFuture<Void> result3 = queue.runAsync(recordExecution("3"));
+
+    assertThatSafeFuture(result3).isCompletedExceptionallyWith(RejectedExecutionException.class);
+    asyncRunner.executeQueuedActions();
+    assertThat(result1).isCompleted();
+    assertThat(result2).isCompleted();
+    assertThat(executedTasks).containsExactly("1", "2");
+    assertThat(getDroppedTaskCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldDropOldestTaskWhenQueueIsFull() {
+    final AsyncRunner queue = scheduler.getOrCreateQueue("queue", 1, 2, DROP_OLDEST);
+
+    final SafeFuture<Void> result1 = queue.runAsync(recordExecution("1"));
+    queue.runAsync(recordExecution("2"));
+    queue.runAsync(recordExecution("3"));
+
+    assertThatSafeFuture(result1).isCompletedExceptionallyWith(RejectedExecutionException.class);
+    asyncRunner.executeQueuedActions();
+    assertThat(executedTasks).containsExactly("2", "3");
+    assertThat(getDroppedTaskCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldLimitConcurrentlyRunningTasks() {
+    final PrioritizedTaskScheduler scheduler =
+        new PrioritizedTaskScheduler(
+            asyncRunner, 2, metricsSystem, TekuMetricCategory.NETWORK, "limited");
+    final AsyncRunner queue = scheduler.getOrCreateQueue("queue", 1, 10, DROP_NEWEST);
+
+    for (int i = 0; i < 5; i++) {
+      final String task = Integer.toString(i);
+      queue.runAsync(recordExecution(task));
+    }
+
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(2);
+    asyncRunner.executeQueuedActions();
+    assertThat(executedTasks).containsExactly("0", "1", "2", "3", "4");
+    assertThat(scheduler.getPendingTaskCount()).isZero();
+
+    // Task loops exit once the queues are empty and are restarted for new tasks
+    queue.runAsync(recordExecution("5"));
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldReportQueueSize() {
+    final AsyncRunner queue = scheduler.getOrCreateQueue("queue", 1, 10, DROP_NEWEST);
+    queue.runAsync(recordExecution("1"));
+    queue.runAsync(recordExecution("2"));
+
+    assertThat(
+            metricsSystem.getGauge(TekuMetricCategory.NETWORK, "test_queue_queue_size").getValue())
+        .isEqualTo(2);
+    asyncRunner.executeQueuedActions();
+    assertThat(
+            metricsSystem.getGauge(TekuMetricCategory.NETWORK, "test_queue_queue_size").getValue())
+        .isZero();
+  }
+
+  @Test
+  void shouldReuseExistingQueue() {
+    final AsyncRunner queue = scheduler.getOrCreateQueue("queue", 1, 10, DROP_NEWEST);
+
+    assertThat(scheduler.getOrCreateQueue("queue", 1, 10, DROP_NEWEST)).isSameAs(queue);
+  }
+
+  private ExceptionThrowingRunnable recordExecution(final String task) {
+    return () -> executedTasks.add(task);
+  }
+
+  private long getDroppedTaskCount() {
+    return metricsSystem
+        .getCounter(TekuMetricCategory.NETWORK, "test_dropped_tasks_total")
+        .getValue("queue");
+  }
+}
@@ -31,7 +31,10 @@ import tech.pegasys.teku.datastructures.operations.ProposerSlashing;
 import tech.pegasys.teku.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.datastructures.state.ForkInfo;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.PrioritizedTaskScheduler;
+import tech.pegasys.teku.infrastructure.async.PrioritizedTaskScheduler.OverflowPolicy;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.networking.eth2.gossip.AggregateGossipManager;
 import tech.pegasys.teku.networking.eth2.gossip.AttestationGossipManager;
 import tech.pegasys.teku.networking.eth2.gossip.AttesterSlashingGossipManager;
@@ -54,7 +57,19 @@ import tech.pegasys.teku.storage.client.RecentChainData;
 public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements Eth2Network {
   private static final Logger LOG = LogManager.getLogger();
 
-  private final AsyncRunner asyncRunner;
+  // Gossip messages are processed from per-topic queues, highest priority first
+  private static final int MAX_CONCURRENT_GOSSIP_TASKS = 8;
+  private static final String ATTESTATION_QUEUE_NAME = "beacon_attestation";
+  private static final int BLOCK_PRIORITY = 3;
+  private static final int AGGREGATE_PRIORITY = 2;
+  private static final int OPERATION_PRIORITY = 1;
+  private static final int ATTESTATION_PRIORITY = 0;
+  private static final int BLOCK_QUEUE_CAPACITY = 1024;
+  private static final int AGGREGATE_QUEUE_CAPACITY = 4096;
+  private static final int OPERATION_QUEUE_CAPACITY = 1024;
+  private static final int ATTESTATION_QUEUE_CAPACITY = 16384;
+
+  private final PrioritizedTaskScheduler gossipScheduler;
   private final MetricsSystem metricsSystem;
   private final DiscoveryNetwork<?> discoveryNetwork;
   private final Eth2PeerManager peerManager;
@@ -101,7 +116,13 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
       final OperationProcessor<SignedVoluntaryExit> voluntaryExitProcessor,
       final ProcessedAttestationSubscriptionProvider processedAttestationSubscriptionProvider) {
     super(discoveryNetwork);
-    this.asyncRunner = asyncRunner;
+    this.gossipScheduler =
+        new PrioritizedTaskScheduler(
+            asyncRunner,
+            MAX_CONCURRENT_GOSSIP_TASKS,
+            metricsSystem,
+            TekuMetricCategory.NETWORK,
+            "gossip");
     this.metricsSystem = metricsSystem;
     this.discoveryNetwork = discoveryNetwork;
     this.peerManager = peerManager;
@@ -136,32 +157,70 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
 
     final ForkInfo forkInfo = recentChainData.getHeadForkInfo().orElseThrow();
 
+    // Old attestations are the least useful so make room for new ones when flooded
     AttestationSubnetSubscriptions attestationSubnetSubscriptions =
         new AttestationSubnetSubscriptions(
-            asyncRunner, discoveryNetwork, gossipEncoding, recentChainData, attestationProcessor);
+            gossipScheduler.getOrCreateQueue(
+                ATTESTATION_QUEUE_NAME,
+                ATTESTATION_PRIORITY,
+                ATTESTATION_QUEUE_CAPACITY,
+                OverflowPolicy.DROP_OLDEST),
+            discoveryNetwork,
+            gossipEncoding,
+            recentChainData,
+            attestationProcessor);
 
     blockGossipManager =
         new BlockGossipManager(
-            asyncRunner, discoveryNetwork, gossipEncoding, forkInfo, eventBus, blockProcessor);
+            gossipScheduler.getOrCreateQueue(
+                BlockGossipManager.TOPIC_NAME,
+                BLOCK_PRIORITY,
+                BLOCK_QUEUE_CAPACITY,
+                OverflowPolicy.DROP_NEWEST),
+            discoveryNetwork,
+            gossipEncoding,
+            forkInfo,
+            eventBus,
+            blockProcessor);
 
     attestationGossipManager =
         new AttestationGossipManager(metricsSystem, attestationSubnetSubscriptions);
 
     aggregateGossipManager =
         new AggregateGossipManager(
-            asyncRunner, discoveryNetwork, gossipEncoding, forkInfo, aggregateProcessor);
+            gossipScheduler.getOrCreateQueue(
+                AggregateGossipManager.TOPIC_NAME,
+                AGGREGATE_PRIORITY,
+                AGGREGATE_QUEUE_CAPACITY,
+                OverflowPolicy.DROP_OLDEST),
+            discoveryNetwork,
+            gossipEncoding,
+            forkInfo,
+            aggregateProcessor);
 
     voluntaryExitGossipManager =
         new VoluntaryExitGossipManager(
-            asyncRunner, discoveryNetwork, gossipEncoding, forkInfo, voluntaryExitProcessor);
+            createOperationGossipQueue(VoluntaryExitGossipManager.TOPIC_NAME),
+            discoveryNetwork,
+            gossipEncoding,
+            forkInfo,
+            voluntaryExitProcessor);
 
     proposerSlashingGossipManager =
         new ProposerSlashingGossipManager(
-            asyncRunner, discoveryNetwork, gossipEncoding, forkInfo, proposerSlashingProcessor);
+            createOperationGossipQueue(ProposerSlashingGossipManager.TOPIC_NAME),
+            discoveryNetwork,
+            gossipEncoding,
+            forkInfo,
+            proposerSlashingProcessor);
 
     attesterSlashingGossipManager =
         new AttesterSlashingGossipManager(
-            asyncRunner, discoveryNetwork, gossipEncoding, forkInfo, attesterSlashingProcessor);
+            createOperationGossipQueue(AttesterSlashingGossipManager.TOPIC_NAME),
+            discoveryNetwork,
+            gossipEncoding,
+            forkInfo,
+            attesterSlashingProcessor);
 
     discoveryNetworkAttestationSubnetsSubscription =
         attestationSubnetService.subscribeToUpdates(
@@ -174,6 +233,11 @@ public class ActiveEth2Network extends DelegatingP2PNetwork<Eth2Peer> implements
     processedAttestationSubscriptionProvider.subscribe(aggregateGossipManager::onNewAggregate);
   }
 
+  private AsyncRunner createOperationGossipQueue(final String topicName) {
+    return gossipScheduler.getOrCreateQueue(
+        topicName, OPERATION_PRIORITY, OPERATION_QUEUE_CAPACITY, OverflowPolicy.DROP_NEWEST);
+  }
+
   @Override
   public synchronized SafeFuture<?> stop() {
     if (!state.compareAndSet(State.RUNNING, State.STOPPED)) {
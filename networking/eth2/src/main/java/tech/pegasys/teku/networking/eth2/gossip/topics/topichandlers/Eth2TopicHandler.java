@@ -56,19 +56,18 @@ public class Eth2TopicHandler<T> implements TopicHandler {
 
   @Override
   public SafeFuture<ValidationResult> handleMessage(final Bytes bytes) {
-    return SafeFuture.of(() -> deserialize(bytes))
-        .thenCompose(
-            deserialized ->
-                asyncRunner.runAsync(
-                    () ->
-                        processor
-                            .process(deserialized)
-                            .thenApply(
-                                internalValidation -> {
-                                  processMessage(internalValidation);
-                                  return GossipSubValidationUtil.fromInternalValidationResult(
-                                      internalValidation);
-                                })))
+    // Decode on the async runner rather than the network thread which delivered the message
+    return asyncRunner
+        .runAsync(
+            () ->
+                SafeFuture.of(() -> deserialize(bytes))
+                    .thenCompose(processor::process)
+                    .thenApply(
+                        internalValidation -> {
+                          processMessage(internalValidation);
+                          return GossipSubValidationUtil.fromInternalValidationResult(
+                              internalValidation);
+                        }))
         .exceptionally(this::handleMessageProcessingError);
   }
 
@@ -103,8 +102,10 @@ public class Eth2TopicHandler<T> implements TopicHandler {
       LOG.trace("Received malformed gossip message on {}", getTopic());
       response = ValidationResult.Invalid;
     } else if (ExceptionUtil.getCause(err, RejectedExecutionException.class).isPresent()) {
-      LOG.warn(
-          "Discarding gossip message for topic {} because the executor queue is full", getTopic());
+      // Expected when flooded with messages, dropped messages are counted by the gossip scheduler
+      LOG.debug(
+          "Discarding gossip message for topic {} because the processing queue is full",
+          getTopic());
       response = ValidationResult.Ignore;
     } else {
       LOG.warn("Encountered exception while processing message for topic {}", getTopic(), err);
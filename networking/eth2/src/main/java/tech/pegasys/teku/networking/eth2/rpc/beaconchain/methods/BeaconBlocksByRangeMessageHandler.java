@@ -19,12 +19,15 @@ import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
 import static tech.pegasys.teku.networking.eth2.rpc.core.RpcResponseStatus.INVALID_REQUEST_CODE;
 import static tech.pegasys.teku.util.config.Constants.MAX_REQUEST_BLOCKS;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
 import java.nio.channels.ClosedChannelException;
+import java.util.Iterator;
 import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.TreeMap;
 import org.apache.logging.log4j.LogManager;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.networking.libp2p.rpc.BeaconBlocksByRangeRequestMessage;
@@ -40,14 +43,26 @@ import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 public class BeaconBlocksByRangeMessageHandler
     extends PeerRequiredLocalMessageHandler<BeaconBlocksByRangeRequestMessage, SignedBeaconBlock> {
   private static final org.apache.logging.log4j.Logger LOG = LogManager.getLogger();
+  // Number of slots of serialized finalized blocks loaded from storage at a time
+  private static final UInt64 DEFAULT_SERIALIZED_BLOCKS_BATCH_SLOTS = UInt64.valueOf(16);
 
   private final CombinedChainDataClient combinedChainDataClient;
   private final UInt64 maxRequestSize;
+  private final UInt64 serializedBlocksBatchSlots;
 
   public BeaconBlocksByRangeMessageHandler(
       final CombinedChainDataClient combinedChainDataClient, final UInt64 maxRequestSize) {
+    this(combinedChainDataClient, maxRequestSize, DEFAULT_SERIALIZED_BLOCKS_BATCH_SLOTS);
+  }
+
+  @VisibleForTesting
+  BeaconBlocksByRangeMessageHandler(
+      final CombinedChainDataClient combinedChainDataClient,
+      final UInt64 maxRequestSize,
+      final UInt64 serializedBlocksBatchSlots) {
     this.combinedChainDataClient = combinedChainDataClient;
     this.maxRequestSize = maxRequestSize;
+    this.serializedBlocksBatchSlots = serializedBlocksBatchSlots;
   }
 
   @Override
@@ -116,6 +131,11 @@ public class BeaconBlocksByRangeMessageHandler
                         "Requested historical blocks are currently unavailable"));
               }
 
+              if (message.getStep().equals(ONE) && combinedChainDataClient.isFinalized(endSlot)) {
+                // Every requested slot is finalized so send the blocks exactly as they are stored
+                return sendSerializedFinalizedBlocks(message.getStartSlot(), endSlot, callback);
+              }
+
               final UInt64 headBlockSlot =
                   combinedChainDataClient
                       .getBestBlock()
@@ -148,6 +168,37 @@ public class BeaconBlocksByRangeMessageHandler
             });
   }
 
+  /**
+   * Loads and sends the serialized finalized blocks in small batches of slots so only one batch is
+   * held in memory at a time, rather than every block in the request.
+   */
+  private SafeFuture<Void> sendSerializedFinalizedBlocks(
+      final UInt64 startSlot,
+      final UInt64 endSlot,
+      final ResponseCallback<SignedBeaconBlock> callback) {
+    final UInt64 batchEndSlot = endSlot.min(startSlot.plus(serializedBlocksBatchSlots).minus(ONE));
+    return combinedChainDataClient
+        .getSerializedFinalizedBlocks(startSlot, batchEndSlot)
+        .thenCompose(blocks -> sendSerializedBlocks(blocks.iterator(), callback))
+        .thenCompose(
+            __ ->
+                batchEndSlot.isGreaterThanOrEqualTo(endSlot)
+                    ? SafeFuture.COMPLETE
+                    : sendSerializedFinalizedBlocks(batchEndSlot.plus(ONE), endSlot, callback));
+  }
+
+  private SafeFuture<Void> sendSerializedBlocks(
+      final Iterator<Bytes> blocks, final ResponseCallback<SignedBeaconBlock> callback) {
+    // As with sendNextBlock, iterate while writes complete immediately to avoid deep recursion
+    while (blocks.hasNext()) {
+      final SafeFuture<Void> sent = callback.respondSerialized(blocks.next());
+      if (!sent.isDone() || sent.isCompletedExceptionally()) {
+        return sent.thenCompose(__ -> sendSerializedBlocks(blocks, callback));
+      }
+    }
+    return SafeFuture.COMPLETE;
+  }
+
   private SafeFuture<RequestState> sendNextBlock(final RequestState requestState) {
     SafeFuture<Boolean> blockFuture = processNextBlock(requestState);
     // Avoid risk of StackOverflowException by iterating when the block future is already complete
@@ -13,11 +13,19 @@
 
 package tech.pegasys.teku.networking.eth2.rpc.core;
 
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 
 public interface ResponseCallback<T> {
   SafeFuture<Void> respond(T data);
 
+  /**
+   * Responds with an item which is already SSZ serialized.
+   *
+   * @param sszData the SSZ serialization of the response item
+   */
+  SafeFuture<Void> respondSerialized(Bytes sszData);
+
   void respondAndCompleteSuccessfully(T data);
 
   void completeSuccessfully();
@@ -39,6 +39,18 @@ public final class RpcEncoder {
     return Bytes.concatenate(Bytes.of(SUCCESS_RESPONSE_CODE), encoding.encodePayload(response));
   }
 
+  /**
+   * Encodes a successful response from a payload that is already SSZ serialized, avoiding the need
+   * to deserialize and then reserialize stored objects.
+   *
+   * @param sszPayload the SSZ serialized response payload
+   * @return the encoded RPC response
+   */
+  public Bytes encodeSerializedSuccessfulResponse(final Bytes sszPayload) {
+    return Bytes.concatenate(
+        Bytes.of(SUCCESS_RESPONSE_CODE), encoding.encodeSerializedPayload(sszPayload));
+  }
+
   public Bytes encodeErrorResponse(RpcException error) {
     return Bytes.concatenate(
         Bytes.of(error.getResponseCode()), encoding.encodePayload(error.getErrorMessage()));
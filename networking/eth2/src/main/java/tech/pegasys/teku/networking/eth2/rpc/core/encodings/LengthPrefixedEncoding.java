@@ -69,6 +69,14 @@ public class LengthPrefixedEncoding implements RpcEncoding {
     return encodeMessageWithLength(payload);
   }
 
+  @Override
+  public Bytes encodeSerializedPayload(final Bytes sszPayload) {
+    if (sszPayload.isEmpty()) {
+      return sszPayload;
+    }
+    return encodeMessageWithLength(sszPayload);
+  }
+
   @Override
   public <T> RpcByteBufDecoder<T> createDecoder(Class<T> payloadType) {
     if (payloadType.equals(EmptyMessage.class)) {
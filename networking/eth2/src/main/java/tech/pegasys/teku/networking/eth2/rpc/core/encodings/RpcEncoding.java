@@ -36,6 +36,14 @@ public interface RpcEncoding {
    */
   <T> Bytes encodePayload(T payload);
 
+  /**
+   * Encodes a payload which has already been SSZ serialized with its encoding-dependent header
+   *
+   * @param sszPayload The SSZ serialized payload to encode
+   * @return The encoded header and payload bytes
+   */
+  Bytes encodeSerializedPayload(Bytes sszPayload);
+
   /**
    * Creates a brand new disposable {@link RpcByteBufDecoder} instance
    *
@@ -31,6 +31,7 @@ import java.util.Optional;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,7 @@ import org.mockito.Mockito;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.networking.libp2p.rpc.BeaconBlocksByRangeRequestMessage;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.networking.eth2.peers.Eth2Peer;
@@ -71,6 +73,7 @@ class BeaconBlocksByRangeMessageHandlerTest {
     when(peer.wantToReceiveObjects(any(), anyLong())).thenReturn(true);
     when(combinedChainDataClient.getEarliestAvailableBlockSlot())
         .thenReturn(completedFuture(Optional.of(UInt64.valueOf(0))));
+    when(listener.respondSerialized(any())).thenReturn(SafeFuture.COMPLETE);
   }
 
   @Test
@@ -286,8 +289,50 @@ class BeaconBlocksByRangeMessageHandlerTest {
 
     requestBlocks(startBlock, count, skip);
 
-    verifyBlocksReturned(1, 2, 3, 4, 5);
+    verifySerializedBlocksReturned(1, 2, 3, 4, 5);
     verify(combinedChainDataClient, never()).getAncestorRoots(any(), any(), any());
+    verify(combinedChainDataClient, never()).getBlockAtSlotExact(any());
+  }
+
+  @Test
+  void shouldLoadSerializedFinalizedBlocksInBatches() {
+    final BeaconBlocksByRangeMessageHandler batchingHandler =
+        new BeaconBlocksByRangeMessageHandler(
+            combinedChainDataClient, MAX_REQUEST_SIZE, UInt64.valueOf(2));
+    withCanonicalHeadBlock(BLOCKS.get(8));
+    withFinalizedBlocks(0, 1, 2, 3, 4, 5, 6, 7);
+
+    batchingHandler.onIncomingMessage(
+        peer,
+        new BeaconBlocksByRangeRequestMessage(UInt64.valueOf(1), UInt64.valueOf(5), ONE),
+        listener);
+
+    verifySerializedBlocksReturned(1, 2, 3, 4, 5);
+    final InOrder inOrder = Mockito.inOrder(combinedChainDataClient);
+    inOrder
+        .verify(combinedChainDataClient)
+        .getSerializedFinalizedBlocks(UInt64.valueOf(1), UInt64.valueOf(2));
+    inOrder
+        .verify(combinedChainDataClient)
+        .getSerializedFinalizedBlocks(UInt64.valueOf(3), UInt64.valueOf(4));
+    inOrder
+        .verify(combinedChainDataClient)
+        .getSerializedFinalizedBlocks(UInt64.valueOf(5), UInt64.valueOf(5));
+    inOrder.verify(combinedChainDataClient, never()).getSerializedFinalizedBlocks(any(), any());
+  }
+
+  @Test
+  void shouldLoadFinalizedBlocksIndividuallyWhenStepIsGreaterThanOne() {
+    final int startBlock = 1;
+    final int count = 3;
+    final int skip = 2;
+    withCanonicalHeadBlock(BLOCKS.get(8));
+    withFinalizedBlocks(0, 1, 2, 3, 4, 5, 6, 7);
+
+    requestBlocks(startBlock, count, skip);
+
+    verifyBlocksReturned(1, 3, 5);
+    verify(combinedChainDataClient, never()).getSerializedFinalizedBlocks(any(), any());
   }
 
   @Test
@@ -326,6 +371,17 @@ class BeaconBlocksByRangeMessageHandlerTest {
     verifyNoMoreInteractions(listener);
   }
 
+  private void verifySerializedBlocksReturned(final int... slots) {
+    final InOrder inOrder = Mockito.inOrder(listener);
+    for (int slot : slots) {
+      inOrder
+          .verify(listener)
+          .respondSerialized(SimpleOffsetSerializer.serialize(BLOCKS.get(slot)));
+    }
+    inOrder.verify(listener).completeSuccessfully();
+    verifyNoMoreInteractions(listener);
+  }
+
   private void withAncestorRoots(
       final int startBlock,
       final int count,
@@ -364,6 +420,22 @@ class BeaconBlocksByRangeMessageHandlerTest {
               when(combinedChainDataClient.getBlockAtSlotExact(block.getSlot())).thenReturn(result);
               when(combinedChainDataClient.isFinalized(block.getSlot())).thenReturn(true);
             });
+    when(combinedChainDataClient.getSerializedFinalizedBlocks(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final UInt64 startSlot = invocation.getArgument(0);
+              final UInt64 endSlot = invocation.getArgument(1);
+              final List<Bytes> blocks =
+                  IntStream.of(slots)
+                      .filter(
+                          slot ->
+                              startSlot.isLessThanOrEqualTo(UInt64.valueOf(slot))
+                                  && endSlot.isGreaterThanOrEqualTo(UInt64.valueOf(slot)))
+                      .mapToObj(BLOCKS::get)
+                      .map(SimpleOffsetSerializer::serialize)
+                      .collect(Collectors.toList());
+              return completedFuture(blocks);
+            });
   }
 
   private void withCanonicalHeadBlock(final SignedBeaconBlock headBlock) {
@@ -18,6 +18,7 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.api.Eth1EventsChannel;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 
 public class DelegatingEth1EventsChannel implements Eth1EventsChannel {
   protected final Eth1EventsChannel delegate;
@@ -40,4 +41,9 @@ public class DelegatingEth1EventsChannel implements Eth1EventsChannel {
   public void onEth1Block(final Bytes32 blockHash, final UInt64 blockTimestamp) {
     delegate.onEth1Block(blockHash, blockTimestamp);
   }
+
+  @Override
+  public void onDepositTreeSnapshotLoaded(final DepositTreeSnapshot snapshot) {
+    delegate.onDepositTreeSnapshotLoaded(snapshot);
+  }
 }
@@ -18,6 +18,7 @@ import tech.pegasys.teku.infrastructure.events.VoidReturningChannelInterface;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 
 public interface Eth1EventsChannel extends VoidReturningChannelInterface {
   void onDepositsFromBlock(DepositsFromBlockEvent event);
@@ -25,4 +26,10 @@ public interface Eth1EventsChannel extends VoidReturningChannelInterface {
   void onMinGenesisTimeBlock(MinGenesisTimeBlockEvent event);
 
   default void onEth1Block(Bytes32 blockHash, UInt64 blockTimestamp) {}
+
+  /**
+   * Called when deposits are replayed from a stored deposit tree snapshot, before the deposit
+   * events following the snapshot
+   */
+  default void onDepositTreeSnapshotLoaded(DepositTreeSnapshot snapshot) {}
 }
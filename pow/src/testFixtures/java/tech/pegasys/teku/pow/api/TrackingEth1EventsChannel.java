@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.List;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 
 public class TrackingEth1EventsChannel implements Eth1EventsChannel {
   private final List<Object> orderedList = new ArrayList<>();
@@ -33,6 +34,11 @@ public class TrackingEth1EventsChannel implements Eth1EventsChannel {
     orderedList.add(event);
   }
 
+  @Override
+  public void onDepositTreeSnapshotLoaded(final DepositTreeSnapshot snapshot) {
+    orderedList.add(snapshot);
+  }
+
   public MinGenesisTimeBlockEvent getGenesis() {
     return genesis;
   }
@@ -14,16 +14,15 @@
 package tech.pegasys.teku.protoarray;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
 public class ProtoArray {
+  static final int NONE = ProtoNodeTable.NONE;
 
   private int pruneThreshold;
 
@@ -33,29 +32,39 @@ public class ProtoArray {
   // When starting from genesis, this value is zero (genesis epoch)
   private final UInt64 initialEpoch;
 
-  private final List<ProtoNode> nodes;
-  private final Map<Bytes32, Integer> indices;
+  private final ProtoNodeTable nodes = new ProtoNodeTable();
+
+  // Indices are stored relative to the first node ever added so that pruning only needs to remove
+  // the pruned roots and bump indexOffset rather than rewrite every remaining entry.
+  private final Map<Bytes32, Integer> indices = new HashMap<>();
+  private int indexOffset = 0;
 
   public ProtoArray(
-      int pruneThreshold,
-      UInt64 justifiedEpoch,
-      UInt64 finalizedEpoch,
-      UInt64 initialEpoch,
-      List<ProtoNode> nodes,
-      Map<Bytes32, Integer> indices) {
+      int pruneThreshold, UInt64 justifiedEpoch, UInt64 finalizedEpoch, UInt64 initialEpoch) {
     this.pruneThreshold = pruneThreshold;
     this.justifiedEpoch = justifiedEpoch;
     this.finalizedEpoch = finalizedEpoch;
     this.initialEpoch = initialEpoch;
-    this.nodes = nodes;
-    this.indices = indices;
   }
 
-  public Map<Bytes32, Integer> getIndices() {
-    return indices;
+  /**
+   * @param blockRoot the block root to look up
+   * @return the index of the node for the block root or {@link #NONE} if it is unknown
+   */
+  int getIndex(Bytes32 blockRoot) {
+    final Integer index = indices.get(blockRoot);
+    return index == null ? NONE : index - indexOffset;
+  }
+
+  public boolean contains(Bytes32 blockRoot) {
+    return indices.containsKey(blockRoot);
   }
 
-  public List<ProtoNode> getNodes() {
+  public int getNodeCount() {
+    return nodes.size();
+  }
+
+  ProtoNodeTable getNodes() {
     return nodes;
   }
 
@@ -84,26 +93,22 @@ public class ProtoArray {
       return;
     }
 
-    int nodeIndex = nodes.size();
-
-    ProtoNode node =
-        new ProtoNode(
+    int parentIndex = getIndex(parentRoot);
+    int nodeIndex =
+        nodes.add(
             blockSlot,
-            stateRoot,
             blockRoot,
             parentRoot,
-            Optional.ofNullable(indices.get(parentRoot)),
+            stateRoot,
+            parentIndex,
             justifiedEpoch,
-            finalizedEpoch,
-            UInt64.ZERO,
-            Optional.empty(),
-            Optional.empty());
+            finalizedEpoch);
 
-    indices.put(node.getBlockRoot(), nodeIndex);
-    nodes.add(node);
+    indices.put(blockRoot, nodeIndex + indexOffset);
 
-    node.getParentIndex()
-        .ifPresent(parentIndex -> maybeUpdateBestChildAndDescendant(parentIndex, nodeIndex));
+    if (parentIndex != NONE) {
+      maybeUpdateBestChildAndDescendant(parentIndex, nodeIndex);
+    }
   }
 
   /**
@@ -117,21 +122,22 @@ public class ProtoArray {
    * @return
    */
   public Bytes32 findHead(Bytes32 justifiedRoot) {
-    int justifiedIndex =
-        checkNotNull(indices.get(justifiedRoot), "ProtoArray: Unknown justified root");
-    ProtoNode justifiedNode =
-        checkNotNull(nodes.get(justifiedIndex), "ProtoArray: Unknown justified index");
+    int justifiedIndex = getIndex(justifiedRoot);
+    checkState(justifiedIndex != NONE, "ProtoArray: Unknown justified root");
+    checkState(justifiedIndex < nodes.size(), "ProtoArray: Unknown justified index");
 
-    int bestDescendantIndex = justifiedNode.getBestDescendantIndex().orElse(justifiedIndex);
-    ProtoNode bestNode =
-        checkNotNull(nodes.get(bestDescendantIndex), "ProtoArray: Unknown best descendant index");
+    int bestDescendantIndex = nodes.getBestDescendantIndex(justifiedIndex);
+    if (bestDescendantIndex == NONE) {
+      bestDescendantIndex = justifiedIndex;
+    }
+    checkState(bestDescendantIndex < nodes.size(), "ProtoArray: Unknown best descendant index");
 
     // Perform a sanity check that the node is indeed valid to be the head.
-    if (!nodeIsViableForHead(bestNode)) {
+    if (!nodeIsViableForHead(bestDescendantIndex)) {
       throw new RuntimeException("ProtoArray: Best node is not viable for head");
     }
 
-    return bestNode.getBlockRoot();
+    return nodes.getBlockRoot(bestDescendantIndex);
   }
 
   /**
@@ -156,8 +162,8 @@ public class ProtoArray {
    * @param justifiedEpoch
    * @param finalizedEpoch
    */
-  public void applyScoreChanges(List<Long> deltas, UInt64 justifiedEpoch, UInt64 finalizedEpoch) {
-    checkArgument(deltas.size() == indices.size(), "ProtoArray: Invalid delta length");
+  public void applyScoreChanges(long[] deltas, UInt64 justifiedEpoch, UInt64 finalizedEpoch) {
+    checkArgument(deltas.length == nodes.size(), "ProtoArray: Invalid delta length");
 
     if (!justifiedEpoch.equals(this.justifiedEpoch)
         || !finalizedEpoch.equals(this.finalizedEpoch)) {
@@ -167,21 +173,19 @@ public class ProtoArray {
 
     // Iterate backwards through all indices in `this.nodes`.
     for (int nodeIndex = nodes.size() - 1; nodeIndex >= 0; nodeIndex--) {
-      ProtoNode node = nodes.get(nodeIndex);
-
       // There is no need to adjust the balances or manage parent of the zero hash since it
       // is an alias to the genesis block. The weight applied to the genesis block is
       // irrelevant as we _always_ choose it and it's impossible for it to have a parent.
-      if (node.getBlockRoot().equals(Bytes32.ZERO)) {
+      if (nodes.isBlockRootZero(nodeIndex)) {
         continue;
       }
 
-      long nodeDelta = deltas.get(nodeIndex);
-      node.adjustWeight(nodeDelta);
+      long nodeDelta = deltas[nodeIndex];
+      nodes.adjustWeight(nodeIndex, nodeDelta);
 
-      if (node.getParentIndex().isPresent()) {
-        int parentIndex = node.getParentIndex().get();
-        deltas.set(parentIndex, deltas.get(parentIndex) + nodeDelta);
+      int parentIndex = nodes.getParentIndex(nodeIndex);
+      if (parentIndex != NONE) {
+        deltas[parentIndex] += nodeDelta;
         maybeUpdateBestChildAndDescendant(parentIndex, nodeIndex);
       }
     }
@@ -199,8 +203,8 @@ public class ProtoArray {
    * @param finalizedRoot
    */
   public void maybePrune(Bytes32 finalizedRoot) {
-    int finalizedIndex =
-        checkNotNull(indices.get(finalizedRoot), "ProtoArray: Finalized root is unknown");
+    int finalizedIndex = getIndex(finalizedRoot);
+    checkState(finalizedIndex != NONE, "ProtoArray: Finalized root is unknown");
 
     if (finalizedIndex < pruneThreshold) {
       // Pruning at small numbers incurs more cost than benefit.
@@ -209,55 +213,14 @@ public class ProtoArray {
 
     // Remove the `indices` key/values for all the to-be-deleted nodes.
     for (int nodeIndex = 0; nodeIndex < finalizedIndex; nodeIndex++) {
-      Bytes32 root =
-          checkNotNull(nodes.get(nodeIndex), "ProtoArray: Invalid node index").getBlockRoot();
-      indices.remove(root);
+      indices.remove(nodes.getBlockRoot(nodeIndex));
     }
 
-    // Drop all the nodes prior to finalization.
-    nodes.subList(0, finalizedIndex).clear();
-
-    // Adjust the indices map.
-    indices.replaceAll(
-        (key, value) -> {
-          int newIndex = value - finalizedIndex;
-          checkState(newIndex >= 0, "ProtoArray: New array index less than 0.");
-          return newIndex;
-        });
-
-    // Iterate through all the existing nodes and adjust their indices to match the
-    // new layout of nodes.
-    for (ProtoNode node : nodes) {
-      node.getParentIndex()
-          .ifPresent(
-              parentIndex -> {
-                // If node.parentIndex is less than finalizedIndex, set is to None.
-                if (parentIndex < finalizedIndex) {
-                  node.setParentIndex(Optional.empty());
-                } else {
-                  node.setParentIndex(Optional.of(parentIndex - finalizedIndex));
-                }
-              });
-
-      node.getBestChildIndex()
-          .ifPresent(
-              bestChildIndex -> {
-                int newBestChildIndex = bestChildIndex - finalizedIndex;
-                checkState(
-                    newBestChildIndex >= 0, "ProtoArray: New best child index is less than 0");
-                node.setBestChildIndex(Optional.of(newBestChildIndex));
-              });
-
-      node.getBestDescendantIndex()
-          .ifPresent(
-              bestDescendantIndex -> {
-                int newBestDescendantIndex = bestDescendantIndex - finalizedIndex;
-                checkState(
-                    newBestDescendantIndex >= 0,
-                    "ProtoArray: New best descendant index is less than 0");
-                node.setBestDescendantIndex(Optional.of(newBestDescendantIndex));
-              });
-    }
+    // Drop all the nodes prior to finalization, adjusting the indices held by the remaining nodes.
+    nodes.removeFirst(finalizedIndex);
+
+    // Remaining entries in `indices` now map to their new position without being rewritten.
+    indexOffset += finalizedIndex;
   }
 
   /**
@@ -282,100 +245,92 @@ public class ProtoArray {
    */
   @SuppressWarnings("StatementWithEmptyBody")
   private void maybeUpdateBestChildAndDescendant(int parentIndex, int childIndex) {
-    ProtoNode child = nodes.get(childIndex);
-    ProtoNode parent = nodes.get(parentIndex);
-
-    boolean childLeadsToViableHead = nodeLeadsToViableHead(child);
-
-    parent
-        .getBestChildIndex()
-        .ifPresentOrElse(
-            bestChildIndex -> {
-              if (bestChildIndex.equals(childIndex) && !childLeadsToViableHead) {
-                // If the child is already the best-child of the parent but it's not viable for
-                // the head, remove it.
-                changeToNone(parent);
-              } else if (bestChildIndex.equals(childIndex)) {
-                // If the child is the best-child already, set it again to ensure that the
-                // best-descendant of the parent is updated.
-                changeToChild(parent, childIndex);
-              } else {
-                ProtoNode bestChild = nodes.get(bestChildIndex);
-
-                boolean bestChildLeadsToViableHead = nodeLeadsToViableHead(bestChild);
-
-                if (childLeadsToViableHead && !bestChildLeadsToViableHead) {
-                  // The child leads to a viable head, but the current best-child doesn't.
-                  changeToChild(parent, childIndex);
-                } else if (!childLeadsToViableHead && bestChildLeadsToViableHead) {
-                  // The best child leads to a viable head, but the child doesn't.
-                  // No change.
-                } else if (child.getWeight().equals(bestChild.getWeight())) {
-                  // Tie-breaker of equal weights by root.
-                  if (child
-                          .getBlockRoot()
-                          .toHexString()
-                          .compareTo(bestChild.getBlockRoot().toHexString())
-                      >= 0) {
-                    changeToChild(parent, childIndex);
-                  } else {
-                    // No change.
-                  }
-                } else {
-                  // Choose the winner by weight.
-                  if (child.getWeight().compareTo(bestChild.getWeight()) >= 0) {
-                    changeToChild(parent, childIndex);
-                  } else {
-                    // No change.
-                  }
-                }
-              }
-            },
-            () -> {
-              if (childLeadsToViableHead) {
-                // There is no current best-child and the child is viable.
-                changeToChild(parent, childIndex);
-              } else {
-                // There is no current best-child but the child is not not viable.
-                // No change.
-              }
-            });
+    boolean childLeadsToViableHead = nodeLeadsToViableHead(childIndex);
+
+    int bestChildIndex = nodes.getBestChildIndex(parentIndex);
+    if (bestChildIndex == NONE) {
+      if (childLeadsToViableHead) {
+        // There is no current best-child and the child is viable.
+        changeToChild(parentIndex, childIndex);
+      } else {
+        // There is no current best-child but the child is not not viable.
+        // No change.
+      }
+    } else if (bestChildIndex == childIndex && !childLeadsToViableHead) {
+      // If the child is already the best-child of the parent but it's not viable for
+      // the head, remove it.
+      changeToNone(parentIndex);
+    } else if (bestChildIndex == childIndex) {
+      // If the child is the best-child already, set it again to ensure that the
+      // best-descendant of the parent is updated.
+      changeToChild(parentIndex, childIndex);
+    } else {
+      boolean bestChildLeadsToViableHead = nodeLeadsToViableHead(bestChildIndex);
+
+      if (childLeadsToViableHead && !bestChildLeadsToViableHead) {
+        // The child leads to a viable head, but the current best-child doesn't.
+        changeToChild(parentIndex, childIndex);
+      } else if (!childLeadsToViableHead && bestChildLeadsToViableHead) {
+        // The best child leads to a viable head, but the child doesn't.
+        // No change.
+      } else {
+        int weightComparison =
+            Long.compareUnsigned(nodes.getWeight(childIndex), nodes.getWeight(bestChildIndex));
+        if (weightComparison == 0) {
+          // Tie-breaker of equal weights by root.
+          if (nodes.compareBlockRoots(childIndex, bestChildIndex) >= 0) {
+            changeToChild(parentIndex, childIndex);
+          } else {
+            // No change.
+          }
+        } else {
+          // Choose the winner by weight.
+          if (weightComparison > 0) {
+            changeToChild(parentIndex, childIndex);
+          } else {
+            // No change.
+          }
+        }
+      }
+    }
   }
 
   /**
    * Helper for maybeUpdateBestChildAndDescendant
    *
-   * @param parent
+   * @param parentIndex
    * @param childIndex
    */
-  private void changeToChild(ProtoNode parent, int childIndex) {
-    ProtoNode child = nodes.get(childIndex);
-    parent.setBestChildIndex(Optional.of(childIndex));
-    parent.setBestDescendantIndex(Optional.of(child.getBestDescendantIndex().orElse(childIndex)));
+  private void changeToChild(int parentIndex, int childIndex) {
+    int childBestDescendantIndex = nodes.getBestDescendantIndex(childIndex);
+    nodes.setBestChildAndDescendant(
+        parentIndex,
+        childIndex,
+        childBestDescendantIndex == NONE ? childIndex : childBestDescendantIndex);
   }
 
   /**
    * Helper for maybeUpdateBestChildAndDescendant
    *
-   * @param parent
+   * @param parentIndex
    */
-  private void changeToNone(ProtoNode parent) {
-    parent.setBestChildIndex(Optional.empty());
-    parent.setBestDescendantIndex(Optional.empty());
+  private void changeToNone(int parentIndex) {
+    nodes.setBestChildAndDescendant(parentIndex, NONE, NONE);
   }
 
   /**
    * Indicates if the node itself is viable for the head, or if it's best descendant is viable for
    * the head.
    *
-   * @param node
+   * @param nodeIndex
    * @return
    */
-  private boolean nodeLeadsToViableHead(ProtoNode node) {
+  private boolean nodeLeadsToViableHead(int nodeIndex) {
+    int bestDescendantIndex = nodes.getBestDescendantIndex(nodeIndex);
     boolean bestDescendantIsViableForHead =
-        node.getBestDescendantIndex().map(nodes::get).map(this::nodeIsViableForHead).orElse(false);
+        bestDescendantIndex != NONE && nodeIsViableForHead(bestDescendantIndex);
 
-    return bestDescendantIsViableForHead || nodeIsViableForHead(node);
+    return bestDescendantIsViableForHead || nodeIsViableForHead(nodeIndex);
   }
 
   /**
@@ -386,12 +341,14 @@ public class ProtoArray {
    * <p>Any node that has a different finalized or justified epoch should not be viable for the
    * head.
    *
-   * @param node
+   * @param nodeIndex
    * @return
    */
-  private boolean nodeIsViableForHead(ProtoNode node) {
-    return (node.getJustifiedEpoch().equals(justifiedEpoch) || justifiedEpoch.equals(initialEpoch))
-        && (node.getFinalizedEpoch().equals(finalizedEpoch) || finalizedEpoch.equals(initialEpoch));
+  private boolean nodeIsViableForHead(int nodeIndex) {
+    return (nodes.getJustifiedEpoch(nodeIndex) == justifiedEpoch.longValue()
+            || justifiedEpoch.equals(initialEpoch))
+        && (nodes.getFinalizedEpoch(nodeIndex) == finalizedEpoch.longValue()
+            || finalizedEpoch.equals(initialEpoch));
   }
 
   public UInt64 getJustifiedEpoch() {
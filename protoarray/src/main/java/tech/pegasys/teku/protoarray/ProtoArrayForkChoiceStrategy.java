@@ -13,13 +13,10 @@
 
 package tech.pegasys.teku.protoarray;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.BeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
@@ -31,6 +28,7 @@ import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 import tech.pegasys.teku.util.config.Constants;
 
 public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
@@ -40,12 +38,10 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
   private final ProtoArray protoArray;
   private final ProtoArrayStorageChannel storageChannel;
 
-  private List<UInt64> balances;
+  private long[] balances;
 
   private ProtoArrayForkChoiceStrategy(
-      ProtoArray protoArray,
-      List<UInt64> balances,
-      ProtoArrayStorageChannel protoArrayStorageChannel) {
+      ProtoArray protoArray, long[] balances, ProtoArrayStorageChannel protoArrayStorageChannel) {
     this.protoArray = protoArray;
     this.balances = balances;
     this.storageChannel = protoArrayStorageChannel;
@@ -70,13 +66,10 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
                     Constants.PROTOARRAY_FORKCHOICE_PRUNE_THRESHOLD,
                     store.getJustifiedCheckpoint().getEpoch(),
                     store.getFinalizedCheckpoint().getEpoch(),
-                    initialEpoch,
-                    new ArrayList<>(),
-                    new HashMap<>()));
+                    initialEpoch));
 
     return processBlocksInStoreAtStartup(store, protoArray)
-        .thenApply(
-            __ -> new ProtoArrayForkChoiceStrategy(protoArray, new ArrayList<>(), storageChannel));
+        .thenApply(__ -> new ProtoArrayForkChoiceStrategy(protoArray, new long[0], storageChannel));
   }
 
   @Override
@@ -90,7 +83,7 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
         justifiedCheckpoint.getEpoch(),
         justifiedCheckpoint.getRoot(),
         finalizedCheckpoint.getEpoch(),
-        justifiedCheckpointState.getBalances().asList());
+        toBalanceArray(justifiedCheckpointState.getBalances()));
   }
 
   @Override
@@ -145,12 +138,9 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
   // Internal
   private static SafeFuture<Void> processBlocksInStoreAtStartup(
       ReadOnlyStore store, ProtoArray protoArray) {
-    List<Bytes32> alreadyIncludedBlockRoots =
-        protoArray.getNodes().stream().map(ProtoNode::getBlockRoot).collect(Collectors.toList());
-
     SafeFuture<Void> future = SafeFuture.completedFuture(null);
     for (Bytes32 blockRoot : store.getOrderedBlockRoots()) {
-      if (alreadyIncludedBlockRoots.contains(blockRoot)) {
+      if (protoArray.contains(blockRoot)) {
         continue;
       }
       future =
@@ -209,19 +199,33 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
       Bytes32 justifiedRoot,
       UInt64 finalizedEpoch,
       List<UInt64> justifiedStateBalances) {
+    return findHead(
+        store,
+        justifiedEpoch,
+        justifiedRoot,
+        finalizedEpoch,
+        justifiedStateBalances.stream().mapToLong(UInt64::longValue).toArray());
+  }
+
+  private Bytes32 findHead(
+      MutableStore store,
+      UInt64 justifiedEpoch,
+      Bytes32 justifiedRoot,
+      UInt64 finalizedEpoch,
+      long[] justifiedStateBalances) {
     protoArrayLock.writeLock().lock();
     votesLock.writeLock().lock();
     balancesLock.writeLock().lock();
     try {
-      List<UInt64> oldBalances = balances;
-      List<UInt64> newBalances = justifiedStateBalances;
+      long[] oldBalances = balances;
+      long[] newBalances = justifiedStateBalances;
 
-      List<Long> deltas =
+      long[] deltas =
           ProtoArrayScoreCalculator.computeDeltas(
-              store, protoArray.getIndices(), oldBalances, newBalances);
+              store, protoArray.getNodeCount(), protoArray::getIndex, oldBalances, newBalances);
 
       protoArray.applyScoreChanges(deltas, justifiedEpoch, finalizedEpoch);
-      balances = new ArrayList<>(newBalances);
+      balances = newBalances;
 
       return protoArray.findHead(justifiedRoot);
     } finally {
@@ -231,6 +235,14 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
     }
   }
 
+  private static long[] toBalanceArray(final SSZList<UInt64> balances) {
+    final long[] balanceArray = new long[balances.size()];
+    for (int i = 0; i < balanceArray.length; i++) {
+      balanceArray[i] = balances.get(i).longValue();
+    }
+    return balanceArray;
+  }
+
   public void setPruneThreshold(int pruneThreshold) {
     protoArrayLock.writeLock().lock();
     try {
@@ -243,7 +255,7 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
   public int size() {
     protoArrayLock.readLock().lock();
     try {
-      return protoArray.getNodes().size();
+      return protoArray.getNodeCount();
     } finally {
       protoArrayLock.readLock().unlock();
     }
@@ -253,7 +265,7 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
   public boolean contains(Bytes32 blockRoot) {
     protoArrayLock.readLock().lock();
     try {
-      return protoArray.getIndices().containsKey(blockRoot);
+      return protoArray.contains(blockRoot);
     } finally {
       protoArrayLock.readLock().unlock();
     }
@@ -263,7 +275,11 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
   public Optional<UInt64> blockSlot(Bytes32 blockRoot) {
     protoArrayLock.readLock().lock();
     try {
-      return getProtoNode(blockRoot).map(ProtoNode::getBlockSlot);
+      final int nodeIndex = protoArray.getIndex(blockRoot);
+      if (nodeIndex == ProtoArray.NONE) {
+        return Optional.empty();
+      }
+      return Optional.of(UInt64.fromLongBits(protoArray.getNodes().getSlot(nodeIndex)));
     } finally {
       protoArrayLock.readLock().unlock();
     }
@@ -273,7 +289,11 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
   public Optional<Bytes32> blockParentRoot(Bytes32 blockRoot) {
     protoArrayLock.readLock().lock();
     try {
-      return getProtoNode(blockRoot).map(ProtoNode::getParentRoot);
+      final int nodeIndex = protoArray.getIndex(blockRoot);
+      if (nodeIndex == ProtoArray.NONE) {
+        return Optional.empty();
+      }
+      return Optional.of(protoArray.getNodes().getParentRoot(nodeIndex));
     } finally {
       protoArrayLock.readLock().unlock();
     }
@@ -283,36 +303,25 @@ public class ProtoArrayForkChoiceStrategy implements ForkChoiceStrategy {
   public Optional<Bytes32> getAncestor(final Bytes32 blockRoot, final UInt64 slot) {
     protoArrayLock.readLock().lock();
     try {
-      // Note: This code could be more succinct if currentNode were an Optional and we used flatMap
+      // Note: This code could be more succinct if currentIndex were an Optional and we used flatMap
       // and map but during long periods of finality this becomes a massive hot spot in the code and
       // our performance is dominated by the time taken to create Optional instances within the map
       // calls.
-      final Optional<ProtoNode> startingNode = getProtoNode(blockRoot);
-      if (startingNode.isEmpty()) {
+      final ProtoNodeTable nodes = protoArray.getNodes();
+      int currentIndex = protoArray.getIndex(blockRoot);
+      if (currentIndex == ProtoArray.NONE) {
         return Optional.empty();
       }
-      ProtoNode currentNode = startingNode.get();
-      while (currentNode.getBlockSlot().isGreaterThan(slot)) {
-        final Optional<Integer> parentIndex = currentNode.getParentIndex();
-        if (parentIndex.isEmpty()) {
+      final long slotValue = slot.longValue();
+      while (Long.compareUnsigned(nodes.getSlot(currentIndex), slotValue) > 0) {
+        currentIndex = nodes.getParentIndex(currentIndex);
+        if (currentIndex == ProtoArray.NONE) {
           return Optional.empty();
         }
-        currentNode = protoArray.getNodes().get(parentIndex.get());
       }
-      return Optional.of(currentNode.getBlockRoot());
+      return Optional.of(nodes.getBlockRoot(currentIndex));
     } finally {
       protoArrayLock.readLock().unlock();
     }
   }
-
-  private Optional<ProtoNode> getProtoNode(Bytes32 blockRoot) {
-    return Optional.ofNullable(protoArray.getIndices().get(blockRoot))
-        .flatMap(
-            blockIndex -> {
-              if (blockIndex < protoArray.getNodes().size()) {
-                return Optional.of(protoArray.getNodes().get(blockIndex));
-              }
-              return Optional.empty();
-            });
-  }
 }
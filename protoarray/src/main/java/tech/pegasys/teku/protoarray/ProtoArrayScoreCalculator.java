@@ -16,25 +16,24 @@ package tech.pegasys.teku.protoarray;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Math.addExact;
 import static java.lang.Math.subtractExact;
-import static java.lang.Math.toIntExact;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.BitSet;
+import java.util.function.ToIntFunction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.forkchoice.MutableStore;
+import tech.pegasys.teku.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
 class ProtoArrayScoreCalculator {
   private static final Logger LOG = LogManager.getLogger();
+  private static final int UNKNOWN_NODE_INDEX = ProtoArray.NONE;
 
   /**
-   * Returns a list of `deltas`, where there is one delta for each of the indices in
-   * `0..indices.size()`.
+   * Returns an array of `deltas`, where there is one delta for each of the indices in
+   * `0..nodeCount`.
    *
    * <p>The deltas are formed by a change between `oldBalances` and `newBalances`, and/or a change
    * of vote in `votes`.
@@ -42,71 +41,100 @@ class ProtoArrayScoreCalculator {
    * <p>## Errors
    *
    * <ul>
-   *   <li>If a value in `indices` is greater to or equal to `indices.size()`.
-   *   <li>If some `Bytes32` in `votes` is not a key in `indices` (except for `Bytes32.ZERO`, this
-   *       is always valid).
+   *   <li>If an index returned by `getIndexByRoot` is greater to or equal to `nodeCount`.
+   *   <li>If some `Bytes32` in `votes` is not known to `getIndexByRoot` (except for `Bytes32.ZERO`,
+   *       this is always valid).
    * </ul>
    *
-   * @param indices
    * @param store
+   * @param nodeCount
+   * @param getIndexByRoot returns the node index for a block root, or -1 if it is not known
    * @param oldBalances
    * @param newBalances
    * @return
    */
-  static List<Long> computeDeltas(
+  static long[] computeDeltas(
       MutableStore store,
-      Map<Bytes32, Integer> indices,
-      List<UInt64> oldBalances,
-      List<UInt64> newBalances) {
-    List<Long> deltas = new ArrayList<>(Collections.nCopies(indices.size(), 0L));
+      int nodeCount,
+      ToIntFunction<Bytes32> getIndexByRoot,
+      long[] oldBalances,
+      long[] newBalances) {
+    final long[] deltas = new long[nodeCount];
+    final BitSet changedVotes = new BitSet();
 
-    for (UInt64 validatorIndex : store.getVotedValidatorIndices()) {
-      VoteTracker vote = store.getVote(validatorIndex);
+    store.processVotes(
+        votes -> {
+          // Resolve each voted root to its node index once, rather than once per validator.
+          final int[] nodeIndicesByRootId = new int[votes.getRootCount()];
+          for (int rootId = 0; rootId < nodeIndicesByRootId.length; rootId++) {
+            nodeIndicesByRootId[rootId] = getIndexByRoot.applyAsInt(votes.getRoot(rootId));
+          }
 
-      // There is no need to create a score change if the validator has never voted
-      // or both their votes are for the zero hash (alias to the genesis block).
-      if (vote.getCurrentRoot().equals(Bytes32.ZERO) && vote.getNextRoot().equals(Bytes32.ZERO)) {
-        LOG.warn("ProtoArrayForkChoiceStrategy: Unexpected zero hashes in voted validator votes");
-        continue;
-      }
+          for (int validatorIndex = 0;
+              validatorIndex < votes.getValidatorCount();
+              validatorIndex++) {
+            if (!votes.hasVote(validatorIndex)) {
+              continue;
+            }
+            final int currentRootId = votes.getCurrentRootId(validatorIndex);
+            final int nextRootId = votes.getNextRootId(validatorIndex);
 
-      int validatorIndexInt = toIntExact(validatorIndex.longValue());
-      // If the validator was not included in the oldBalances (i.e. it did not exist yet)
-      // then say its balance was zero.
-      UInt64 oldBalance =
-          oldBalances.size() > validatorIndexInt ? oldBalances.get(validatorIndexInt) : UInt64.ZERO;
+            // There is no need to create a score change if the validator has never voted
+            // or both their votes are for the zero hash (alias to the genesis block).
+            if (currentRootId == ValidatorVotes.ZERO_ROOT_ID
+                && nextRootId == ValidatorVotes.ZERO_ROOT_ID) {
+              LOG.warn(
+                  "ProtoArrayForkChoiceStrategy: Unexpected zero hashes in voted validator votes");
+              continue;
+            }
 
-      // If the validator vote is not known in the newBalances, then use a balance of zero.
-      //
-      // It is possible that there is a vote for an unknown validator if we change our
-      // justified state to a new state with a higher epoch that is on a different fork
-      // because that may have on-boarded less validators than the prior fork.
-      UInt64 newBalance =
-          newBalances.size() > validatorIndexInt ? newBalances.get(validatorIndexInt) : UInt64.ZERO;
+            // If the validator was not included in the oldBalances (i.e. it did not exist yet)
+            // then say its balance was zero.
+            final long oldBalance =
+                oldBalances.length > validatorIndex ? oldBalances[validatorIndex] : 0L;
 
-      if (!vote.getCurrentRoot().equals(vote.getNextRoot()) || !oldBalance.equals(newBalance)) {
-        // We ignore the vote if it is not known in `indices`. We assume that it is outside
-        // of our tree (i.e. pre-finalization) and therefore not interesting.
-        Integer currentDeltaIndex = indices.get(vote.getCurrentRoot());
-        if (currentDeltaIndex != null) {
-          checkState(
-              currentDeltaIndex < deltas.size(), "ProtoArrayForkChoice: Invalid node delta index");
-          long delta = subtractExact(deltas.get(currentDeltaIndex), oldBalance.longValue());
-          deltas.set(currentDeltaIndex, delta);
-        }
+            // If the validator vote is not known in the newBalances, then use a balance of zero.
+            //
+            // It is possible that there is a vote for an unknown validator if we change our
+            // justified state to a new state with a higher epoch that is on a different fork
+            // because that may have on-boarded less validators than the prior fork.
+            final long newBalance =
+                newBalances.length > validatorIndex ? newBalances[validatorIndex] : 0L;
 
-        // We ignore the vote if it is not known in `indices`. We assume that it is outside
-        // of our tree (i.e. pre-finalization) and therefore not interesting.
-        Integer nextDeltaIndex = indices.get(vote.getNextRoot());
-        if (nextDeltaIndex != null) {
-          checkState(
-              nextDeltaIndex < deltas.size(), "ProtoArrayForkChoice: Invalid node delta index");
-          long delta = addExact(deltas.get(nextDeltaIndex), newBalance.longValue());
-          deltas.set(nextDeltaIndex, delta);
-        }
+            if (currentRootId != nextRootId || oldBalance != newBalance) {
+              // We ignore the vote if it is not known in `indices`. We assume that it is outside
+              // of our tree (i.e. pre-finalization) and therefore not interesting.
+              final int currentDeltaIndex = nodeIndicesByRootId[currentRootId];
+              if (currentDeltaIndex != UNKNOWN_NODE_INDEX) {
+                checkState(
+                    currentDeltaIndex < deltas.length,
+                    "ProtoArrayForkChoice: Invalid node delta index");
+                deltas[currentDeltaIndex] = subtractExact(deltas[currentDeltaIndex], oldBalance);
+              }
 
-        vote.setCurrentRoot(vote.getNextRoot());
-      }
+              // We ignore the vote if it is not known in `indices`. We assume that it is outside
+              // of our tree (i.e. pre-finalization) and therefore not interesting.
+              final int nextDeltaIndex = nodeIndicesByRootId[nextRootId];
+              if (nextDeltaIndex != UNKNOWN_NODE_INDEX) {
+                checkState(
+                    nextDeltaIndex < deltas.length,
+                    "ProtoArrayForkChoice: Invalid node delta index");
+                deltas[nextDeltaIndex] = addExact(deltas[nextDeltaIndex], newBalance);
+              }
+
+              if (currentRootId != nextRootId) {
+                changedVotes.set(validatorIndex);
+              }
+            }
+          }
+        });
+
+    // Only votes which have actually moved need to be updated in the store
+    for (int validatorIndex = changedVotes.nextSetBit(0);
+        validatorIndex >= 0;
+        validatorIndex = changedVotes.nextSetBit(validatorIndex + 1)) {
+      final VoteTracker vote = store.getVote(UInt64.valueOf(validatorIndex));
+      vote.setCurrentRoot(vote.getNextRoot());
     }
     return deltas;
   }
@@ -15,9 +15,7 @@ package tech.pegasys.teku.protoarray;
 
 import com.google.common.base.Objects;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.util.config.Constants;
 
@@ -40,10 +38,11 @@ public class ProtoArraySnapshot {
   }
 
   public static ProtoArraySnapshot create(final ProtoArray protoArray) {
-    List<BlockInformation> nodes =
-        protoArray.getNodes().stream()
-            .map(ProtoNode::createBlockInformation)
-            .collect(Collectors.toList());
+    ProtoNodeTable protoNodes = protoArray.getNodes();
+    List<BlockInformation> nodes = new ArrayList<>(protoNodes.size());
+    for (int i = 0; i < protoNodes.size(); i++) {
+      nodes.add(protoNodes.createBlockInformation(i));
+    }
     UInt64 justifiedEpoch = protoArray.getJustifiedEpoch();
     UInt64 finalizedEpoch = protoArray.getFinalizedEpoch();
     UInt64 initialEpoch = protoArray.getInitialEpoch();
@@ -56,9 +55,7 @@ public class ProtoArraySnapshot {
             Constants.PROTOARRAY_FORKCHOICE_PRUNE_THRESHOLD,
             justifiedEpoch,
             finalizedEpoch,
-            initialEpoch,
-            new ArrayList<>(),
-            new HashMap<>());
+            initialEpoch);
 
     blockInformationList.forEach(
         blockInformation ->
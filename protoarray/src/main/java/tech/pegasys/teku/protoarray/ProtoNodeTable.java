@@ -0,0 +1,250 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.protoarray;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * Packed storage for the nodes of a {@link ProtoArray}.
+ *
+ * <p>Each node field is held in its own primitive array so that walking the tree touches only the
+ * fields required and no per-node objects are allocated. Unsigned values are stored as their raw
+ * long bits, indices use {@link #NONE} to indicate absence and the block, parent and state roots of
+ * every node are packed into a single byte array.
+ */
+class ProtoNodeTable {
+  static final int NONE = -1;
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int BLOCK_ROOT_OFFSET = 0;
+  private static final int PARENT_ROOT_OFFSET = Bytes32.SIZE;
+  private static final int STATE_ROOT_OFFSET = 2 * Bytes32.SIZE;
+  private static final int ROOT_BYTES_PER_NODE = 3 * Bytes32.SIZE;
+
+  private int size = 0;
+  private long[] slots = new long[INITIAL_CAPACITY];
+  private long[] justifiedEpochs = new long[INITIAL_CAPACITY];
+  private long[] finalizedEpochs = new long[INITIAL_CAPACITY];
+  private long[] weights = new long[INITIAL_CAPACITY];
+  private int[] parentIndices = new int[INITIAL_CAPACITY];
+  private int[] bestChildIndices = new int[INITIAL_CAPACITY];
+  private int[] bestDescendantIndices = new int[INITIAL_CAPACITY];
+  private byte[] roots = new byte[INITIAL_CAPACITY * ROOT_BYTES_PER_NODE];
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Append a new node with zero weight and no best child or descendant.
+   *
+   * @return the index of the new node
+   */
+  int add(
+      final UInt64 blockSlot,
+      final Bytes32 blockRoot,
+      final Bytes32 parentRoot,
+      final Bytes32 stateRoot,
+      final int parentIndex,
+      final UInt64 justifiedEpoch,
+      final UInt64 finalizedEpoch) {
+    ensureCapacity(size + 1);
+    final int index = size;
+    slots[index] = blockSlot.longValue();
+    justifiedEpochs[index] = justifiedEpoch.longValue();
+    finalizedEpochs[index] = finalizedEpoch.longValue();
+    weights[index] = 0;
+    parentIndices[index] = parentIndex;
+    bestChildIndices[index] = NONE;
+    bestDescendantIndices[index] = NONE;
+    final int rootsOffset = index * ROOT_BYTES_PER_NODE;
+    copyRoot(blockRoot, rootsOffset + BLOCK_ROOT_OFFSET);
+    copyRoot(parentRoot, rootsOffset + PARENT_ROOT_OFFSET);
+    copyRoot(stateRoot, rootsOffset + STATE_ROOT_OFFSET);
+    size++;
+    return index;
+  }
+
+  long getSlot(final int index) {
+    checkElementIndex(index, size);
+    return slots[index];
+  }
+
+  long getJustifiedEpoch(final int index) {
+    checkElementIndex(index, size);
+    return justifiedEpochs[index];
+  }
+
+  long getFinalizedEpoch(final int index) {
+    checkElementIndex(index, size);
+    return finalizedEpochs[index];
+  }
+
+  long getWeight(final int index) {
+    checkElementIndex(index, size);
+    return weights[index];
+  }
+
+  int getParentIndex(final int index) {
+    checkElementIndex(index, size);
+    return parentIndices[index];
+  }
+
+  int getBestChildIndex(final int index) {
+    checkElementIndex(index, size);
+    return bestChildIndices[index];
+  }
+
+  int getBestDescendantIndex(final int index) {
+    checkElementIndex(index, size);
+    return bestDescendantIndices[index];
+  }
+
+  void setBestChildAndDescendant(
+      final int index, final int bestChildIndex, final int bestDescendantIndex) {
+    checkElementIndex(index, size);
+    bestChildIndices[index] = bestChildIndex;
+    bestDescendantIndices[index] = bestDescendantIndex;
+  }
+
+  void adjustWeight(final int index, final long delta) {
+    checkElementIndex(index, size);
+    final long weight = weights[index];
+    if (delta < 0 && Long.compareUnsigned(-delta, weight) > 0) {
+      throw new RuntimeException(
+          "ProtoNode: Delta to be subtracted is greater than node weight for block "
+              + getBlockRoot(index)
+              + " ("
+              + UInt64.fromLongBits(slots[index])
+              + "). Attempting to subtract "
+              + UInt64.fromLongBits(-delta)
+              + " from "
+              + UInt64.fromLongBits(weight));
+    }
+    weights[index] = weight + delta;
+  }
+
+  Bytes32 getBlockRoot(final int index) {
+    return getRoot(index, BLOCK_ROOT_OFFSET);
+  }
+
+  Bytes32 getParentRoot(final int index) {
+    return getRoot(index, PARENT_ROOT_OFFSET);
+  }
+
+  Bytes32 getStateRoot(final int index) {
+    return getRoot(index, STATE_ROOT_OFFSET);
+  }
+
+  boolean isBlockRootZero(final int index) {
+    checkElementIndex(index, size);
+    final int start = index * ROOT_BYTES_PER_NODE + BLOCK_ROOT_OFFSET;
+    for (int i = start; i < start + Bytes32.SIZE; i++) {
+      if (roots[i] != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Compare the block roots of two nodes as unsigned big-endian numbers, which is the same order as
+   * comparing their hex representations.
+   */
+  int compareBlockRoots(final int index1, final int index2) {
+    checkElementIndex(index1, size);
+    checkElementIndex(index2, size);
+    final int start1 = index1 * ROOT_BYTES_PER_NODE + BLOCK_ROOT_OFFSET;
+    final int start2 = index2 * ROOT_BYTES_PER_NODE + BLOCK_ROOT_OFFSET;
+    return Arrays.compareUnsigned(
+        roots, start1, start1 + Bytes32.SIZE, roots, start2, start2 + Bytes32.SIZE);
+  }
+
+  BlockInformation createBlockInformation(final int index) {
+    return new BlockInformation(
+        UInt64.fromLongBits(getSlot(index)),
+        getBlockRoot(index),
+        getParentRoot(index),
+        getStateRoot(index),
+        UInt64.fromLongBits(getJustifiedEpoch(index)),
+        UInt64.fromLongBits(getFinalizedEpoch(index)));
+  }
+
+  /**
+   * Drop the first {@code count} nodes, shifting the remaining nodes down and adjusting their
+   * indices to match. Parents which are removed are replaced with {@link #NONE}.
+   */
+  void removeFirst(final int count) {
+    checkState(count <= size, "ProtoArray: Cannot remove more nodes than exist");
+    final int remaining = size - count;
+    System.arraycopy(slots, count, slots, 0, remaining);
+    System.arraycopy(justifiedEpochs, count, justifiedEpochs, 0, remaining);
+    System.arraycopy(finalizedEpochs, count, finalizedEpochs, 0, remaining);
+    System.arraycopy(weights, count, weights, 0, remaining);
+    System.arraycopy(parentIndices, count, parentIndices, 0, remaining);
+    System.arraycopy(bestChildIndices, count, bestChildIndices, 0, remaining);
+    System.arraycopy(bestDescendantIndices, count, bestDescendantIndices, 0, remaining);
+    System.arraycopy(roots, count * ROOT_BYTES_PER_NODE, roots, 0, remaining * ROOT_BYTES_PER_NODE);
+    size = remaining;
+
+    for (int i = 0; i < size; i++) {
+      final int parentIndex = parentIndices[i];
+      // If the parent has been removed, the node no longer has a parent.
+      parentIndices[i] = parentIndex < count ? NONE : parentIndex - count;
+
+      final int bestChildIndex = bestChildIndices[i];
+      if (bestChildIndex != NONE) {
+        checkState(bestChildIndex >= count, "ProtoArray: New best child index is less than 0");
+        bestChildIndices[i] = bestChildIndex - count;
+      }
+
+      final int bestDescendantIndex = bestDescendantIndices[i];
+      if (bestDescendantIndex != NONE) {
+        checkState(
+            bestDescendantIndex >= count, "ProtoArray: New best descendant index is less than 0");
+        bestDescendantIndices[i] = bestDescendantIndex - count;
+      }
+    }
+  }
+
+  private void copyRoot(final Bytes32 root, final int offset) {
+    System.arraycopy(root.toArrayUnsafe(), 0, roots, offset, Bytes32.SIZE);
+  }
+
+  private Bytes32 getRoot(final int index, final int fieldOffset) {
+    checkElementIndex(index, size);
+    final int start = index * ROOT_BYTES_PER_NODE + fieldOffset;
+    return Bytes32.wrap(Arrays.copyOfRange(roots, start, start + Bytes32.SIZE));
+  }
+
+  private void ensureCapacity(final int requiredCapacity) {
+    if (requiredCapacity <= slots.length) {
+      return;
+    }
+    final int newCapacity = Math.max(requiredCapacity, slots.length * 2);
+    slots = Arrays.copyOf(slots, newCapacity);
+    justifiedEpochs = Arrays.copyOf(justifiedEpochs, newCapacity);
+    finalizedEpochs = Arrays.copyOf(finalizedEpochs, newCapacity);
+    weights = Arrays.copyOf(weights, newCapacity);
+    parentIndices = Arrays.copyOf(parentIndices, newCapacity);
+    bestChildIndices = Arrays.copyOf(bestChildIndices, newCapacity);
+    bestDescendantIndices = Arrays.copyOf(bestDescendantIndices, newCapacity);
+    roots = Arrays.copyOf(roots, newCapacity * ROOT_BYTES_PER_NODE);
+  }
+}
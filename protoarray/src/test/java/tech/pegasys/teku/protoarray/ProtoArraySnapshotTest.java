@@ -17,10 +17,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.assertThatProtoArrayMatches;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -30,39 +26,26 @@ public class ProtoArraySnapshotTest {
 
   @Test
   void shouldProduceEqualProtoArray() {
-    List<ProtoNode> nodes = new ArrayList<>();
     ProtoArray protoArray1 =
         new ProtoArray(
             Constants.PROTOARRAY_FORKCHOICE_PRUNE_THRESHOLD,
             UInt64.valueOf(10),
             UInt64.valueOf(9),
-            UInt64.ZERO,
-            nodes,
-            new HashMap<>());
+            UInt64.ZERO);
 
-    ProtoNode protoNode1 =
-        new ProtoNode(
+    BlockInformation block1 =
+        new BlockInformation(
             UInt64.valueOf(10000),
-            Bytes32.ZERO,
             Bytes32.fromHexString("0xdeadbeef"),
             Bytes32.ZERO,
-            Optional.empty(),
+            Bytes32.ZERO,
             UInt64.valueOf(10),
-            UInt64.valueOf(9),
-            UInt64.ZERO,
-            Optional.empty(),
-            Optional.empty());
-
-    protoArray1.onBlock(
-        protoNode1.getBlockSlot(),
-        protoNode1.getBlockRoot(),
-        protoNode1.getParentRoot(),
-        protoNode1.getStateRoot(),
-        protoNode1.getJustifiedEpoch(),
-        protoNode1.getFinalizedEpoch());
+            UInt64.valueOf(9));
+
+    addBlock(protoArray1, block1);
 
     // sanity check
-    assertThat(nodes.get(0)).isEqualTo(protoNode1);
+    assertThat(protoArray1.getNodes().createBlockInformation(0)).isEqualTo(block1);
 
     ProtoArraySnapshot snaphot = ProtoArraySnapshot.create(protoArray1);
     ProtoArray protoArray2 = snaphot.toProtoArray();
@@ -72,68 +55,55 @@ public class ProtoArraySnapshotTest {
 
   @Test
   void shouldNotBeAlteredByChangesToOriginalProtoArray() {
-    List<ProtoNode> nodes = new ArrayList<>();
     ProtoArray protoArray1 =
         new ProtoArray(
             Constants.PROTOARRAY_FORKCHOICE_PRUNE_THRESHOLD,
             UInt64.valueOf(10),
             UInt64.valueOf(9),
-            UInt64.ZERO,
-            nodes,
-            new HashMap<>());
+            UInt64.ZERO);
 
-    ProtoNode protoNode1 =
-        new ProtoNode(
+    BlockInformation block1 =
+        new BlockInformation(
             UInt64.valueOf(10000),
-            Bytes32.ZERO,
             Bytes32.fromHexString("0xdeadbeef"),
             Bytes32.ZERO,
-            Optional.empty(),
+            Bytes32.ZERO,
             UInt64.valueOf(10),
-            UInt64.valueOf(9),
-            UInt64.ZERO,
-            Optional.empty(),
-            Optional.empty());
+            UInt64.valueOf(9));
 
-    ProtoNode protoNode2 =
-        new ProtoNode(
-            UInt64.valueOf(10000),
-            Bytes32.ZERO,
+    BlockInformation block2 =
+        new BlockInformation(
+            UInt64.valueOf(10001),
             Bytes32.fromHexString("0x1234"),
+            Bytes32.fromHexString("0xdeadbeef"),
             Bytes32.ZERO,
-            Optional.empty(),
             UInt64.valueOf(10),
-            UInt64.valueOf(9),
-            UInt64.ZERO,
-            Optional.empty(),
-            Optional.empty());
-
-    protoArray1.onBlock(
-        protoNode1.getBlockSlot(),
-        protoNode1.getBlockRoot(),
-        protoNode1.getParentRoot(),
-        protoNode1.getStateRoot(),
-        protoNode1.getJustifiedEpoch(),
-        protoNode1.getFinalizedEpoch());
-
-    protoArray1.onBlock(
-        protoNode1.getBlockSlot(),
-        protoNode1.getBlockRoot(),
-        protoNode1.getParentRoot(),
-        protoNode1.getStateRoot(),
-        protoNode1.getJustifiedEpoch(),
-        protoNode1.getFinalizedEpoch());
+            UInt64.valueOf(9));
+
+    addBlock(protoArray1, block1);
+    addBlock(protoArray1, block1);
 
     // sanity check
-    assertThat(nodes.get(0)).isEqualTo(protoNode1);
+    assertThat(protoArray1.getNodeCount()).isEqualTo(1);
+    assertThat(protoArray1.getNodes().createBlockInformation(0)).isEqualTo(block1);
 
     ProtoArraySnapshot snaphot = ProtoArraySnapshot.create(protoArray1);
     ProtoArray protoArray2 = snaphot.toProtoArray();
 
     assertThatProtoArrayMatches(protoArray1, protoArray2);
 
-    nodes.set(0, protoNode2);
+    addBlock(protoArray1, block2);
 
     assertThatThrownBy(() -> assertThatProtoArrayMatches(protoArray1, protoArray2));
   }
+
+  private void addBlock(final ProtoArray protoArray, final BlockInformation block) {
+    protoArray.onBlock(
+        block.getBlockSlot(),
+        block.getBlockRoot(),
+        block.getParentRoot(),
+        block.getStateRoot(),
+        block.getJustifiedEpoch(),
+        block.getFinalizedEpoch());
+  }
 }
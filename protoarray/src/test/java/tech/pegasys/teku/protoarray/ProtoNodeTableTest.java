@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.protoarray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.getHash;
+import static tech.pegasys.teku.protoarray.ProtoNodeTable.NONE;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+public class ProtoNodeTableTest {
+  private final ProtoNodeTable nodes = new ProtoNodeTable();
+
+  @Test
+  void add_shouldStoreAllFields() {
+    final int index =
+        nodes.add(
+            UInt64.valueOf(5),
+            getHash(1),
+            getHash(0),
+            getHash(2),
+            NONE,
+            UInt64.valueOf(3),
+            UInt64.valueOf(2));
+
+    assertThat(index).isZero();
+    assertThat(nodes.createBlockInformation(index))
+        .isEqualTo(
+            new BlockInformation(
+                UInt64.valueOf(5),
+                getHash(1),
+                getHash(0),
+                getHash(2),
+                UInt64.valueOf(3),
+                UInt64.valueOf(2)));
+    assertThat(nodes.getWeight(index)).isZero();
+    assertThat(nodes.getParentIndex(index)).isEqualTo(NONE);
+    assertThat(nodes.getBestChildIndex(index)).isEqualTo(NONE);
+    assertThat(nodes.getBestDescendantIndex(index)).isEqualTo(NONE);
+  }
+
+  @Test
+  void add_shouldGrowBeyondInitialCapacity() {
+    for (int i = 0; i < 1000; i++) {
+      nodes.add(
+          UInt64.valueOf(i),
+          getHash(i),
+          getHash(i - 1),
+          Bytes32.ZERO,
+          i - 1,
+          UInt64.ONE,
+          UInt64.ONE);
+    }
+
+    assertThat(nodes.size()).isEqualTo(1000);
+    assertThat(nodes.getBlockRoot(999)).isEqualTo(getHash(999));
+    assertThat(nodes.getParentIndex(999)).isEqualTo(998);
+  }
+
+  @Test
+  void adjustWeight_shouldRejectWeightBelowZero() {
+    addNode(1, NONE);
+    nodes.adjustWeight(0, 10);
+    nodes.adjustWeight(0, -4);
+    assertThat(nodes.getWeight(0)).isEqualTo(6);
+
+    assertThatThrownBy(() -> nodes.adjustWeight(0, -7))
+        .hasMessageContaining("Delta to be subtracted is greater than node weight");
+  }
+
+  @Test
+  void compareBlockRoots_shouldMatchHexStringOrder() {
+    addNode(0xff, NONE);
+    addNode(0x01, NONE);
+
+    assertThat(Integer.signum(nodes.compareBlockRoots(0, 1)))
+        .isEqualTo(
+            Integer.signum(
+                nodes
+                    .getBlockRoot(0)
+                    .toHexString()
+                    .compareTo(nodes.getBlockRoot(1).toHexString())));
+    assertThat(nodes.compareBlockRoots(0, 0)).isZero();
+  }
+
+  @Test
+  void removeFirst_shouldShiftNodesAndAdjustIndices() {
+    addNode(1, NONE);
+    addNode(2, 0);
+    addNode(3, 1);
+    addNode(4, 2);
+    nodes.setBestChildAndDescendant(1, 2, 3);
+    nodes.setBestChildAndDescendant(2, 3, 3);
+
+    nodes.removeFirst(1);
+
+    assertThat(nodes.size()).isEqualTo(3);
+    assertThat(nodes.getBlockRoot(0)).isEqualTo(rootFor(2));
+    assertThat(nodes.getParentIndex(0)).isEqualTo(NONE);
+    assertThat(nodes.getParentIndex(1)).isEqualTo(0);
+    assertThat(nodes.getBestChildIndex(0)).isEqualTo(1);
+    assertThat(nodes.getBestDescendantIndex(0)).isEqualTo(2);
+    assertThat(nodes.getBestChildIndex(1)).isEqualTo(2);
+    assertThat(nodes.getBestDescendantIndex(2)).isEqualTo(NONE);
+  }
+
+  private void addNode(final int root, final int parentIndex) {
+    nodes.add(
+        UInt64.valueOf(root),
+        rootFor(root),
+        Bytes32.ZERO,
+        Bytes32.ZERO,
+        parentIndex,
+        UInt64.ONE,
+        UInt64.ONE);
+  }
+
+  private Bytes32 rootFor(final int value) {
+    return Bytes32.fromHexStringLenient(Integer.toHexString(value));
+  }
+}
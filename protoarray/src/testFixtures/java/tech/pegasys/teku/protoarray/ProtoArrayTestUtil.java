@@ -57,7 +57,8 @@ public class ProtoArrayTestUtil {
     return STORE_FACTORY.createGenesisStore();
   }
 
-  public static void assertThatBlockInformationMatches(ProtoNode node1, ProtoNode node2) {
+  public static void assertThatBlockInformationMatches(
+      BlockInformation node1, BlockInformation node2) {
     assertThat(node1.getBlockSlot()).isEqualTo(node2.getBlockSlot());
     assertThat(node1.getStateRoot()).isEqualTo(node2.getStateRoot());
     assertThat(node1.getBlockRoot()).isEqualTo(node2.getBlockRoot());
@@ -67,11 +68,12 @@ public class ProtoArrayTestUtil {
   }
 
   public static void assertThatProtoArrayMatches(ProtoArray array1, ProtoArray array2) {
-    assertThat(array1.getNodes().size()).isEqualTo(array2.getNodes().size());
+    assertThat(array1.getNodeCount()).isEqualTo(array2.getNodeCount());
     assertThat(array1.getJustifiedEpoch()).isEqualTo(array2.getJustifiedEpoch());
     assertThat(array1.getFinalizedEpoch()).isEqualTo(array2.getFinalizedEpoch());
-    for (int i = 0; i < array1.getNodes().size(); i++) {
-      assertThatBlockInformationMatches(array1.getNodes().get(i), array2.getNodes().get(i));
+    for (int i = 0; i < array1.getNodeCount(); i++) {
+      assertThatBlockInformationMatches(
+          array1.getNodes().createBlockInformation(i), array2.getNodes().createBlockInformation(i));
     }
   }
 }
@@ -80,6 +80,7 @@ import tech.pegasys.teku.pow.api.Eth1EventsChannel;
 import tech.pegasys.teku.protoarray.ProtoArrayStorageChannel;
 import tech.pegasys.teku.service.serviceutils.Service;
 import tech.pegasys.teku.service.serviceutils.ServiceConfig;
+import tech.pegasys.teku.ssz.backing.tree.TreeUtil;
 import tech.pegasys.teku.statetransition.OperationPool;
 import tech.pegasys.teku.statetransition.OperationsReOrgManager;
 import tech.pegasys.teku.statetransition.attestation.AggregatingAttestationPool;
@@ -99,7 +100,10 @@ import tech.pegasys.teku.statetransition.validation.AttesterSlashingValidator;
 import tech.pegasys.teku.statetransition.validation.BlockValidator;
 import tech.pegasys.teku.statetransition.validation.ProposerSlashingValidator;
 import tech.pegasys.teku.statetransition.validation.VoluntaryExitValidator;
+import tech.pegasys.teku.statetransition.validation.signatures.AggregatingSignatureVerificationService;
+import tech.pegasys.teku.statetransition.validation.signatures.SignatureVerificationService;
 import tech.pegasys.teku.storage.api.ChainHeadChannel;
+import tech.pegasys.teku.storage.api.Eth1DepositStorageChannel;
 import tech.pegasys.teku.storage.api.FinalizedCheckpointChannel;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.api.StorageUpdateChannel;
@@ -143,6 +147,9 @@ public class BeaconChainController extends Service implements TimeTickChannel {
 
   private static final String KEY_VALUE_STORE_SUBDIRECTORY = "kvstore";
   private static final String GENERATED_NODE_KEY_KEY = "generated-node-key";
+  // Each batch is already verified using all available cores
+  private static final int SIGNATURE_VERIFICATION_THREAD_COUNT = 2;
+  private static final long BYTES_PER_MB = 1024L * 1024;
 
   private final BeaconChainConfiguration beaconConfig;
   private final GlobalConfiguration config;
@@ -155,6 +162,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private final AsyncRunner networkAsyncRunner;
   private final AsyncRunnerFactory asyncRunnerFactory;
   private final AsyncRunner eventAsyncRunner;
+  private final AsyncRunner blockProcessingAsyncRunner;
   private final Path beaconDataDirectory;
   private final WeakSubjectivityInitializer wsInitializer = new WeakSubjectivityInitializer();
 
@@ -168,6 +176,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private volatile DepositProvider depositProvider;
   private volatile SyncService syncService;
   private volatile AttestationManager attestationManager;
+  private volatile SignatureVerificationService signatureVerificationService;
   private volatile CombinedChainDataClient combinedChainDataClient;
   private volatile Eth1DataCache eth1DataCache;
   private volatile SlotProcessor slotProcessor;
@@ -196,6 +205,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
     this.asyncRunner = serviceConfig.createAsyncRunner("beaconchain");
     this.eventAsyncRunner = serviceConfig.createAsyncRunner("events", 10);
     this.networkAsyncRunner = serviceConfig.createAsyncRunner("p2p", 10);
+    this.blockProcessingAsyncRunner = serviceConfig.createAsyncRunner("blockprocessing");
     this.timeProvider = serviceConfig.getTimeProvider();
     this.eventBus = serviceConfig.getEventBus();
     this.eventChannels = serviceConfig.getEventChannels();
@@ -220,6 +230,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
                 .finish(err -> LOG.error("Failed to process recently fetched block.", err)));
     blockManager.subscribeToReceivedBlocks(recentBlockFetcher::cancelRecentBlockRequest);
     SafeFuture.allOfFailFast(
+            signatureVerificationService.start(),
             attestationManager.start(),
             p2pNetwork.start(),
             recentBlockFetcher.start(),
@@ -253,14 +264,22 @@ public class BeaconChainController extends Service implements TimeTickChannel {
         syncService.stop(),
         blockManager.stop(),
         attestationManager.stop(),
+        signatureVerificationService.stop(),
         p2pNetwork.stop());
   }
 
   private SafeFuture<?> initialize() {
+    if (config.getParallelHashSplitDepth() > 0) {
+      // States loaded from disk have to be fully re-hashed so spread the work across all cores
+      TreeUtil.enableParallelHashing(config.getParallelHashSplitDepth());
+    }
     final StoreConfig storeConfig =
         StoreConfig.builder()
             .hotStatePersistenceFrequencyInEpochs(config.getHotStatePersistenceFrequencyInEpochs())
             .disableBlockProcessingAtStartup(config.isBlockProcessingAtStartupDisabled())
+            .stateCacheMaxBytes(config.getStateCacheMaxMemoryMb() * BYTES_PER_MB)
+            .checkpointStateCacheMaxBytes(
+                config.getCheckpointStateCacheMaxMemoryMb() * BYTES_PER_MB)
             .build();
     coalescingChainHeadChannel =
         new CoalescingChainHeadChannel(eventChannels.getPublisher(ChainHeadChannel.class));
@@ -424,7 +443,13 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private void initForkChoice() {
     LOG.debug("BeaconChainController.initForkChoice()");
     forkChoiceExecutor = SingleThreadedForkChoiceExecutor.create();
-    forkChoice = new ForkChoice(forkChoiceExecutor, recentChainData, stateTransition);
+    forkChoice =
+        new ForkChoice(
+            forkChoiceExecutor,
+            blockProcessingAsyncRunner,
+            recentChainData,
+            stateTransition,
+            metricsSystem);
   }
 
   public void initMetrics() {
@@ -437,7 +462,11 @@ public class BeaconChainController extends Service implements TimeTickChannel {
 
   public void initDepositProvider() {
     LOG.debug("BeaconChainController.initDepositProvider()");
-    depositProvider = new DepositProvider(recentChainData, eth1DataCache);
+    depositProvider =
+        new DepositProvider(
+            recentChainData,
+            eth1DataCache,
+            eventChannels.getPublisher(Eth1DepositStorageChannel.class, asyncRunner));
     eventChannels
         .subscribe(Eth1EventsChannel.class, depositProvider)
         .subscribe(FinalizedCheckpointChannel.class, depositProvider);
@@ -520,10 +549,15 @@ public class BeaconChainController extends Service implements TimeTickChannel {
     final FutureItems<ValidateableAttestation> futureAttestations =
         FutureItems.create(
             ValidateableAttestation::getEarliestSlotForForkChoiceProcessing, UInt64.valueOf(3));
+    signatureVerificationService =
+        AggregatingSignatureVerificationService.create(
+            metricsSystem, SIGNATURE_VERIFICATION_THREAD_COUNT);
     AttestationValidator attestationValidator =
-        new AttestationValidator(recentChainData, new ForkChoiceUtilWrapper());
+        new AttestationValidator(
+            recentChainData, new ForkChoiceUtilWrapper(), signatureVerificationService);
     AggregateAttestationValidator aggregateValidator =
-        new AggregateAttestationValidator(recentChainData, attestationValidator);
+        new AggregateAttestationValidator(
+            recentChainData, attestationValidator, signatureVerificationService);
     blockImporter.subscribeToVerifiedBlockAttestations(
         (attestations) ->
             attestations.forEach(
@@ -646,7 +680,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
     LOG.debug("BeaconChainController.initAttestationPool()");
     attestationPool =
         new AggregatingAttestationPool(
-            new AttestationDataStateTransitionValidator(), metricsSystem);
+            new AttestationDataStateTransitionValidator(), metricsSystem, timeProvider);
     eventChannels.subscribe(SlotEventsChannel.class, attestationPool);
     blockImporter.subscribeToVerifiedBlockAttestations(attestationPool::removeAll);
   }
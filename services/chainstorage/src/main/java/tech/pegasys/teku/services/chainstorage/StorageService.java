@@ -55,7 +55,12 @@ public class StorageService extends Service {
                   serviceConfig.getConfig().getEth1DepositContractAddress());
           database = dbFactory.createDatabase();
 
-          chainStorage = ChainStorage.create(serviceConfig.getEventBus(), database);
+          chainStorage =
+              ChainStorage.create(
+                  serviceConfig.getEventBus(),
+                  database,
+                  serviceConfig.getMetricsSystem(),
+                  serviceConfig.createAsyncRunner("storagewriter", 1));
           final DepositStorage depositStorage =
               DepositStorage.create(
                   serviceConfig.getEventChannels().getPublisher(Eth1EventsChannel.class),
@@ -34,6 +34,12 @@ public interface ListViewWrite<ElementType extends ViewRead>
     set(size(), value);
   }
 
+  /**
+   * Replaces the whole content of this list with the content of the immutable list of the same
+   * type. Any uncommitted changes of this list are discarded
+   */
+  void setAll(ListViewRead<ElementType> list);
+
   @Override
   ListViewRead<ElementType> commitChanges();
 }
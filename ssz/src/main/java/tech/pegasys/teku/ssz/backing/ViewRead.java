@@ -13,6 +13,9 @@
 
 package tech.pegasys.teku.ssz.backing;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
@@ -48,4 +51,25 @@ public interface ViewRead {
   default Bytes sszSerialize() {
     return getType().sszSerialize(getBackingNode());
   }
+
+  /**
+   * Writes the SSZ serialization to the given stream as the backing tree is walked, without first
+   * building the full serialization in memory
+   */
+  default void sszSerialize(final OutputStream out) throws IOException {
+    try {
+      getType()
+          .sszSerialize(
+              getBackingNode(),
+              bytes -> {
+                try {
+                  out.write(bytes.toArrayUnsafe());
+                } catch (final IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+
+/**
+ * A branch node standing in for a subtree which is only created the first time the node is
+ * accessed. Once created, all calls are delegated to the root of the subtree.
+ */
+public class LazyBranchNode implements BranchNode {
+  private volatile Supplier<? extends BranchNode> subtreeSupplier;
+  private volatile BranchNode subtree;
+  private final int serializedSize;
+
+  /**
+   * @param subtreeSupplier creates the subtree when it's first accessed
+   * @param serializedSize the size in bytes of the SSZ the subtree is created from
+   */
+  public LazyBranchNode(
+      final Supplier<? extends BranchNode> subtreeSupplier, final int serializedSize) {
+    this.subtreeSupplier = subtreeSupplier;
+    this.serializedSize = serializedSize;
+  }
+
+  /** @return true if the subtree has been created */
+  public boolean isLoaded() {
+    return subtree != null;
+  }
+
+  /** @return the subtree if it has been created, without creating it */
+  public Optional<BranchNode> getLoadedSubtree() {
+    return Optional.ofNullable(subtree);
+  }
+
+  /** @return the size in bytes of the SSZ the subtree is created from */
+  public int getSerializedSize() {
+    return serializedSize;
+  }
+
+  private BranchNode getSubtree() {
+    BranchNode subtree = this.subtree;
+    if (subtree == null) {
+      synchronized (this) {
+        subtree = this.subtree;
+        if (subtree == null) {
+          subtree = subtreeSupplier.get();
+          this.subtree = subtree;
+          // Release whatever the supplier holds on to (e.g. the serialized subtree)
+          subtreeSupplier = null;
+        }
+      }
+    }
+    return subtree;
+  }
+
+  @Override
+  public TreeNode left() {
+    return getSubtree().left();
+  }
+
+  @Override
+  public TreeNode right() {
+    return getSubtree().right();
+  }
+
+  @Override
+  public BranchNode rebind(final boolean left, final TreeNode newNode) {
+    return getSubtree().rebind(left, newNode);
+  }
+
+  @Override
+  public TreeNode updated(final TreeUpdates newNodes) {
+    return newNodes.size() == 0 ? this : getSubtree().updated(newNodes);
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return getSubtree().hashTreeRoot();
+  }
+
+  @Override
+  public String toString() {
+    final BranchNode subtree = this.subtree;
+    return subtree == null ? "(Lazy)" : subtree.toString();
+  }
+}
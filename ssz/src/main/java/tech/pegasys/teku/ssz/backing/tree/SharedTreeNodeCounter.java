@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+
+/**
+ * Counts the distinct nodes held by a set of trees which may share subtrees, such as successive
+ * versions of a state. Nodes are counted the same way as {@link
+ * TreeUtil#estimateNonDefaultNodes(TreeNode)} except that a subtree shared by several trees is only
+ * counted once.
+ *
+ * <p>To keep the overhead small relative to the trees being counted, only subtrees of at least
+ * {@link #MIN_TRACKED_SUBTREE_NODES} nodes are tracked by identity. Smaller subtrees are counted as
+ * part of their closest tracked ancestor so sharing within them isn't detected.
+ *
+ * <p>A {@link LazyBranchNode} which has been loaded is counted as the subtree it loaded. One which
+ * hasn't is never loaded by counting. It still holds the SSZ it will be created from, so it's
+ * counted as the number of nodes that SSZ is estimated to load into, and it keeps that count until
+ * it is removed even if it's loaded in the meantime.
+ *
+ * <p>This class is not thread safe.
+ */
+public class SharedTreeNodeCounter {
+  static final int MIN_TRACKED_SUBTREE_NODES = 32;
+  private static final long TRACKED = -1;
+  // Each 32 byte chunk of SSZ loads into a leaf node plus, on average, one branch node above it
+  private static final int SSZ_BYTES_PER_LEAF = 32;
+  private static final int NODES_PER_LEAF = 2;
+
+  private final Map<TreeNode, Entry> trackedNodes = new IdentityHashMap<>();
+  private long nodeCount = 0;
+
+  /** @return the number of distinct nodes across all added trees */
+  public long getNodeCount() {
+    return nodeCount;
+  }
+
+  /**
+   * Adds a tree to the count.
+   *
+   * @param root the root of the tree
+   * @return the number of nodes in the tree which weren't already counted
+   */
+  public long add(final TreeNode root) {
+    final long previousCount = nodeCount;
+    final long untrackedNodes = addNode(root);
+    if (untrackedNodes != TRACKED) {
+      nodeCount += untrackedNodes;
+    }
+    return nodeCount - previousCount;
+  }
+
+  /**
+   * Removes a tree which was previously added. Each tree must be removed as many times as it was
+   * added.
+   *
+   * @param root the root of the tree
+   * @return the number of nodes which are no longer counted
+   */
+  public long remove(final TreeNode root) {
+    final long previousCount = nodeCount;
+    final TreeNode node = resolve(root);
+    if (trackedNodes.containsKey(node)) {
+      removeNode(node);
+    } else {
+      nodeCount -= countNodes(node);
+    }
+    return previousCount - nodeCount;
+  }
+
+  /**
+   * Returns the number of nodes that {@link #remove(TreeNode)} would stop counting, without
+   * removing the tree.
+   *
+   * @param root the root of a previously added tree
+   * @return the number of counted nodes only reachable from this tree
+   */
+  public long countExclusiveNodes(final TreeNode root) {
+    final TreeNode node = resolve(root);
+    final Entry entry = trackedNodes.get(node);
+    if (entry == null) {
+      return countNodes(node);
+    }
+    return entry.references == 1 ? countExclusiveNodes(node, entry) : 0;
+  }
+
+  private long addNode(final TreeNode originalNode) {
+    final TreeNode node = resolve(originalNode);
+    final Entry existing = trackedNodes.get(node);
+    if (existing != null) {
+      existing.references++;
+      return TRACKED;
+    }
+    if (node instanceof LazyBranchNode) {
+      // Tracked so that it's removed with the same estimate even if it's loaded in the meantime
+      final long estimatedNodes = estimateUnloadedNodes((LazyBranchNode) node);
+      trackedNodes.put(node, new Entry(estimatedNodes, false));
+      nodeCount += estimatedNodes;
+      return TRACKED;
+    }
+    if (!(node instanceof BranchNode)) {
+      return 1;
+    }
+    final BranchNode branchNode = (BranchNode) node;
+    if (branchNode.left() == branchNode.right()) {
+      return 0;
+    }
+    final long left = addNode(branchNode.left());
+    final long right = addNode(branchNode.right());
+    if (left != TRACKED && right != TRACKED && left + right + 1 < MIN_TRACKED_SUBTREE_NODES) {
+      return left + right + 1;
+    }
+    // Either child is at least the minimum size or this node is, so track it
+    final long ownNodes = Math.max(left, 0) + Math.max(right, 0) + 1;
+    trackedNodes.put(node, new Entry(ownNodes, true));
+    nodeCount += ownNodes;
+    return TRACKED;
+  }
+
+  private void removeNode(final TreeNode originalNode) {
+    final TreeNode node = resolve(originalNode);
+    final Entry entry = trackedNodes.get(node);
+    if (entry == null) {
+      // Untracked subtrees were counted as part of their tracked ancestor
+      return;
+    }
+    entry.references--;
+    if (entry.references > 0) {
+      return;
+    }
+    trackedNodes.remove(node);
+    nodeCount -= entry.ownNodes;
+    if (!entry.hasChildren) {
+      return;
+    }
+    final BranchNode branchNode = (BranchNode) node;
+    removeNode(branchNode.left());
+    removeNode(branchNode.right());
+  }
+
+  private long countExclusiveNodes(final TreeNode node, final Entry entry) {
+    long count = entry.ownNodes;
+    if (!entry.hasChildren) {
+      return count;
+    }
+    final BranchNode branchNode = (BranchNode) node;
+    for (TreeNode originalChild : new TreeNode[] {branchNode.left(), branchNode.right()}) {
+      final TreeNode child = resolve(originalChild);
+      final Entry childEntry = trackedNodes.get(child);
+      // A child referenced by any other tracked node is shared and so remains counted
+      if (childEntry != null && childEntry.references == 1) {
+        count += countExclusiveNodes(child, childEntry);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the loaded subtree in place of a loaded {@link LazyBranchNode} unless the lazy node was
+   * tracked before it was loaded, so that nodes shared with trees derived from the loaded subtree
+   * are only counted once.
+   */
+  private TreeNode resolve(final TreeNode node) {
+    TreeNode resolved = node;
+    while (resolved instanceof LazyBranchNode && !trackedNodes.containsKey(resolved)) {
+      final Optional<BranchNode> subtree = ((LazyBranchNode) resolved).getLoadedSubtree();
+      if (subtree.isEmpty()) {
+        break;
+      }
+      resolved = subtree.get();
+    }
+    return resolved;
+  }
+
+  /** Counts the nodes of a subtree which has no tracked nodes or unloaded lazy nodes */
+  private static long countNodes(final TreeNode node) {
+    if (node instanceof LazyBranchNode) {
+      return ((LazyBranchNode) node)
+          .getLoadedSubtree()
+          .map(SharedTreeNodeCounter::countNodes)
+          .orElseGet(() -> estimateUnloadedNodes((LazyBranchNode) node));
+    }
+    if (!(node instanceof BranchNode)) {
+      return 1;
+    }
+    final BranchNode branchNode = (BranchNode) node;
+    if (branchNode.left() == branchNode.right()) {
+      return 0;
+    }
+    return countNodes(branchNode.left()) + countNodes(branchNode.right()) + 1;
+  }
+
+  private static long estimateUnloadedNodes(final LazyBranchNode node) {
+    final long leaves = (node.getSerializedSize() + SSZ_BYTES_PER_LEAF - 1) / SSZ_BYTES_PER_LEAF;
+    return Math.max(1, leaves * NODES_PER_LEAF);
+  }
+
+  private static class Entry {
+    private final long ownNodes;
+    // False for unloaded lazy nodes which are counted without looking at their children
+    private final boolean hasChildren;
+    private int references = 1;
+
+    private Entry(final long ownNodes, final boolean hasChildren) {
+      this.ownNodes = ownNodes;
+      this.hasChildren = hasChildren;
+    }
+  }
+}
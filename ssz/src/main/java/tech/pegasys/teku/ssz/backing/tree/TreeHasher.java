@@ -0,0 +1,268 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeImpl.BranchNodeImpl;
+
+/**
+ * Computes the hashes of all branch nodes of a tree which don't have a cached hash yet.
+ *
+ * <p>Rather than recursively hashing one node at a time, the dirty branch nodes are first grouped
+ * by their height above the nearest already hashed nodes. Each level is then hashed in turn with a
+ * per-thread {@link MessageDigest} and a reused 64 byte buffer holding the two child hashes, so the
+ * only allocation per node is the resulting hash.
+ *
+ * <p>When parallel hashing is enabled, trees with enough dirty nodes are instead split at the
+ * configured depth and the independent dirty subtrees below that depth are hashed on a {@link
+ * ForkJoinPool}. The branches above the split depth are then hashed once their children are done.
+ */
+class TreeHasher {
+  private static final int HASH_SIZE = Bytes32.SIZE;
+  // Avoid holding on to large buffers per thread after hashing an unusually large tree
+  private static final int MAX_RETAINED_LEVEL_SIZE = 1 << 16;
+
+  // Below this many dirty nodes the cost of handing off to the pool outweighs the gain
+  static final int MIN_PARALLEL_DIRTY_NODES = 1 << 12;
+
+  private static final ThreadLocal<TreeHasher> HASHERS = ThreadLocal.withInitial(TreeHasher::new);
+
+  private static volatile ParallelHashing parallelHashing = null;
+
+  private final MessageDigest digest;
+  private final byte[] childHashes = new byte[2 * HASH_SIZE];
+  private final List<List<BranchNodeImpl>> levels = new ArrayList<>();
+  private boolean inUse = false;
+  // Used by this thread for hashes started while this hasher is in use
+  private TreeHasher nestedHasher;
+
+  private TreeHasher() {
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  /**
+   * Hashes {@code root} and every branch node below it that doesn't already have a cached hash,
+   * storing the result in each node.
+   *
+   * @param root the node to hash
+   * @return the hash of {@code root}
+   */
+  static Bytes32 hashTreeRoot(final BranchNodeImpl root) {
+    final ParallelHashing parallel = parallelHashing;
+    if (parallel != null && parallel.shouldHashInParallel(root)) {
+      return parallel.hash(root);
+    }
+    return hashSequentially(root);
+  }
+
+  /**
+   * Hash trees with at least {@link #MIN_PARALLEL_DIRTY_NODES} dirty nodes in parallel, splitting
+   * the tree into subtrees at the given depth below the node being hashed.
+   *
+   * @param splitDepth the depth below which subtrees are hashed by a single thread
+   * @param parallelism the number of threads to hash subtrees with
+   */
+  static synchronized void enableParallelHashing(final int splitDepth, final int parallelism) {
+    checkArgument(splitDepth > 0, "Split depth must be greater than zero");
+    disableParallelHashing();
+    parallelHashing = new ParallelHashing(new ForkJoinPool(parallelism), splitDepth);
+  }
+
+  static synchronized void disableParallelHashing() {
+    final ParallelHashing previous = parallelHashing;
+    parallelHashing = null;
+    if (previous != null) {
+      previous.pool.shutdown();
+    }
+  }
+
+  private static Bytes32 hashSequentially(final BranchNodeImpl root) {
+    // A BranchNode implementation other than BranchNodeImpl, e.g. LazyBranchNode, calls back in to
+    // hash its children. Each level of nesting reuses the thread's hasher for that level so no
+    // digest is created per lazy subtree
+    TreeHasher hasher = HASHERS.get();
+    while (hasher.inUse) {
+      hasher = hasher.getNestedHasher();
+    }
+    return hasher.hash(root);
+  }
+
+  private TreeHasher getNestedHasher() {
+    if (nestedHasher == null) {
+      nestedHasher = new TreeHasher();
+    }
+    return nestedHasher;
+  }
+
+  private Bytes32 hash(final BranchNodeImpl root) {
+    if (root.cachedHash != null) {
+      return root.cachedHash;
+    }
+    inUse = true;
+    try {
+      final int maxHeight = collectDirtyNodes(root);
+      for (int height = 0; height <= maxHeight; height++) {
+        final List<BranchNodeImpl> level = levels.get(height);
+        for (int i = 0; i < level.size(); i++) {
+          hashNode(level.get(i));
+        }
+      }
+    } finally {
+      for (int height = 0; height < levels.size(); height++) {
+        if (levels.get(height).size() > MAX_RETAINED_LEVEL_SIZE) {
+          levels.set(height, new ArrayList<>());
+        } else {
+          levels.get(height).clear();
+        }
+      }
+      inUse = false;
+    }
+    return root.cachedHash;
+  }
+
+  /**
+   * Adds {@code node} and its unhashed descendants to {@link #levels} so that every node is at a
+   * higher level than its children.
+   *
+   * @return the level {@code node} was added to
+   */
+  private int collectDirtyNodes(final BranchNodeImpl node) {
+    final TreeNode left = node.left();
+    final TreeNode right = node.right();
+    int height = 0;
+    if (isDirty(left)) {
+      height = collectDirtyNodes((BranchNodeImpl) left) + 1;
+    }
+    // Default subtrees commonly use the same instance for both children
+    if (right != left && isDirty(right)) {
+      height = Math.max(height, collectDirtyNodes((BranchNodeImpl) right) + 1);
+    }
+    while (levels.size() <= height) {
+      levels.add(new ArrayList<>());
+    }
+    levels.get(height).add(node);
+    return height;
+  }
+
+  private void hashNode(final BranchNodeImpl node) {
+    if (node.cachedHash != null) {
+      // Already hashed as a result of appearing more than once in the tree
+      return;
+    }
+    System.arraycopy(node.left().hashTreeRoot().toArrayUnsafe(), 0, childHashes, 0, HASH_SIZE);
+    System.arraycopy(
+        node.right().hashTreeRoot().toArrayUnsafe(), 0, childHashes, HASH_SIZE, HASH_SIZE);
+    final byte[] hash = new byte[HASH_SIZE];
+    digest.update(childHashes);
+    try {
+      digest.digest(hash, 0, HASH_SIZE);
+    } catch (final DigestException e) {
+      throw new IllegalStateException("Failed to compute SHA-256 digest", e);
+    }
+    node.cachedHash = Bytes32.wrap(hash);
+  }
+
+  private static boolean isDirty(final TreeNode node) {
+    return node instanceof BranchNodeImpl && ((BranchNodeImpl) node).cachedHash == null;
+  }
+
+  /**
+   * Counts the dirty nodes in the tree rooted at {@code node}, stopping early once {@code limit} is
+   * reached so that the cost is bounded for large trees.
+   */
+  static int countDirtyNodes(final BranchNodeImpl node, final int limit) {
+    int count = 1;
+    final TreeNode left = node.left();
+    final TreeNode right = node.right();
+    if (count < limit && isDirty(left)) {
+      count += countDirtyNodes((BranchNodeImpl) left, limit - count);
+    }
+    if (count < limit && right != left && isDirty(right)) {
+      count += countDirtyNodes((BranchNodeImpl) right, limit - count);
+    }
+    return count;
+  }
+
+  private static class ParallelHashing {
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    private ParallelHashing(final ForkJoinPool pool, final int splitDepth) {
+      this.pool = pool;
+      this.splitDepth = splitDepth;
+    }
+
+    private boolean shouldHashInParallel(final BranchNodeImpl root) {
+      // Subtrees hashed by the pool's threads are already part of a parallel hash
+      return ForkJoinTask.getPool() != pool
+          && !pool.isShutdown()
+          && countDirtyNodes(root, MIN_PARALLEL_DIRTY_NODES) >= MIN_PARALLEL_DIRTY_NODES;
+    }
+
+    private Bytes32 hash(final BranchNodeImpl root) {
+      pool.invoke(new SubtreeHashTask(root, 0, splitDepth));
+      return root.cachedHash;
+    }
+  }
+
+  private static class SubtreeHashTask extends RecursiveAction {
+    private final BranchNodeImpl node;
+    private final int depth;
+    private final int splitDepth;
+
+    private SubtreeHashTask(final BranchNodeImpl node, final int depth, final int splitDepth) {
+      this.node = node;
+      this.depth = depth;
+      this.splitDepth = splitDepth;
+    }
+
+    @Override
+    protected void compute() {
+      if (depth < splitDepth) {
+        final TreeNode left = node.left();
+        final TreeNode right = node.right();
+        final boolean leftDirty = isDirty(left);
+        final boolean rightDirty = right != left && isDirty(right);
+        if (leftDirty && rightDirty) {
+          invokeAll(childTask(left), childTask(right));
+        } else if (leftDirty) {
+          // Only fork where the dirty nodes branch, a single dirty path is hashed in this thread
+          childTask(left).compute();
+        } else if (rightDirty) {
+          childTask(right).compute();
+        }
+      }
+      // Above the split depth the children are all hashed so this only hashes the node itself
+      hashSequentially(node);
+    }
+
+    private SubtreeHashTask childTask(final TreeNode child) {
+      return new SubtreeHashTask((BranchNodeImpl) child, depth + 1, splitDepth);
+    }
+  }
+}
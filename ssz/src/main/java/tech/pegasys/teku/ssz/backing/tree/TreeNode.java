@@ -17,6 +17,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static tech.pegasys.teku.ssz.backing.tree.TreeNodeImpl.LeafNodeImpl;
 
 import java.util.function.Function;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
@@ -104,6 +105,21 @@ public interface TreeNode {
      */
     BranchNode rebind(boolean left, TreeNode newNode);
 
+    @Override
+    default TreeNode updated(TreeUpdates newNodes) {
+      if (newNodes.size() == 0) {
+        return this;
+      } else if (newNodes.isFinal()) {
+        return newNodes.getNode(0);
+      } else {
+        // The generalized indexes of split updates are relative to the root of the whole tree so
+        // they need to be split again rather than applied to this node one by one
+        Pair<TreeUpdates, TreeUpdates> children = newNodes.splitAtPivot();
+        return rebind(true, left().updated(children.getLeft()))
+            .rebind(false, right().updated(children.getRight()));
+      }
+    }
+
     @Override
     default Bytes32 hashTreeRoot() {
       return Hash.sha2_256(Bytes.concatenate(left().hashTreeRoot(), right().hashTreeRoot()));
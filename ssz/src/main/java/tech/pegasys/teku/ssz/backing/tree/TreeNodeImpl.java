@@ -82,7 +82,8 @@ abstract class TreeNodeImpl implements TreeNode {
   static class BranchNodeImpl extends TreeNodeImpl implements BranchNode {
     private final TreeNode left;
     private final TreeNode right;
-    private volatile Bytes32 cachedHash = null;
+    // Filled in by TreeHasher for this node and any unhashed descendants at the same time
+    volatile Bytes32 cachedHash = null;
 
     public BranchNodeImpl(TreeNode left, TreeNode right) {
       this.left = left;
@@ -121,10 +122,8 @@ abstract class TreeNodeImpl implements TreeNode {
 
     @Override
     public Bytes32 hashTreeRoot() {
-      if (cachedHash == null) {
-        cachedHash = BranchNode.super.hashTreeRoot();
-      }
-      return cachedHash;
+      final Bytes32 hash = cachedHash;
+      return hash != null ? hash : TreeHasher.hashTreeRoot(this);
     }
 
     @Override
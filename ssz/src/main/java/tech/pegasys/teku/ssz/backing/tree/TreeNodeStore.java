@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Persistent storage for the branch nodes of trees written with {@link TreeStorage}. Each branch
+ * node is keyed by its hash so subtrees shared between trees are only stored once.
+ */
+public interface TreeNodeStore {
+
+  /**
+   * @param root the hash of the branch node
+   * @return true if the branch node, and so its entire subtree, has already been stored
+   */
+  boolean containsBranchNode(Bytes32 root);
+
+  /**
+   * Stores a branch node. The node's children must be stored in the same transaction or before it.
+   *
+   * @param root the hash of the branch node
+   * @param children the encoded children of the node
+   */
+  void storeBranchNode(Bytes32 root, Bytes children);
+
+  /**
+   * @param root the hash of the branch node
+   * @return the encoded children of the node, or empty if it hasn't been stored
+   */
+  Optional<Bytes> loadBranchNode(Bytes32 root);
+}
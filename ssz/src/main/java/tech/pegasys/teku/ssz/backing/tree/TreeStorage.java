@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.LeafNode;
+
+/**
+ * Writes trees to a {@link TreeNodeStore} one branch node at a time and loads them back lazily.
+ *
+ * <p>Each stored branch node holds both of its children. Leaf children are stored inline as their
+ * data while branch children are stored as their hash, referring to another stored branch node.
+ * When storing a tree, any branch node which is already in the store is skipped along with its
+ * subtree, so consecutive versions of a tree only store the branches which changed between them.
+ * The shared default subtrees are never stored, only their depth is recorded.
+ *
+ * <p>Since branches are identified by hash alone, a loaded tree may have leaves with a different
+ * amount of zero padding than the tree that was stored, which the SSZ serialization of the views
+ * tolerates.
+ *
+ * <p>Loaded trees only read branch nodes from the store as they are accessed, so a view over the
+ * tree only loads the parts of it which are actually used.
+ */
+public class TreeStorage {
+  private static final byte BRANCH_CHILD = (byte) 0xff;
+  private static final byte ZERO_BRANCH_CHILD = (byte) 0xfe;
+  private static final int MAX_CHILD_SIZE = 2 + TreeNode.NODE_BYTE_SIZE;
+
+  private TreeStorage() {}
+
+  /**
+   * Stores all branch nodes of the tree which aren't already in the store.
+   *
+   * @param root the root of the tree to store, which must be a branch node
+   * @param store the store to write to
+   * @return the number of branch nodes written
+   */
+  public static int storeTree(final TreeNode root, final TreeNodeStore store) {
+    checkArgument(root instanceof BranchNode, "Only trees with a branch node root can be stored");
+    // Compute all hashes up front rather than one node at a time while walking the tree
+    root.hashTreeRoot();
+    return storeBranch((BranchNode) root, store);
+  }
+
+  /**
+   * Creates a tree which loads its branch nodes from the store as they are accessed.
+   *
+   * @param root the hash of the root node of the tree
+   * @param store the store to load nodes from
+   * @return the root node of the tree
+   */
+  public static TreeNode loadTree(final Bytes32 root, final TreeNodeStore store) {
+    return new StoredBranchNode(root, store);
+  }
+
+  private static int storeBranch(final BranchNode node, final TreeNodeStore store) {
+    final Bytes32 root = node.hashTreeRoot();
+    if (store.containsBranchNode(root)) {
+      return 0;
+    }
+    final TreeNode left = node.left();
+    final TreeNode right = node.right();
+    final MutableBytes children = MutableBytes.create(2 * MAX_CHILD_SIZE);
+    int size = encodeChild(left, children, 0);
+    size = encodeChild(right, children, size);
+    store.storeBranchNode(root, children.slice(0, size).copy());
+
+    int stored = 1;
+    if (isStoredBranch(left)) {
+      stored += storeBranch((BranchNode) left, store);
+    }
+    // Default subtrees commonly use the same instance for both children
+    if (isStoredBranch(right) && right != left) {
+      stored += storeBranch((BranchNode) right, store);
+    }
+    return stored;
+  }
+
+  private static boolean isStoredBranch(final TreeNode node) {
+    return node instanceof BranchNode && !TreeUtil.isZeroBranch(node);
+  }
+
+  private static int encodeChild(final TreeNode child, final MutableBytes output, int offset) {
+    if (child instanceof LeafNode) {
+      final Bytes data = ((LeafNode) child).getData();
+      output.set(offset++, (byte) data.size());
+      data.copyTo(output, offset);
+      return offset + data.size();
+    }
+    if (TreeUtil.isZeroBranch(child)) {
+      output.set(offset++, ZERO_BRANCH_CHILD);
+      output.set(offset++, (byte) TreeUtil.getZeroBranchDepth(child));
+      return offset;
+    }
+    output.set(offset++, BRANCH_CHILD);
+    child.hashTreeRoot().copyTo(output, offset);
+    return offset + Bytes32.SIZE;
+  }
+
+  private static TreeNode decodeChild(
+      final Bytes encoded, final int offset, final TreeNodeStore store) {
+    final byte type = encoded.get(offset);
+    if (type == BRANCH_CHILD) {
+      return loadTree(Bytes32.wrap(encoded.slice(offset + 1, Bytes32.SIZE)), store);
+    } else if (type == ZERO_BRANCH_CHILD) {
+      return TreeUtil.getZeroTree(encoded.get(offset + 1));
+    }
+    final Bytes data = encoded.slice(offset + 1, type);
+    return data.isZero() ? TreeUtil.ZERO_LEAVES[data.size()] : TreeNode.createLeafNode(data.copy());
+  }
+
+  private static int encodedChildSize(final Bytes encoded, final int offset) {
+    final byte type = encoded.get(offset);
+    if (type == BRANCH_CHILD) {
+      return 1 + Bytes32.SIZE;
+    } else if (type == ZERO_BRANCH_CHILD) {
+      return 2;
+    }
+    return 1 + type;
+  }
+
+  /** A branch node which loads its children from the store the first time they're accessed. */
+  private static class StoredBranchNode implements BranchNode {
+    private final Bytes32 root;
+    private final TreeNodeStore store;
+    private volatile TreeNode left;
+    private volatile TreeNode right;
+
+    private StoredBranchNode(final Bytes32 root, final TreeNodeStore store) {
+      this.root = root;
+      this.store = store;
+    }
+
+    @Override
+    public TreeNode left() {
+      TreeNode left = this.left;
+      if (left == null) {
+        load();
+        left = this.left;
+      }
+      return left;
+    }
+
+    @Override
+    public TreeNode right() {
+      TreeNode right = this.right;
+      if (right == null) {
+        load();
+        right = this.right;
+      }
+      return right;
+    }
+
+    private void load() {
+      final Bytes encoded = store.loadBranchNode(root).orElseThrow(missingNode(root));
+      final int leftSize = encodedChildSize(encoded, 0);
+      // Concurrent loads of the same node are harmless as they produce equivalent children
+      left = decodeChild(encoded, 0, store);
+      right = decodeChild(encoded, leftSize, store);
+    }
+
+    @Override
+    public BranchNode rebind(final boolean left, final TreeNode newNode) {
+      return left
+          ? new TreeNodeImpl.BranchNodeImpl(newNode, right())
+          : new TreeNodeImpl.BranchNodeImpl(left(), newNode);
+    }
+
+    @Override
+    public Bytes32 hashTreeRoot() {
+      return root;
+    }
+
+    @Override
+    public String toString() {
+      return "(Stored-" + root + ")";
+    }
+  }
+
+  private static Supplier<IllegalStateException> missingNode(final Bytes32 root) {
+    return () -> new IllegalStateException("Stored tree is missing branch node " + root);
+  }
+}
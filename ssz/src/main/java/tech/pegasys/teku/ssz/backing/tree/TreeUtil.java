@@ -116,7 +116,11 @@ public class TreeUtil {
     }
   }
 
-  private static TreeNode createTree(List<TreeNode> leafNodes, int depth) {
+  /**
+   * Creates a binary tree of the given depth with the specified leaf nodes followed by default
+   * (zero) nodes
+   */
+  public static TreeNode createTree(List<TreeNode> leafNodes, int depth) {
     if (leafNodes.isEmpty()) {
       return ZERO_TREES[depth];
     } else if (depth == 0) {
@@ -133,10 +137,84 @@ public class TreeUtil {
     }
   }
 
+  /**
+   * Replaces nodes at the same depth of a tree, rebuilding the tree bottom-up one level at a time.
+   * Only the siblings of replaced nodes which weren't replaced themselves are looked up in the
+   * original tree, so this is cheaper than {@link TreeNode#updated(TreeUpdates)} when the
+   * replaced nodes form a few dense ranges.
+   *
+   * @param root the original tree
+   * @param depth the depth of the replaced nodes below {@code root}
+   * @param positions the positions of the replaced nodes at {@code depth}, unique and sorted in
+   *     ascending order. The array is overwritten
+   * @param nodes the new nodes in the same order as {@code positions}. The array is overwritten
+   * @param count the number of replaced nodes
+   * @return the root of the updated tree
+   */
+  public static TreeNode replaceNodesAtDepth(
+      TreeNode root, int depth, long[] positions, TreeNode[] nodes, int count) {
+    if (count == 0) {
+      return root;
+    }
+    int levelCount = count;
+    for (int level = depth; level > 0; level--) {
+      final long levelStart = 1L << level;
+      int parentCount = 0;
+      for (int i = 0; i < levelCount; i++) {
+        final long position = positions[i];
+        final TreeNode left;
+        final TreeNode right;
+        if ((position & 1) == 0) {
+          left = nodes[i];
+          if (i + 1 < levelCount && positions[i + 1] == position + 1) {
+            right = nodes[++i];
+          } else {
+            right = root.get(levelStart + position + 1);
+          }
+        } else {
+          left = root.get(levelStart + position - 1);
+          right = nodes[i];
+        }
+        positions[parentCount] = position >>> 1;
+        nodes[parentCount] = new BranchNodeImpl(left, right);
+        parentCount++;
+      }
+      levelCount = parentCount;
+    }
+    return nodes[0];
+  }
+
+  /** @return true if the node is the shared default subtree of some depth above zero */
+  static boolean isZeroBranch(TreeNode node) {
+    return node instanceof ZeroBranchNode;
+  }
+
+  static int getZeroBranchDepth(TreeNode zeroBranch) {
+    return ((ZeroBranchNode) zeroBranch).height;
+  }
+
+  static TreeNode getZeroTree(int depth) {
+    return ZERO_TREES[depth];
+  }
+
   public static int treeDepth(long maxChunks) {
     return Long.bitCount(Utils.nextPowerOf2(maxChunks) - 1);
   }
 
+  /**
+   * Enables hashing large trees with many unhashed nodes (e.g. a state just loaded from disk) in
+   * parallel. Such trees are split at {@code splitDepth} levels below the node being hashed and the
+   * subtrees below that depth are hashed concurrently using all available processors.
+   */
+  public static void enableParallelHashing(int splitDepth) {
+    TreeHasher.enableParallelHashing(splitDepth, Runtime.getRuntime().availableProcessors());
+  }
+
+  /** Reverts to hashing every tree on the calling thread */
+  public static void disableParallelHashing() {
+    TreeHasher.disableParallelHashing();
+  }
+
   /** Estimates the number of 'non-default' tree nodes */
   public static int estimateNonDefaultNodes(TreeNode node) {
     if (node instanceof LeafNode) {
@@ -76,6 +76,16 @@ public abstract class BasicViewType<C extends ViewRead> implements ViewType {
     return 0;
   }
 
+  @Override
+  public TreeNode sszDeserializeTree(Bytes ssz) {
+    checkArgument(
+        ssz.size() == getSSZBytesSize(),
+        "Invalid SSZ: expected %s bytes but got %s",
+        getSSZBytesSize(),
+        ssz.size());
+    return TreeNode.createLeafNode(ssz);
+  }
+
   @Override
   public int sszSerialize(TreeNode node, Consumer<Bytes> writer) {
     Bytes ret = node.hashTreeRoot().slice(0, getSSZBytesSize());
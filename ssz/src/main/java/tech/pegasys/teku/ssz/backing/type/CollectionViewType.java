@@ -13,6 +13,10 @@
 
 package tech.pegasys.teku.ssz.backing.type;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 import org.apache.tuweni.bytes.Bytes;
@@ -25,6 +29,7 @@ public abstract class CollectionViewType implements CompositeViewType {
   private final long maxLength;
   private final ViewType elementType;
   private volatile TreeNode defaultTree;
+  private volatile int[] elementLeafSizes;
 
   CollectionViewType(long maxLength, ViewType elementType) {
     this.maxLength = maxLength;
@@ -86,25 +91,102 @@ public abstract class CollectionViewType implements CompositeViewType {
     }
   }
 
+  /**
+   * Serializes the leaves of a fixed size vector as is, only resizing a leaf if its data length
+   * doesn't match the length expected for the type. Leaves with the same {@link
+   * TreeNode#hashTreeRoot()} but different amount of zero padding are interchangeable in a tree
+   * (e.g. when subtrees are shared by root with {@link
+   * tech.pegasys.teku.ssz.backing.tree.TreeStorage}) so the data length can't be trusted.
+   */
   private int sszSerializeFixedVectorFast(
       TreeNode vectorNode, Consumer<Bytes> writer, int elementsCount) {
     if (elementsCount == 0) {
       return 0;
     }
     int nodesCount = getChunks(elementsCount);
+    int[] leafSizes = getElementType() instanceof BasicViewType ? null : getElementLeafSizes();
+    int lastLeafSize =
+        (elementsCount * getElementType().getBitsSize() + 7) / 8
+            - (nodesCount - 1) * TreeNode.NODE_BYTE_SIZE;
+    int[] leafIdx = new int[1];
     int[] bytesCnt = new int[1];
     TreeUtil.iterateLeaves(
         vectorNode,
         getGeneralizedIndex(0),
         getGeneralizedIndex(nodesCount - 1),
         leaf -> {
+          int expectedSize;
+          if (leafSizes != null) {
+            expectedSize = leafSizes[leafIdx[0] % leafSizes.length];
+          } else {
+            expectedSize = leafIdx[0] < nodesCount - 1 ? TreeNode.NODE_BYTE_SIZE : lastLeafSize;
+          }
+          leafIdx[0]++;
           Bytes ssz = leaf.getData();
+          if (ssz.size() != expectedSize) {
+            ssz = leaf.hashTreeRoot().slice(0, expectedSize);
+          }
           writer.accept(ssz);
           bytesCnt[0] += ssz.size();
         });
     return bytesCnt[0];
   }
 
+  /** Data lengths of the leaves of a single fixed size composite element in iteration order */
+  private int[] getElementLeafSizes() {
+    if (elementLeafSizes == null) {
+      List<Integer> sizes = new ArrayList<>();
+      TreeUtil.iterateLeaves(
+          getElementType().getDefaultTree(), 1, 1, leaf -> sizes.add(leaf.getData().size()));
+      this.elementLeafSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+    return elementLeafSizes;
+  }
+
+  /**
+   * Creates the tree of {@code depth} holding the {@code elementsCount} elements serialized in
+   * {@code ssz}
+   *
+   * @param ssz for a {@link VectorViewType} type - the whole SSZ, for a {@link ListViewType} - the
+   *     SSZ of the elements, excluding the delimiting bit of a bitlist
+   */
+  protected TreeNode sszDeserializeVectorTree(Bytes ssz, int elementsCount, int depth) {
+    ViewType elementType = getElementType();
+    List<TreeNode> nodes = new ArrayList<>();
+    if (elementType instanceof BasicViewType) {
+      int totalBytes = (elementsCount * elementType.getBitsSize() + 7) / 8;
+      checkArgument(
+          ssz.size() == totalBytes,
+          "Invalid SSZ: expected %s bytes but got %s",
+          totalBytes,
+          ssz.size());
+      for (int offset = 0; offset < totalBytes; offset += TreeNode.NODE_BYTE_SIZE) {
+        int chunkSize = Math.min(TreeNode.NODE_BYTE_SIZE, totalBytes - offset);
+        nodes.add(TreeNode.createLeafNode(ssz.slice(offset, chunkSize)));
+      }
+    } else if (elementType.isFixedSize()) {
+      int elementSize = elementType.getFixedPartSize();
+      checkArgument(
+          ssz.size() == elementsCount * elementSize,
+          "Invalid SSZ: expected %s bytes but got %s",
+          elementsCount * elementSize,
+          ssz.size());
+      for (int i = 0; i < elementsCount; i++) {
+        nodes.add(SszTreeReader.readChild(elementType, ssz.slice(i * elementSize, elementSize)));
+      }
+    } else {
+      int[] offsets = new int[elementsCount];
+      for (int i = 0; i < elementsCount; i++) {
+        offsets[i] = SszTreeReader.readOffset(ssz, i * SSZ_LENGTH_SIZE);
+      }
+      for (Bytes elementSsz :
+          SszTreeReader.readVariableParts(ssz, offsets, elementsCount * SSZ_LENGTH_SIZE)) {
+        nodes.add(SszTreeReader.readChild(elementType, elementSsz));
+      }
+    }
+    return TreeUtil.createTree(nodes, depth);
+  }
+
   private int sszSerializeVariableVector(
       TreeNode vectorNode, Consumer<Bytes> writer, int elementsCount) {
     ViewType elementType = getElementType();
@@ -120,6 +120,37 @@ public class ContainerViewType<C extends ContainerViewRead> implements Composite
     return size;
   }
 
+  @Override
+  public TreeNode sszDeserializeTree(Bytes ssz) {
+    List<TreeNode> children = new ArrayList<>(getChildCount());
+    List<Integer> variableChildIndices = new ArrayList<>();
+    List<Integer> variableChildOffsets = new ArrayList<>();
+    int position = 0;
+    for (int i = 0; i < getChildCount(); i++) {
+      ViewType childType = getChildType(i);
+      if (childType.isFixedSize()) {
+        int childSize = childType.getFixedPartSize();
+        children.add(
+            SszTreeReader.readChild(childType, SszTreeReader.slice(ssz, position, childSize)));
+        position += childSize;
+      } else {
+        variableChildIndices.add(i);
+        variableChildOffsets.add(SszTreeReader.readOffset(ssz, position));
+        // Filled in once the variable parts are known
+        children.add(null);
+        position += SSZ_LENGTH_SIZE;
+      }
+    }
+    Bytes[] variableParts =
+        SszTreeReader.readVariableParts(
+            ssz, variableChildOffsets.stream().mapToInt(Integer::intValue).toArray(), position);
+    for (int i = 0; i < variableParts.length; i++) {
+      int childIndex = variableChildIndices.get(i);
+      children.set(childIndex, SszTreeReader.readChild(getChildType(childIndex), variableParts[i]));
+    }
+    return TreeUtil.createTree(children);
+  }
+
   private int getChildCount() {
     return (int) getMaxLength();
   }
@@ -13,6 +13,10 @@
 
 package tech.pegasys.teku.ssz.backing.type;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteOrder;
+import java.util.List;
 import java.util.function.Consumer;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.MutableBytes;
@@ -20,6 +24,7 @@ import tech.pegasys.teku.ssz.backing.ListViewRead;
 import tech.pegasys.teku.ssz.backing.ViewRead;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeUtil;
 import tech.pegasys.teku.ssz.backing.view.ListViewReadImpl;
 
 public class ListViewType<C extends ViewRead> extends CollectionViewType {
@@ -100,6 +105,47 @@ public class ListViewType<C extends ViewRead> extends CollectionViewType {
     }
   }
 
+  @Override
+  public TreeNode sszDeserializeTree(Bytes ssz) {
+    ViewType elementType = getElementType();
+    int elementsCount;
+    Bytes elementsSsz = ssz;
+    if (elementType.getBitsSize() == 1) {
+      // Bitlist is handled specially: the last set bit delimits the list length
+      checkArgument(
+          !ssz.isEmpty() && ssz.get(ssz.size() - 1) != 0,
+          "Invalid SSZ: bitlist is missing the length delimiting bit");
+      int lastByte = ssz.get(ssz.size() - 1) & 0xFF;
+      int delimiterBit = Integer.numberOfTrailingZeros(Integer.highestOneBit(lastByte));
+      elementsCount = (ssz.size() - 1) * 8 + delimiterBit;
+      MutableBytes bits = ssz.slice(0, (elementsCount + 7) / 8).mutableCopy();
+      if (delimiterBit > 0) {
+        bits.set(bits.size() - 1, (byte) (lastByte ^ (1 << delimiterBit)));
+      }
+      elementsSsz = bits;
+    } else if (elementType.isFixedSize()) {
+      int elementSize = elementType.getFixedPartSize();
+      checkArgument(
+          ssz.size() % elementSize == 0,
+          "Invalid SSZ: %s bytes is not a multiple of the element size %s",
+          ssz.size(),
+          elementSize);
+      elementsCount = ssz.size() / elementSize;
+    } else {
+      elementsCount = ssz.isEmpty() ? 0 : SszTreeReader.readOffset(ssz, 0) / SSZ_LENGTH_SIZE;
+    }
+    checkArgument(
+        elementsCount <= getMaxLength(),
+        "Invalid SSZ: list length %s exceeds the maximum length %s",
+        elementsCount,
+        getMaxLength());
+    TreeNode vectorNode = sszDeserializeVectorTree(elementsSsz, elementsCount, treeDepth());
+    return TreeUtil.createTree(
+        List.of(
+            vectorNode,
+            TreeNode.createLeafNode(Bytes.ofUnsignedLong(elementsCount, ByteOrder.LITTLE_ENDIAN))));
+  }
+
   private static int getLength(TreeNode listNode) {
     if (!(listNode instanceof BranchNode)) {
       throw new IllegalArgumentException("Expected BranchNode for List, but got " + listNode);
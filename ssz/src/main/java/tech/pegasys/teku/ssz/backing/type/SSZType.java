@@ -73,4 +73,11 @@ public interface SSZType {
    * {@code writer}
    */
   int sszSerialize(TreeNode node, Consumer<Bytes> writer);
+
+  /**
+   * Creates the backing tree of this type from its SSZ serialization. Composite children are only
+   * deserialized when their subtree is first accessed so the SSZ is only checked up to the parts
+   * which have been read, and the tree holds on to {@code ssz} until then.
+   */
+  TreeNode sszDeserializeTree(Bytes ssz);
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.type;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteOrder;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.ssz.backing.tree.LazyBranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.LeafNode;
+
+/** Helpers to build backing trees from SSZ for {@link SSZType#sszDeserializeTree(Bytes)} */
+class SszTreeReader {
+
+  private SszTreeReader() {}
+
+  /**
+   * Creates the subtree of a child element or field. Subtrees with a branch node root are only
+   * deserialized when they are first accessed, while basic values are just wrapped in a leaf.
+   */
+  static TreeNode readChild(final ViewType type, final Bytes ssz) {
+    if (type.getDefaultTree() instanceof LeafNode) {
+      return type.sszDeserializeTree(ssz);
+    }
+    return new LazyBranchNode(() -> (BranchNode) type.sszDeserializeTree(ssz), ssz.size());
+  }
+
+  static Bytes slice(final Bytes ssz, final int offset, final int length) {
+    checkArgument(
+        offset >= 0 && length >= 0 && offset + length <= ssz.size(),
+        "Invalid SSZ: %s bytes at offset %s exceed the data size %s",
+        length,
+        offset,
+        ssz.size());
+    return ssz.slice(offset, length);
+  }
+
+  static int readOffset(final Bytes ssz, final int position) {
+    final int offset = slice(ssz, position, SSZType.SSZ_LENGTH_SIZE).toInt(ByteOrder.LITTLE_ENDIAN);
+    checkArgument(
+        offset >= 0 && offset <= ssz.size(),
+        "Invalid SSZ: offset %s exceeds the data size %s",
+        offset,
+        ssz.size());
+    return offset;
+  }
+
+  /**
+   * Splits the variable part of the SSZ into the parts referenced by {@code offsets}, each of which
+   * ends where the next one starts
+   *
+   * @param ssz the SSZ data
+   * @param offsets the offsets of the variable size parts in order
+   * @param fixedPartSize the size of the fixed part which the first offset must point to the end of
+   * @return the SSZ of each variable size part
+   */
+  static Bytes[] readVariableParts(final Bytes ssz, final int[] offsets, final int fixedPartSize) {
+    final Bytes[] parts = new Bytes[offsets.length];
+    if (offsets.length == 0) {
+      checkArgument(
+          ssz.size() == fixedPartSize,
+          "Invalid SSZ: expected %s bytes but got %s",
+          fixedPartSize,
+          ssz.size());
+      return parts;
+    }
+    checkArgument(
+        offsets[0] == fixedPartSize,
+        "Invalid SSZ: first offset %s doesn't match the fixed part size %s",
+        offsets[0],
+        fixedPartSize);
+    int end = ssz.size();
+    for (int i = offsets.length - 1; i >= 0; i--) {
+      checkArgument(offsets[i] <= end, "Invalid SSZ: offsets are not in order");
+      parts[i] = ssz.slice(offsets[i], end - offsets[i]);
+      end = offsets[i];
+    }
+    return parts;
+  }
+}
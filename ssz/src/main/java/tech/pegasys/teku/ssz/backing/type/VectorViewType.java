@@ -104,4 +104,9 @@ public class VectorViewType<C> extends CollectionViewType {
   public int sszSerialize(TreeNode node, Consumer<Bytes> writer) {
     return sszSerializeVector(node, writer, getLength());
   }
+
+  @Override
+  public TreeNode sszDeserializeTree(Bytes ssz) {
+    return sszDeserializeVectorTree(ssz, getLength(), treeDepth());
+  }
 }
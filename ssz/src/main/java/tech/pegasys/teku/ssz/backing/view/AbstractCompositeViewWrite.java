@@ -14,14 +14,12 @@
 package tech.pegasys.teku.ssz.backing.view;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import tech.pegasys.teku.ssz.backing.CompositeViewWrite;
 import tech.pegasys.teku.ssz.backing.CompositeViewWriteRef;
 import tech.pegasys.teku.ssz.backing.ViewRead;
@@ -29,7 +27,9 @@ import tech.pegasys.teku.ssz.backing.ViewWrite;
 import tech.pegasys.teku.ssz.backing.cache.IntCache;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
 import tech.pegasys.teku.ssz.backing.tree.TreeUpdates;
+import tech.pegasys.teku.ssz.backing.tree.TreeUtil;
 import tech.pegasys.teku.ssz.backing.type.CompositeViewType;
+import tech.pegasys.teku.ssz.backing.type.ViewType;
 
 /**
  * Base backing view class for mutable composite views (lists, vectors, containers)
@@ -38,6 +38,10 @@ import tech.pegasys.teku.ssz.backing.type.CompositeViewType;
  * #commitChanges()} is called a new immutable view is created where changes accumulated in this
  * instance are merged with cached backing view instance which weren't changed.
  *
+ * <p>When many children within a dense range are changed, either by value or by reference (see
+ * {@link ChildChanges}), the changed part of the backing tree is rebuilt bottom-up in a single pass
+ * rather than by applying sorted {@link TreeUpdates} top-down.
+ *
  * <p>If this view is get by reference from its parent composite view ({@link
  * CompositeViewWriteRef#getByRef(int)} then all the changes are notified to the parent view (see
  * {@link CompositeViewWrite#setInvalidator(Consumer)}
@@ -50,9 +54,9 @@ public abstract class AbstractCompositeViewWrite<
 
   protected AbstractCompositeViewRead<ChildReadType> backingImmutableView;
   private Consumer<ViewWrite> invalidator;
-  private final Map<Integer, ChildReadType> childrenChanges = new HashMap<>();
+  private final ChildChanges<ChildReadType> childrenChanges = new ChildChanges<>();
   private final Map<Integer, ChildWriteType> childrenRefs = new HashMap<>();
-  private final Set<Integer> childrenRefsChanged = new HashSet<>();
+  private final BitSet childrenRefsChanged = new BitSet();
   private Integer sizeCache;
 
   /** Creates a new mutable instance with backing immutable view */
@@ -99,7 +103,7 @@ public abstract class AbstractCompositeViewWrite<
         ((CompositeViewWrite<?>) w)
             .setInvalidator(
                 viewWrite -> {
-                  childrenRefsChanged.add(index);
+                  childrenRefsChanged.set(index);
                   invalidate();
                 });
       }
@@ -117,7 +121,15 @@ public abstract class AbstractCompositeViewWrite<
   @Override
   @SuppressWarnings("unchecked")
   public void clear() {
-    backingImmutableView = (AbstractCompositeViewRead<ChildReadType>) getType().getDefault();
+    setBackingImmutableView((AbstractCompositeViewRead<ChildReadType>) getType().getDefault());
+  }
+
+  /**
+   * Replaces the content of this view with the content of the immutable view of the same type. All
+   * uncommitted changes are discarded and children previously obtained by reference are detached
+   */
+  protected void setBackingImmutableView(AbstractCompositeViewRead<ChildReadType> newView) {
+    backingImmutableView = newView;
     childrenChanges.clear();
     childrenRefs.clear();
     childrenRefsChanged.clear();
@@ -137,27 +149,106 @@ public abstract class AbstractCompositeViewWrite<
       return backingImmutableView;
     } else {
       IntCache<ChildReadType> cache = backingImmutableView.transferCache();
-      List<Map.Entry<Integer, ChildReadType>> changesList =
-          Stream.concat(
-                  childrenChanges.entrySet().stream(),
-                  childrenRefsChanged.stream()
-                      .map(
-                          idx ->
-                              new SimpleImmutableEntry<>(
-                                  idx,
-                                  (ChildReadType)
-                                      ((ViewWrite) childrenRefs.get(idx)).commitChanges())))
-              .sorted(Map.Entry.comparingByKey())
-              .collect(Collectors.toList());
+      int changeCount = childrenChanges.size() + childrenRefsChanged.cardinality();
+      int[] changedIndices = new int[changeCount];
+      ViewRead[] changedValues = new ViewRead[changeCount];
+      collectChanges(changedIndices, changedValues);
       // pre-fill the read cache with changed values
-      changesList.forEach(e -> cache.invalidateWithNewValue(e.getKey(), e.getValue()));
+      for (int i = 0; i < changeCount; i++) {
+        cache.invalidateWithNewValue(changedIndices[i], (ChildReadType) changedValues[i]);
+      }
       TreeNode originalBackingTree = backingImmutableView.getBackingNode();
-      TreeUpdates changes = changesToNewNodes(changesList, originalBackingTree);
-      TreeNode newBackingTree = originalBackingTree.updated(changes);
+      TreeNode newBackingTree;
+      // children changed by ref (e.g. validators during epoch processing) count towards density
+      // as well as children set by value
+      if (ChildChanges.isDenseRange(changeCount, changedIndices[changeCount - 1])) {
+        newBackingTree = rebuildChangedNodes(changedIndices, changedValues, originalBackingTree);
+      } else {
+        List<Map.Entry<Integer, ChildReadType>> changesList = new ArrayList<>(changeCount);
+        for (int i = 0; i < changeCount; i++) {
+          changesList.add(
+              new SimpleImmutableEntry<>(changedIndices[i], (ChildReadType) changedValues[i]));
+        }
+        TreeUpdates changes = changesToNewNodes(changesList, originalBackingTree);
+        newBackingTree = originalBackingTree.updated(changes);
+      }
       return createViewRead(newBackingTree, cache);
     }
   }
 
+  /**
+   * Fills the arrays with the changed values and committed changed refs, which never share an
+   * index, in index order
+   */
+  private void collectChanges(int[] changedIndices, ViewRead[] changedValues) {
+    if (childrenRefsChanged.isEmpty()) {
+      childrenChanges.copyOrdered(changedIndices, changedValues);
+      return;
+    }
+    int valueCount = childrenChanges.size();
+    int[] valueIndices = new int[valueCount];
+    ViewRead[] values = new ViewRead[valueCount];
+    childrenChanges.copyOrdered(valueIndices, values);
+    int valuePos = 0;
+    int pos = 0;
+    for (int refIndex = childrenRefsChanged.nextSetBit(0);
+        refIndex >= 0;
+        refIndex = childrenRefsChanged.nextSetBit(refIndex + 1)) {
+      for (; valuePos < valueCount && valueIndices[valuePos] < refIndex; valuePos++, pos++) {
+        changedIndices[pos] = valueIndices[valuePos];
+        changedValues[pos] = values[valuePos];
+      }
+      changedIndices[pos] = refIndex;
+      changedValues[pos++] = ((ViewWrite) childrenRefs.get(refIndex)).commitChanges();
+    }
+    for (; valuePos < valueCount; valuePos++, pos++) {
+      changedIndices[pos] = valueIndices[valuePos];
+      changedValues[pos] = values[valuePos];
+    }
+  }
+
+  /**
+   * Computes the new backing nodes for changed children, merging packed values into their chunks,
+   * and rebuilds the tree from those nodes upwards
+   */
+  private TreeNode rebuildChangedNodes(
+      int[] changedIndices, ViewRead[] changedValues, TreeNode original) {
+    CompositeViewType type = getType();
+    int elementsPerChunk = type.getElementsPerChunk();
+    long[] chunkPositions = new long[changedIndices.length];
+    TreeNode[] chunkNodes = new TreeNode[changedIndices.length];
+    int chunkCount = 0;
+    int i = 0;
+    while (i < changedIndices.length) {
+      int chunkIndex = changedIndices[i] / elementsPerChunk;
+      TreeNode node;
+      if (elementsPerChunk == 1) {
+        node = changedValues[i++].getBackingNode();
+      } else {
+        int chunkEnd = i + 1;
+        while (chunkEnd < changedIndices.length
+            && changedIndices[chunkEnd] / elementsPerChunk == chunkIndex) {
+          chunkEnd++;
+        }
+        // when all packed values changed no need to retrieve original node to merge with
+        node =
+            chunkEnd - i == elementsPerChunk
+                ? TreeUtil.EMPTY_LEAF
+                : original.get(type.getGeneralizedIndex(chunkIndex));
+        ViewType elementType = type.getChildType(changedIndices[i]);
+        for (; i < chunkEnd; i++) {
+          node =
+              elementType.updateBackingNode(
+                  node, changedIndices[i] % elementsPerChunk, changedValues[i]);
+        }
+      }
+      chunkPositions[chunkCount] = chunkIndex;
+      chunkNodes[chunkCount++] = node;
+    }
+    return TreeUtil.replaceNodesAtDepth(
+        original, type.treeDepth(), chunkPositions, chunkNodes, chunkCount);
+  }
+
   /** Converts a set of changed view with their indexes to the {@link TreeUpdates} instance */
   protected TreeUpdates changesToNewNodes(
       List<Map.Entry<Integer, ChildReadType>> newChildValues, TreeNode original) {
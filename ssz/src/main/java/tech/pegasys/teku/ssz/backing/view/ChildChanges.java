@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.view;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The changed children of a mutable composite view keyed by child index.
+ *
+ * <p>Changes are held in a hash map while they are few or scattered. Once many changes are made
+ * within a dense range of indices, e.g. when epoch processing updates every balance, they are
+ * moved to an array indexed by child index which avoids boxing and visits changes in index order
+ * without sorting. Storage reverts to the map if a change is later made far beyond that range.
+ *
+ * <p>This class is NOT thread safe
+ */
+final class ChildChanges<V> {
+  /** The minimum number of changes before switching to dense storage */
+  static final int DENSE_MIN_CHANGES = 64;
+  /** Dense storage is only used while at least one in this many array slots holds a change */
+  private static final int DENSE_MAX_SPARSENESS = 4;
+
+  private Map<Integer, V> sparseChanges = new HashMap<>();
+  private Object[] denseChanges;
+  private int denseCount;
+  private int maxIndex = -1;
+
+  public boolean isDense() {
+    return denseChanges != null;
+  }
+
+  public int size() {
+    return isDense() ? denseCount : sparseChanges.size();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get(int index) {
+    if (isDense()) {
+      return index < denseChanges.length ? (V) denseChanges[index] : null;
+    }
+    return sparseChanges.get(index);
+  }
+
+  public void put(int index, V value) {
+    maxIndex = Math.max(maxIndex, index);
+    if (isDense()) {
+      if (index < denseChanges.length) {
+        setDense(index, value);
+        return;
+      } else if (index < (denseCount + 1) * DENSE_MAX_SPARSENESS) {
+        final int grownLength = denseChanges.length + (denseChanges.length >> 1);
+        denseChanges = Arrays.copyOf(denseChanges, Math.max(index + 1, grownLength));
+        setDense(index, value);
+        return;
+      }
+      switchToSparse();
+    }
+    sparseChanges.put(index, value);
+    if (isDenseRange(sparseChanges.size(), maxIndex)) {
+      switchToDense();
+    }
+  }
+
+  /**
+   * @return true if {@code count} distinct changed indices not exceeding {@code maxIndex} are
+   *     dense enough to be tracked and committed as an array rather than individually
+   */
+  static boolean isDenseRange(int count, int maxIndex) {
+    return count >= DENSE_MIN_CHANGES && maxIndex < count * DENSE_MAX_SPARSENESS;
+  }
+
+  public void remove(int index) {
+    if (isDense()) {
+      if (index < denseChanges.length && denseChanges[index] != null) {
+        denseChanges[index] = null;
+        denseCount--;
+      }
+    } else {
+      sparseChanges.remove(index);
+    }
+  }
+
+  public void clear() {
+    sparseChanges = new HashMap<>();
+    denseChanges = null;
+    denseCount = 0;
+    maxIndex = -1;
+  }
+
+  /** Visits every change in ascending index order */
+  @SuppressWarnings("unchecked")
+  public void forEachOrdered(ObjIntConsumer<V> consumer) {
+    if (isDense()) {
+      for (int i = 0; i < denseChanges.length; i++) {
+        final Object value = denseChanges[i];
+        if (value != null) {
+          consumer.accept((V) value, i);
+        }
+      }
+    } else {
+      final int[] indices = new int[sparseChanges.size()];
+      int i = 0;
+      for (Integer index : sparseChanges.keySet()) {
+        indices[i++] = index;
+      }
+      Arrays.sort(indices);
+      for (int index : indices) {
+        consumer.accept(sparseChanges.get(index), index);
+      }
+    }
+  }
+
+  /**
+   * Copies the changes into the arrays in ascending index order
+   *
+   * @param indices receives the changed indices, must have at least {@link #size()} elements
+   * @param values receives the changed values, must have at least {@link #size()} elements
+   */
+  public void copyOrdered(int[] indices, Object[] values) {
+    int[] count = {0};
+    forEachOrdered(
+        (value, index) -> {
+          indices[count[0]] = index;
+          values[count[0]++] = value;
+        });
+  }
+
+  private void setDense(int index, V value) {
+    if (denseChanges[index] == null) {
+      denseCount++;
+    }
+    denseChanges[index] = value;
+  }
+
+  private void switchToDense() {
+    denseChanges = new Object[maxIndex + 1];
+    sparseChanges.forEach((index, value) -> denseChanges[index] = value);
+    denseCount = sparseChanges.size();
+    sparseChanges = null;
+  }
+
+  private void switchToSparse() {
+    sparseChanges = new HashMap<>();
+    forEachOrdered((value, index) -> sparseChanges.put(index, value));
+    denseChanges = null;
+    denseCount = 0;
+  }
+}
@@ -54,6 +54,10 @@ public class ListViewWriteImpl<
       return getAnyByRef(0);
     }
 
+    public void setBackingNode(TreeNode backingNode) {
+      setBackingImmutableView(new ListContainerRead<ElementReadType>(vectorType, backingNode));
+    }
+
     @Override
     protected AbstractCompositeViewRead<ViewRead> createViewRead(
         TreeNode backingNode, IntCache<ViewRead> viewCache) {
@@ -127,6 +131,12 @@ public class ListViewWriteImpl<
     cachedSize = 0;
   }
 
+  @Override
+  public void setAll(ListViewRead<ElementReadType> list) {
+    container.setBackingNode(list.getBackingNode());
+    cachedSize = list.size();
+  }
+
   protected void checkIndex(int index, boolean set) {
     if ((!set && index >= size())
         || (set && (index > size() || index >= getType().getMaxLength()))) {
@@ -13,6 +13,10 @@
 
 package tech.pegasys.teku.ssz.backing.view;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteOrder;
+import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.MutableBytes;
 import tech.pegasys.teku.ssz.SSZTypes.Bitlist;
@@ -21,14 +25,20 @@ import tech.pegasys.teku.ssz.backing.ListViewRead;
 import tech.pegasys.teku.ssz.backing.ListViewWrite;
 import tech.pegasys.teku.ssz.backing.VectorViewRead;
 import tech.pegasys.teku.ssz.backing.VectorViewWrite;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.LeafNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeUtil;
 import tech.pegasys.teku.ssz.backing.type.BasicViewTypes;
 import tech.pegasys.teku.ssz.backing.type.ListViewType;
 import tech.pegasys.teku.ssz.backing.type.VectorViewType;
 import tech.pegasys.teku.ssz.backing.view.BasicViews.BitView;
 import tech.pegasys.teku.ssz.backing.view.BasicViews.ByteView;
+import tech.pegasys.teku.ssz.backing.view.BasicViews.UInt64View;
 
 /** Handy view tool methods */
 public class ViewUtils {
+  private static final int UINT64_PER_CHUNK = TreeNode.NODE_BYTE_SIZE / Long.BYTES;
 
   /** Creates immutable vector of bytes with size `bytes.size()` from {@link Bytes} value */
   public static VectorViewRead<ByteView> createVectorFromBytes(Bytes bytes) {
@@ -99,4 +109,114 @@ public class ViewUtils {
     }
     return ret;
   }
+
+  /**
+   * Reads all the values of a list of uint64 directly from its packed leaf chunks without creating
+   * a view per element. Uncommitted changes are included if the list is mutable
+   */
+  public static long[] getUInt64Values(ListViewRead<UInt64View> list) {
+    checkUInt64List(list);
+    ListViewRead<UInt64View> committedList =
+        list instanceof ListViewWrite ? ((ListViewWrite<UInt64View>) list).commitChanges() : list;
+    ListViewType<UInt64View> type = committedList.getType();
+    long[] values = new long[committedList.size()];
+    if (values.length == 0) {
+      return values;
+    }
+    int[] valueIdx = new int[1];
+    TreeUtil.iterateLeaves(
+        getVectorNode(committedList.getBackingNode()),
+        type.getGeneralizedIndex(0),
+        type.getGeneralizedIndex(type.getChunks(values.length) - 1),
+        leaf -> {
+          Bytes chunk = leaf.getData();
+          if (chunk.size() < TreeNode.NODE_BYTE_SIZE) {
+            chunk = leaf.hashTreeRoot();
+          }
+          for (int i = 0; i < UINT64_PER_CHUNK && valueIdx[0] < values.length; i++) {
+            values[valueIdx[0]++] = chunk.getLong(i * Long.BYTES, ByteOrder.LITTLE_ENDIAN);
+          }
+        });
+    return values;
+  }
+
+  /**
+   * Creates immutable list of uint64 with the same type as {@code list} holding {@code values}.
+   * Packed leaf chunks are built directly from the values and only the chunks which differ from
+   * {@code list} and their ancestors are replaced, so the rest of the backing tree is shared
+   */
+  public static ListViewRead<UInt64View> updateUInt64Values(
+      ListViewRead<UInt64View> list, long[] values) {
+    checkUInt64List(list);
+    ListViewType<UInt64View> type = list.getType();
+    checkArgument(
+        values.length <= type.getMaxLength(),
+        "Values count %s exceeds the list max length %s",
+        values.length,
+        type.getMaxLength());
+    long[] originalValues = getUInt64Values(list);
+    int originalChunks = originalValues.length == 0 ? 0 : type.getChunks(originalValues.length);
+    int newChunks = values.length == 0 ? 0 : type.getChunks(values.length);
+    int chunks = Math.max(originalChunks, newChunks);
+
+    long[] positions = new long[chunks];
+    TreeNode[] nodes = new TreeNode[chunks];
+    int count = 0;
+    for (int chunk = 0; chunk < chunks; chunk++) {
+      int from = chunk * UINT64_PER_CHUNK;
+      if (chunk >= newChunks) {
+        positions[count] = chunk;
+        nodes[count++] = TreeUtil.EMPTY_LEAF;
+      } else if (!isSameChunk(originalValues, values, from)) {
+        positions[count] = chunk;
+        nodes[count++] = createUInt64Chunk(values, from);
+      }
+    }
+
+    TreeNode originalNode = list.getBackingNode();
+    TreeNode vectorNode =
+        TreeUtil.replaceNodesAtDepth(
+            getVectorNode(originalNode), type.treeDepth(), positions, nodes, count);
+    TreeNode sizeNode =
+        values.length == originalValues.length
+            ? ((BranchNode) originalNode).right()
+            : TreeNode.createLeafNode(
+                Bytes.ofUnsignedLong(values.length, ByteOrder.LITTLE_ENDIAN));
+    return type.createFromBackingNode(TreeUtil.createTree(List.of(vectorNode, sizeNode)));
+  }
+
+  private static void checkUInt64List(ListViewRead<UInt64View> list) {
+    checkArgument(
+        list.getType().getElementType() == BasicViewTypes.UINT64_TYPE,
+        "Expected list of uint64 but got %s",
+        list.getType().getElementType());
+  }
+
+  /** List is backed by a <code>Container[Vector(maxLength), size]</code> tree */
+  private static TreeNode getVectorNode(TreeNode listNode) {
+    return ((BranchNode) listNode).left();
+  }
+
+  private static boolean isSameChunk(long[] original, long[] values, int from) {
+    for (int i = from; i < from + UINT64_PER_CHUNK; i++) {
+      long originalValue = i < original.length ? original[i] : 0;
+      long value = i < values.length ? values[i] : 0;
+      if (originalValue != value) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static LeafNode createUInt64Chunk(long[] values, int from) {
+    int valueCount = Math.min(UINT64_PER_CHUNK, values.length - from);
+    byte[] bytes = new byte[valueCount * Long.BYTES];
+    for (int i = 0; i < valueCount; i++) {
+      long value = values[from + i];
+      for (int b = 0; b < Long.BYTES; b++) {
+        bytes[i * Long.BYTES + b] = (byte) (value >>> (b * 8));
+      }
+    }
+    return TreeNode.createLeafNode(Bytes.wrap(bytes));
+  }
 }
@@ -16,12 +16,18 @@ package tech.pegasys.teku.ssz.backing;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.LongStream;
+import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.backing.tree.TreeNode;
 import tech.pegasys.teku.ssz.backing.type.BasicViewTypes;
 import tech.pegasys.teku.ssz.backing.type.ListViewType;
+import tech.pegasys.teku.ssz.backing.view.BasicViews.Bytes32View;
 import tech.pegasys.teku.ssz.backing.view.BasicViews.UInt64View;
+import tech.pegasys.teku.ssz.backing.view.ViewUtils;
 
 public class BasicListViewTest {
 
@@ -93,4 +99,182 @@ public class BasicListViewTest {
     listView.clear();
     assertThat(listView.commitChanges().hashTreeRoot()).isEqualTo(n0.hashTreeRoot());
   }
+
+  @Test
+  public void appendManyElements_shouldMatchAppendingInSmallBatches() {
+    ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 2048);
+    ListViewRead<UInt64View> list = appendUInt64s(listType.getDefault(), 1000, 1000);
+    ListViewRead<UInt64View> batchedList = appendUInt64s(listType.getDefault(), 1000, 10);
+
+    assertThat(list.hashTreeRoot()).isEqualTo(batchedList.hashTreeRoot());
+    assertThat(list.size()).isEqualTo(1000);
+    assertThat(list.get(999).longValue()).isEqualTo(999);
+  }
+
+  @Test
+  public void setManyPackedElements_shouldMatchSettingInSmallBatches() {
+    ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 2048);
+    ListViewRead<UInt64View> original = appendUInt64s(listType.getDefault(), 1000, 1000);
+    // Leaves some chunks partially changed and some unchanged
+    IntPredicate isChanged = i -> i >= 101 && i < 903 && i % 2 == 1;
+    IntFunction<UInt64View> newValue = i -> new UInt64View(UInt64.valueOf(i * 3L));
+
+    ListViewRead<UInt64View> updated = setElements(original, isChanged, newValue, 1000);
+    ListViewRead<UInt64View> batchUpdated = setElements(original, isChanged, newValue, 10);
+
+    assertThat(updated.hashTreeRoot()).isEqualTo(batchUpdated.hashTreeRoot());
+    assertThat(updated.get(100).longValue()).isEqualTo(100);
+    assertThat(updated.get(101).longValue()).isEqualTo(303);
+    assertThat(updated.get(102).longValue()).isEqualTo(102);
+    assertThat(updated.get(999).longValue()).isEqualTo(999);
+  }
+
+  @Test
+  public void setManyElements_shouldMatchSettingInSmallBatches() {
+    ListViewType<Bytes32View> listType = new ListViewType<>(BasicViewTypes.BYTES32_TYPE, 2048);
+    ListViewWrite<Bytes32View> listView = listType.getDefault().createWritableCopy();
+    for (int i = 0; i < 500; i++) {
+      listView.append(new Bytes32View(Bytes32.ZERO));
+    }
+    ListViewRead<Bytes32View> original = listView.commitChanges();
+    IntPredicate isChanged = i -> i % 3 != 0;
+    IntFunction<Bytes32View> newValue =
+        i -> new Bytes32View(Bytes32.fromHexStringLenient(Integer.toHexString(i + 1)));
+
+    ListViewRead<Bytes32View> updated = setElements(original, isChanged, newValue, 500);
+    ListViewRead<Bytes32View> batchUpdated = setElements(original, isChanged, newValue, 10);
+
+    assertThat(updated.hashTreeRoot()).isEqualTo(batchUpdated.hashTreeRoot());
+    assertThat(updated.get(0).get()).isEqualTo(Bytes32.ZERO);
+    assertThat(updated.get(1)).isEqualTo(newValue.apply(1));
+  }
+
+  @Test
+  public void getUInt64Values_shouldReadAllPackedValues() {
+    ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 1024);
+    ListViewRead<UInt64View> list = appendUInt64s(listType.getDefault(), 103, 1000);
+
+    assertThat(ViewUtils.getUInt64Values(list)).containsExactly(LongStream.range(0, 103).toArray());
+    assertThat(ViewUtils.getUInt64Values(listType.getDefault())).isEmpty();
+  }
+
+  @Test
+  public void getUInt64Values_shouldIncludeUncommittedChanges() {
+    ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 1024);
+    ListViewWrite<UInt64View> listView =
+        appendUInt64s(listType.getDefault(), 10, 1000).createWritableCopy();
+    listView.set(5, new UInt64View(UInt64.valueOf(500)));
+    listView.append(new UInt64View(UInt64.valueOf(1000)));
+
+    long[] values = ViewUtils.getUInt64Values(listView);
+    assertThat(values).hasSize(11);
+    assertThat(values[5]).isEqualTo(500);
+    assertThat(values[10]).isEqualTo(1000);
+  }
+
+  @Test
+  public void updateUInt64Values_shouldMatchSettingElements() {
+    ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 1024);
+    ListViewRead<UInt64View> original = appendUInt64s(listType.getDefault(), 103, 1000);
+    IntPredicate isChanged = i -> i % 7 != 0;
+    IntFunction<UInt64View> newValue = i -> new UInt64View(UInt64.fromLongBits(-1L - i));
+    long[] values = ViewUtils.getUInt64Values(original);
+    for (int i = 0; i < values.length; i++) {
+      if (isChanged.test(i)) {
+        values[i] = newValue.apply(i).longValue();
+      }
+    }
+
+    ListViewRead<UInt64View> updated = ViewUtils.updateUInt64Values(original, values);
+    ListViewRead<UInt64View> expected = setElements(original, isChanged, newValue, 1000);
+
+    assertThat(updated.hashTreeRoot()).isEqualTo(expected.hashTreeRoot());
+    assertThat(updated.size()).isEqualTo(103);
+    assertThat(updated.get(1)).isEqualTo(newValue.apply(1));
+    assertThat(updated.get(7).longValue()).isEqualTo(7);
+    assertThat(updated.sszSerialize()).isEqualTo(expected.sszSerialize());
+  }
+
+  @Test
+  public void updateUInt64Values_shouldShareUnchangedChunks() {
+    ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 1024);
+    ListViewRead<UInt64View> original = appendUInt64s(listType.getDefault(), 103, 1000);
+    long[] values = ViewUtils.getUInt64Values(original);
+
+    ListViewRead<UInt64View> unchanged = ViewUtils.updateUInt64Values(original, values);
+    assertThat(unchanged.getBackingNode().get(2)).isSameAs(original.getBackingNode().get(2));
+
+    values[50] = 5000;
+    ListViewRead<UInt64View> updated = ViewUtils.updateUInt64Values(original, values);
+    long firstChunk = 2 * listType.treeWidth();
+    long changedChunk = firstChunk + 50 / 4;
+    assertThat(updated.getBackingNode().get(firstChunk))
+        .isSameAs(original.getBackingNode().get(firstChunk));
+    assertThat(updated.getBackingNode().get(changedChunk))
+        .isNotSameAs(original.getBackingNode().get(changedChunk));
+    assertThat(updated.get(50).longValue()).isEqualTo(5000);
+  }
+
+  @Test
+  public void updateUInt64Values_shouldShrinkAndGrowList() {
+    ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 1024);
+    ListViewRead<UInt64View> longList = appendUInt64s(listType.getDefault(), 103, 1000);
+    ListViewRead<UInt64View> shortList = appendUInt64s(listType.getDefault(), 50, 1000);
+
+    ListViewRead<UInt64View> shrunk =
+        ViewUtils.updateUInt64Values(longList, ViewUtils.getUInt64Values(shortList));
+    assertThat(shrunk.size()).isEqualTo(50);
+    assertThat(shrunk.hashTreeRoot()).isEqualTo(shortList.hashTreeRoot());
+
+    ListViewRead<UInt64View> grown =
+        ViewUtils.updateUInt64Values(shortList, ViewUtils.getUInt64Values(longList));
+    assertThat(grown.size()).isEqualTo(103);
+    assertThat(grown.hashTreeRoot()).isEqualTo(longList.hashTreeRoot());
+  }
+
+  @Test
+  public void setAll_shouldReplaceContentAndDiscardUncommittedChanges() {
+    ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 1024);
+    ListViewRead<UInt64View> other = appendUInt64s(listType.getDefault(), 103, 1000);
+    ListViewWrite<UInt64View> listView =
+        appendUInt64s(listType.getDefault(), 10, 1000).createWritableCopy();
+    listView.set(0, new UInt64View(UInt64.valueOf(42)));
+
+    listView.setAll(other);
+    assertThat(listView.size()).isEqualTo(103);
+    assertThat(listView.get(0).longValue()).isEqualTo(0);
+    assertThat(listView.commitChanges().hashTreeRoot()).isEqualTo(other.hashTreeRoot());
+
+    listView.append(new UInt64View(UInt64.valueOf(103)));
+    assertThat(listView.commitChanges().hashTreeRoot())
+        .isEqualTo(appendUInt64s(listType.getDefault(), 104, 1000).hashTreeRoot());
+  }
+
+  private ListViewRead<UInt64View> appendUInt64s(
+      ListViewRead<UInt64View> list, int count, int batchSize) {
+    ListViewRead<UInt64View> result = list;
+    for (int batchStart = 0; batchStart < count; batchStart += batchSize) {
+      ListViewWrite<UInt64View> listView = result.createWritableCopy();
+      for (int i = batchStart; i < Math.min(count, batchStart + batchSize); i++) {
+        listView.append(new UInt64View(UInt64.valueOf(i)));
+      }
+      result = listView.commitChanges();
+    }
+    return result;
+  }
+
+  private <T extends ViewRead> ListViewRead<T> setElements(
+      ListViewRead<T> list, IntPredicate isChanged, IntFunction<T> newValue, int batchSize) {
+    ListViewRead<T> result = list;
+    for (int batchStart = 0; batchStart < list.size(); batchStart += batchSize) {
+      ListViewWrite<T> listView = result.createWritableCopy();
+      for (int i = batchStart; i < Math.min(list.size(), batchStart + batchSize); i++) {
+        if (isChanged.test(i)) {
+          listView.set(i, newValue.apply(i));
+        }
+      }
+      result = listView.commitChanges();
+    }
+    return result;
+  }
 }
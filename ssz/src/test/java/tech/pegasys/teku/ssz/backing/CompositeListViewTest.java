@@ -70,6 +70,11 @@ public class CompositeListViewTest {
         public int sszSerialize(TreeNode node, Consumer<Bytes> writer) {
           return 0;
         }
+
+        @Override
+        public TreeNode sszDeserializeTree(Bytes ssz) {
+          throw new UnsupportedOperationException();
+        }
       };
 
   static class TestView implements ViewRead {
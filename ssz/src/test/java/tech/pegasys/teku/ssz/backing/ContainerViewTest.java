@@ -497,4 +497,46 @@ public class ContainerViewTest {
         .allMatch(
             c -> Utils.equalsByGetters(c, c3r) && c.hashTreeRoot().equals(c3r.hashTreeRoot()));
   }
+
+  @Test
+  public void modifyManyElementsByRef_shouldMatchModifyingInSmallBatches() {
+    ListViewType<SubContainerRead> listType = new ListViewType<>(SubContainerRead.TYPE, 1024);
+    ListViewWriteRef<SubContainerRead, SubContainerWrite> listView =
+        createWritableList(listType.getDefault());
+    for (int i = 0; i < 500; i++) {
+      final UInt64 value = UInt64.valueOf(i);
+      listView.append(sc -> sc.setLong1(value));
+    }
+    ListViewRead<SubContainerRead> original = listView.commitChanges();
+
+    ListViewRead<SubContainerRead> updated = modifyLong2ByRef(original, 500);
+    ListViewRead<SubContainerRead> batchUpdated = modifyLong2ByRef(original, 10);
+
+    assertThat(updated.hashTreeRoot()).isEqualTo(batchUpdated.hashTreeRoot());
+    assertThat(updated.get(0).getLong2()).isEqualTo(UInt64.ZERO);
+    assertThat(updated.get(1).getLong1()).isEqualTo(UInt64.valueOf(1));
+    assertThat(updated.get(1).getLong2()).isEqualTo(UInt64.valueOf(2));
+    assertThat(updated.get(499).getLong2()).isEqualTo(UInt64.valueOf(998));
+  }
+
+  private ListViewRead<SubContainerRead> modifyLong2ByRef(
+      ListViewRead<SubContainerRead> list, int batchSize) {
+    ListViewRead<SubContainerRead> result = list;
+    for (int batchStart = 0; batchStart < list.size(); batchStart += batchSize) {
+      ListViewWriteRef<SubContainerRead, SubContainerWrite> listView = createWritableList(result);
+      for (int i = batchStart; i < Math.min(list.size(), batchStart + batchSize); i++) {
+        if (i % 3 != 0) {
+          listView.getByRef(i).setLong2(UInt64.valueOf(i * 2L));
+        }
+      }
+      result = listView.commitChanges();
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private ListViewWriteRef<SubContainerRead, SubContainerWrite> createWritableList(
+      ListViewRead<SubContainerRead> list) {
+    return (ListViewWriteRef<SubContainerRead, SubContainerWrite>) list.createWritableCopy();
+  }
 }
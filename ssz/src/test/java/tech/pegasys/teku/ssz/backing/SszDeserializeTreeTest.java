@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.pegasys.teku.ssz.backing.tree.LazyBranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.type.BasicViewTypes;
+import tech.pegasys.teku.ssz.backing.type.ContainerViewType;
+import tech.pegasys.teku.ssz.backing.type.ListViewType;
+import tech.pegasys.teku.ssz.backing.type.VectorViewType;
+import tech.pegasys.teku.ssz.backing.view.BasicViews.BitView;
+import tech.pegasys.teku.ssz.backing.view.BasicViews.Bytes32View;
+import tech.pegasys.teku.ssz.backing.view.BasicViews.UInt64View;
+import tech.pegasys.teku.ssz.backing.view.ContainerViewReadImpl;
+
+public class SszDeserializeTreeTest {
+
+  private static final ListViewType<UInt64View> LONGS_TYPE =
+      new ListViewType<>(BasicViewTypes.UINT64_TYPE, 10);
+  private static final ListViewType<BitView> BITS_TYPE =
+      new ListViewType<>(BasicViewTypes.BIT_TYPE, 300);
+  private static final VectorViewType<Bytes32View> ROOTS_TYPE =
+      new VectorViewType<>(BasicViewTypes.BYTES32_TYPE, 3);
+  private static final ContainerViewType<ContainerViewReadImpl> CONTAINER_TYPE =
+      new ContainerViewType<>(
+          List.of(BasicViewTypes.UINT64_TYPE, LONGS_TYPE, BITS_TYPE, ROOTS_TYPE),
+          ContainerViewReadImpl::new);
+  private static final ListViewType<ContainerViewReadImpl> CONTAINERS_TYPE =
+      new ListViewType<>(CONTAINER_TYPE, 5);
+
+  @Test
+  public void shouldDeserializeListOfVariableSizeContainers() {
+    ListViewWrite<ContainerViewReadImpl> list = CONTAINERS_TYPE.getDefault().createWritableCopy();
+    for (int i = 0; i < 4; i++) {
+      list.append(createContainer(i));
+    }
+    assertRoundTrip(list.commitChanges());
+  }
+
+  @Test
+  public void shouldDeserializeEmptyList() {
+    assertRoundTrip(CONTAINERS_TYPE.getDefault());
+    assertRoundTrip(LONGS_TYPE.getDefault());
+    assertRoundTrip(BITS_TYPE.getDefault());
+  }
+
+  @Test
+  public void shouldDeserializeDefaultContainer() {
+    assertRoundTrip(CONTAINER_TYPE.getDefault());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 7, 8, 9, 255, 256, 257, 300})
+  public void shouldDeserializeBitlist(final int size) {
+    assertRoundTrip(createBits(size));
+  }
+
+  @Test
+  public void shouldOnlyDeserializeAccessedElements() {
+    ListViewWrite<ContainerViewReadImpl> list = CONTAINERS_TYPE.getDefault().createWritableCopy();
+    for (int i = 0; i < 3; i++) {
+      list.append(createContainer(i));
+    }
+    TreeNode tree = CONTAINERS_TYPE.sszDeserializeTree(list.commitChanges().sszSerialize());
+    ListViewRead<ContainerViewReadImpl> view = CONTAINERS_TYPE.createFromBackingNode(tree);
+
+    assertThat(view.size()).isEqualTo(3);
+    assertThat(getElementNode(tree, 0).isLoaded()).isFalse();
+    assertThat(getElementNode(tree, 1).isLoaded()).isFalse();
+
+    assertThat(((UInt64View) view.get(1).get(0)).longValue()).isEqualTo(1);
+    assertThat(getElementNode(tree, 0).isLoaded()).isFalse();
+    assertThat(getElementNode(tree, 1).isLoaded()).isTrue();
+  }
+
+  @Test
+  public void shouldKeepUnchangedElementsLazyWhenUpdated() {
+    ListViewWrite<ContainerViewReadImpl> list = CONTAINERS_TYPE.getDefault().createWritableCopy();
+    for (int i = 0; i < 3; i++) {
+      list.append(createContainer(i));
+    }
+    ListViewRead<ContainerViewReadImpl> original = list.commitChanges();
+    TreeNode tree = CONTAINERS_TYPE.sszDeserializeTree(original.sszSerialize());
+
+    ListViewWrite<ContainerViewReadImpl> updated =
+        CONTAINERS_TYPE.createFromBackingNode(tree).createWritableCopy();
+    updated.set(2, createContainer(4));
+    TreeNode updatedTree = updated.commitChanges().getBackingNode();
+
+    assertThat(getElementNode(updatedTree, 0)).isSameAs(getElementNode(tree, 0));
+    assertThat(getElementNode(updatedTree, 0).isLoaded()).isFalse();
+
+    ListViewWrite<ContainerViewReadImpl> expected = original.createWritableCopy();
+    expected.set(2, createContainer(4));
+    assertThat(updatedTree.hashTreeRoot())
+        .isEqualTo(expected.commitChanges().getBackingNode().hashTreeRoot());
+  }
+
+  @Test
+  public void shouldRejectTruncatedSsz() {
+    Bytes ssz = createContainer(1).sszSerialize();
+
+    assertThatThrownBy(() -> CONTAINER_TYPE.sszDeserializeTree(ssz.slice(0, 10)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldRejectBitlistWithoutDelimiter() {
+    assertThatThrownBy(() -> BITS_TYPE.sszDeserializeTree(Bytes.of(1, 0)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldRejectListExceedingMaxLength() {
+    Bytes ssz = Bytes.wrap(new byte[11 * 8]);
+
+    assertThatThrownBy(() -> LONGS_TYPE.sszDeserializeTree(ssz))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static LazyBranchNode getElementNode(final TreeNode listTree, final int index) {
+    return (LazyBranchNode)
+        ((BranchNode) listTree).left().get(CONTAINERS_TYPE.getGeneralizedIndex(index));
+  }
+
+  private static void assertRoundTrip(final ViewRead view) {
+    Bytes ssz = view.sszSerialize();
+    TreeNode tree = view.getType().sszDeserializeTree(ssz);
+
+    assertThat(tree.hashTreeRoot()).isEqualTo(view.hashTreeRoot());
+    assertThat(view.getType().sszSerialize(tree)).isEqualTo(ssz);
+  }
+
+  private static ContainerViewReadImpl createContainer(final int seed) {
+    ContainerViewWrite container = CONTAINER_TYPE.getDefault().createWritableCopy();
+    container.set(0, UInt64View.fromLong(seed));
+    ListViewWrite<UInt64View> longs = LONGS_TYPE.getDefault().createWritableCopy();
+    for (int i = 0; i < seed; i++) {
+      longs.append(UInt64View.fromLong(seed * 100 + i));
+    }
+    container.set(1, longs.commitChanges());
+    container.set(2, createBits(seed * 37 + 1));
+    VectorViewWrite<Bytes32View> roots = ROOTS_TYPE.getDefault().createWritableCopy();
+    roots.set(seed % 3, new Bytes32View(Bytes32.leftPad(Bytes.ofUnsignedInt(seed + 1))));
+    container.set(3, roots.commitChanges());
+    return (ContainerViewReadImpl) container.commitChanges();
+  }
+
+  private static ListViewRead<BitView> createBits(final int size) {
+    ListViewWrite<BitView> bits = BITS_TYPE.getDefault().createWritableCopy();
+    for (int i = 0; i < size; i++) {
+      bits.append(BitView.viewOf(i % 3 == 0));
+    }
+    return bits.commitChanges();
+  }
+}
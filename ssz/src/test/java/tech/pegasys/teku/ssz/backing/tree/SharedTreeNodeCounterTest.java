@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+
+class SharedTreeNodeCounterTest {
+  private static final int LEAF_COUNT = 256;
+
+  private final SharedTreeNodeCounter counter = new SharedTreeNodeCounter();
+  private final TreeNode tree =
+      TreeUtil.createTree(
+          IntStream.rangeClosed(1, LEAF_COUNT)
+              .mapToObj(TreeTest::newTestLeaf)
+              .collect(Collectors.toList()));
+  private final long treeNodeCount = TreeUtil.estimateNonDefaultNodes(tree);
+
+  @Test
+  void add_shouldCountAllNonDefaultNodes() {
+    assertThat(counter.add(tree)).isEqualTo(treeNodeCount);
+    assertThat(counter.getNodeCount()).isEqualTo(treeNodeCount);
+  }
+
+  @Test
+  void add_shouldNotCountSameTreeTwice() {
+    counter.add(tree);
+    assertThat(counter.add(tree)).isZero();
+    assertThat(counter.getNodeCount()).isEqualTo(treeNodeCount);
+
+    assertThat(counter.remove(tree)).isZero();
+    assertThat(counter.remove(tree)).isEqualTo(treeNodeCount);
+    assertThat(counter.getNodeCount()).isZero();
+  }
+
+  @Test
+  void add_shouldOnlyCountChangedNodesOfUpdatedTree() {
+    final TreeNode updatedTree = tree.updated(LEAF_COUNT, TreeTest.newTestLeaf(LEAF_COUNT + 1));
+    counter.add(tree);
+
+    final long addedNodes = counter.add(updatedTree);
+    // At least the new path from root to leaf, but far less than the whole tree
+    assertThat(addedNodes).isBetween(9L, treeNodeCount / 4);
+    assertThat(counter.countExclusiveNodes(updatedTree)).isEqualTo(addedNodes);
+    assertThat(counter.countExclusiveNodes(tree)).isEqualTo(addedNodes);
+
+    // Once the original tree is removed, the count matches counting the updated tree alone
+    assertThat(counter.remove(tree)).isEqualTo(addedNodes);
+    final SharedTreeNodeCounter updatedOnlyCounter = new SharedTreeNodeCounter();
+    assertThat(counter.getNodeCount()).isEqualTo(updatedOnlyCounter.add(updatedTree));
+
+    assertThat(counter.remove(updatedTree)).isEqualTo(treeNodeCount);
+    assertThat(counter.getNodeCount()).isZero();
+  }
+
+  @Test
+  void countExclusiveNodes_shouldBeZeroWhenTreeAddedMultipleTimes() {
+    counter.add(tree);
+    counter.add(tree);
+    assertThat(counter.countExclusiveNodes(tree)).isZero();
+  }
+
+  @Test
+  void shouldCountSmallTrees() {
+    final TreeNode smallTree =
+        TreeUtil.createTree(List.of(TreeTest.newTestLeaf(1), TreeTest.newTestLeaf(2)));
+    assertThat(counter.add(smallTree)).isEqualTo(3);
+    assertThat(counter.countExclusiveNodes(smallTree)).isEqualTo(3);
+    assertThat(counter.remove(smallTree)).isEqualTo(3);
+    assertThat(counter.getNodeCount()).isZero();
+  }
+
+  @Test
+  void shouldEstimateUnloadedLazyNodesFromSerializedSizeWithoutLoadingThem() {
+    final LazyBranchNode lazyNode =
+        new LazyBranchNode(
+            () -> {
+              throw new AssertionError("Should not load lazy node");
+            },
+            10 * 32);
+    final TreeNode treeWithLazyNode = TreeUtil.createTree(List.of(lazyNode, tree));
+    // Ten leaves and about as many branch nodes above them
+    final long lazyNodeEstimate = 20;
+
+    assertThat(counter.add(treeWithLazyNode)).isEqualTo(treeNodeCount + lazyNodeEstimate + 1);
+    assertThat(lazyNode.isLoaded()).isFalse();
+    assertThat(counter.countExclusiveNodes(treeWithLazyNode))
+        .isEqualTo(treeNodeCount + lazyNodeEstimate + 1);
+    assertThat(counter.remove(treeWithLazyNode)).isEqualTo(treeNodeCount + lazyNodeEstimate + 1);
+  }
+
+  @Test
+  void shouldCountLoadedLazyNodesAsTheirSubtree() {
+    final LazyBranchNode lazyNode = new LazyBranchNode(() -> (BranchNode) tree, 32);
+    lazyNode.hashTreeRoot();
+    assertThat(lazyNode.isLoaded()).isTrue();
+
+    assertThat(counter.add(lazyNode)).isEqualTo(treeNodeCount);
+    // Shares all its nodes with the loaded subtree
+    assertThat(counter.add(tree)).isZero();
+    assertThat(counter.remove(lazyNode)).isZero();
+    assertThat(counter.remove(tree)).isEqualTo(treeNodeCount);
+  }
+
+  @Test
+  void shouldRemoveLazyNodeLoadedAfterBeingAddedWithTheSameCount() {
+    final LazyBranchNode lazyNode = new LazyBranchNode(() -> (BranchNode) tree, 32 * LEAF_COUNT);
+    final long addedNodes = counter.add(lazyNode);
+    lazyNode.hashTreeRoot();
+
+    assertThat(counter.add(lazyNode)).isZero();
+    assertThat(counter.remove(lazyNode)).isZero();
+    assertThat(counter.remove(lazyNode)).isEqualTo(addedNodes);
+    assertThat(counter.getNodeCount()).isZero();
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.ssz.backing.tree.TreeTest.newTestLeaf;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.LeafNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeImpl.BranchNodeImpl;
+
+public class TreeHasherTest {
+
+  @AfterEach
+  void tearDown() {
+    TreeHasher.disableParallelHashing();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 3, 5, 8, 13, 100, 1000})
+  void shouldMatchRecursiveHashForNewTree(final int leafCount) {
+    final TreeNode tree = createTree(leafCount);
+
+    assertThat(tree.hashTreeRoot()).isEqualTo(recursiveHash(tree));
+    assertAllBranchesHashed(tree);
+  }
+
+  @Test
+  void shouldOnlyHashUpdatedBranchesOfPreviouslyHashedTree() {
+    final TreeNode tree = createTree(64);
+    tree.hashTreeRoot();
+
+    final TreeNode updated =
+        tree.updated(64 + 3, newTestLeaf(1000)).updated(64 + 60, newTestLeaf(2000));
+    // Unchanged subtrees are shared with the original tree and keep their hashes
+    assertThat(((BranchNodeImpl) updated.get(0b1001)).cachedHash).isNotNull();
+    assertThat(((BranchNodeImpl) updated.get(0b1)).cachedHash).isNull();
+
+    assertThat(updated.hashTreeRoot()).isEqualTo(recursiveHash(updated));
+    assertAllBranchesHashed(updated);
+  }
+
+  @Test
+  void shouldHashSubtreeBeforeParent() {
+    final TreeNode tree = createTree(16);
+    final TreeNode subtree = tree.get(0b10);
+
+    assertThat(subtree.hashTreeRoot()).isEqualTo(recursiveHash(subtree));
+    assertThat(tree.hashTreeRoot()).isEqualTo(recursiveHash(tree));
+  }
+
+  @Test
+  void shouldHashDefaultTreeWithSharedChildren() {
+    final TreeNode tree = TreeUtil.createDefaultTree(1000, newTestLeaf(111));
+
+    assertThat(tree.hashTreeRoot()).isEqualTo(recursiveHash(tree));
+  }
+
+  @Test
+  void shouldHashLeavesShorterThanNodeSize() {
+    final TreeNode tree =
+        TreeUtil.createTree(
+            List.of(
+                TreeNode.createLeafNode(Bytes.of(1, 2, 3)),
+                TreeNode.createLeafNode(Bytes.of(4)),
+                TreeUtil.EMPTY_LEAF));
+
+    assertThat(tree.hashTreeRoot()).isEqualTo(recursiveHash(tree));
+  }
+
+  @Test
+  void shouldHashNestedLazyBranches() {
+    final TreeNode tree = createTreeWithNestedLazyBranches();
+    assertThat(tree.hashTreeRoot()).isEqualTo(recursiveHash(tree));
+
+    // The second hash on this thread reuses the hashers created for each level of nesting
+    final TreeNode otherTree = createTreeWithNestedLazyBranches();
+    assertThat(otherTree.hashTreeRoot()).isEqualTo(recursiveHash(otherTree));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3, 8, 64})
+  void shouldMatchRecursiveHashWhenHashingInParallel(final int splitDepth) {
+    TreeHasher.enableParallelHashing(splitDepth, 4);
+    final TreeNode tree = createTree(3 * TreeHasher.MIN_PARALLEL_DIRTY_NODES);
+
+    assertThat(tree.hashTreeRoot()).isEqualTo(recursiveHash(tree));
+    assertAllBranchesHashed(tree);
+  }
+
+  @Test
+  void shouldHashUpdatedBranchesInParallel() {
+    final int leafCount = 4 * TreeHasher.MIN_PARALLEL_DIRTY_NODES;
+    final TreeNode tree = createTree(leafCount);
+    tree.hashTreeRoot();
+    TreeHasher.enableParallelHashing(4, 4);
+
+    TreeNode updated = tree;
+    for (int i = 0; i < leafCount; i += 3) {
+      updated = updated.updated(leafCount + i, newTestLeaf(leafCount + i));
+    }
+
+    assertThat(updated.hashTreeRoot()).isEqualTo(recursiveHash(updated));
+    assertAllBranchesHashed(updated);
+  }
+
+  @Test
+  void shouldHashDefaultTreeWithSharedChildrenInParallel() {
+    TreeHasher.enableParallelHashing(2, 4);
+    final TreeNode tree =
+        TreeUtil.createDefaultTree(16, createTree(TreeHasher.MIN_PARALLEL_DIRTY_NODES));
+
+    assertThat(tree.hashTreeRoot()).isEqualTo(recursiveHash(tree));
+  }
+
+  @Test
+  void countDirtyNodes_shouldStopAtLimit() {
+    final BranchNodeImpl tree = (BranchNodeImpl) createTree(1024);
+
+    assertThat(TreeHasher.countDirtyNodes(tree, Integer.MAX_VALUE)).isEqualTo(1023);
+    assertThat(TreeHasher.countDirtyNodes(tree, 100)).isEqualTo(100);
+
+    tree.get(0b10).hashTreeRoot();
+    assertThat(TreeHasher.countDirtyNodes(tree, Integer.MAX_VALUE)).isEqualTo(512);
+  }
+
+  private TreeNode createTree(final int leafCount) {
+    return TreeUtil.createTree(
+        IntStream.range(0, leafCount).mapToObj(TreeTest::newTestLeaf).collect(Collectors.toList()));
+  }
+
+  private TreeNode createTreeWithNestedLazyBranches() {
+    final TreeNode innerLazy = new LazyBranchNode(() -> (BranchNode) createTree(8), 8 * 32);
+    final TreeNode middleLazy =
+        new LazyBranchNode(
+            () -> (BranchNode) TreeUtil.createTree(List.of(newTestLeaf(1), innerLazy)), 9 * 32);
+    return TreeUtil.createTree(List.of(middleLazy, newTestLeaf(2), innerLazy, newTestLeaf(3)));
+  }
+
+  private static Bytes32 recursiveHash(final TreeNode node) {
+    if (node instanceof LeafNode) {
+      return node.hashTreeRoot();
+    }
+    final BranchNode branch = (BranchNode) node;
+    return Hash.sha2_256(
+        Bytes.concatenate(recursiveHash(branch.left()), recursiveHash(branch.right())));
+  }
+
+  private static void assertAllBranchesHashed(final TreeNode node) {
+    if (node instanceof BranchNodeImpl) {
+      final BranchNodeImpl branch = (BranchNodeImpl) node;
+      assertThat(branch.cachedHash).isNotNull();
+      assertAllBranchesHashed(branch.left());
+      assertAllBranchesHashed(branch.right());
+    }
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.backing.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tech.pegasys.teku.ssz.backing.tree.TreeTest.newTestLeaf;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.ssz.backing.ListViewRead;
+import tech.pegasys.teku.ssz.backing.ListViewWrite;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.BranchNode;
+import tech.pegasys.teku.ssz.backing.tree.TreeNode.LeafNode;
+import tech.pegasys.teku.ssz.backing.type.BasicViewTypes;
+import tech.pegasys.teku.ssz.backing.type.ListViewType;
+import tech.pegasys.teku.ssz.backing.view.BasicViews.UInt64View;
+
+public class TreeStorageTest {
+  private final MapTreeNodeStore store = new MapTreeNodeStore();
+
+  @Test
+  void shouldLoadStoredTree() {
+    final TreeNode tree =
+        TreeUtil.createTree(
+            List.of(
+                newTestLeaf(1),
+                TreeNode.createLeafNode(Bytes.of(1, 2, 3)),
+                TreeUtil.EMPTY_LEAF,
+                TreeNode.createLeafNode(Bytes32.ZERO),
+                newTestLeaf(5)));
+
+    TreeStorage.storeTree(tree, store);
+    final TreeNode loaded = TreeStorage.loadTree(tree.hashTreeRoot(), store);
+
+    assertThat(loaded.hashTreeRoot()).isEqualTo(tree.hashTreeRoot());
+    assertSameTree(loaded, tree);
+  }
+
+  @Test
+  void shouldOnlyStoreChangedBranches() {
+    final TreeNode tree = createTree(1024);
+    assertThat(TreeStorage.storeTree(tree, store)).isEqualTo(1023);
+
+    final TreeNode updated = tree.updated(1024 + 100, newTestLeaf(5000));
+    // Only the path from the root to the updated leaf changes
+    assertThat(TreeStorage.storeTree(updated, store)).isEqualTo(10);
+    assertThat(TreeStorage.storeTree(updated, store)).isZero();
+
+    assertSameTree(TreeStorage.loadTree(tree.hashTreeRoot(), store), tree);
+    assertSameTree(TreeStorage.loadTree(updated.hashTreeRoot(), store), updated);
+  }
+
+  @Test
+  void shouldNotStoreDefaultSubtrees() {
+    final TreeNode tree = TreeUtil.createDefaultTree(1L << 40, TreeUtil.EMPTY_LEAF);
+
+    // Only the root is stored, its children are recorded as references to the default subtrees
+    assertThat(TreeStorage.storeTree(tree, store)).isEqualTo(1);
+    final BranchNode loaded = (BranchNode) TreeStorage.loadTree(tree.hashTreeRoot(), store);
+    assertThat(loaded.left()).isSameAs(((BranchNode) tree).left());
+    assertThat(loaded.right()).isSameAs(((BranchNode) tree).right());
+  }
+
+  @Test
+  void shouldOnlyLoadAccessedBranches() {
+    final TreeNode tree = createTree(1024);
+    TreeStorage.storeTree(tree, store);
+
+    final TreeNode loaded = TreeStorage.loadTree(tree.hashTreeRoot(), store);
+    assertThat(loaded.hashTreeRoot()).isEqualTo(tree.hashTreeRoot());
+    assertThat(store.loadCount).isZero();
+
+    assertThat(loaded.get(1024 + 7)).isEqualTo(newTestLeaf(7));
+    assertThat(store.loadCount).isEqualTo(10);
+  }
+
+  @Test
+  void shouldUpdateLoadedTree() {
+    final TreeNode tree = createTree(64);
+    TreeStorage.storeTree(tree, store);
+
+    final TreeNode loaded = TreeStorage.loadTree(tree.hashTreeRoot(), store);
+    final TreeNode updated = loaded.updated(64 + 3, newTestLeaf(1000));
+
+    assertThat(updated.hashTreeRoot())
+        .isEqualTo(tree.updated(64 + 3, newTestLeaf(1000)).hashTreeRoot());
+    // Unchanged loaded subtrees are already stored
+    assertThat(TreeStorage.storeTree(updated, store)).isEqualTo(6);
+  }
+
+  @Test
+  void shouldCreateViewOverLoadedTree() {
+    final ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 100);
+    final ListViewWrite<UInt64View> list = listType.getDefault().createWritableCopy();
+    for (int i = 0; i < 50; i++) {
+      list.append(new UInt64View(UInt64.valueOf(i * 3)));
+    }
+    final TreeNode tree = list.commitChanges().getBackingNode();
+    TreeStorage.storeTree(tree, store);
+
+    final ListViewRead<UInt64View> loaded =
+        listType.createFromBackingNode(TreeStorage.loadTree(tree.hashTreeRoot(), store));
+    assertThat(loaded.size()).isEqualTo(50);
+    assertThat(loaded.get(49).get()).isEqualTo(UInt64.valueOf(147));
+    assertThat(loaded.sszSerialize()).isEqualTo(list.commitChanges().sszSerialize());
+  }
+
+  @Test
+  void shouldBatchUpdateViewOverLoadedTree() {
+    final ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 100);
+    final ListViewWrite<UInt64View> list = listType.getDefault().createWritableCopy();
+    for (int i = 0; i < 50; i++) {
+      list.append(new UInt64View(UInt64.valueOf(i)));
+    }
+    final ListViewRead<UInt64View> original = list.commitChanges();
+    TreeStorage.storeTree(original.getBackingNode(), store);
+
+    ListViewRead<UInt64View> loaded =
+        listType.createFromBackingNode(TreeStorage.loadTree(original.hashTreeRoot(), store));
+    ListViewRead<UInt64View> expected = original;
+    // The first update leaves loaded branches below new branch nodes which the second one updates
+    for (int update = 0; update < 2; update++) {
+      final ListViewWrite<UInt64View> loadedWrite = loaded.createWritableCopy();
+      final ListViewWrite<UInt64View> expectedWrite = expected.createWritableCopy();
+      for (int i : update == 0 ? new int[] {0} : new int[] {40, 45}) {
+        loadedWrite.set(i, new UInt64View(UInt64.valueOf(1000 + i)));
+        expectedWrite.set(i, new UInt64View(UInt64.valueOf(1000 + i)));
+      }
+      loaded = loadedWrite.commitChanges();
+      expected = expectedWrite.commitChanges();
+    }
+
+    assertThat(loaded.hashTreeRoot()).isEqualTo(expected.hashTreeRoot());
+  }
+
+  @Test
+  void shouldSerializeLoadedTreeSharingBranchesWithDifferentLeafPadding() {
+    final ListViewType<UInt64View> listType = new ListViewType<>(BasicViewTypes.UINT64_TYPE, 100);
+    final ListViewWrite<UInt64View> shortList = listType.getDefault().createWritableCopy();
+    final ListViewWrite<UInt64View> longList = listType.getDefault().createWritableCopy();
+    for (int i = 1; i <= 5; i++) {
+      shortList.append(new UInt64View(UInt64.valueOf(i)));
+      longList.append(new UInt64View(UInt64.valueOf(i)));
+    }
+    for (int i = 0; i < 3; i++) {
+      longList.append(new UInt64View(UInt64.ZERO));
+    }
+    final TreeNode shortTree = shortList.commitChanges().getBackingNode();
+    final TreeNode longTree = longList.commitChanges().getBackingNode();
+    // Only the list lengths differ, the last chunk of the short list is stored without padding
+    assertThat(((BranchNode) shortTree).left().hashTreeRoot())
+        .isEqualTo(((BranchNode) longTree).left().hashTreeRoot());
+
+    TreeStorage.storeTree(longTree, store);
+    TreeStorage.storeTree(shortTree, store);
+
+    final ListViewRead<UInt64View> loadedShort =
+        listType.createFromBackingNode(TreeStorage.loadTree(shortTree.hashTreeRoot(), store));
+    final ListViewRead<UInt64View> loadedLong =
+        listType.createFromBackingNode(TreeStorage.loadTree(longTree.hashTreeRoot(), store));
+    assertThat(loadedShort.sszSerialize()).isEqualTo(shortList.commitChanges().sszSerialize());
+    assertThat(loadedLong.sszSerialize()).isEqualTo(longList.commitChanges().sszSerialize());
+  }
+
+  @Test
+  void shouldFailToLoadMissingNode() {
+    final TreeNode loaded = TreeStorage.loadTree(Bytes32.fromHexString("0x1234"), store);
+
+    assertThatThrownBy(() -> ((BranchNode) loaded).left())
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private TreeNode createTree(final int leafCount) {
+    return TreeUtil.createTree(
+        IntStream.range(0, leafCount).mapToObj(TreeTest::newTestLeaf).collect(Collectors.toList()));
+  }
+
+  private static void assertSameTree(final TreeNode actual, final TreeNode expected) {
+    assertThat(actual.hashTreeRoot()).isEqualTo(expected.hashTreeRoot());
+    if (expected instanceof LeafNode) {
+      assertThat(actual).isInstanceOf(LeafNode.class);
+      assertThat(((LeafNode) actual).getData()).isEqualTo(((LeafNode) expected).getData());
+    } else {
+      assertThat(actual).isInstanceOf(BranchNode.class);
+      assertSameTree(((BranchNode) actual).left(), ((BranchNode) expected).left());
+      assertSameTree(((BranchNode) actual).right(), ((BranchNode) expected).right());
+    }
+  }
+
+  private static class MapTreeNodeStore implements TreeNodeStore {
+    private final Map<Bytes32, Bytes> nodes = new HashMap<>();
+    private int loadCount = 0;
+
+    @Override
+    public boolean containsBranchNode(final Bytes32 root) {
+      return nodes.containsKey(root);
+    }
+
+    @Override
+    public void storeBranchNode(final Bytes32 root, final Bytes children) {
+      nodes.put(root, children);
+    }
+
+    @Override
+    public Optional<Bytes> loadBranchNode(final Bytes32 root) {
+      loadCount++;
+      return Optional.ofNullable(nodes.get(root));
+    }
+  }
+}
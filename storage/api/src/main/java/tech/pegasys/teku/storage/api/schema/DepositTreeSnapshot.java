@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.api.schema;
+
+import java.util.List;
+import java.util.Objects;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * Snapshot of the deposit merkle tree pruned up to the finalized deposit count.
+ *
+ * <p>The frontier holds the roots of the complete subtrees covering the finalized deposits, lowest
+ * level first, which is enough to continue building the tree from the next deposit. Deposit events
+ * are replayed from the block containing the last finalized deposit onwards.
+ */
+public class DepositTreeSnapshot {
+
+  private final UInt64 depositCount;
+  private final List<Bytes32> frontier;
+  private final UInt64 blockNumber;
+
+  public DepositTreeSnapshot(
+      final UInt64 depositCount, final List<Bytes32> frontier, final UInt64 blockNumber) {
+    this.depositCount = depositCount;
+    this.frontier = List.copyOf(frontier);
+    this.blockNumber = blockNumber;
+  }
+
+  /** @return number of deposits covered by the snapshot */
+  public UInt64 getDepositCount() {
+    return depositCount;
+  }
+
+  public List<Bytes32> getFrontier() {
+    return frontier;
+  }
+
+  /** @return number of the eth1 block containing the last deposit covered by the snapshot */
+  public UInt64 getBlockNumber() {
+    return blockNumber;
+  }
+
+  @Override
+  public String toString() {
+    return "DepositTreeSnapshot{"
+        + "depositCount="
+        + depositCount
+        + ", frontier="
+        + frontier
+        + ", blockNumber="
+        + blockNumber
+        + '}';
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    final DepositTreeSnapshot that = (DepositTreeSnapshot) o;
+    return Objects.equals(depositCount, that.depositCount)
+        && Objects.equals(frontier, that.frontier)
+        && Objects.equals(blockNumber, that.blockNumber);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(depositCount, frontier, blockNumber);
+  }
+}
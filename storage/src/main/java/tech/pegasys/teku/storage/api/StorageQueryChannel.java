@@ -13,9 +13,11 @@
 
 package tech.pegasys.teku.storage.api;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
@@ -42,6 +44,16 @@ public interface StorageQueryChannel extends ChannelInterface {
 
   SafeFuture<Optional<SignedBeaconBlock>> getBlockByBlockRoot(final Bytes32 blockRoot);
 
+  /**
+   * Returns the SSZ serialized finalized blocks from startSlot to endSlot (both inclusive) in slot
+   * order, exactly as they are stored and without deserializing them.
+   *
+   * @param startSlot the slot of the first block to return
+   * @param endSlot the slot of the last block to return
+   * @return the serialized blocks in the range
+   */
+  SafeFuture<List<Bytes>> getSerializedFinalizedBlocks(UInt64 startSlot, UInt64 endSlot);
+
   SafeFuture<Optional<SignedBlockAndState>> getHotBlockAndStateByBlockRoot(final Bytes32 blockRoot);
 
   /**
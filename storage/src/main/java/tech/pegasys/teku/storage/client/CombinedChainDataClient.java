@@ -27,6 +27,7 @@ import java.util.NavigableMap;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.core.StateTransition;
 import tech.pegasys.teku.core.exceptions.EpochProcessingException;
@@ -142,6 +143,19 @@ public class CombinedChainDataClient {
     return historicalChainData.getLatestFinalizedBlockAtSlot(slot);
   }
 
+  /**
+   * Returns the finalized blocks from startSlot to endSlot (both inclusive) as stored SSZ, skipping
+   * deserialization entirely. All slots in the range must be finalized.
+   *
+   * @param startSlot the first slot to return a block for
+   * @param endSlot the last slot to return a block for
+   * @return the serialized blocks in slot order
+   */
+  public SafeFuture<List<Bytes>> getSerializedFinalizedBlocks(
+      final UInt64 startSlot, final UInt64 endSlot) {
+    return historicalChainData.getSerializedFinalizedBlocks(startSlot, endSlot);
+  }
+
   public SafeFuture<Optional<BeaconBlockAndState>> getBlockAndStateInEffectAtSlot(
       final UInt64 slot) {
     return getSignedBlockAndStateInEffectAtSlot(slot)
@@ -14,15 +14,23 @@
 package tech.pegasys.teku.storage.server;
 
 import com.google.common.eventbus.EventBus;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
 import tech.pegasys.teku.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
@@ -37,25 +45,58 @@ import tech.pegasys.teku.util.config.Constants;
 public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
 
   private static final int FINALIZED_STATE_CACHE_SIZE = Constants.SLOTS_PER_EPOCH * 3;
+  private static final int MAX_PENDING_STORAGE_UPDATES = 64;
+  private static final long MAX_STORAGE_UPDATE_FLUSH_DELAY_MILLIS = 1000;
 
   private final EventBus eventBus;
 
   private final Database database;
   private final FinalizedStateCache finalizedStateCache;
+  private final Optional<WriteBehindStorageUpdater> writeBehindUpdater;
   private volatile Optional<StoreBuilder> cachedStore = Optional.empty();
 
   private ChainStorage(
       final EventBus eventBus,
       final Database database,
-      final FinalizedStateCache finalizedStateCache) {
+      final FinalizedStateCache finalizedStateCache,
+      final Optional<AsyncRunner> writeBehindRunner) {
     this.eventBus = eventBus;
     this.database = database;
     this.finalizedStateCache = finalizedStateCache;
+    this.writeBehindUpdater =
+        writeBehindRunner.map(
+            asyncRunner ->
+                new WriteBehindStorageUpdater(
+                    database,
+                    asyncRunner,
+                    MAX_PENDING_STORAGE_UPDATES,
+                    MAX_STORAGE_UPDATE_FLUSH_DELAY_MILLIS,
+                    this::handleStoreUpdate));
   }
 
-  public static ChainStorage create(final EventBus eventBus, final Database database) {
+  public static ChainStorage create(
+      final EventBus eventBus, final Database database, final MetricsSystem metricsSystem) {
     return new ChainStorage(
-        eventBus, database, new FinalizedStateCache(database, FINALIZED_STATE_CACHE_SIZE, true));
+        eventBus,
+        database,
+        new FinalizedStateCache(database, FINALIZED_STATE_CACHE_SIZE, true, metricsSystem),
+        Optional.empty());
+  }
+
+  /**
+   * Creates a ChainStorage which coalesces storage updates and writes them to the database in the
+   * background using the supplied runner.
+   */
+  public static ChainStorage create(
+      final EventBus eventBus,
+      final Database database,
+      final MetricsSystem metricsSystem,
+      final AsyncRunner writeBehindRunner) {
+    return new ChainStorage(
+        eventBus,
+        database,
+        new FinalizedStateCache(database, FINALIZED_STATE_CACHE_SIZE, true, metricsSystem),
+        Optional.of(writeBehindRunner));
   }
 
   public void start() {
@@ -64,6 +105,7 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
 
   public void stop() {
     eventBus.unregister(this);
+    writeBehindUpdater.ifPresent(WriteBehindStorageUpdater::flush);
   }
 
   private synchronized Optional<StoreBuilder> getStore() {
@@ -85,6 +127,8 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
       return SafeFuture.failedFuture(new IllegalStateException("Database not initialized yet"));
     }
 
+    // The store is loaded from the database so must include any pending updates
+    writeBehindUpdater.ifPresent(WriteBehindStorageUpdater::flush);
     return SafeFuture.completedFuture(getStore());
   }
 
@@ -95,6 +139,9 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
 
   @Override
   public SafeFuture<Void> onStorageUpdate(final StorageUpdate event) {
+    if (writeBehindUpdater.isPresent()) {
+      return writeBehindUpdater.get().onStorageUpdate(event);
+    }
     return SafeFuture.fromRunnable(
         () -> {
           database.update(event);
@@ -132,7 +179,20 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
 
   @Override
   public SafeFuture<Optional<SignedBeaconBlock>> getBlockByBlockRoot(final Bytes32 blockRoot) {
-    return SafeFuture.of(() -> database.getSignedBlock(blockRoot));
+    return SafeFuture.of(
+        () -> getPendingHotBlock(blockRoot).or(() -> database.getSignedBlock(blockRoot)));
+  }
+
+  @Override
+  public SafeFuture<List<Bytes>> getSerializedFinalizedBlocks(
+      final UInt64 startSlot, final UInt64 endSlot) {
+    return SafeFuture.of(
+        () -> {
+          try (final Stream<Bytes> blocks =
+              database.streamFinalizedBlockBytes(startSlot, endSlot)) {
+            return blocks.collect(Collectors.toList());
+          }
+        });
   }
 
   @Override
@@ -140,22 +200,40 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
       final Bytes32 blockRoot) {
     return SafeFuture.of(
         () ->
-            database
-                .getHotState(blockRoot)
-                .flatMap(
-                    s -> database.getHotBlock(blockRoot).map(b -> new SignedBlockAndState(b, s))));
+            getHotState(blockRoot)
+                .flatMap(s -> getHotBlock(blockRoot).map(b -> new SignedBlockAndState(b, s))));
   }
 
   @Override
   public SafeFuture<Map<Bytes32, SignedBeaconBlock>> getHotBlocksByRoot(
       final Set<Bytes32> blockRoots) {
-    return SafeFuture.of(() -> database.getHotBlocks(blockRoots));
+    if (writeBehindUpdater.isEmpty()) {
+      return SafeFuture.of(() -> database.getHotBlocks(blockRoots));
+    }
+    return SafeFuture.of(
+        () -> {
+          final Map<Bytes32, SignedBeaconBlock> blocks = new HashMap<>();
+          final Set<Bytes32> unwrittenRoots = new HashSet<>();
+          for (Bytes32 blockRoot : blockRoots) {
+            getPendingHotBlock(blockRoot)
+                .ifPresentOrElse(
+                    block -> blocks.put(blockRoot, block), () -> unwrittenRoots.add(blockRoot));
+          }
+          if (!unwrittenRoots.isEmpty()) {
+            blocks.putAll(database.getHotBlocks(unwrittenRoots));
+          }
+          return blocks;
+        });
   }
 
   @Override
   public SafeFuture<Optional<SlotAndBlockRoot>> getSlotAndBlockRootByStateRoot(
       final Bytes32 stateRoot) {
-    return SafeFuture.of(() -> database.getSlotAndBlockRootFromStateRoot(stateRoot));
+    return SafeFuture.of(
+        () ->
+            writeBehindUpdater
+                .flatMap(updater -> updater.getSlotAndBlockRootFromStateRoot(stateRoot))
+                .or(() -> database.getSlotAndBlockRootFromStateRoot(stateRoot)));
   }
 
   @Override
@@ -177,6 +255,20 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel {
     return SafeFuture.of(() -> database.getSlotForFinalizedStateRoot(stateRoot));
   }
 
+  private Optional<SignedBeaconBlock> getHotBlock(final Bytes32 blockRoot) {
+    return getPendingHotBlock(blockRoot).or(() -> database.getHotBlock(blockRoot));
+  }
+
+  private Optional<BeaconState> getHotState(final Bytes32 blockRoot) {
+    return writeBehindUpdater
+        .flatMap(updater -> updater.getHotState(blockRoot))
+        .or(() -> database.getHotState(blockRoot));
+  }
+
+  private Optional<SignedBeaconBlock> getPendingHotBlock(final Bytes32 blockRoot) {
+    return writeBehindUpdater.flatMap(updater -> updater.getHotBlock(blockRoot));
+  }
+
   private Optional<BeaconState> getLatestFinalizedStateAtSlotSync(final UInt64 slot) {
     return finalizedStateCache.getFinalizedState(slot);
   }
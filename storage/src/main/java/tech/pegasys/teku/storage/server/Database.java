@@ -19,16 +19,18 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
-import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.teku.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.protoarray.ProtoArraySnapshot;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 import tech.pegasys.teku.storage.events.StorageUpdate;
 import tech.pegasys.teku.storage.events.WeakSubjectivityState;
 import tech.pegasys.teku.storage.events.WeakSubjectivityUpdate;
@@ -46,7 +48,7 @@ public interface Database extends AutoCloseable {
 
   WeakSubjectivityState getWeakSubjectivityState();
 
-  Map<UInt64, VoteTracker> getVotes();
+  ValidatorVotes getVotes();
 
   Optional<UInt64> getSlotForFinalizedBlockRoot(Bytes32 blockRoot);
 
@@ -95,6 +97,17 @@ public interface Database extends AutoCloseable {
   @MustBeClosed
   Stream<SignedBeaconBlock> streamFinalizedBlocks(UInt64 startSlot, UInt64 endSlot);
 
+  /**
+   * Return a {@link Stream} of the SSZ serialized blocks beginning at startSlot and ending at
+   * endSlot, both inclusive, exactly as they are stored.
+   *
+   * @param startSlot the slot of the first block to return
+   * @param endSlot the slot of the last block to return
+   * @return a Stream of serialized blocks in the range startSlot to endSlot (both inclusive).
+   */
+  @MustBeClosed
+  Stream<Bytes> streamFinalizedBlockBytes(UInt64 startSlot, UInt64 endSlot);
+
   List<Bytes32> getStateRootsBeforeSlot(final UInt64 slot);
 
   void addHotStateRoots(final Map<Bytes32, SlotAndBlockRoot> stateRootToSlotAndBlockRootMap);
@@ -105,16 +118,33 @@ public interface Database extends AutoCloseable {
 
   Optional<BeaconState> getLatestAvailableFinalizedState(UInt64 maxSlot);
 
+  /**
+   * Returns the recorded root of the finalized state at the given slot, which for empty slots is
+   * the root of the state after the slot was processed. State roots are only recorded in archive
+   * mode.
+   *
+   * @param slot the slot of the state
+   * @return the state root, if it has been recorded
+   */
+  Optional<Bytes32> getFinalizedStateRootAtSlot(UInt64 slot);
+
   Optional<MinGenesisTimeBlockEvent> getMinGenesisTimeBlock();
 
   @MustBeClosed
   Stream<DepositsFromBlockEvent> streamDepositsFromBlocks();
 
+  @MustBeClosed
+  Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(UInt64 fromBlockNumber);
+
+  Optional<DepositTreeSnapshot> getDepositTreeSnapshot();
+
   Optional<ProtoArraySnapshot> getProtoArraySnapshot();
 
   void addMinGenesisTimeBlock(final MinGenesisTimeBlockEvent event);
 
   void addDepositsFromBlockEvent(final DepositsFromBlockEvent event);
 
+  void storeDepositTreeSnapshot(final DepositTreeSnapshot snapshot);
+
   void putProtoArraySnapshot(final ProtoArraySnapshot protoArray);
 }
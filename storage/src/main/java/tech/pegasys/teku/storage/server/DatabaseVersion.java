@@ -19,7 +19,8 @@ public enum DatabaseVersion {
   NOOP("noop"),
   V4("4"),
   V5("5"),
-  V6("6");
+  V6("6"),
+  V7("7");
 
   public static final DatabaseVersion DEFAULT_VERSION = DatabaseVersion.V5;
   private String value;
@@ -14,6 +14,7 @@
 package tech.pegasys.teku.storage.server;
 
 import com.google.common.base.Suppliers;
+import com.google.errorprone.annotations.MustBeClosed;
 import java.math.BigInteger;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -27,6 +28,7 @@ import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.pow.exception.InvalidDepositEventsException;
 import tech.pegasys.teku.storage.api.Eth1DepositStorageChannel;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 import tech.pegasys.teku.storage.api.schema.ReplayDepositsResult;
 
 public class DepositStorage implements Eth1DepositStorageChannel, Eth1EventsChannel {
@@ -38,22 +40,38 @@ public class DepositStorage implements Eth1DepositStorageChannel, Eth1EventsChan
   private volatile Optional<BigInteger> lastReplayedBlock = Optional.empty();
   private final Supplier<SafeFuture<ReplayDepositsResult>> replayResult;
   private final boolean eth1DepositsFromStorageEnabled;
+  private final boolean depositTreeSnapshotEnabled;
 
   private DepositStorage(
       final Eth1EventsChannel eth1EventsChannel,
       final Database database,
-      final boolean eth1DepositsFromStorageEnabled) {
+      final boolean eth1DepositsFromStorageEnabled,
+      final boolean depositTreeSnapshotEnabled) {
     this.eth1EventsChannel = eth1EventsChannel;
     this.database = database;
     this.replayResult = Suppliers.memoize(() -> SafeFuture.of(this::replayDeposits));
     this.eth1DepositsFromStorageEnabled = eth1DepositsFromStorageEnabled;
+    this.depositTreeSnapshotEnabled = depositTreeSnapshotEnabled;
   }
 
   public static DepositStorage create(
       final Eth1EventsChannel eth1EventsChannel,
       final Database database,
       final boolean eth1DepositsFromStorageEnabled) {
-    return new DepositStorage(eth1EventsChannel, database, eth1DepositsFromStorageEnabled);
+    return create(eth1EventsChannel, database, eth1DepositsFromStorageEnabled, true);
+  }
+
+  /**
+   * @param depositTreeSnapshotEnabled whether to replay deposits from the stored deposit tree
+   *     snapshot, if any, rather than replaying every stored deposit
+   */
+  public static DepositStorage create(
+      final Eth1EventsChannel eth1EventsChannel,
+      final Database database,
+      final boolean eth1DepositsFromStorageEnabled,
+      final boolean depositTreeSnapshotEnabled) {
+    return new DepositStorage(
+        eth1EventsChannel, database, eth1DepositsFromStorageEnabled, depositTreeSnapshotEnabled);
   }
 
   @Override
@@ -67,9 +85,12 @@ public class DepositStorage implements Eth1DepositStorageChannel, Eth1EventsChan
       return ReplayDepositsResult.empty();
     }
 
+    final Optional<DepositTreeSnapshot> snapshot =
+        depositTreeSnapshotEnabled ? database.getDepositTreeSnapshot() : Optional.empty();
     final DepositSequencer depositSequencer =
-        new DepositSequencer(eth1EventsChannel, database.getMinGenesisTimeBlock());
-    try (Stream<DepositsFromBlockEvent> eventStream = database.streamDepositsFromBlocks()) {
+        new DepositSequencer(eth1EventsChannel, database.getMinGenesisTimeBlock(), snapshot);
+    snapshot.ifPresent(eth1EventsChannel::onDepositTreeSnapshotLoaded);
+    try (Stream<DepositsFromBlockEvent> eventStream = streamDepositsToReplay(snapshot)) {
       eventStream.forEach(depositSequencer::depositEvent);
     }
     ReplayDepositsResult result = depositSequencer.depositsComplete();
@@ -77,6 +98,16 @@ public class DepositStorage implements Eth1DepositStorageChannel, Eth1EventsChan
     return result;
   }
 
+  @MustBeClosed
+  private Stream<DepositsFromBlockEvent> streamDepositsToReplay(
+      final Optional<DepositTreeSnapshot> snapshot) {
+    if (snapshot.isPresent()) {
+      // Deposits before the snapshot are only replayed when they share a block with later ones
+      return database.streamDepositsFromBlocks(snapshot.get().getBlockNumber());
+    }
+    return database.streamDepositsFromBlocks();
+  }
+
   private boolean shouldProcessEvent(final BigInteger blockNumber) {
     return lastReplayedBlock.map(startBlock -> startBlock.compareTo(blockNumber) < 0).orElse(false);
   }
@@ -95,17 +126,27 @@ public class DepositStorage implements Eth1DepositStorageChannel, Eth1EventsChan
     }
   }
 
+  @Override
+  public void onDepositTreeSnapshot(final DepositTreeSnapshot snapshot) {
+    LOG.debug("Storing deposit tree snapshot of {} deposits", snapshot.getDepositCount());
+    database.storeDepositTreeSnapshot(snapshot);
+  }
+
   private static class DepositSequencer {
     private final Eth1EventsChannel eth1EventsChannel;
     private final Optional<MinGenesisTimeBlockEvent> genesis;
+    private final Optional<DepositTreeSnapshot> snapshot;
     private boolean isGenesisDone = false;
     private BigInteger lastDepositBlockNumber = NEGATIVE_ONE;
     private Optional<UInt64> lastDepositIndex = Optional.empty();
 
     public DepositSequencer(
-        final Eth1EventsChannel eventChannel, final Optional<MinGenesisTimeBlockEvent> genesis) {
+        final Eth1EventsChannel eventChannel,
+        final Optional<MinGenesisTimeBlockEvent> genesis,
+        final Optional<DepositTreeSnapshot> snapshot) {
       this.eth1EventsChannel = eventChannel;
       this.genesis = genesis;
+      this.snapshot = snapshot;
     }
 
     public void depositEvent(final DepositsFromBlockEvent event) {
@@ -124,6 +165,16 @@ public class DepositStorage implements Eth1DepositStorageChannel, Eth1EventsChan
     }
 
     private void validateDepositEvent(final DepositsFromBlockEvent event) {
+      if (lastDepositIndex.isEmpty() && snapshot.isPresent()) {
+        // The first event replayed after a snapshot contains the last deposit in the snapshot
+        final UInt64 lastSnapshotDepositIndex = snapshot.get().getDepositCount().decrement();
+        if (event.getFirstDepositIndex().isGreaterThan(lastSnapshotDepositIndex)
+            || event.getLastDepositIndex().isLessThan(lastSnapshotDepositIndex)) {
+          throw InvalidDepositEventsException.expectedDepositAtIndex(
+              lastSnapshotDepositIndex, event.getFirstDepositIndex());
+        }
+        return;
+      }
       final UInt64 expectedDepositIndex =
           lastDepositIndex.map(UInt64::increment).orElse(UInt64.ZERO);
       if (!event.getFirstDepositIndex().equals(expectedDepositIndex)) {
@@ -134,6 +185,12 @@ public class DepositStorage implements Eth1DepositStorageChannel, Eth1EventsChan
 
     public ReplayDepositsResult depositsComplete() {
       LOG.trace("Finish replaying deposit storage");
+      if (snapshot.isPresent() && lastDepositIndex.isEmpty()) {
+        throw new InvalidDepositEventsException(
+            "Deposits from block "
+                + snapshot.get().getBlockNumber()
+                + " included in the deposit tree snapshot are missing");
+      }
       if (genesis.isPresent() && !isGenesisDone) {
         this.eth1EventsChannel.onMinGenesisTimeBlock(genesis.get());
         lastDepositBlockNumber = genesis.get().getBlockNumber().bigIntegerValue();
@@ -31,6 +31,7 @@ import tech.pegasys.teku.storage.server.rocksdb.RocksDbConfiguration;
 import tech.pegasys.teku.storage.server.rocksdb.RocksDbDatabase;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V6SchemaFinalized;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V7SchemaFinalized;
 import tech.pegasys.teku.util.config.Constants;
 import tech.pegasys.teku.util.config.Eth1Address;
 import tech.pegasys.teku.util.config.StateStorageMode;
@@ -114,7 +115,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
   public Database createDatabase() {
     LOG.info("Beacon data directory set to: {}", dataDirectory.getAbsolutePath());
     validateDataPaths();
-    final DatabaseVersion dbVersion = getDatabaseVersion();
+    final DatabaseVersion dbVersion = maybeUpgradeDatabaseVersion(getDatabaseVersion());
     createDirectories(dbVersion);
     saveDatabaseVersion(dbVersion);
 
@@ -147,19 +148,23 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
             v5ArchiveDirectory.getAbsolutePath());
         break;
       case V6:
-        database = createV6Database();
+      case V7:
+        database = createV6Database(dbVersion);
         if (v6ArchiveDirectory.isPresent()) {
           LOG.info(
-              "Created V6 Hot database ({}) at {}",
+              "Created {} Hot database ({}) at {}",
+              dbVersion,
               dbVersion.getValue(),
               dbDirectory.getAbsolutePath());
           LOG.info(
-              "Created V6 Finalized database ({}) at {}",
+              "Created {} Finalized database ({}) at {}",
+              dbVersion,
               dbVersion.getValue(),
               v6ArchiveDirectory.get().getAbsolutePath());
         } else {
           LOG.info(
-              "Created V6 Hot and Finalized database ({}) at {}",
+              "Created {} Hot and Finalized database ({}) at {}",
+              dbVersion,
               dbVersion.getValue(),
               dbDirectory.getAbsolutePath());
         }
@@ -205,7 +210,13 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
     }
   }
 
-  private Database createV6Database() {
+  /**
+   * V7 database uses the same layout and metadata as V6, only storing finalized states as trees
+   *
+   * @param dbVersion either {@link DatabaseVersion#V6} or {@link DatabaseVersion#V7}
+   * @return the created database
+   */
+  private Database createV6Database(final DatabaseVersion dbVersion) {
     try {
       final V6DatabaseMetadata defaultMetaData;
       if (v6ArchiveDirectory.isPresent()) {
@@ -240,6 +251,16 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
                       .getArchiveDbConfiguration()
                       .withDatabaseDir(dir.toPath()));
 
+      if (dbVersion == DatabaseVersion.V7) {
+        return RocksDbDatabase.createV7(
+            metricsSystem,
+            hotOrSingleDBConfiguration.withDatabaseDir(dbDirectory.toPath()),
+            finalizedConfiguration,
+            V4SchemaHot.INSTANCE,
+            V7SchemaFinalized.INSTANCE,
+            stateStorageMode,
+            stateStorageFrequency);
+      }
       return RocksDbDatabase.createV6(
           metricsSystem,
           hotOrSingleDBConfiguration.withDatabaseDir(dbDirectory.toPath()),
@@ -289,6 +310,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
         }
         break;
       case V6:
+      case V7:
         v6ArchiveDirectory.ifPresent(
             archiveDirectory -> {
               if (!archiveDirectory.mkdirs() && !archiveDirectory.isDirectory()) {
@@ -322,6 +344,31 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
     return this.createDatabaseVersion;
   }
 
+  /**
+   * A V6 database can be upgraded in place to V7 as V7 only adds columns. Finalized states stored
+   * before the upgrade remain available from their original column.
+   */
+  private DatabaseVersion maybeUpgradeDatabaseVersion(final DatabaseVersion dbVersion) {
+    if (dbVersion != DatabaseVersion.V6 || createDatabaseVersion != DatabaseVersion.V7) {
+      return dbVersion;
+    }
+    LOG.info(
+        "Upgrading database at {} from version {} to {}",
+        dataDirectory.getAbsolutePath(),
+        dbVersion.getValue(),
+        createDatabaseVersion.getValue());
+    try {
+      Files.writeString(
+          dbVersionFile.toPath(),
+          createDatabaseVersion.getValue(),
+          StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (IOException e) {
+      throw new DatabaseStorageException(
+          "Failed to write database version to file " + dbVersionFile.getAbsolutePath(), e);
+    }
+    return createDatabaseVersion;
+  }
+
   private void saveDatabaseVersion(final DatabaseVersion version) {
     if (!dbVersionFile.exists()) {
       try {
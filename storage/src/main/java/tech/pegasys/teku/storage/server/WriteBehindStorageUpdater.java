@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
+import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.Checkpoint;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.events.StorageUpdate;
+
+/**
+ * Writes {@link StorageUpdate}s to the {@link Database} asynchronously, coalescing consecutive
+ * updates into a single database write.
+ *
+ * <p>Updates which only add hot data are merged into a pending update and acknowledged immediately.
+ * The pending update is written once {@code maxPendingUpdates} have been merged or {@code
+ * maxFlushDelayMillis} after the first of them arrived, whichever comes first. Updates that
+ * finalize a checkpoint or delete hot blocks are written synchronously, after any pending update,
+ * so that finalized data is always on disk before the update is acknowledged.
+ *
+ * <p>Hot blocks, states and state roots that haven't been written yet can be read back through
+ * {@link #getHotBlock(Bytes32)}, {@link #getHotState(Bytes32)} and {@link
+ * #getSlotAndBlockRootFromStateRoot(Bytes32)}.
+ */
+public class WriteBehindStorageUpdater {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Database database;
+  private final AsyncRunner asyncRunner;
+  private final int maxPendingUpdates;
+  private final long maxFlushDelayMillis;
+  private final Runnable onFlush;
+
+  // Serializes writes to the database so updates are applied in order
+  private final Object writeLock = new Object();
+
+  private PendingUpdate pending = new PendingUpdate();
+  // The update currently being written, still readable until the write completes
+  private Optional<PendingUpdate> writing = Optional.empty();
+  private boolean flushScheduled = false;
+
+  public WriteBehindStorageUpdater(
+      final Database database,
+      final AsyncRunner asyncRunner,
+      final int maxPendingUpdates,
+      final long maxFlushDelayMillis,
+      final Runnable onFlush) {
+    this.database = database;
+    this.asyncRunner = asyncRunner;
+    this.maxPendingUpdates = maxPendingUpdates;
+    this.maxFlushDelayMillis = maxFlushDelayMillis;
+    this.onFlush = onFlush;
+  }
+
+  public SafeFuture<Void> onStorageUpdate(final StorageUpdate update) {
+    if (update.getFinalizedCheckpoint().isPresent() || !update.getDeletedHotBlocks().isEmpty()) {
+      return SafeFuture.fromRunnable(
+          () -> {
+            synchronized (writeLock) {
+              flush();
+              database.update(update);
+              onFlush.run();
+            }
+          });
+    }
+
+    final boolean flushNow;
+    synchronized (this) {
+      pending.merge(update);
+      flushNow = pending.getUpdateCount() >= maxPendingUpdates;
+      if (!flushNow) {
+        scheduleFlush();
+      }
+    }
+    return flushNow ? SafeFuture.fromRunnable(this::flush) : SafeFuture.COMPLETE;
+  }
+
+  private synchronized void scheduleFlush() {
+    if (flushScheduled) {
+      return;
+    }
+    flushScheduled = true;
+    asyncRunner
+        .runAfterDelay(this::flush, maxFlushDelayMillis, TimeUnit.MILLISECONDS)
+        .finish(error -> LOG.error("Failed to write pending storage updates", error));
+  }
+
+  /**
+   * Writes any pending updates to the database, blocking until the write has completed.
+   *
+   * <p>If the write fails the updates, which have already been acknowledged, are kept pending and
+   * retried later. The failure is rethrown so that updates which must be written synchronously
+   * fail rather than being written ahead of the earlier updates.
+   */
+  public void flush() {
+    synchronized (writeLock) {
+      final PendingUpdate update;
+      synchronized (this) {
+        flushScheduled = false;
+        if (pending.getUpdateCount() == 0) {
+          return;
+        }
+        update = pending;
+        pending = new PendingUpdate();
+        writing = Optional.of(update);
+      }
+      try {
+        database.update(update.toStorageUpdate());
+      } catch (final RuntimeException e) {
+        synchronized (this) {
+          // Updates merged while writing are more recent so they replace the failed ones
+          update.merge(pending);
+          pending = update;
+          writing = Optional.empty();
+          scheduleFlush();
+        }
+        throw e;
+      }
+      synchronized (this) {
+        writing = Optional.empty();
+      }
+      onFlush.run();
+    }
+  }
+
+  public synchronized Optional<SignedBeaconBlock> getHotBlock(final Bytes32 blockRoot) {
+    return Optional.ofNullable(pending.hotBlocks.get(blockRoot))
+        .or(() -> writing.map(update -> update.hotBlocks.get(blockRoot)));
+  }
+
+  public synchronized Optional<BeaconState> getHotState(final Bytes32 blockRoot) {
+    return Optional.ofNullable(pending.hotStates.get(blockRoot))
+        .or(() -> writing.map(update -> update.hotStates.get(blockRoot)));
+  }
+
+  public synchronized Optional<SlotAndBlockRoot> getSlotAndBlockRootFromStateRoot(
+      final Bytes32 stateRoot) {
+    return Optional.ofNullable(pending.stateRoots.get(stateRoot))
+        .or(() -> writing.map(update -> update.stateRoots.get(stateRoot)));
+  }
+
+  /** Accumulates updates that only add hot data, later values replacing earlier ones. */
+  private static class PendingUpdate {
+    private Optional<UInt64> genesisTime = Optional.empty();
+    private Optional<Checkpoint> justifiedCheckpoint = Optional.empty();
+    private Optional<Checkpoint> bestJustifiedCheckpoint = Optional.empty();
+    private final Map<Bytes32, SignedBeaconBlock> hotBlocks = new HashMap<>();
+    private final Map<Bytes32, BeaconState> hotStates = new HashMap<>();
+    private final Map<UInt64, VoteTracker> votes = new HashMap<>();
+    private final Map<Bytes32, SlotAndBlockRoot> stateRoots = new HashMap<>();
+    private int updateCount = 0;
+
+    private void merge(final StorageUpdate update) {
+      genesisTime = update.getGenesisTime().or(() -> genesisTime);
+      justifiedCheckpoint = update.getJustifiedCheckpoint().or(() -> justifiedCheckpoint);
+      bestJustifiedCheckpoint =
+          update.getBestJustifiedCheckpoint().or(() -> bestJustifiedCheckpoint);
+      hotBlocks.putAll(update.getHotBlocks());
+      hotStates.putAll(update.getHotStates());
+      votes.putAll(update.getVotes());
+      stateRoots.putAll(update.getStateRoots());
+      updateCount++;
+    }
+
+    private void merge(final PendingUpdate update) {
+      genesisTime = update.genesisTime.or(() -> genesisTime);
+      justifiedCheckpoint = update.justifiedCheckpoint.or(() -> justifiedCheckpoint);
+      bestJustifiedCheckpoint = update.bestJustifiedCheckpoint.or(() -> bestJustifiedCheckpoint);
+      hotBlocks.putAll(update.hotBlocks);
+      hotStates.putAll(update.hotStates);
+      votes.putAll(update.votes);
+      stateRoots.putAll(update.stateRoots);
+      updateCount += update.updateCount;
+    }
+
+    private int getUpdateCount() {
+      return updateCount;
+    }
+
+    private StorageUpdate toStorageUpdate() {
+      return new StorageUpdate(
+          genesisTime,
+          Optional.empty(),
+          justifiedCheckpoint,
+          bestJustifiedCheckpoint,
+          hotBlocks,
+          hotStates,
+          Set.of(),
+          votes,
+          stateRoots);
+    }
+  }
+}
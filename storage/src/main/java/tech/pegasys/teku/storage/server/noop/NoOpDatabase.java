@@ -19,16 +19,18 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
-import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.teku.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.protoarray.ProtoArraySnapshot;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 import tech.pegasys.teku.storage.events.StorageUpdate;
 import tech.pegasys.teku.storage.events.WeakSubjectivityState;
 import tech.pegasys.teku.storage.events.WeakSubjectivityUpdate;
@@ -57,8 +59,8 @@ public class NoOpDatabase implements Database {
   }
 
   @Override
-  public Map<UInt64, VoteTracker> getVotes() {
-    return Collections.emptyMap();
+  public ValidatorVotes getVotes() {
+    return ValidatorVotes.create();
   }
 
   @Override
@@ -112,6 +114,11 @@ public class NoOpDatabase implements Database {
     return Stream.empty();
   }
 
+  @Override
+  public Stream<Bytes> streamFinalizedBlockBytes(final UInt64 startSlot, final UInt64 endSlot) {
+    return Stream.empty();
+  }
+
   @Override
   public List<Bytes32> getStateRootsBeforeSlot(final UInt64 slot) {
     return Collections.emptyList();
@@ -134,6 +141,11 @@ public class NoOpDatabase implements Database {
     return Optional.empty();
   }
 
+  @Override
+  public Optional<Bytes32> getFinalizedStateRootAtSlot(final UInt64 slot) {
+    return Optional.empty();
+  }
+
   @Override
   public Optional<MinGenesisTimeBlockEvent> getMinGenesisTimeBlock() {
     return Optional.empty();
@@ -144,6 +156,16 @@ public class NoOpDatabase implements Database {
     return Stream.empty();
   }
 
+  @Override
+  public Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(final UInt64 fromBlockNumber) {
+    return Stream.empty();
+  }
+
+  @Override
+  public Optional<DepositTreeSnapshot> getDepositTreeSnapshot() {
+    return Optional.empty();
+  }
+
   @Override
   public Optional<ProtoArraySnapshot> getProtoArraySnapshot() {
     return Optional.empty();
@@ -155,6 +177,9 @@ public class NoOpDatabase implements Database {
   @Override
   public void addDepositsFromBlockEvent(final DepositsFromBlockEvent event) {}
 
+  @Override
+  public void storeDepositTreeSnapshot(final DepositTreeSnapshot snapshot) {}
+
   @Override
   public void putProtoArraySnapshot(final ProtoArraySnapshot protoArray) {}
 
@@ -30,16 +30,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.core.lookup.BlockProvider;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
-import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.teku.datastructures.hashtree.HashTree;
 import tech.pegasys.teku.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.datastructures.state.BeaconState;
@@ -49,6 +51,7 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.protoarray.ProtoArraySnapshot;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 import tech.pegasys.teku.storage.events.StorageUpdate;
 import tech.pegasys.teku.storage.events.WeakSubjectivityState;
 import tech.pegasys.teku.storage.events.WeakSubjectivityUpdate;
@@ -62,6 +65,7 @@ import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbFinalizedDao.F
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbHotDao;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbHotDao.HotUpdater;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.RocksDbProtoArrayDao;
+import tech.pegasys.teku.storage.server.rocksdb.dataaccess.TreeFinalizedStateStorage;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.V4FinalizedRocksDbDao;
 import tech.pegasys.teku.storage.server.rocksdb.dataaccess.V4HotRocksDbDao;
 import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumn;
@@ -69,6 +73,7 @@ import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaFinalized;
 import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaHot;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaFinalized;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V7SchemaFinalized;
 import tech.pegasys.teku.storage.server.state.StateRootRecorder;
 import tech.pegasys.teku.storage.store.StoreBuilder;
 import tech.pegasys.teku.util.config.StateStorageMode;
@@ -109,6 +114,59 @@ public class RocksDbDatabase implements Database {
       final SchemaFinalized schemaFinalized,
       final StateStorageMode stateStorageMode,
       final long stateStorageFrequency) {
+    return createWithV6Layout(
+        metricsSystem,
+        hotConfiguration,
+        finalizedConfiguration,
+        schemaHot,
+        schemaFinalized,
+        (hotDb, finalizedDb) ->
+            createV6(
+                metricsSystem,
+                hotDb,
+                finalizedDb,
+                schemaHot,
+                schemaFinalized,
+                stateStorageMode,
+                stateStorageFrequency));
+  }
+
+  /**
+   * V7 database is identical to V6 except that finalized states are stored as trees which share
+   * nodes with each other
+   */
+  public static Database createV7(
+      final MetricsSystem metricsSystem,
+      final RocksDbConfiguration hotConfiguration,
+      final Optional<RocksDbConfiguration> finalizedConfiguration,
+      final SchemaHot schemaHot,
+      final V7SchemaFinalized schemaFinalized,
+      final StateStorageMode stateStorageMode,
+      final long stateStorageFrequency) {
+    return createWithV6Layout(
+        metricsSystem,
+        hotConfiguration,
+        finalizedConfiguration,
+        schemaHot,
+        schemaFinalized,
+        (hotDb, finalizedDb) ->
+            createV7(
+                metricsSystem,
+                hotDb,
+                finalizedDb,
+                schemaHot,
+                schemaFinalized,
+                stateStorageMode,
+                stateStorageFrequency));
+  }
+
+  private static Database createWithV6Layout(
+      final MetricsSystem metricsSystem,
+      final RocksDbConfiguration hotConfiguration,
+      final Optional<RocksDbConfiguration> finalizedConfiguration,
+      final SchemaHot schemaHot,
+      final SchemaFinalized schemaFinalized,
+      final BiFunction<RocksDbAccessor, RocksDbAccessor, Database> databaseFactory) {
     final RocksDbAccessor hotDb;
     final RocksDbAccessor finalizedDb;
 
@@ -130,14 +188,7 @@ public class RocksDbDatabase implements Database {
           RocksDbInstanceFactory.create(metricsSystem, STORAGE, hotConfiguration, allColumns);
       hotDb = finalizedDb;
     }
-    return createV6(
-        metricsSystem,
-        hotDb,
-        finalizedDb,
-        schemaHot,
-        schemaFinalized,
-        stateStorageMode,
-        stateStorageFrequency);
+    return databaseFactory.apply(hotDb, finalizedDb);
   }
 
   static Database createV4(
@@ -166,6 +217,24 @@ public class RocksDbDatabase implements Database {
     return new RocksDbDatabase(metricsSystem, dao, finalizedDbDao, dao, dao, stateStorageMode);
   }
 
+  static Database createV7(
+      final MetricsSystem metricsSystem,
+      final RocksDbAccessor hotDb,
+      final RocksDbAccessor finalizedDb,
+      final SchemaHot schemaHot,
+      final V7SchemaFinalized schemaFinalized,
+      final StateStorageMode stateStorageMode,
+      final long stateStorageFrequency) {
+    final V4HotRocksDbDao dao = new V4HotRocksDbDao(hotDb, schemaHot);
+    final V4FinalizedRocksDbDao finalizedDbDao =
+        new V4FinalizedRocksDbDao(
+            finalizedDb,
+            schemaFinalized,
+            new TreeFinalizedStateStorage(schemaFinalized),
+            stateStorageFrequency);
+    return new RocksDbDatabase(metricsSystem, dao, finalizedDbDao, dao, dao, stateStorageMode);
+  }
+
   private RocksDbDatabase(
       final MetricsSystem metricsSystem,
       final RocksDbHotDao hotDao,
@@ -248,7 +317,7 @@ public class RocksDbDatabase implements Database {
     final Checkpoint bestJustifiedCheckpoint = hotDao.getBestJustifiedCheckpoint().orElseThrow();
     final BeaconState finalizedState = hotDao.getLatestFinalizedState().orElseThrow();
 
-    final Map<UInt64, VoteTracker> votes = hotDao.getVotes();
+    final ValidatorVotes votes = hotDao.getVotes();
 
     // Build maps with block information
     final Map<Bytes32, Bytes32> childToParentLookup = new HashMap<>();
@@ -297,7 +366,7 @@ public class RocksDbDatabase implements Database {
   }
 
   @Override
-  public Map<UInt64, VoteTracker> getVotes() {
+  public ValidatorVotes getVotes() {
     return hotDao.getVotes();
   }
 
@@ -331,6 +400,11 @@ public class RocksDbDatabase implements Database {
     return finalizedDao.getLatestAvailableFinalizedState(maxSlot);
   }
 
+  @Override
+  public Optional<Bytes32> getFinalizedStateRootAtSlot(final UInt64 slot) {
+    return finalizedDao.getFinalizedStateRootAtSlot(slot);
+  }
+
   @Override
   public Optional<SignedBeaconBlock> getSignedBlock(final Bytes32 root) {
     return hotDao.getHotBlock(root).or(() -> finalizedDao.getFinalizedBlock(root));
@@ -360,6 +434,12 @@ public class RocksDbDatabase implements Database {
     return finalizedDao.streamFinalizedBlocks(startSlot, endSlot);
   }
 
+  @Override
+  @MustBeClosed
+  public Stream<Bytes> streamFinalizedBlockBytes(final UInt64 startSlot, final UInt64 endSlot) {
+    return finalizedDao.streamFinalizedBlockBytes(startSlot, endSlot);
+  }
+
   @Override
   public List<Bytes32> getStateRootsBeforeSlot(final UInt64 slot) {
     return hotDao.getStateRootsBeforeSlot(slot);
@@ -403,6 +483,17 @@ public class RocksDbDatabase implements Database {
     return eth1Dao.streamDepositsFromBlocks();
   }
 
+  @Override
+  @MustBeClosed
+  public Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(final UInt64 fromBlockNumber) {
+    return eth1Dao.streamDepositsFromBlocks(fromBlockNumber);
+  }
+
+  @Override
+  public Optional<DepositTreeSnapshot> getDepositTreeSnapshot() {
+    return eth1Dao.getDepositTreeSnapshot();
+  }
+
   @Override
   public Optional<ProtoArraySnapshot> getProtoArraySnapshot() {
     return protoArrayDao.getProtoArraySnapshot();
@@ -424,6 +515,14 @@ public class RocksDbDatabase implements Database {
     }
   }
 
+  @Override
+  public void storeDepositTreeSnapshot(final DepositTreeSnapshot snapshot) {
+    try (final Eth1Updater updater = eth1Dao.eth1Updater()) {
+      updater.setDepositTreeSnapshot(snapshot);
+      updater.commit();
+    }
+  }
+
   @Override
   public void putProtoArraySnapshot(final ProtoArraySnapshot protoArraySnapshot) {
     try (final RocksDbProtoArrayDao.ProtoArrayUpdater updater = protoArrayDao.protoArrayUpdater()) {
@@ -17,6 +17,7 @@ import com.google.errorprone.annotations.MustBeClosed;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbColumn;
 import tech.pegasys.teku.storage.server.rocksdb.schema.RocksDbVariable;
 
@@ -76,6 +77,20 @@ public interface RocksDbAccessor extends AutoCloseable {
   <K extends Comparable<K>, V> Stream<ColumnEntry<K, V>> stream(
       RocksDbColumn<K, V> column, K from, K to);
 
+  /**
+   * Stream entries from a column between keys from and to fully inclusive, without deserializing
+   * the values.
+   *
+   * @param column the column to stream entries from
+   * @param from the first key to return
+   * @param to the last key to return
+   * @param <K> the key type of the column
+   * @return a Stream of entries between from and to (fully inclusive) with the values as stored.
+   */
+  @MustBeClosed
+  <K extends Comparable<K>> Stream<ColumnEntry<K, Bytes>> streamRaw(
+      RocksDbColumn<K, ?> column, K from, K to);
+
   RocksDbTransaction startTransaction();
 
   interface RocksDbTransaction extends AutoCloseable {
@@ -26,6 +26,7 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.rocksdb.AbstractRocksIterator;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
@@ -136,6 +137,18 @@ public class RocksDbInstance implements RocksDbAccessor {
         key -> key.compareTo(to) <= 0);
   }
 
+  @Override
+  @MustBeClosed
+  public <K extends Comparable<K>> Stream<ColumnEntry<K, Bytes>> streamRaw(
+      final RocksDbColumn<K, ?> column, final K from, final K to) {
+    assertOpen();
+    return createStream(
+        column,
+        column.withRawValues(),
+        iter -> iter.seek(column.getKeySerializer().serialize(from)),
+        key -> key.compareTo(to) <= 0);
+  }
+
   @Override
   @MustBeClosed
   public synchronized RocksDbTransaction startTransaction() {
@@ -157,10 +170,21 @@ public class RocksDbInstance implements RocksDbAccessor {
       RocksDbColumn<K, V> column,
       Consumer<RocksIterator> setupIterator,
       Predicate<K> continueTest) {
+    return createStream(column, column, setupIterator, continueTest);
+  }
+
+  @SuppressWarnings("MustBeClosedChecker")
+  @MustBeClosed
+  private <K, V> Stream<ColumnEntry<K, V>> createStream(
+      RocksDbColumn<K, ?> column,
+      RocksDbColumn<K, V> entryColumn,
+      Consumer<RocksIterator> setupIterator,
+      Predicate<K> continueTest) {
     final ColumnFamilyHandle handle = columnHandles.get(column);
     final RocksIterator rocksDbIterator = db.newIterator(handle);
     setupIterator.accept(rocksDbIterator);
-    return RocksDbIterator.create(column, rocksDbIterator, continueTest, closed::get).toStream();
+    return RocksDbIterator.create(entryColumn, rocksDbIterator, continueTest, closed::get)
+        .toStream();
   }
 
   @Override
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
+
+import java.util.Optional;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
+
+/** The format finalized states are stored in by {@link V4FinalizedRocksDbDao} */
+public interface FinalizedStateStorage {
+
+  Optional<BeaconState> getLatestAvailableFinalizedState(RocksDbAccessor db, UInt64 maxSlot);
+
+  Optional<UInt64> getLatestStoredStateSlot(RocksDbAccessor db);
+
+  StateUpdater updater(RocksDbAccessor db, RocksDbTransaction transaction);
+
+  interface StateUpdater {
+    void addFinalizedState(BeaconState state);
+  }
+}
@@ -16,8 +16,10 @@ package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
 import com.google.errorprone.annotations.MustBeClosed;
 import java.util.Optional;
 import java.util.stream.Stream;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 
 /**
  * Provides an abstract "data access object" interface for working with ETH1 data from the
@@ -28,8 +30,17 @@ public interface RocksDbEth1Dao extends AutoCloseable {
   @MustBeClosed
   Stream<DepositsFromBlockEvent> streamDepositsFromBlocks();
 
+  /**
+   * @param fromBlockNumber block number of the first event to include
+   * @return events from blocks with number greater than or equal to fromBlockNumber in order
+   */
+  @MustBeClosed
+  Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(UInt64 fromBlockNumber);
+
   Optional<MinGenesisTimeBlockEvent> getMinGenesisTimeBlock();
 
+  Optional<DepositTreeSnapshot> getDepositTreeSnapshot();
+
   Eth1Updater eth1Updater();
 
   interface Eth1Updater extends AutoCloseable {
@@ -37,6 +48,8 @@ public interface RocksDbEth1Dao extends AutoCloseable {
 
     void addDepositsFromBlockEvent(final DepositsFromBlockEvent event);
 
+    void setDepositTreeSnapshot(final DepositTreeSnapshot snapshot);
+
     void commit();
 
     void cancel();
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
+
+import java.util.Optional;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.server.rocksdb.core.ColumnEntry;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
+import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaFinalized;
+
+/** Stores the full serialized form of each finalized state */
+public class SnapshotFinalizedStateStorage implements FinalizedStateStorage {
+  private final SchemaFinalized schema;
+
+  public SnapshotFinalizedStateStorage(final SchemaFinalized schema) {
+    this.schema = schema;
+  }
+
+  @Override
+  public Optional<BeaconState> getLatestAvailableFinalizedState(
+      final RocksDbAccessor db, final UInt64 maxSlot) {
+    return db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), maxSlot)
+        .map(ColumnEntry::getValue);
+  }
+
+  @Override
+  public Optional<UInt64> getLatestStoredStateSlot(final RocksDbAccessor db) {
+    return db.getLastEntry(schema.getColumnFinalizedStatesBySlot()).map(ColumnEntry::getKey);
+  }
+
+  @Override
+  public StateUpdater updater(final RocksDbAccessor db, final RocksDbTransaction transaction) {
+    return state ->
+        transaction.put(schema.getColumnFinalizedStatesBySlot(), state.getSlot(), state);
+  }
+}
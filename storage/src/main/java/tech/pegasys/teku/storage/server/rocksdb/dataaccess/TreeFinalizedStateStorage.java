@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.ssz.backing.tree.TreeNodeStore;
+import tech.pegasys.teku.ssz.backing.tree.TreeStorage;
+import tech.pegasys.teku.storage.server.rocksdb.core.ColumnEntry;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V7SchemaFinalized;
+
+/**
+ * Stores finalized states as trees with branch nodes shared between states, so each stored state
+ * only adds the parts of the state which changed since the previously stored state. Stored states
+ * are loaded lazily, only reading the branch nodes of the state which are accessed.
+ *
+ * <p>States stored as full snapshots before the database was upgraded are still returned for slots
+ * before the first state stored as a tree.
+ */
+public class TreeFinalizedStateStorage implements FinalizedStateStorage {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final V7SchemaFinalized schema;
+
+  public TreeFinalizedStateStorage(final V7SchemaFinalized schema) {
+    this.schema = schema;
+  }
+
+  @Override
+  public Optional<BeaconState> getLatestAvailableFinalizedState(
+      final RocksDbAccessor db, final UInt64 maxSlot) {
+    final Optional<ColumnEntry<UInt64, Bytes32>> maybeStateRoot =
+        db.getFloorEntry(schema.getColumnFinalizedStateRootsBySlot(), maxSlot);
+    if (maybeStateRoot.isEmpty()) {
+      // Snapshots are only stored before any tree, so can only be the latest if there's no tree
+      return db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), maxSlot)
+          .map(ColumnEntry::getValue);
+    }
+    return Optional.of(
+        BeaconState.getSSZType()
+            .createFromBackingNode(
+                TreeStorage.loadTree(maybeStateRoot.get().getValue(), new TreeNodeReader(db))));
+  }
+
+  @Override
+  public Optional<UInt64> getLatestStoredStateSlot(final RocksDbAccessor db) {
+    final Optional<UInt64> latestTreeSlot =
+        db.getLastEntry(schema.getColumnFinalizedStateRootsBySlot()).map(ColumnEntry::getKey);
+    if (latestTreeSlot.isPresent()) {
+      return latestTreeSlot;
+    }
+    return db.getLastEntry(schema.getColumnFinalizedStatesBySlot()).map(ColumnEntry::getKey);
+  }
+
+  @Override
+  public StateUpdater updater(final RocksDbAccessor db, final RocksDbTransaction transaction) {
+    final TreeNodeWriter writer = new TreeNodeWriter(db, transaction);
+    return state -> {
+      final int storedNodes = TreeStorage.storeTree(state.getBackingNode(), writer);
+      LOG.debug("Stored {} new tree nodes for state at slot {}", storedNodes, state.getSlot());
+      transaction.put(
+          schema.getColumnFinalizedStateRootsBySlot(), state.getSlot(), state.hashTreeRoot());
+    };
+  }
+
+  private class TreeNodeReader implements TreeNodeStore {
+    protected final RocksDbAccessor db;
+
+    private TreeNodeReader(final RocksDbAccessor db) {
+      this.db = db;
+    }
+
+    @Override
+    public boolean containsBranchNode(final Bytes32 root) {
+      return loadBranchNode(root).isPresent();
+    }
+
+    @Override
+    public void storeBranchNode(final Bytes32 root, final Bytes children) {
+      throw new UnsupportedOperationException("Stored states can't be modified");
+    }
+
+    @Override
+    public Optional<Bytes> loadBranchNode(final Bytes32 root) {
+      return db.get(schema.getColumnFinalizedStateTreeNodesByRoot(), root);
+    }
+  }
+
+  private class TreeNodeWriter extends TreeNodeReader {
+    private final RocksDbTransaction transaction;
+    // Nodes written by this transaction aren't visible to reads until it is committed
+    private final Set<Bytes32> pendingNodes = new HashSet<>();
+
+    private TreeNodeWriter(final RocksDbAccessor db, final RocksDbTransaction transaction) {
+      super(db);
+      this.transaction = transaction;
+    }
+
+    @Override
+    public boolean containsBranchNode(final Bytes32 root) {
+      return pendingNodes.contains(root) || super.containsBranchNode(root);
+    }
+
+    @Override
+    public void storeBranchNode(final Bytes32 root, final Bytes children) {
+      transaction.put(schema.getColumnFinalizedStateTreeNodesByRoot(), root, children);
+      pendingNodes.add(root);
+    }
+  }
+}
@@ -16,6 +16,7 @@ package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
 import com.google.errorprone.annotations.MustBeClosed;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
@@ -28,12 +29,22 @@ import tech.pegasys.teku.storage.server.rocksdb.schema.SchemaFinalized;
 public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
   private final RocksDbAccessor db;
   private final SchemaFinalized schema;
+  private final FinalizedStateStorage stateStorage;
   private final UInt64 stateStorageFrequency;
 
   public V4FinalizedRocksDbDao(
       final RocksDbAccessor db, final SchemaFinalized schema, final long stateStorageFrequency) {
+    this(db, schema, new SnapshotFinalizedStateStorage(schema), stateStorageFrequency);
+  }
+
+  public V4FinalizedRocksDbDao(
+      final RocksDbAccessor db,
+      final SchemaFinalized schema,
+      final FinalizedStateStorage stateStorage,
+      final long stateStorageFrequency) {
     this.db = db;
     this.schema = schema;
+    this.stateStorage = stateStorage;
     this.stateStorageFrequency = UInt64.valueOf(stateStorageFrequency);
   }
 
@@ -60,8 +71,7 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
 
   @Override
   public Optional<BeaconState> getLatestAvailableFinalizedState(final UInt64 maxSlot) {
-    return db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), maxSlot)
-        .map(ColumnEntry::getValue);
+    return stateStorage.getLatestAvailableFinalizedState(db, maxSlot);
   }
 
   @Override
@@ -72,6 +82,13 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
         .map(ColumnEntry::getValue);
   }
 
+  @Override
+  @MustBeClosed
+  public Stream<Bytes> streamFinalizedBlockBytes(final UInt64 startSlot, final UInt64 endSlot) {
+    return db.streamRaw(schema.getColumnFinalizedBlocksBySlot(), startSlot, endSlot)
+        .map(ColumnEntry::getValue);
+  }
+
   @Override
   public Optional<UInt64> getSlotForFinalizedBlockRoot(final Bytes32 blockRoot) {
     return db.get(schema.getColumnSlotsByFinalizedRoot(), blockRoot);
@@ -92,6 +109,11 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
                 .map(block -> new SlotAndBlockRoot(slot, block.getRoot())));
   }
 
+  @Override
+  public Optional<Bytes32> getFinalizedStateRootAtSlot(final UInt64 slot) {
+    return db.get(schema.getColumnStateRootsByFinalizedSlot(), slot);
+  }
+
   @Override
   public Optional<SignedBeaconBlock> getFinalizedBlock(final Bytes32 root) {
     return db.get(schema.getColumnSlotsByFinalizedRoot(), root)
@@ -101,24 +123,27 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
   @Override
   @MustBeClosed
   public FinalizedUpdater finalizedUpdater() {
-    return new V4FinalizedRocksDbDao.V4FinalizedUpdater(db, schema, stateStorageFrequency);
+    return new V4FinalizedRocksDbDao.V4FinalizedUpdater(
+        db, schema, stateStorage, stateStorageFrequency);
   }
 
   private static class V4FinalizedUpdater implements FinalizedUpdater {
     private final RocksDbAccessor.RocksDbTransaction transaction;
     private final SchemaFinalized schema;
+    private final FinalizedStateStorage.StateUpdater stateUpdater;
     private final UInt64 stateStorageFrequency;
     private Optional<UInt64> lastStateStoredSlot;
 
     V4FinalizedUpdater(
         final RocksDbAccessor db,
         final SchemaFinalized schema,
+        final FinalizedStateStorage stateStorage,
         final UInt64 stateStorageFrequency) {
       this.transaction = db.startTransaction();
       this.schema = schema;
+      this.stateUpdater = stateStorage.updater(db, transaction);
       this.stateStorageFrequency = stateStorageFrequency;
-      lastStateStoredSlot =
-          db.getLastEntry(schema.getColumnFinalizedStatesBySlot()).map(ColumnEntry::getKey);
+      lastStateStoredSlot = stateStorage.getLatestStoredStateSlot(db);
     }
 
     @Override
@@ -142,10 +167,11 @@ public class V4FinalizedRocksDbDao implements RocksDbFinalizedDao {
     @Override
     public void addFinalizedStateRoot(final Bytes32 stateRoot, final UInt64 slot) {
       transaction.put(schema.getColumnSlotsByFinalizedStateRoot(), stateRoot, slot);
+      transaction.put(schema.getColumnStateRootsByFinalizedSlot(), slot, stateRoot);
     }
 
     private void addFinalizedState(final BeaconState state) {
-      transaction.put(schema.getColumnFinalizedStatesBySlot(), state.getSlot(), state);
+      stateUpdater.addFinalizedState(state);
       lastStateStoredSlot = Optional.of(state.getSlot());
     }
 
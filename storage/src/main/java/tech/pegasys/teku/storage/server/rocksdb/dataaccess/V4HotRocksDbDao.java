@@ -22,6 +22,7 @@ import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
+import tech.pegasys.teku.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
@@ -29,6 +30,7 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.protoarray.ProtoArraySnapshot;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 import tech.pegasys.teku.storage.server.rocksdb.core.ColumnEntry;
 import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor;
 import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
@@ -117,8 +119,13 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
   }
 
   @Override
-  public Map<UInt64, VoteTracker> getVotes() {
-    return db.getAll(schema.getColumnVotes());
+  public ValidatorVotes getVotes() {
+    final ValidatorVotes votes = ValidatorVotes.create();
+    try (final Stream<ColumnEntry<UInt64, VoteTracker>> stream =
+        db.stream(schema.getColumnVotes())) {
+      stream.forEach(entry -> votes.putVote(entry.getKey(), entry.getValue()));
+    }
+    return votes;
   }
 
   @Override
@@ -127,11 +134,23 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
     return db.stream(schema.getColumnDepositsFromBlockEvents()).map(ColumnEntry::getValue);
   }
 
+  @Override
+  @MustBeClosed
+  public Stream<DepositsFromBlockEvent> streamDepositsFromBlocks(final UInt64 fromBlockNumber) {
+    return db.stream(schema.getColumnDepositsFromBlockEvents(), fromBlockNumber, UInt64.MAX_VALUE)
+        .map(ColumnEntry::getValue);
+  }
+
   @Override
   public Optional<MinGenesisTimeBlockEvent> getMinGenesisTimeBlock() {
     return db.get(schema.getVariableMinGenesisTimeBlock());
   }
 
+  @Override
+  public Optional<DepositTreeSnapshot> getDepositTreeSnapshot() {
+    return db.get(schema.getVariableDepositTreeSnapshot());
+  }
+
   @Override
   public Optional<ProtoArraySnapshot> getProtoArraySnapshot() {
     return db.get(schema.getVariableProtoArraySnapshot());
@@ -264,6 +283,11 @@ public class V4HotRocksDbDao implements RocksDbHotDao, RocksDbEth1Dao, RocksDbPr
       transaction.put(schema.getColumnDepositsFromBlockEvents(), event.getBlockNumber(), event);
     }
 
+    @Override
+    public void setDepositTreeSnapshot(final DepositTreeSnapshot snapshot) {
+      transaction.put(schema.getVariableDepositTreeSnapshot(), snapshot);
+    }
+
     @Override
     public void putProtoArraySnapshot(ProtoArraySnapshot newProtoArray) {
       transaction.put(schema.getVariableProtoArraySnapshot(), newProtoArray);
@@ -51,4 +51,14 @@ public class RocksDbColumn<TKey, TValue> {
   public RocksDbSerializer<TValue> getValueSerializer() {
     return valueSerializer;
   }
+
+  /**
+   * Returns a view of this column which leaves values in their stored form. The view has the same
+   * id but is a different instance so must only be used to deserialize entries, not to look up the
+   * column in a database.
+   */
+  public RocksDbColumn<TKey, Bytes> withRawValues() {
+    return new RocksDbColumn<>(
+        id.toArrayUnsafe(), keySerializer, RocksDbSerializer.BYTES_SERIALIZER);
+  }
 }
@@ -23,6 +23,7 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.protoarray.ProtoArraySnapshot;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 
 public interface SchemaHot extends Schema {
   RocksDbColumn<Bytes32, SignedBeaconBlock> getColumnHotBlocksByRoot();
@@ -55,4 +56,6 @@ public interface SchemaHot extends Schema {
   RocksDbVariable<Checkpoint> getVariableWeakSubjectivityCheckpoint();
 
   RocksDbVariable<Checkpoint> getVariableAnchorCheckpoint();
+
+  RocksDbVariable<DepositTreeSnapshot> getVariableDepositTreeSnapshot();
 }
@@ -36,12 +36,15 @@ public class V4SchemaFinalized implements SchemaFinalized {
       RocksDbColumn.create(3, UINT64_SERIALIZER, STATE_SERIALIZER);
   private static final RocksDbColumn<Bytes32, UInt64> SLOTS_BY_FINALIZED_STATE_ROOT =
       RocksDbColumn.create(4, BYTES32_SERIALIZER, UINT64_SERIALIZER);
+  private static final RocksDbColumn<UInt64, Bytes32> STATE_ROOTS_BY_FINALIZED_SLOT =
+      RocksDbColumn.create(5, UINT64_SERIALIZER, BYTES32_SERIALIZER);
   private static final List<RocksDbColumn<?, ?>> ALL_COLUMNS =
       List.of(
           SLOTS_BY_FINALIZED_ROOT,
           FINALIZED_BLOCKS_BY_SLOT,
           FINALIZED_STATES_BY_SLOT,
-          SLOTS_BY_FINALIZED_STATE_ROOT);
+          SLOTS_BY_FINALIZED_STATE_ROOT,
+          STATE_ROOTS_BY_FINALIZED_SLOT);
 
   private V4SchemaFinalized() {}
 
@@ -65,6 +68,11 @@ public class V4SchemaFinalized implements SchemaFinalized {
     return SLOTS_BY_FINALIZED_STATE_ROOT;
   }
 
+  @Override
+  public RocksDbColumn<UInt64, Bytes32> getColumnStateRootsByFinalizedSlot() {
+    return STATE_ROOTS_BY_FINALIZED_SLOT;
+  }
+
   @Override
   public List<RocksDbColumn<?, ?>> getAllColumns() {
     return ALL_COLUMNS;
@@ -16,6 +16,7 @@ package tech.pegasys.teku.storage.server.rocksdb.schema;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES32_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.CHECKPOINT_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.DEPOSIT_TREE_SNAPSHOT_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.MIN_GENESIS_TIME_BLOCK_EVENT_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.PROTO_ARRAY_SNAPSHOT_SERIALIZER;
 import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.SIGNED_BLOCK_SERIALIZER;
@@ -35,6 +36,7 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.protoarray.ProtoArraySnapshot;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 
 public class V4SchemaHot implements SchemaHot {
   public static final V4SchemaHot INSTANCE = new V4SchemaHot();
@@ -72,6 +74,8 @@ public class V4SchemaHot implements SchemaHot {
       RocksDbVariable.create(8, CHECKPOINT_SERIALIZER);
   private static final RocksDbVariable<Checkpoint> ANCHOR_CHECKPOINT =
       RocksDbVariable.create(9, CHECKPOINT_SERIALIZER);
+  private static final RocksDbVariable<DepositTreeSnapshot> DEPOSIT_TREE_SNAPSHOT =
+      RocksDbVariable.create(10, DEPOSIT_TREE_SNAPSHOT_SERIALIZER);
 
   private static final List<RocksDbColumn<?, ?>> ALL_COLUMNS =
       List.of(
@@ -92,7 +96,8 @@ public class V4SchemaHot implements SchemaHot {
           MIN_GENESIS_TIME_BLOCK,
           PROTO_ARRAY_SNAPSHOT,
           WEAK_SUBJECTIVITY_CHECKPOINT,
-          ANCHOR_CHECKPOINT);
+          ANCHOR_CHECKPOINT,
+          DEPOSIT_TREE_SNAPSHOT);
 
   private V4SchemaHot() {}
 
@@ -171,6 +176,11 @@ public class V4SchemaHot implements SchemaHot {
     return ANCHOR_CHECKPOINT;
   }
 
+  @Override
+  public RocksDbVariable<DepositTreeSnapshot> getVariableDepositTreeSnapshot() {
+    return DEPOSIT_TREE_SNAPSHOT;
+  }
+
   @Override
   public List<RocksDbColumn<?, ?>> getAllColumns() {
     return ALL_COLUMNS;
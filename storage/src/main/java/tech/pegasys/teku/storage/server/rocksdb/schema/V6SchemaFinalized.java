@@ -44,12 +44,16 @@ public class V6SchemaFinalized implements SchemaFinalized {
       RocksDbColumn.create(ID_OFFSET + 3, UINT64_SERIALIZER, STATE_SERIALIZER);
   private static final RocksDbColumn<Bytes32, UInt64> SLOTS_BY_FINALIZED_STATE_ROOT =
       RocksDbColumn.create(ID_OFFSET + 4, BYTES32_SERIALIZER, UINT64_SERIALIZER);
+  // ID_OFFSET + 5 and ID_OFFSET + 6 are used by V7SchemaFinalized
+  private static final RocksDbColumn<UInt64, Bytes32> STATE_ROOTS_BY_FINALIZED_SLOT =
+      RocksDbColumn.create(ID_OFFSET + 7, UINT64_SERIALIZER, BYTES32_SERIALIZER);
   private static final List<RocksDbColumn<?, ?>> ALL_COLUMNS =
       List.of(
           SLOTS_BY_FINALIZED_ROOT,
           FINALIZED_BLOCKS_BY_SLOT,
           FINALIZED_STATES_BY_SLOT,
-          SLOTS_BY_FINALIZED_STATE_ROOT);
+          SLOTS_BY_FINALIZED_STATE_ROOT,
+          STATE_ROOTS_BY_FINALIZED_SLOT);
 
   private V6SchemaFinalized() {}
 
@@ -73,6 +77,11 @@ public class V6SchemaFinalized implements SchemaFinalized {
     return SLOTS_BY_FINALIZED_STATE_ROOT;
   }
 
+  @Override
+  public RocksDbColumn<UInt64, Bytes32> getColumnStateRootsByFinalizedSlot() {
+    return STATE_ROOTS_BY_FINALIZED_SLOT;
+  }
+
   @Override
   public List<RocksDbColumn<?, ?>> getAllColumns() {
     return ALL_COLUMNS;
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.schema;
+
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES32_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.BYTES_SERIALIZER;
+import static tech.pegasys.teku.storage.server.rocksdb.serialization.RocksDbSerializer.UINT64_SERIALIZER;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * Extends {@link V6SchemaFinalized} with columns to store finalized states as trees of nodes shared
+ * between states, rather than as a full copy of each state. The {@link V6SchemaFinalized} columns
+ * are kept as they are so that states stored before upgrading to this schema can still be read.
+ */
+public class V7SchemaFinalized implements SchemaFinalized {
+  public static final V7SchemaFinalized INSTANCE = new V7SchemaFinalized();
+
+  // continues on from the column ids used by V6SchemaFinalized
+  private static final int ID_OFFSET = 128;
+
+  private static final RocksDbColumn<UInt64, Bytes32> FINALIZED_STATE_ROOTS_BY_SLOT =
+      RocksDbColumn.create(ID_OFFSET + 5, UINT64_SERIALIZER, BYTES32_SERIALIZER);
+  private static final RocksDbColumn<Bytes32, Bytes> FINALIZED_STATE_TREE_NODES_BY_ROOT =
+      RocksDbColumn.create(ID_OFFSET + 6, BYTES32_SERIALIZER, BYTES_SERIALIZER);
+  private static final List<RocksDbColumn<?, ?>> ALL_COLUMNS;
+
+  static {
+    final List<RocksDbColumn<?, ?>> columns =
+        new ArrayList<>(V6SchemaFinalized.INSTANCE.getAllColumns());
+    columns.add(FINALIZED_STATE_ROOTS_BY_SLOT);
+    columns.add(FINALIZED_STATE_TREE_NODES_BY_ROOT);
+    ALL_COLUMNS = Collections.unmodifiableList(columns);
+  }
+
+  private V7SchemaFinalized() {}
+
+  @Override
+  public RocksDbColumn<Bytes32, UInt64> getColumnSlotsByFinalizedRoot() {
+    return V6SchemaFinalized.INSTANCE.getColumnSlotsByFinalizedRoot();
+  }
+
+  @Override
+  public RocksDbColumn<UInt64, SignedBeaconBlock> getColumnFinalizedBlocksBySlot() {
+    return V6SchemaFinalized.INSTANCE.getColumnFinalizedBlocksBySlot();
+  }
+
+  /** Only holds the states stored before the database was upgraded to this schema. */
+  @Override
+  public RocksDbColumn<UInt64, BeaconState> getColumnFinalizedStatesBySlot() {
+    return V6SchemaFinalized.INSTANCE.getColumnFinalizedStatesBySlot();
+  }
+
+  @Override
+  public RocksDbColumn<Bytes32, UInt64> getColumnSlotsByFinalizedStateRoot() {
+    return V6SchemaFinalized.INSTANCE.getColumnSlotsByFinalizedStateRoot();
+  }
+
+  @Override
+  public RocksDbColumn<UInt64, Bytes32> getColumnStateRootsByFinalizedSlot() {
+    return V6SchemaFinalized.INSTANCE.getColumnStateRootsByFinalizedSlot();
+  }
+
+  /** The roots of the finalized states stored as trees, by the slot of the state. */
+  public RocksDbColumn<UInt64, Bytes32> getColumnFinalizedStateRootsBySlot() {
+    return FINALIZED_STATE_ROOTS_BY_SLOT;
+  }
+
+  public RocksDbColumn<Bytes32, Bytes> getColumnFinalizedStateTreeNodesByRoot() {
+    return FINALIZED_STATE_TREE_NODES_BY_ROOT;
+  }
+
+  @Override
+  public List<RocksDbColumn<?, ?>> getAllColumns() {
+    return ALL_COLUMNS;
+  }
+
+  @Override
+  public List<RocksDbVariable<?>> getAllVariables() {
+    return Collections.emptyList();
+  }
+}
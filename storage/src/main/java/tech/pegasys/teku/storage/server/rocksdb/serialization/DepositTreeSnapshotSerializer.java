@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.ssz.SSZ;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
+
+public class DepositTreeSnapshotSerializer implements RocksDbSerializer<DepositTreeSnapshot> {
+  @Override
+  public DepositTreeSnapshot deserialize(final byte[] data) {
+    return SSZ.decode(
+        Bytes.of(data),
+        reader -> {
+          final UInt64 depositCount = UInt64.fromLongBits(reader.readUInt64());
+          final UInt64 blockNumber = UInt64.fromLongBits(reader.readUInt64());
+          final List<Bytes32> frontier =
+              reader.readBytesList().stream().map(Bytes32::wrap).collect(toList());
+          return new DepositTreeSnapshot(depositCount, frontier, blockNumber);
+        });
+  }
+
+  @Override
+  public byte[] serialize(final DepositTreeSnapshot value) {
+    Bytes bytes =
+        SSZ.encode(
+            writer -> {
+              writer.writeUInt64(value.getDepositCount().longValue());
+              writer.writeUInt64(value.getBlockNumber().longValue());
+              writer.writeBytesList(value.getFrontier());
+            });
+    return bytes.toArrayUnsafe();
+  }
+}
@@ -26,7 +26,8 @@ import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Stream;
-import tech.pegasys.teku.core.StreamingStateRegenerator;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import tech.pegasys.teku.core.TrustedStateReplayer;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -42,10 +43,15 @@ public class FinalizedStateCache {
 
   private final LoadingCache<UInt64, BeaconState> stateCache;
   private final Database database;
+  private final TrustedStateReplayer stateReplayer;
 
   public FinalizedStateCache(
-      final Database database, final int maximumCacheSize, final boolean useSoftReferences) {
+      final Database database,
+      final int maximumCacheSize,
+      final boolean useSoftReferences,
+      final MetricsSystem metricsSystem) {
     this.database = database;
+    this.stateReplayer = new TrustedStateReplayer(metricsSystem);
     final CacheBuilder<UInt64, BeaconState> cacheBuilder =
         CacheBuilder.newBuilder()
             .maximumSize(maximumCacheSize)
@@ -104,7 +110,10 @@ public class FinalizedStateCache {
       }
       try (final Stream<SignedBeaconBlock> blocks =
           database.streamFinalizedBlocks(preState.getSlot().plus(ONE), slot)) {
-        final BeaconState state = StreamingStateRegenerator.regenerate(preState, blocks);
+        // Finalized blocks have already been fully validated so can be replayed without
+        // re-verifying them, using the state roots recorded when they were finalized
+        final BeaconState state =
+            stateReplayer.replay(preState, blocks, database::getFinalizedStateRootAtSlot);
         availableSlots.add(state.getSlot());
         return state;
       }
@@ -18,8 +18,6 @@ import static tech.pegasys.teku.core.lookup.BlockProvider.fromDynamicMap;
 import static tech.pegasys.teku.core.lookup.BlockProvider.fromMap;
 import static tech.pegasys.teku.core.stategenerator.CheckpointStateTask.AsyncStateProvider.fromBlockAndState;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,12 +26,14 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.core.lookup.BlockProvider;
 import tech.pegasys.teku.core.lookup.StateAndBlockProvider;
+import tech.pegasys.teku.core.stategenerator.CacheCostModel;
 import tech.pegasys.teku.core.stategenerator.CachingTaskQueue;
 import tech.pegasys.teku.core.stategenerator.CheckpointStateTask;
 import tech.pegasys.teku.core.stategenerator.StateGenerationTask;
@@ -41,6 +41,7 @@ import tech.pegasys.teku.core.stategenerator.StateRegenerationBaseSelector;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
+import tech.pegasys.teku.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.datastructures.hashtree.HashTree;
 import tech.pegasys.teku.datastructures.state.AnchorPoint;
@@ -80,7 +81,7 @@ class Store implements UpdatableStore {
   final CachingTaskQueue<Bytes32, SignedBlockAndState> states;
   final Map<Bytes32, SignedBeaconBlock> blocks;
   private final CachingTaskQueue<Checkpoint, BeaconState> checkpointStates;
-  final Map<UInt64, VoteTracker> votes;
+  final ValidatorVotes votes;
 
   private Store(
       final MetricsSystem metricsSystem,
@@ -95,7 +96,7 @@ class Store implements UpdatableStore {
       final Checkpoint justified_checkpoint,
       final Checkpoint best_justified_checkpoint,
       final BlockTree blockTree,
-      final Map<UInt64, VoteTracker> votes,
+      final ValidatorVotes votes,
       final Map<Bytes32, SignedBeaconBlock> blocks,
       final CachingTaskQueue<Checkpoint, BeaconState> checkpointStates) {
     checkArgument(
@@ -119,7 +120,7 @@ class Store implements UpdatableStore {
     this.justified_checkpoint = justified_checkpoint;
     this.best_justified_checkpoint = best_justified_checkpoint;
     this.blocks = blocks;
-    this.votes = new HashMap<>(votes);
+    this.votes = votes.copy();
     this.blockTree = blockTree;
 
     // Track latest finalized block
@@ -151,7 +152,7 @@ class Store implements UpdatableStore {
       final Checkpoint bestJustifiedCheckpoint,
       final Map<Bytes32, Bytes32> childToParentRoot,
       final Map<Bytes32, UInt64> rootToSlotMap,
-      final Map<UInt64, VoteTracker> votes,
+      final ValidatorVotes votes,
       final StoreConfig config) {
 
     // Create limited collections for non-final data
@@ -161,10 +162,17 @@ class Store implements UpdatableStore {
             asyncRunner,
             metricsSystem,
             "memory_checkpoint_states",
-            config.getCheckpointStateCacheSize());
+            config.getCheckpointStateCacheSize(),
+            config.getCheckpointStateCacheMaxBytes(),
+            CacheCostModel.checkpointStates());
     final CachingTaskQueue<Bytes32, SignedBlockAndState> stateTaskQueue =
         CachingTaskQueue.create(
-            asyncRunner, metricsSystem, "memory_states", config.getStateCacheSize());
+            asyncRunner,
+            metricsSystem,
+            "memory_states",
+            config.getStateCacheSize(),
+            config.getStateCacheMaxBytes(),
+            CacheCostModel.blockAndStates());
 
     // Build block tree structure
     HashTree.Builder treeBuilder = HashTree.builder().rootHash(finalizedAnchor.getRoot());
@@ -422,16 +430,25 @@ class Store implements UpdatableStore {
   public Set<UInt64> getVotedValidatorIndices() {
     readLock.lock();
     try {
-      return new HashSet<>(votes.keySet());
+      return votes.getVotedValidatorIndices();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  Optional<VoteTracker> getVote(UInt64 validatorIndex) {
+    readLock.lock();
+    try {
+      return votes.getVote(validatorIndex);
     } finally {
       readLock.unlock();
     }
   }
 
-  VoteTracker getVote(UInt64 validatorIndex) {
+  void processVotes(final Consumer<ValidatorVotes> processor) {
     readLock.lock();
     try {
-      return votes.get(validatorIndex);
+      processor.accept(votes);
     } finally {
       readLock.unlock();
     }
@@ -25,7 +25,7 @@ import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.core.lookup.BlockProvider;
 import tech.pegasys.teku.core.lookup.StateAndBlockProvider;
-import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.teku.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
@@ -46,7 +46,7 @@ public class StoreBuilder {
   AnchorPoint latestFinalized;
   Checkpoint justifiedCheckpoint;
   Checkpoint bestJustifiedCheckpoint;
-  Map<UInt64, VoteTracker> votes;
+  ValidatorVotes votes;
 
   private StoreBuilder() {}
 
@@ -83,7 +83,7 @@ public class StoreBuilder {
         .bestJustifiedCheckpoint(anchor.getCheckpoint())
         .childToParentMap(childToParentMap)
         .rootToSlotMap(rootToSlotMap)
-        .votes(new HashMap<>());
+        .votes(ValidatorVotes.create());
   }
 
   public UpdatableStore build() {
@@ -206,7 +206,7 @@ public class StoreBuilder {
     return this;
   }
 
-  public StoreBuilder votes(final Map<UInt64, VoteTracker> votes) {
+  public StoreBuilder votes(final ValidatorVotes votes) {
     checkNotNull(votes);
     this.votes = votes;
     return this;
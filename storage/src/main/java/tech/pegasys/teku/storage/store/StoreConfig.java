@@ -21,15 +21,24 @@ import tech.pegasys.teku.util.config.Constants;
 public class StoreConfig {
   public static int MAX_CACHE_SIZE = 10_000;
 
-  public static final int DEFAULT_STATE_CACHE_SIZE = Constants.SLOTS_PER_EPOCH * 5;
+  // State caches are limited by their memory budgets, the count limits are only a backstop
+  public static final int DEFAULT_STATE_CACHE_SIZE = MAX_CACHE_SIZE;
   // Max block size is about 20x smaller than the minimum state size
-  public static final int DEFAULT_BLOCK_CACHE_SIZE = DEFAULT_STATE_CACHE_SIZE * 2;
-  public static final int DEFAULT_CHECKPOINT_STATE_CACHE_SIZE = 20;
+  public static final int DEFAULT_BLOCK_CACHE_SIZE = Constants.SLOTS_PER_EPOCH * 10;
+  public static final int DEFAULT_CHECKPOINT_STATE_CACHE_SIZE = MAX_CACHE_SIZE;
   public static final int DEFAULT_HOT_STATE_PERSISTENCE_FREQUENCY_IN_EPOCHS = 1;
+  // Heap size assumed when the JVM doesn't report a maximum
+  private static final long UNBOUNDED_HEAP_ASSUMED_BYTES = 4096L * 1024 * 1024;
+  // States share most of their memory so these budgets hold far more states than their size alone.
+  // They are a share of the maximum heap so that the caches fit whatever heap the node is given
+  public static final long DEFAULT_STATE_CACHE_MAX_BYTES = maxHeapFraction(4);
+  public static final long DEFAULT_CHECKPOINT_STATE_CACHE_MAX_BYTES = maxHeapFraction(8);
 
   private final int stateCacheSize;
   private final int blockCacheSize;
   private final int checkpointStateCacheSize;
+  private final long stateCacheMaxBytes;
+  private final long checkpointStateCacheMaxBytes;
   private final int hotStatePersistenceFrequencyInEpochs;
   private final boolean disableBlockProcessingAtStartup;
 
@@ -37,15 +46,24 @@ public class StoreConfig {
       final int stateCacheSize,
       final int blockCacheSize,
       final int checkpointStateCacheSize,
+      final long stateCacheMaxBytes,
+      final long checkpointStateCacheMaxBytes,
       final int hotStatePersistenceFrequencyInEpochs,
       boolean disableBlockProcessingAtStartup) {
     this.stateCacheSize = stateCacheSize;
     this.blockCacheSize = blockCacheSize;
     this.checkpointStateCacheSize = checkpointStateCacheSize;
+    this.stateCacheMaxBytes = stateCacheMaxBytes;
+    this.checkpointStateCacheMaxBytes = checkpointStateCacheMaxBytes;
     this.hotStatePersistenceFrequencyInEpochs = hotStatePersistenceFrequencyInEpochs;
     this.disableBlockProcessingAtStartup = disableBlockProcessingAtStartup;
   }
 
+  private static long maxHeapFraction(final int divisor) {
+    final long maxMemory = Runtime.getRuntime().maxMemory();
+    return (maxMemory == Long.MAX_VALUE ? UNBOUNDED_HEAP_ASSUMED_BYTES : maxMemory) / divisor;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -66,6 +84,14 @@ public class StoreConfig {
     return checkpointStateCacheSize;
   }
 
+  public long getStateCacheMaxBytes() {
+    return stateCacheMaxBytes;
+  }
+
+  public long getCheckpointStateCacheMaxBytes() {
+    return checkpointStateCacheMaxBytes;
+  }
+
   public int getHotStatePersistenceFrequencyInEpochs() {
     return hotStatePersistenceFrequencyInEpochs;
   }
@@ -86,6 +112,8 @@ public class StoreConfig {
     return getStateCacheSize() == that.getStateCacheSize()
         && getBlockCacheSize() == that.getBlockCacheSize()
         && getCheckpointStateCacheSize() == that.getCheckpointStateCacheSize()
+        && getStateCacheMaxBytes() == that.getStateCacheMaxBytes()
+        && getCheckpointStateCacheMaxBytes() == that.getCheckpointStateCacheMaxBytes()
         && getHotStatePersistenceFrequencyInEpochs()
             == that.getHotStatePersistenceFrequencyInEpochs();
   }
@@ -96,6 +124,8 @@ public class StoreConfig {
         getStateCacheSize(),
         getBlockCacheSize(),
         getCheckpointStateCacheSize(),
+        getStateCacheMaxBytes(),
+        getCheckpointStateCacheMaxBytes(),
         getHotStatePersistenceFrequencyInEpochs());
   }
 
@@ -103,6 +133,8 @@ public class StoreConfig {
     private int stateCacheSize = DEFAULT_STATE_CACHE_SIZE;
     private int blockCacheSize = DEFAULT_BLOCK_CACHE_SIZE;
     private int checkpointStateCacheSize = DEFAULT_CHECKPOINT_STATE_CACHE_SIZE;
+    private long stateCacheMaxBytes = DEFAULT_STATE_CACHE_MAX_BYTES;
+    private long checkpointStateCacheMaxBytes = DEFAULT_CHECKPOINT_STATE_CACHE_MAX_BYTES;
     private int hotStatePersistenceFrequencyInEpochs =
         DEFAULT_HOT_STATE_PERSISTENCE_FREQUENCY_IN_EPOCHS;
     private boolean disableBlockProcessingAtStartup = false;
@@ -114,6 +146,8 @@ public class StoreConfig {
           stateCacheSize,
           blockCacheSize,
           checkpointStateCacheSize,
+          stateCacheMaxBytes,
+          checkpointStateCacheMaxBytes,
           hotStatePersistenceFrequencyInEpochs,
           disableBlockProcessingAtStartup);
     }
@@ -136,6 +170,18 @@ public class StoreConfig {
       return this;
     }
 
+    public Builder stateCacheMaxBytes(final long stateCacheMaxBytes) {
+      checkArgument(stateCacheMaxBytes >= 0, "Cache memory limit cannot be negative");
+      this.stateCacheMaxBytes = stateCacheMaxBytes;
+      return this;
+    }
+
+    public Builder checkpointStateCacheMaxBytes(final long checkpointStateCacheMaxBytes) {
+      checkArgument(checkpointStateCacheMaxBytes >= 0, "Cache memory limit cannot be negative");
+      this.checkpointStateCacheMaxBytes = checkpointStateCacheMaxBytes;
+      return this;
+    }
+
     public Builder hotStatePersistenceFrequencyInEpochs(
         final int hotStatePersistenceFrequencyInEpochs) {
       this.hotStatePersistenceFrequencyInEpochs = hotStatePersistenceFrequencyInEpochs;
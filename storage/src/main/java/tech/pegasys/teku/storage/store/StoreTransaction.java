@@ -25,6 +25,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.CheckReturnValue;
 import org.apache.logging.log4j.LogManager;
@@ -34,6 +35,7 @@ import tech.pegasys.teku.core.stategenerator.CheckpointStateTask;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
+import tech.pegasys.teku.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
 import tech.pegasys.teku.datastructures.hashtree.HashTree;
 import tech.pegasys.teku.datastructures.state.AnchorPoint;
@@ -125,17 +127,26 @@ class StoreTransaction implements UpdatableStore.StoreTransaction {
   public VoteTracker getVote(UInt64 validatorIndex) {
     VoteTracker vote = votes.get(validatorIndex);
     if (vote == null) {
-      vote = store.getVote(validatorIndex);
-      if (vote == null) {
-        vote = VoteTracker.Default();
-      } else {
-        vote = vote.copy();
-      }
+      vote = store.getVote(validatorIndex).orElseGet(VoteTracker::Default);
       votes.put(validatorIndex, vote);
     }
     return vote;
   }
 
+  @Override
+  public void processVotes(final Consumer<ValidatorVotes> processor) {
+    store.processVotes(
+        committedVotes -> {
+          if (votes.isEmpty()) {
+            processor.accept(committedVotes);
+          } else {
+            final ValidatorVotes pendingVotes = committedVotes.copy();
+            pendingVotes.putAll(votes);
+            processor.accept(pendingVotes);
+          }
+        });
+  }
+
   @CheckReturnValue
   @Override
   public SafeFuture<Void> commit() {
@@ -34,6 +34,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,6 +51,7 @@ import tech.pegasys.teku.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.storage.client.RecentChainData;
@@ -473,11 +475,17 @@ public abstract class AbstractDatabaseTest {
 
   @Test
   public void handleFinalizationWhenCacheLimitsExceeded() {
-    createStorage(StateStorageMode.ARCHIVE);
+    final int stateCacheSize = Constants.SLOTS_PER_EPOCH * 5;
+    createStorage(
+        StateStorageMode.ARCHIVE,
+        StoreConfig.builder()
+            .stateCacheSize(stateCacheSize)
+            .checkpointStateCacheSize(20)
+            .build());
     initGenesis();
 
     final int startSlot = genesisBlockAndState.getSlot().intValue();
-    final int minFinalSlot = startSlot + StoreConfig.DEFAULT_STATE_CACHE_SIZE + 10;
+    final int minFinalSlot = startSlot + stateCacheSize + 10;
     final UInt64 finalizedEpoch = ChainProperties.computeBestEpochFinalizableAtSlot(minFinalSlot);
     final UInt64 finalizedSlot = compute_start_slot_at_epoch(finalizedEpoch);
 
@@ -699,6 +707,13 @@ public abstract class AbstractDatabaseTest {
                 .streamBlocksAndStates(0, 7)
                 .collect(toMap(SignedBlockAndState::getRoot, SignedBlockAndState::getState));
         assertFinalizedStatesAvailable(expectedStates);
+
+        // State roots should be recorded for every finalized slot, including empty slots
+        final BeaconState finalizedState = finalizedBlock.getState();
+        for (int slot = 0; slot < 7; slot++) {
+          assertThat(database.getFinalizedStateRootAtSlot(UInt64.valueOf(slot)))
+              .contains(finalizedState.getState_roots().get(slot));
+        }
         break;
       case PRUNE:
         // Check pruned states
@@ -715,6 +730,12 @@ public abstract class AbstractDatabaseTest {
         database.streamFinalizedBlocks(UInt64.valueOf(fromSlot), UInt64.valueOf(toSlot))) {
       assertThat(stream).containsExactly(expectedBlocks);
     }
+    try (final Stream<Bytes> stream =
+        database.streamFinalizedBlockBytes(UInt64.valueOf(fromSlot), UInt64.valueOf(toSlot))) {
+      assertThat(stream)
+          .containsExactlyElementsOf(
+              Stream.of(expectedBlocks).map(SimpleOffsetSerializer::serialize).collect(toList()));
+    }
   }
 
   protected void assertFinalizedBlocksAndStatesAvailable(
@@ -24,6 +24,12 @@ public class DatabaseVersionTest {
     assertThat(DatabaseVersion.DEFAULT_VERSION).isEqualTo(DatabaseVersion.V5);
   }
 
+  @Test
+  public void shouldAcceptV7FromString() {
+    Optional<DatabaseVersion> data = DatabaseVersion.fromString("7");
+    assertThat(data).contains(DatabaseVersion.V7);
+  }
+
   @Test
   public void shouldAcceptV6FromString() {
     Optional<DatabaseVersion> data = DatabaseVersion.fromString("6");
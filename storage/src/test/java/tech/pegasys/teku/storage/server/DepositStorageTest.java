@@ -36,6 +36,7 @@ import tech.pegasys.teku.pow.event.Deposit;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.pow.exception.InvalidDepositEventsException;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 import tech.pegasys.teku.storage.api.schema.ReplayDepositsResult;
 import tech.pegasys.teku.storage.storageSystem.StorageSystem;
 import tech.pegasys.teku.storage.storageSystem.StorageSystemArgumentsProvider;
@@ -364,6 +365,97 @@ public class DepositStorageTest {
     assertThat(future.get().isPastMinGenesisBlock()).isTrue();
   }
 
+  @ParameterizedTest(name = "{0}")
+  @ArgumentsSource(StorageSystemArgumentsProvider.class)
+  public void shouldStoreDepositTreeSnapshot(
+      final String storageType,
+      final StorageSystemArgumentsProvider.StorageSystemSupplier storageSystemSupplier) {
+    setup(storageSystemSupplier);
+    final DepositTreeSnapshot snapshot = createSnapshot(15, block_100);
+
+    depositStorage.onDepositTreeSnapshot(snapshot);
+
+    assertThat(database.getDepositTreeSnapshot()).contains(snapshot);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ArgumentsSource(StorageSystemArgumentsProvider.class)
+  public void shouldReplayDepositsFromBlockWithLastSnapshotDeposit(
+      final String storageType,
+      final StorageSystemArgumentsProvider.StorageSystemSupplier storageSystemSupplier)
+      throws ExecutionException, InterruptedException {
+    setup(storageSystemSupplier);
+    database.addDepositsFromBlockEvent(block_99);
+    database.addDepositsFromBlockEvent(block_100);
+    database.addDepositsFromBlockEvent(block_101);
+    final DepositTreeSnapshot snapshot = createSnapshot(15, block_100);
+    database.storeDepositTreeSnapshot(snapshot);
+
+    SafeFuture<ReplayDepositsResult> future = depositStorage.replayDepositEvents();
+    assertThat(future).isCompleted();
+    assertThat(eventsChannel.getOrderedList()).containsExactly(snapshot, block_100, block_101);
+    assertThat(future.get().getLastProcessedBlockNumber())
+        .isEqualTo(block_101.getBlockNumber().bigIntegerValue());
+    assertThat(future.get().getLastProcessedDepositIndex())
+        .hasValue(block_101.getLastDepositIndex().bigIntegerValue());
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ArgumentsSource(StorageSystemArgumentsProvider.class)
+  public void shouldReplayAllDepositsWhenDepositTreeSnapshotDisabled(
+      final String storageType,
+      final StorageSystemArgumentsProvider.StorageSystemSupplier storageSystemSupplier) {
+    setup(storageSystemSupplier);
+    depositStorage = DepositStorage.create(eventsChannel, database, true, false);
+    database.addDepositsFromBlockEvent(block_99);
+    database.addDepositsFromBlockEvent(block_100);
+    database.storeDepositTreeSnapshot(createSnapshot(15, block_100));
+
+    SafeFuture<ReplayDepositsResult> future = depositStorage.replayDepositEvents();
+    assertThat(future).isCompleted();
+    assertThat(eventsChannel.getOrderedList()).containsExactly(block_99, block_100);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ArgumentsSource(StorageSystemArgumentsProvider.class)
+  public void shouldFailIfFirstDepositEventAfterSnapshotIsMissingLastSnapshotDeposit(
+      final String storageType,
+      final StorageSystemArgumentsProvider.StorageSystemSupplier storageSystemSupplier) {
+    setup(storageSystemSupplier);
+    database.addDepositsFromBlockEvent(block_99);
+    // Deposits from block 100 are missing
+    database.addDepositsFromBlockEvent(block_101);
+    database.storeDepositTreeSnapshot(createSnapshot(15, block_100));
+
+    SafeFuture<ReplayDepositsResult> future = depositStorage.replayDepositEvents();
+    assertThat(future).isCompletedExceptionally();
+    assertThatThrownBy(future::get).hasCauseInstanceOf(InvalidDepositEventsException.class);
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ArgumentsSource(StorageSystemArgumentsProvider.class)
+  public void shouldFailIfNoDepositEventsAfterSnapshot(
+      final String storageType,
+      final StorageSystemArgumentsProvider.StorageSystemSupplier storageSystemSupplier) {
+    setup(storageSystemSupplier);
+    database.addDepositsFromBlockEvent(block_99);
+    database.storeDepositTreeSnapshot(createSnapshot(15, block_100));
+
+    SafeFuture<ReplayDepositsResult> future = depositStorage.replayDepositEvents();
+    assertThat(future).isCompletedExceptionally();
+    assertThatThrownBy(future::get).hasCauseInstanceOf(InvalidDepositEventsException.class);
+  }
+
+  private DepositTreeSnapshot createSnapshot(
+      final int depositCount, final DepositsFromBlockEvent lastDepositEvent) {
+    final List<Bytes32> frontier =
+        Stream.generate(dataStructureUtil::randomBytes32)
+            .limit(Integer.bitCount(depositCount))
+            .collect(toList());
+    return new DepositTreeSnapshot(
+        UInt64.valueOf(depositCount), frontier, lastDepositEvent.getBlockNumber());
+  }
+
   private static class UnsafeDepositsFromBlockEvent extends DepositsFromBlockEvent {
 
     protected UnsafeDepositsFromBlockEvent(
@@ -16,8 +16,6 @@ package tech.pegasys.teku.storage.server;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.AfterEach;
@@ -71,13 +69,7 @@ public class ProtoArrayStorageTest {
 
     // init ProtoArray
     ProtoArray protoArray =
-        new ProtoArray(
-            10000,
-            UInt64.valueOf(100),
-            UInt64.valueOf(99),
-            UInt64.ZERO,
-            new ArrayList<>(),
-            new HashMap<>());
+        new ProtoArray(10000, UInt64.valueOf(100), UInt64.valueOf(99), UInt64.ZERO);
 
     // add block 1
     protoArray.onBlock(
@@ -119,25 +111,13 @@ public class ProtoArrayStorageTest {
 
     // init ProtoArray
     ProtoArray protoArray1 =
-        new ProtoArray(
-            10000,
-            UInt64.valueOf(100),
-            UInt64.valueOf(99),
-            UInt64.ZERO,
-            new ArrayList<>(),
-            new HashMap<>());
+        new ProtoArray(10000, UInt64.valueOf(100), UInt64.valueOf(99), UInt64.ZERO);
 
     ProtoArraySnapshot protoArraySnapshot1 = ProtoArraySnapshot.create(protoArray1);
     protoArrayStorage.onProtoArrayUpdate(protoArraySnapshot1);
 
     ProtoArray protoArray2 =
-        new ProtoArray(
-            10000,
-            UInt64.valueOf(98),
-            UInt64.valueOf(97),
-            UInt64.ZERO,
-            new ArrayList<>(),
-            new HashMap<>());
+        new ProtoArray(10000, UInt64.valueOf(98), UInt64.valueOf(97), UInt64.ZERO);
 
     // add block 1
     protoArray2.onBlock(
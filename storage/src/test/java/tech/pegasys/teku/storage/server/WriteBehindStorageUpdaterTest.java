@@ -0,0 +1,220 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.datastructures.blocks.SlotAndBlockRoot;
+import tech.pegasys.teku.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.state.Checkpoint;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.events.StorageUpdate;
+
+class WriteBehindStorageUpdaterTest {
+  private static final int MAX_PENDING_UPDATES = 3;
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final Database database = mock(Database.class);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final Runnable onFlush = mock(Runnable.class);
+
+  private final WriteBehindStorageUpdater updater =
+      new WriteBehindStorageUpdater(database, asyncRunner, MAX_PENDING_UPDATES, 1000, onFlush);
+
+  @Test
+  void shouldMergeUpdatesIntoSingleWriteAfterDelay() {
+    final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
+    final Checkpoint justified1 = dataStructureUtil.randomCheckpoint();
+    final Checkpoint justified2 = dataStructureUtil.randomCheckpoint();
+    final VoteTracker vote1 = randomVote();
+    final VoteTracker vote2 = randomVote();
+    final VoteTracker vote3 = randomVote();
+
+    assertThat(
+            updater.onStorageUpdate(
+                hotUpdate(
+                    Optional.of(justified1),
+                    Map.of(block1.getRoot(), block1),
+                    Map.of(UInt64.ZERO, vote1, UInt64.ONE, vote2))))
+        .isCompleted();
+    assertThat(
+            updater.onStorageUpdate(
+                hotUpdate(
+                    Optional.of(justified2),
+                    Map.of(block2.getRoot(), block2),
+                    Map.of(UInt64.ONE, vote3))))
+        .isCompleted();
+    verify(database, never()).update(any());
+
+    asyncRunner.executeQueuedActions();
+
+    final StorageUpdate written = getWrittenUpdate();
+    assertThat(written.getJustifiedCheckpoint()).contains(justified2);
+    assertThat(written.getHotBlocks())
+        .containsOnly(Map.entry(block1.getRoot(), block1), Map.entry(block2.getRoot(), block2));
+    assertThat(written.getVotes())
+        .containsOnly(Map.entry(UInt64.ZERO, vote1), Map.entry(UInt64.ONE, vote3));
+    verify(onFlush).run();
+  }
+
+  @Test
+  void shouldFlushWhenMaxPendingUpdatesReached() {
+    for (int i = 0; i < MAX_PENDING_UPDATES - 1; i++) {
+      updater.onStorageUpdate(blockUpdate(dataStructureUtil.randomSignedBeaconBlock(i)));
+    }
+    verify(database, never()).update(any());
+
+    final SafeFuture<Void> result =
+        updater.onStorageUpdate(blockUpdate(dataStructureUtil.randomSignedBeaconBlock(10)));
+
+    assertThat(result).isCompleted();
+    assertThat(getWrittenUpdate().getHotBlocks()).hasSize(MAX_PENDING_UPDATES);
+  }
+
+  @Test
+  void shouldReadPendingDataBeforeItIsWritten() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+    final BeaconState state = dataStructureUtil.randomBeaconState();
+    final Bytes32 stateRoot = dataStructureUtil.randomBytes32();
+    final SlotAndBlockRoot slotAndBlockRoot = new SlotAndBlockRoot(UInt64.ONE, block.getRoot());
+    updater.onStorageUpdate(
+        new StorageUpdate(
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Map.of(block.getRoot(), block),
+            Map.of(block.getRoot(), state),
+            Set.of(),
+            Map.of(),
+            Map.of(stateRoot, slotAndBlockRoot)));
+
+    assertThat(updater.getHotBlock(block.getRoot())).contains(block);
+    assertThat(updater.getHotState(block.getRoot())).contains(state);
+    assertThat(updater.getSlotAndBlockRootFromStateRoot(stateRoot)).contains(slotAndBlockRoot);
+
+    updater.flush();
+
+    assertThat(updater.getHotBlock(block.getRoot())).isEmpty();
+    assertThat(updater.getHotState(block.getRoot())).isEmpty();
+    assertThat(updater.getSlotAndBlockRootFromStateRoot(stateRoot)).isEmpty();
+  }
+
+  @Test
+  void shouldWritePendingUpdatesBeforeUpdatesDeletingHotBlocks() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+    updater.onStorageUpdate(blockUpdate(block));
+    final StorageUpdate pruningUpdate =
+        new StorageUpdate(
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            Map.of(),
+            Map.of(),
+            Set.of(block.getRoot()),
+            Map.of(),
+            Map.of());
+
+    assertThat(updater.onStorageUpdate(pruningUpdate)).isCompleted();
+
+    final ArgumentCaptor<StorageUpdate> captor = ArgumentCaptor.forClass(StorageUpdate.class);
+    verify(database, times(2)).update(captor.capture());
+    assertThat(captor.getAllValues().get(0).getHotBlocks()).containsOnlyKeys(block.getRoot());
+    assertThat(captor.getAllValues().get(1)).isSameAs(pruningUpdate);
+  }
+
+  @Test
+  void flush_shouldKeepUpdatesPendingWhenWriteFails() {
+    final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
+    updater.onStorageUpdate(blockUpdate(block1));
+    final RuntimeException error = new RuntimeException("Nope");
+    doThrow(error).doNothing().when(database).update(any());
+
+    assertThatThrownBy(updater::flush).isSameAs(error);
+    assertThat(updater.getHotBlock(block1.getRoot())).contains(block1);
+    verify(onFlush, never()).run();
+
+    updater.onStorageUpdate(blockUpdate(block2));
+    updater.flush();
+
+    final ArgumentCaptor<StorageUpdate> captor = ArgumentCaptor.forClass(StorageUpdate.class);
+    verify(database, times(2)).update(captor.capture());
+    assertThat(captor.getAllValues().get(1).getHotBlocks())
+        .containsOnlyKeys(block1.getRoot(), block2.getRoot());
+    assertThat(updater.getHotBlock(block1.getRoot())).isEmpty();
+    verify(onFlush).run();
+  }
+
+  @Test
+  void flush_shouldNotWriteWhenNothingIsPending() {
+    updater.flush();
+
+    verify(database, never()).update(any());
+    verify(onFlush, never()).run();
+  }
+
+  private StorageUpdate getWrittenUpdate() {
+    final ArgumentCaptor<StorageUpdate> captor = ArgumentCaptor.forClass(StorageUpdate.class);
+    verify(database).update(captor.capture());
+    return captor.getValue();
+  }
+
+  private StorageUpdate blockUpdate(final SignedBeaconBlock block) {
+    return hotUpdate(Optional.empty(), Map.of(block.getRoot(), block), Map.of());
+  }
+
+  private StorageUpdate hotUpdate(
+      final Optional<Checkpoint> justifiedCheckpoint,
+      final Map<Bytes32, SignedBeaconBlock> hotBlocks,
+      final Map<UInt64, VoteTracker> votes) {
+    return new StorageUpdate(
+        Optional.empty(),
+        Optional.empty(),
+        justifiedCheckpoint,
+        Optional.empty(),
+        hotBlocks,
+        Map.of(),
+        Set.of(),
+        votes,
+        Map.of());
+  }
+
+  private VoteTracker randomVote() {
+    return new VoteTracker(
+        dataStructureUtil.randomBytes32(),
+        dataStructureUtil.randomBytes32(),
+        dataStructureUtil.randomUInt64());
+  }
+}
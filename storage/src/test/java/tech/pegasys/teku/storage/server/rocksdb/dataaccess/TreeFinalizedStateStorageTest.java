@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.dataaccess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.storage.server.rocksdb.core.MockRocksDbInstance;
+import tech.pegasys.teku.storage.server.rocksdb.core.RocksDbAccessor.RocksDbTransaction;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V7SchemaFinalized;
+
+class TreeFinalizedStateStorageTest {
+  private static final V7SchemaFinalized SCHEMA = V7SchemaFinalized.INSTANCE;
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final MockRocksDbInstance db =
+      MockRocksDbInstance.createEmpty(SCHEMA.getAllColumns(), Collections.emptyList());
+  private final TreeFinalizedStateStorage storage = new TreeFinalizedStateStorage(SCHEMA);
+
+  @Test
+  void shouldLoadStoredState() {
+    final BeaconState state = dataStructureUtil.randomBeaconState(UInt64.valueOf(10));
+    store(state);
+
+    final Optional<BeaconState> loaded =
+        storage.getLatestAvailableFinalizedState(db, UInt64.valueOf(15));
+    assertThat(loaded).isPresent();
+    assertThat(loaded.get().hashTreeRoot()).isEqualTo(state.hashTreeRoot());
+    assertThat(loaded.get().sszSerialize()).isEqualTo(state.sszSerialize());
+    assertThat(loaded.get()).isEqualTo(state);
+    assertThat(storage.getLatestStoredStateSlot(db)).contains(UInt64.valueOf(10));
+  }
+
+  @Test
+  void shouldOnlyStoreChangedNodesOfLaterStates() {
+    final BeaconState state1 = dataStructureUtil.randomBeaconState(UInt64.valueOf(10));
+    final BeaconState state2 = state1.updated(state -> state.setSlot(UInt64.valueOf(20)));
+    store(state1);
+    final int nodesAfterFirstState = countStoredNodes();
+
+    store(state2);
+
+    // Only the branches from the root to the slot field change
+    assertThat(countStoredNodes() - nodesAfterFirstState)
+        .isEqualTo(BeaconState.getSSZType().treeDepth());
+    assertThat(storage.getLatestAvailableFinalizedState(db, UInt64.valueOf(19))).contains(state1);
+    assertThat(storage.getLatestAvailableFinalizedState(db, UInt64.valueOf(20))).contains(state2);
+  }
+
+  @Test
+  void shouldShareNodesBetweenStatesStoredInSameTransaction() {
+    final BeaconState state1 = dataStructureUtil.randomBeaconState(UInt64.valueOf(10));
+    final BeaconState state2 = state1.updated(state -> state.setSlot(UInt64.valueOf(20)));
+    try (final RocksDbTransaction transaction = db.startTransaction()) {
+      final FinalizedStateStorage.StateUpdater updater = storage.updater(db, transaction);
+      updater.addFinalizedState(state1);
+      updater.addFinalizedState(state2);
+      transaction.commit();
+    }
+    final int nodesForBothStates = countStoredNodes();
+
+    store(state1);
+    assertThat(countStoredNodes()).isEqualTo(nodesForBothStates);
+  }
+
+  @Test
+  void shouldReturnSnapshotStatesStoredBeforeUpgrade() {
+    final BeaconState snapshotState = dataStructureUtil.randomBeaconState(UInt64.valueOf(5));
+    final BeaconState treeState = dataStructureUtil.randomBeaconState(UInt64.valueOf(10));
+    try (final RocksDbTransaction transaction = db.startTransaction()) {
+      transaction.put(
+          SCHEMA.getColumnFinalizedStatesBySlot(), snapshotState.getSlot(), snapshotState);
+      transaction.commit();
+    }
+    assertThat(storage.getLatestStoredStateSlot(db)).contains(UInt64.valueOf(5));
+
+    store(treeState);
+
+    assertThat(storage.getLatestAvailableFinalizedState(db, UInt64.valueOf(4))).isEmpty();
+    assertThat(storage.getLatestAvailableFinalizedState(db, UInt64.valueOf(9)))
+        .contains(snapshotState);
+    assertThat(storage.getLatestAvailableFinalizedState(db, UInt64.valueOf(10)))
+        .contains(treeState);
+    assertThat(storage.getLatestStoredStateSlot(db)).contains(UInt64.valueOf(10));
+  }
+
+  private void store(final BeaconState state) {
+    try (final RocksDbTransaction transaction = db.startTransaction()) {
+      storage.updater(db, transaction).addFinalizedState(state);
+      transaction.commit();
+    }
+  }
+
+  private int countStoredNodes() {
+    return db.getAll(SCHEMA.getColumnFinalizedStateTreeNodesByRoot()).size();
+  }
+}
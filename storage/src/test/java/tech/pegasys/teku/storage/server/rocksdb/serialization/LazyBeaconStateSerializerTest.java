@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.rocksdb.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.datastructures.util.SimpleOffsetSerializer;
+
+public class LazyBeaconStateSerializerTest {
+
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final LazyBeaconStateSerializer serializer = new LazyBeaconStateSerializer();
+
+  @Test
+  public void roundTrip() {
+    final BeaconState value = dataStructureUtil.randomBeaconState(11);
+    final byte[] bytes = serializer.serialize(value);
+    final BeaconState deserialized = serializer.deserialize(bytes);
+    assertThat(deserialized).isEqualTo(value);
+    assertThat(deserialized.hash_tree_root()).isEqualTo(value.hash_tree_root());
+  }
+
+  @Test
+  public void serialize_shouldMatchSsz() {
+    final BeaconState value = dataStructureUtil.randomBeaconState(11);
+    assertThat(serializer.serialize(value))
+        .isEqualTo(SimpleOffsetSerializer.serialize(value).toArrayUnsafe());
+  }
+}
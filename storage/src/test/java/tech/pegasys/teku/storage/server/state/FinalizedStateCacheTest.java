@@ -31,6 +31,7 @@ import tech.pegasys.teku.bls.BLSKeyPair;
 import tech.pegasys.teku.core.ChainBuilder;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.datastructures.state.BeaconState;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.storage.server.Database;
 
@@ -41,7 +42,7 @@ class FinalizedStateCacheTest {
   private final Database database = mock(Database.class);
   // We don't use soft references in unit tests to avoid intermittency
   private final FinalizedStateCache cache =
-      new FinalizedStateCache(database, MAXIMUM_CACHE_SIZE, false);
+      new FinalizedStateCache(database, MAXIMUM_CACHE_SIZE, false, new StubMetricsSystem());
 
   @BeforeEach
   public void setUp() {
@@ -29,6 +29,7 @@ import tech.pegasys.teku.core.lookup.BlockProvider;
 import tech.pegasys.teku.core.lookup.StateAndBlockProvider;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.datastructures.blocks.SignedBlockAndState;
+import tech.pegasys.teku.datastructures.forkchoice.ValidatorVotes;
 import tech.pegasys.teku.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.datastructures.state.CheckpointState;
@@ -138,7 +139,7 @@ public abstract class AbstractStoreTest {
         genesisCheckpoint,
         Map.of(genesis.getRoot(), genesis.getParentRoot()),
         Map.of(genesis.getRoot(), genesis.getSlot()),
-        Collections.emptyMap(),
+        ValidatorVotes.create(),
         pruningOptions);
   }
 
@@ -18,6 +18,7 @@ import tech.pegasys.teku.storage.server.Database;
 import tech.pegasys.teku.storage.server.rocksdb.core.MockRocksDbInstance;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V6SchemaFinalized;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V7SchemaFinalized;
 import tech.pegasys.teku.util.config.StateStorageMode;
 
 public class InMemoryRocksDbDatabaseFactory {
@@ -45,4 +46,19 @@ public class InMemoryRocksDbDatabaseFactory {
         storageMode,
         stateStorageFrequency);
   }
+
+  public static Database createV7(
+      MockRocksDbInstance hotDb,
+      MockRocksDbInstance coldDb,
+      final StateStorageMode storageMode,
+      final long stateStorageFrequency) {
+    return RocksDbDatabase.createV7(
+        new StubMetricsSystem(),
+        hotDb,
+        coldDb,
+        V4SchemaHot.INSTANCE,
+        V7SchemaFinalized.INSTANCE,
+        storageMode,
+        stateStorageFrequency);
+  }
 }
@@ -142,6 +142,18 @@ public class MockRocksDbInstance implements RocksDbAccessor {
         .map(e -> columnEntry(column, e));
   }
 
+  @Override
+  public <K extends Comparable<K>> Stream<ColumnEntry<K, Bytes>> streamRaw(
+      final RocksDbColumn<K, ?> column, final K from, final K to) {
+    assertOpen();
+    final RocksDbColumn<K, Bytes> rawColumn = column.withRawValues();
+    return columnData.get(column)
+        .subMap(keyToBytes(rawColumn, from), true, keyToBytes(rawColumn, to), true).entrySet()
+        .stream()
+        .peek(value -> assertOpen())
+        .map(e -> columnEntry(rawColumn, e));
+  }
+
   @Override
   public RocksDbTransaction startTransaction() {
     assertOpen();
@@ -25,6 +25,7 @@ import tech.pegasys.teku.storage.server.rocksdb.RocksDbConfiguration;
 import tech.pegasys.teku.storage.server.rocksdb.RocksDbDatabase;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V4SchemaHot;
 import tech.pegasys.teku.storage.server.rocksdb.schema.V6SchemaFinalized;
+import tech.pegasys.teku.storage.server.rocksdb.schema.V7SchemaFinalized;
 import tech.pegasys.teku.storage.store.StoreConfig;
 import tech.pegasys.teku.util.config.StateStorageMode;
 
@@ -50,6 +51,9 @@ public class FileBackedStorageSystemBuilder {
   public StorageSystem build() {
     final Database database;
     switch (version) {
+      case V7:
+        database = createV7Database();
+        break;
       case V6:
         database = createV6Database();
         break;
@@ -145,6 +149,24 @@ public class FileBackedStorageSystemBuilder {
         stateStorageFrequency);
   }
 
+  private Database createV7Database() {
+    RocksDbConfiguration hotConfigDefault =
+        v6ArchiveDir.isPresent()
+            ? RocksDbConfiguration.v5HotDefaults()
+            : RocksDbConfiguration.v6SingleDefaults();
+    Optional<RocksDbConfiguration> coldConfig =
+        v6ArchiveDir.map(dir -> RocksDbConfiguration.v5ArchiveDefaults().withDatabaseDir(dir));
+
+    return RocksDbDatabase.createV7(
+        new StubMetricsSystem(),
+        hotConfigDefault.withDatabaseDir(hotDir),
+        coldConfig,
+        V4SchemaHot.INSTANCE,
+        V7SchemaFinalized.INSTANCE,
+        storageMode,
+        stateStorageFrequency);
+  }
+
   private Database createV5Database() {
     return RocksDbDatabase.createV4(
         new StubMetricsSystem(),
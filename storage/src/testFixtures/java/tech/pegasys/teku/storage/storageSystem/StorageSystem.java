@@ -81,7 +81,7 @@ public class StorageSystem implements AutoCloseable {
     final EventBus eventBus = new EventBus();
 
     // Create and start storage server
-    final ChainStorage chainStorageServer = ChainStorage.create(eventBus, database);
+    final ChainStorage chainStorageServer = ChainStorage.create(eventBus, database, metricsSystem);
     chainStorageServer.start();
 
     // Create recent chain data
@@ -58,6 +58,14 @@ public class StorageSystemArgumentsProvider implements ArgumentsProvider {
                     .storageMode(mode)
                     .stateStorageFrequency(storageFrequency)
                     .build());
+        storageSystems.put(
+            describeStorage("v7 (in-memory)", storageFrequency),
+            (dataPath) ->
+                InMemoryStorageSystemBuilder.create()
+                    .version(DatabaseVersion.V7)
+                    .storageMode(mode)
+                    .stateStorageFrequency(storageFrequency)
+                    .build());
         storageSystems.put(
             describeStorage("v4 (file-backed)", storageFrequency),
             (dataPath) ->
@@ -85,6 +93,15 @@ public class StorageSystemArgumentsProvider implements ArgumentsProvider {
                     .storageMode(mode)
                     .stateStorageFrequency(storageFrequency)
                     .build());
+        storageSystems.put(
+            describeStorage("v7 (file-backed)", storageFrequency),
+            (dataPath) ->
+                FileBackedStorageSystemBuilder.create()
+                    .version(DatabaseVersion.V7)
+                    .dataDir(dataPath)
+                    .storageMode(mode)
+                    .stateStorageFrequency(storageFrequency)
+                    .build());
       }
     }
     return storageSystems.entrySet().stream()
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import tech.pegasys.teku.core.blockvalidator.ValidatedBlock;
 import tech.pegasys.teku.core.results.BlockImportResult;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
@@ -45,6 +46,11 @@ public class BatchImporter {
    *
    * <p>Guaranteed to return immediately and perform the import on worker threads.
    *
+   * <p>The signatures of all blocks in the batch are first verified together, then the blocks found
+   * to be valid are imported using the post states calculated during validation, without running
+   * the state transition again. Any remaining blocks are imported with full validation so the
+   * reason for the failure is reported.
+   *
    * @param batch the batch to import
    * @return a future reporting the result of the import
    */
@@ -55,52 +61,66 @@ public class BatchImporter {
 
     checkState(!blocks.isEmpty(), "Batch has no blocks to import");
     return asyncRunner.runAsync(
-        () -> {
-          SafeFuture<BlockImportResult> importResult =
-              importBlock(blocks.get(0), source.orElseThrow());
-          for (int i = 1; i < blocks.size(); i++) {
-            final SignedBeaconBlock block = blocks.get(i);
-            importResult =
-                importResult.thenCompose(
-                    previousResult -> {
-                      if (previousResult.isSuccessful()) {
-                        return importBlock(block, source.orElseThrow());
-                      } else {
-                        return SafeFuture.completedFuture(previousResult);
+        () ->
+            blockImporter
+                .validateBlocks(blocks)
+                .thenCompose(
+                    validatedBlocks -> importBlocks(blocks, validatedBlocks, source.orElseThrow()))
+                .thenApply(
+                    lastBlockImportResult -> {
+                      if (lastBlockImportResult.isSuccessful()) {
+                        return BatchImportResult.IMPORTED_ALL_BLOCKS;
                       }
-                    });
-          }
-          return importResult.thenApply(
-              lastBlockImportResult -> {
-                if (lastBlockImportResult.isSuccessful()) {
-                  return BatchImportResult.IMPORTED_ALL_BLOCKS;
+                      LOG.debug(
+                          "Failed to import batch {}: {}",
+                          batch,
+                          lastBlockImportResult.getFailureReason(),
+                          lastBlockImportResult.getFailureCause().orElse(null));
+                      return BatchImportResult.IMPORT_FAILED;
+                    }));
+  }
+
+  private SafeFuture<BlockImportResult> importBlocks(
+      final List<SignedBeaconBlock> blocks,
+      final List<ValidatedBlock> validatedBlocks,
+      final SyncSource source) {
+    SafeFuture<BlockImportResult> importResult = importBlock(blocks, validatedBlocks, 0, source);
+    for (int i = 1; i < blocks.size(); i++) {
+      final int blockIndex = i;
+      importResult =
+          importResult.thenCompose(
+              previousResult -> {
+                if (previousResult.isSuccessful()) {
+                  return importBlock(blocks, validatedBlocks, blockIndex, source);
+                } else {
+                  return SafeFuture.completedFuture(previousResult);
                 }
-                LOG.debug(
-                    "Failed to import batch {}: {}",
-                    batch,
-                    lastBlockImportResult.getFailureReason(),
-                    lastBlockImportResult.getFailureCause().orElse(null));
-                return BatchImportResult.IMPORT_FAILED;
               });
-        });
+    }
+    return importResult;
   }
 
   private SafeFuture<BlockImportResult> importBlock(
-      final SignedBeaconBlock block, final SyncSource source) {
-    return blockImporter
-        .importBlock(block)
-        .thenApply(
-            result -> {
-              if (result.getFailureReason()
-                  == BlockImportResult.FailureReason.FAILED_WEAK_SUBJECTIVITY_CHECKS) {
-                LOG.warn(
-                    "Disconnecting source ({}) for sending block that failed weak subjectivity checks: {}",
-                    source,
-                    result);
-                source.disconnectCleanly(DisconnectReason.REMOTE_FAULT).reportExceptions();
-              }
-              return result;
-            });
+      final List<SignedBeaconBlock> blocks,
+      final List<ValidatedBlock> validatedBlocks,
+      final int blockIndex,
+      final SyncSource source) {
+    final SafeFuture<BlockImportResult> importResult =
+        blockIndex < validatedBlocks.size()
+            ? blockImporter.importPreValidatedBlock(validatedBlocks.get(blockIndex))
+            : blockImporter.importBlock(blocks.get(blockIndex));
+    return importResult.thenApply(
+        result -> {
+          if (result.getFailureReason()
+              == BlockImportResult.FailureReason.FAILED_WEAK_SUBJECTIVITY_CHECKS) {
+            LOG.warn(
+                "Disconnecting source ({}) for sending block that failed weak subjectivity checks: {}",
+                source,
+                result);
+            source.disconnectCleanly(DisconnectReason.REMOTE_FAULT).reportExceptions();
+          }
+          return result;
+        });
   }
 
   public enum BatchImportResult {
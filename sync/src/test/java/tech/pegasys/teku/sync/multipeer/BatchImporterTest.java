@@ -24,9 +24,11 @@ import static tech.pegasys.teku.infrastructure.async.FutureUtil.ignoreFuture;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.core.blockvalidator.ValidatedBlock;
 import tech.pegasys.teku.core.results.BlockImportResult;
 import tech.pegasys.teku.data.BlockProcessingRecord;
 import tech.pegasys.teku.datastructures.blocks.SignedBeaconBlock;
@@ -51,6 +53,7 @@ class BatchImporterTest {
   @BeforeEach
   public void setup() {
     when(batch.getSource()).thenReturn(Optional.of(syncSource));
+    when(blockImporter.validateBlocks(any())).thenReturn(SafeFuture.completedFuture(List.of()));
   }
 
   @Test
@@ -78,6 +81,7 @@ class BatchImporterTest {
     blocks.clear();
 
     asyncRunner.executeQueuedActions();
+    ignoreFuture(verify(blockImporter).validateBlocks(List.of(block1, block2, block3)));
 
     blockImportedSuccessfully(block1, importResult1);
     assertThat(result).isNotDone();
@@ -109,6 +113,7 @@ class BatchImporterTest {
     verifyNoInteractions(blockImporter);
 
     asyncRunner.executeQueuedActions();
+    ignoreFuture(verify(blockImporter).validateBlocks(List.of(block1, block2, block3)));
 
     blockImportedSuccessfully(block1, importResult1);
     assertThat(result).isNotDone();
@@ -140,6 +145,7 @@ class BatchImporterTest {
     verifyNoInteractions(blockImporter);
 
     asyncRunner.executeQueuedActions();
+    ignoreFuture(verify(blockImporter).validateBlocks(List.of(block1, block2)));
 
     blockImportedSuccessfully(block1, importResult1);
     assertThat(result).isNotDone();
@@ -156,6 +162,67 @@ class BatchImporterTest {
     verifyNoMoreInteractions(blockImporter);
   }
 
+  @Test
+  void shouldImportPreValidatedBlocksWithoutValidatingAgain() {
+    final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
+    final List<SignedBeaconBlock> blocks = List.of(block1, block2);
+    final ValidatedBlock validatedBlock1 = validated(block1);
+    final ValidatedBlock validatedBlock2 = validated(block2);
+    when(batch.getBlocks()).thenReturn(blocks);
+    when(blockImporter.validateBlocks(blocks))
+        .thenReturn(SafeFuture.completedFuture(List.of(validatedBlock1, validatedBlock2)));
+    when(blockImporter.importPreValidatedBlock(any()))
+        .thenAnswer(
+            invocation ->
+                SafeFuture.completedFuture(
+                    BlockImportResult.successful(
+                        new BlockProcessingRecord(
+                            null, invocation.<ValidatedBlock>getArgument(0).getBlock(), null))));
+
+    final SafeFuture<BatchImportResult> result = importer.importBatch(batch);
+    asyncRunner.executeQueuedActions();
+
+    assertThat(result).isCompletedWithValue(BatchImportResult.IMPORTED_ALL_BLOCKS);
+    ignoreFuture(verify(blockImporter).validateBlocks(blocks));
+    ignoreFuture(verify(blockImporter).importPreValidatedBlock(validatedBlock1));
+    ignoreFuture(verify(blockImporter).importPreValidatedBlock(validatedBlock2));
+    verifyNoMoreInteractions(blockImporter);
+  }
+
+  @Test
+  void shouldFullyValidateBlocksAfterLastPreValidatedBlock() {
+    final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
+    final SignedBeaconBlock block3 = dataStructureUtil.randomSignedBeaconBlock(3);
+    final List<SignedBeaconBlock> blocks = List.of(block1, block2, block3);
+    final ValidatedBlock validatedBlock1 = validated(block1);
+    when(batch.getBlocks()).thenReturn(blocks);
+    when(blockImporter.validateBlocks(blocks))
+        .thenReturn(SafeFuture.completedFuture(List.of(validatedBlock1)));
+    when(blockImporter.importPreValidatedBlock(validatedBlock1))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                BlockImportResult.successful(new BlockProcessingRecord(null, block1, null))));
+    when(blockImporter.importBlock(block2))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                BlockImportResult.failedStateTransition(new Exception("Invalid signature"))));
+
+    final SafeFuture<BatchImportResult> result = importer.importBatch(batch);
+    asyncRunner.executeQueuedActions();
+
+    assertThat(result).isCompletedWithValue(BatchImportResult.IMPORT_FAILED);
+    ignoreFuture(verify(blockImporter).validateBlocks(blocks));
+    ignoreFuture(verify(blockImporter).importPreValidatedBlock(validatedBlock1));
+    ignoreFuture(verify(blockImporter).importBlock(block2));
+    verifyNoMoreInteractions(blockImporter);
+  }
+
+  private ValidatedBlock validated(final SignedBeaconBlock block) {
+    return new ValidatedBlock(block, dataStructureUtil.randomBeaconState(), Map.of(), List.of());
+  }
+
   private void blockImportedSuccessfully(
       final SignedBeaconBlock block, final SafeFuture<BlockImportResult> importResult1) {
     ignoreFuture(verify(blockImporter).importBlock(block));
@@ -378,6 +378,9 @@ public class BeaconNodeCommand implements Callable<Integer> {
         .setHotStatePersistenceFrequencyInEpochs(
             storeOptions.getHotStatePersistenceFrequencyInEpochs())
         .setIsBlockProcessingAtStartupDisabled(storeOptions.isBlockProcessingAtStartupDisabled())
+        .setParallelHashSplitDepth(storeOptions.getParallelHashSplitDepth())
+        .setStateCacheMaxMemoryMb(storeOptions.getStateCacheMaxMemoryMb())
+        .setCheckpointStateCacheMaxMemoryMb(storeOptions.getCheckpointStateCacheMaxMemoryMb())
         .setRestApiPort(beaconRestApiOptions.getRestApiPort())
         .setRestApiDocsEnabled(beaconRestApiOptions.isRestApiDocsEnabled())
         .setRestApiEnabled(beaconRestApiOptions.isRestApiEnabled())
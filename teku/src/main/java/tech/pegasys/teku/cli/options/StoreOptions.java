@@ -14,6 +14,7 @@
 package tech.pegasys.teku.cli.options;
 
 import picocli.CommandLine.Option;
+import tech.pegasys.teku.storage.store.StoreConfig;
 
 public class StoreOptions {
   @Option(
@@ -34,6 +35,34 @@ public class StoreOptions {
       arity = "0..1")
   private boolean disableBlockProcessingAtStartup = true;
 
+  @Option(
+      hidden = true,
+      names = {"--Xparallel-hash-split-depth"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Depth at which to split large state trees into subtrees that are hashed in parallel.  A value less than or equal to zero disables parallel hashing.",
+      arity = "1")
+  private int parallelHashSplitDepth = 0;
+
+  @Option(
+      hidden = true,
+      names = {"--Xstate-cache-max-memory-mb"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Estimated memory in MB that cached hot states may hold. States are evicted once the limit is exceeded. Defaults to a quarter of the maximum heap size.",
+      arity = "1")
+  private int stateCacheMaxMemoryMb = toMb(StoreConfig.DEFAULT_STATE_CACHE_MAX_BYTES);
+
+  @Option(
+      hidden = true,
+      names = {"--Xcheckpoint-state-cache-max-memory-mb"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Estimated memory in MB that cached checkpoint states may hold. States are evicted once the limit is exceeded. Defaults to an eighth of the maximum heap size.",
+      arity = "1")
+  private int checkpointStateCacheMaxMemoryMb =
+      toMb(StoreConfig.DEFAULT_CHECKPOINT_STATE_CACHE_MAX_BYTES);
+
   public int getHotStatePersistenceFrequencyInEpochs() {
     return hotStatePersistenceFrequencyInEpochs;
   }
@@ -41,4 +70,20 @@ public class StoreOptions {
   public boolean isBlockProcessingAtStartupDisabled() {
     return disableBlockProcessingAtStartup;
   }
+
+  public int getParallelHashSplitDepth() {
+    return parallelHashSplitDepth;
+  }
+
+  public int getStateCacheMaxMemoryMb() {
+    return stateCacheMaxMemoryMb;
+  }
+
+  public int getCheckpointStateCacheMaxMemoryMb() {
+    return checkpointStateCacheMaxMemoryMb;
+  }
+
+  private static int toMb(final long bytes) {
+    return Math.toIntExact(bytes / (1024 * 1024));
+  }
 }
@@ -105,6 +105,17 @@ public class ValidatorOptions {
       arity = "1")
   private boolean validatorKeystoreLockingEnabled = true;
 
+  @Option(
+      names = {"--Xvalidators-slashing-protection-group-commit-enabled"},
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Write slashing protection records for all validators to a single journal, "
+              + "syncing updates made at the same time together",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "0..1")
+  private boolean slashingProtectionGroupCommitEnabled = false;
+
   public void configure(TekuConfiguration.Builder builder) {
     builder.validator(
         config ->
@@ -116,6 +127,7 @@ public class ValidatorOptions {
                 .validatorExternalSignerUrl(parseValidatorExternalSignerUrl())
                 .validatorExternalSignerTimeout(validatorExternalSignerTimeout)
                 .validatorPerformanceTrackingEnabled(validatorPerformanceTrackingEnabled)
+                .slashingProtectionGroupCommitEnabled(slashingProtectionGroupCommitEnabled)
                 .graffiti(graffiti)
                 .validatorKeys(validatorKeys));
   }
@@ -85,8 +85,9 @@ public class DebugDbCommand implements Runnable {
       throws Exception {
     try (final YamlEth1EventsChannel eth1EventsChannel = new YamlEth1EventsChannel(System.out);
         final Database database = createDatabase(dataOptions, dataStorageOptions, networkOptions)) {
+      // Replay every stored deposit rather than only those after the deposit tree snapshot
       final DepositStorage depositStorage =
-          DepositStorage.create(eth1EventsChannel, database, true);
+          DepositStorage.create(eth1EventsChannel, database, true, false);
       depositStorage.replayDepositEvents().join();
     }
     return 0;
@@ -210,7 +211,7 @@ public class DebugDbCommand implements Runnable {
         System.err.println("No fork choice snapshot available.");
         return 2;
       }
-      final Map<UInt64, VoteTracker> votes = database.getVotes();
+      final Map<UInt64, VoteTracker> votes = database.getVotes().toMap();
       final String report = ForkChoiceDataWriter.writeForkChoiceData(snapshot.get(), votes);
       if (outputFile != null) {
         Files.writeString(outputFile, report, StandardCharsets.UTF_8);
@@ -40,6 +40,7 @@ import tech.pegasys.teku.config.TekuConfiguration;
 import tech.pegasys.teku.infrastructure.logging.LoggingDestination;
 import tech.pegasys.teku.storage.server.DatabaseVersion;
 import tech.pegasys.teku.storage.server.VersionedDatabaseFactory;
+import tech.pegasys.teku.storage.store.StoreConfig;
 import tech.pegasys.teku.util.config.Eth1Address;
 import tech.pegasys.teku.util.config.GlobalConfiguration;
 import tech.pegasys.teku.util.config.GlobalConfigurationBuilder;
@@ -373,6 +374,11 @@ public class BeaconNodeCommandTest extends AbstractBeaconNodeCommandTest {
         .setDataStorageCreateDbVersion(DatabaseVersion.DEFAULT_VERSION.getValue())
         .setHotStatePersistenceFrequencyInEpochs(2)
         .setIsBlockProcessingAtStartupDisabled(true)
+        .setParallelHashSplitDepth(0)
+        .setStateCacheMaxMemoryMb(
+            (int) (StoreConfig.DEFAULT_STATE_CACHE_MAX_BYTES / (1024 * 1024)))
+        .setCheckpointStateCacheMaxMemoryMb(
+            (int) (StoreConfig.DEFAULT_CHECKPOINT_STATE_CACHE_MAX_BYTES / (1024 * 1024)))
         .setRestApiPort(5051)
         .setRestApiDocsEnabled(false)
         .setRestApiEnabled(false)
@@ -17,9 +17,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.cli.AbstractBeaconNodeCommandTest;
+import tech.pegasys.teku.storage.store.StoreConfig;
 import tech.pegasys.teku.util.config.GlobalConfiguration;
 
 public class StoreOptionsTest extends AbstractBeaconNodeCommandTest {
+  private static final int BYTES_PER_MB = 1024 * 1024;
 
   @Test
   public void hotStatePersistenceFrequency_shouldRespectCLIArg() {
@@ -60,6 +62,41 @@ public class StoreOptionsTest extends AbstractBeaconNodeCommandTest {
     assertThat(output).contains("Invalid value");
   }
 
+  @Test
+  public void parallelHashSplitDepth_shouldRespectCLIArg() {
+    final String[] args = {
+      "--Xparallel-hash-split-depth", "12",
+    };
+    final GlobalConfiguration globalConfiguration = getGlobalConfigurationFromArguments(args);
+    assertThat(globalConfiguration.getParallelHashSplitDepth()).isEqualTo(12);
+  }
+
+  @Test
+  public void parallelHashSplitDepth_shouldBeDisabledByDefault() {
+    final GlobalConfiguration globalConfiguration = getGlobalConfigurationFromArguments();
+    assertThat(globalConfiguration.getParallelHashSplitDepth()).isZero();
+  }
+
+  @Test
+  public void stateCacheMaxMemory_shouldRespectCLIArgs() {
+    final String[] args = {
+      "--Xstate-cache-max-memory-mb", "2048",
+      "--Xcheckpoint-state-cache-max-memory-mb", "256"
+    };
+    final GlobalConfiguration globalConfiguration = getGlobalConfigurationFromArguments(args);
+    assertThat(globalConfiguration.getStateCacheMaxMemoryMb()).isEqualTo(2048);
+    assertThat(globalConfiguration.getCheckpointStateCacheMaxMemoryMb()).isEqualTo(256);
+  }
+
+  @Test
+  public void stateCacheMaxMemory_shouldHaveDefaults() {
+    final GlobalConfiguration globalConfiguration = getGlobalConfigurationFromArguments();
+    assertThat(globalConfiguration.getStateCacheMaxMemoryMb())
+        .isEqualTo((int) (StoreConfig.DEFAULT_STATE_CACHE_MAX_BYTES / BYTES_PER_MB));
+    assertThat(globalConfiguration.getCheckpointStateCacheMaxMemoryMb())
+        .isEqualTo((int) (StoreConfig.DEFAULT_CHECKPOINT_STATE_CACHE_MAX_BYTES / BYTES_PER_MB));
+  }
+
   @Test
   public void disableBlockProcessingAtStartup_shouldRespectCLIArg_true() {
     final String[] args = {
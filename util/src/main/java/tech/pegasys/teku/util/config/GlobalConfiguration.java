@@ -71,6 +71,9 @@ public class GlobalConfiguration implements MetricsConfig {
   // Store
   private final int hotStatePersistenceFrequencyInEpochs;
   private final boolean isBlockProcessingAtStartupDisabled;
+  private final int parallelHashSplitDepth;
+  private final int stateCacheMaxMemoryMb;
+  private final int checkpointStateCacheMaxMemoryMb;
 
   // Beacon REST API
   private final int restApiPort;
@@ -119,6 +122,9 @@ public class GlobalConfiguration implements MetricsConfig {
       final String dataStorageCreateDbVersion,
       final int hotStatePersistenceFrequencyInEpochs,
       final boolean isBlockProcessingAtStartupDisabled,
+      final int parallelHashSplitDepth,
+      final int stateCacheMaxMemoryMb,
+      final int checkpointStateCacheMaxMemoryMb,
       final int restApiPort,
       final boolean restApiDocsEnabled,
       final boolean restApiEnabled,
@@ -159,6 +165,9 @@ public class GlobalConfiguration implements MetricsConfig {
     this.dataStorageCreateDbVersion = dataStorageCreateDbVersion;
     this.hotStatePersistenceFrequencyInEpochs = hotStatePersistenceFrequencyInEpochs;
     this.isBlockProcessingAtStartupDisabled = isBlockProcessingAtStartupDisabled;
+    this.parallelHashSplitDepth = parallelHashSplitDepth;
+    this.stateCacheMaxMemoryMb = stateCacheMaxMemoryMb;
+    this.checkpointStateCacheMaxMemoryMb = checkpointStateCacheMaxMemoryMb;
     this.restApiPort = restApiPort;
     this.restApiDocsEnabled = restApiDocsEnabled;
     this.restApiEnabled = restApiEnabled;
@@ -319,6 +328,18 @@ public class GlobalConfiguration implements MetricsConfig {
     return isBlockProcessingAtStartupDisabled;
   }
 
+  public int getParallelHashSplitDepth() {
+    return parallelHashSplitDepth;
+  }
+
+  public int getStateCacheMaxMemoryMb() {
+    return stateCacheMaxMemoryMb;
+  }
+
+  public int getCheckpointStateCacheMaxMemoryMb() {
+    return checkpointStateCacheMaxMemoryMb;
+  }
+
   public int getRestApiPort() {
     return restApiPort;
   }
@@ -59,6 +59,9 @@ public class GlobalConfigurationBuilder {
   private String dataStorageCreateDbVersion;
   private int hotStatePersistenceFrequencyInEpochs;
   private boolean isBlockProcessingAtStartupDisabled;
+  private int parallelHashSplitDepth;
+  private int stateCacheMaxMemoryMb;
+  private int checkpointStateCacheMaxMemoryMb;
   private long dataStorageFrequency;
   private int restApiPort;
   private boolean restApiDocsEnabled;
@@ -255,6 +258,22 @@ public class GlobalConfigurationBuilder {
     return this;
   }
 
+  public GlobalConfigurationBuilder setParallelHashSplitDepth(final int parallelHashSplitDepth) {
+    this.parallelHashSplitDepth = parallelHashSplitDepth;
+    return this;
+  }
+
+  public GlobalConfigurationBuilder setStateCacheMaxMemoryMb(final int stateCacheMaxMemoryMb) {
+    this.stateCacheMaxMemoryMb = stateCacheMaxMemoryMb;
+    return this;
+  }
+
+  public GlobalConfigurationBuilder setCheckpointStateCacheMaxMemoryMb(
+      final int checkpointStateCacheMaxMemoryMb) {
+    this.checkpointStateCacheMaxMemoryMb = checkpointStateCacheMaxMemoryMb;
+    return this;
+  }
+
   public GlobalConfigurationBuilder setRestApiPort(final int restApiPort) {
     this.restApiPort = restApiPort;
     return this;
@@ -340,6 +359,9 @@ public class GlobalConfigurationBuilder {
         dataStorageCreateDbVersion,
         hotStatePersistenceFrequencyInEpochs,
         isBlockProcessingAtStartupDisabled,
+        parallelHashSplitDepth,
+        stateCacheMaxMemoryMb,
+        checkpointStateCacheMaxMemoryMb,
         restApiPort,
         restApiDocsEnabled,
         restApiEnabled,
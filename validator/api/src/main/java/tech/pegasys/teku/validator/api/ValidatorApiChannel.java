@@ -67,7 +67,15 @@ public interface ValidatorApiChannel extends ChannelInterface {
 
   void sendSignedAttestation(Attestation attestation, Optional<Integer> validatorIndex);
 
+  /**
+   * Submit the signed attestations produced for a slot in a single call so they can be validated
+   * and published together.
+   */
+  void sendSignedAttestations(List<Attestation> attestations);
+
   void sendAggregateAndProof(SignedAggregateAndProof aggregateAndProof);
 
+  void sendAggregateAndProofs(List<SignedAggregateAndProof> aggregateAndProofs);
+
   SafeFuture<SendSignedBlockResult> sendSignedBlock(SignedBeaconBlock block);
 }
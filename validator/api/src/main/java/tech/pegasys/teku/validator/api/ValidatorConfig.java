@@ -38,6 +38,7 @@ public class ValidatorConfig {
   private final Bytes32 graffiti;
   private final boolean validatorPerformanceTrackingEnabled;
   private final boolean validatorKeystoreLockingEnabled;
+  private final boolean slashingProtectionGroupCommitEnabled;
   private final Optional<URI> beaconNodeApiEndpoint;
 
   private ValidatorConfig(
@@ -50,7 +51,8 @@ public class ValidatorConfig {
       final Optional<URI> beaconNodeApiEndpoint,
       final Bytes32 graffiti,
       final boolean validatorPerformanceTrackingEnabled,
-      final boolean validatorKeystoreLockingEnabled) {
+      final boolean validatorKeystoreLockingEnabled,
+      final boolean slashingProtectionGroupCommitEnabled) {
     this.validatorKeys = validatorKeys;
     this.validatorKeystoreFiles = validatorKeystoreFiles;
     this.validatorKeystorePasswordFiles = validatorKeystorePasswordFiles;
@@ -60,6 +62,7 @@ public class ValidatorConfig {
     this.graffiti = graffiti;
     this.validatorPerformanceTrackingEnabled = validatorPerformanceTrackingEnabled;
     this.validatorKeystoreLockingEnabled = validatorKeystoreLockingEnabled;
+    this.slashingProtectionGroupCommitEnabled = slashingProtectionGroupCommitEnabled;
     this.beaconNodeApiEndpoint = beaconNodeApiEndpoint;
   }
 
@@ -75,6 +78,10 @@ public class ValidatorConfig {
     return validatorKeystoreLockingEnabled;
   }
 
+  public boolean isSlashingProtectionGroupCommitEnabled() {
+    return slashingProtectionGroupCommitEnabled;
+  }
+
   public List<String> getValidatorKeystoreFiles() {
     return validatorKeystoreFiles;
   }
@@ -130,6 +137,7 @@ public class ValidatorConfig {
     private Bytes32 graffiti;
     private boolean validatorPerformanceTrackingEnabled;
     private boolean validatorKeystoreLockingEnabled;
+    private boolean slashingProtectionGroupCommitEnabled;
     private Optional<URI> beaconNodeApiEndpoint = Optional.empty();
 
     private Builder() {}
@@ -186,6 +194,12 @@ public class ValidatorConfig {
       return this;
     }
 
+    public Builder slashingProtectionGroupCommitEnabled(
+        boolean slashingProtectionGroupCommitEnabled) {
+      this.slashingProtectionGroupCommitEnabled = slashingProtectionGroupCommitEnabled;
+      return this;
+    }
+
     public ValidatorConfig build() {
       validateKeyStoreFilesAndPasswordFilesConfig();
       return new ValidatorConfig(
@@ -198,7 +212,8 @@ public class ValidatorConfig {
           beaconNodeApiEndpoint,
           graffiti,
           validatorPerformanceTrackingEnabled,
-          validatorKeystoreLockingEnabled);
+          validatorKeystoreLockingEnabled,
+          slashingProtectionGroupCommitEnabled);
     }
 
     private void validateKeyStoreFilesAndPasswordFilesConfig() {
@@ -258,12 +258,24 @@ public class MetricRecordingValidatorApiChannel implements ValidatorApiChannel {
     delegate.sendSignedAttestation(attestation, validatorIndex);
   }
 
+  @Override
+  public void sendSignedAttestations(final List<Attestation> attestations) {
+    sendAttestationRequestCounter.inc(attestations.size());
+    delegate.sendSignedAttestations(attestations);
+  }
+
   @Override
   public void sendAggregateAndProof(final SignedAggregateAndProof aggregateAndProof) {
     sendAggregateRequestCounter.inc();
     delegate.sendAggregateAndProof(aggregateAndProof);
   }
 
+  @Override
+  public void sendAggregateAndProofs(final List<SignedAggregateAndProof> aggregateAndProofs) {
+    sendAggregateRequestCounter.inc(aggregateAndProofs.size());
+    delegate.sendAggregateAndProofs(aggregateAndProofs);
+  }
+
   @Override
   public SafeFuture<SendSignedBlockResult> sendSignedBlock(final SignedBeaconBlock block) {
     sendBlockRequestCounter.inc();
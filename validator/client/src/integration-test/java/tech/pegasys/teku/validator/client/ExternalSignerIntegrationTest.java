@@ -31,7 +31,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,9 +53,13 @@ import tech.pegasys.teku.datastructures.operations.AttestationData;
 import tech.pegasys.teku.datastructures.operations.VoluntaryExit;
 import tech.pegasys.teku.datastructures.state.ForkInfo;
 import tech.pegasys.teku.datastructures.util.DataStructureUtil;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.provider.JsonProvider;
 import tech.pegasys.teku.validator.client.signer.ExternalSigner;
+import tech.pegasys.teku.validator.client.signer.ExternalSignerClient;
 import tech.pegasys.teku.validator.client.signer.ExternalSignerException;
 import tech.pegasys.teku.validator.client.signer.SignType;
 import tech.pegasys.teku.validator.client.signer.SigningRequestBody;
@@ -73,7 +80,7 @@ public class ExternalSignerIntegrationTest {
     this.client = client;
     externalSigner =
         new ExternalSigner(
-            new URL("http://127.0.0.1:" + client.getLocalPort()), KEYPAIR.getPublicKey(), TIMEOUT);
+            createExternalSignerClient(2, new StubMetricsSystem()), KEYPAIR.getPublicKey());
   }
 
   @AfterEach
@@ -100,8 +107,8 @@ public class ExternalSignerIntegrationTest {
 
     assertThatThrownBy(() -> externalSigner.signBlock(block, fork).join())
         .hasCauseInstanceOf(ExternalSignerException.class)
-        .hasMessageEndingWith(
-            "External signer failed to sign due to java.net.http.HttpTimeoutException: request timed out");
+        .hasMessageContaining("External signer failed to sign due to")
+        .hasMessageEndingWith("request timed out");
   }
 
   @Test
@@ -255,6 +262,70 @@ public class ExternalSignerIntegrationTest {
     verifySignRequest(KEYPAIR.getPublicKey().toString(), signingRequestBody);
   }
 
+  @Test
+  public void shouldQueueRequestsBeyondConcurrencyLimit() throws Exception {
+    final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+    final ExternalSignerClient externalSignerClient = createExternalSignerClient(1, metricsSystem);
+    final BLSSignature expectedSignature =
+        BLSSignature.fromBytesCompressed(
+            Bytes.fromBase64String(
+                "g9JMIY7595zlrapmwbnCLj8+WX7ry3yfBwNNPQ9mRJ0m+rXTwgDpmsxpzs+kX4F8Bg+KRz+v5BPKEAWkeh8bJBDX7psiELLI3q9WmCX95MXT080jByrtYLdz1Qy3OUKK"));
+    final Delay delay = new Delay(MILLISECONDS, TIMEOUT.dividedBy(4).toMillis());
+    client
+        .when(request())
+        .respond(response().withBody(expectedSignature.toString()).withDelay(delay));
+
+    final List<SafeFuture<BLSSignature>> signatures =
+        IntStream.range(0, 3)
+            .mapToObj(
+                i ->
+                    new ExternalSigner(externalSignerClient, BLSKeyPair.random(i).getPublicKey())
+                        .signAggregationSlot(UInt64.valueOf(i), fork))
+            .collect(Collectors.toList());
+
+    assertThat(
+            metricsSystem
+                .getGauge(TekuMetricCategory.VALIDATOR, "external_signer_queued_requests")
+                .getValue())
+        .isEqualTo(2);
+    for (SafeFuture<BLSSignature> signature : signatures) {
+      assertThat(signature.join()).isEqualTo(expectedSignature);
+    }
+  }
+
+  @Test
+  public void shouldIncludeTimeQueuedInTimeout() throws Exception {
+    final ExternalSignerClient externalSignerClient =
+        createExternalSignerClient(1, new StubMetricsSystem());
+    final BLSSignature expectedSignature = BLSSignature.random(1);
+    final Delay delay = new Delay(MILLISECONDS, TIMEOUT.multipliedBy(3).dividedBy(4).toMillis());
+    client
+        .when(request())
+        .respond(response().withBody(expectedSignature.toString()).withDelay(delay));
+
+    final SafeFuture<BLSSignature> firstSignature =
+        new ExternalSigner(externalSignerClient, BLSKeyPair.random(1).getPublicKey())
+            .signAggregationSlot(UInt64.ONE, fork);
+    final SafeFuture<BLSSignature> queuedSignature =
+        new ExternalSigner(externalSignerClient, BLSKeyPair.random(2).getPublicKey())
+            .signAggregationSlot(UInt64.valueOf(2), fork);
+
+    assertThat(firstSignature.join()).isEqualTo(expectedSignature);
+    assertThatThrownBy(queuedSignature::join)
+        .hasCauseInstanceOf(ExternalSignerException.class)
+        .hasMessageEndingWith("request timed out");
+  }
+
+  private ExternalSignerClient createExternalSignerClient(
+      final int maxConcurrentRequests, final StubMetricsSystem metricsSystem)
+      throws MalformedURLException {
+    return new ExternalSignerClient(
+        new URL("http://127.0.0.1:" + client.getLocalPort()),
+        TIMEOUT,
+        maxConcurrentRequests,
+        metricsSystem);
+  }
+
   private Map<String, Object> createForkInfo() {
     return Map.of(
         "genesis_validators_root",
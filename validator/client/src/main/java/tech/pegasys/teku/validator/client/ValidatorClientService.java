@@ -13,10 +13,15 @@
 
 package tech.pegasys.teku.validator.client;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.Map;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.core.signatures.FileSigningRecordStore;
+import tech.pegasys.teku.core.signatures.GroupCommitSigningRecordStore;
+import tech.pegasys.teku.core.signatures.SigningRecordStore;
 import tech.pegasys.teku.core.signatures.SlashingProtector;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
@@ -64,8 +69,10 @@ public class ValidatorClientService extends Service {
     final AsyncRunner asyncRunner = services.createAsyncRunner("validator");
     final Path slashingProtectionPath = getSlashingProtectionPath(services.getDataDirLayout());
     final SlashingProtector slashingProtector =
-        new SlashingProtector(new SyncDataAccessor(), slashingProtectionPath);
-    final ValidatorLoader validatorLoader = new ValidatorLoader(slashingProtector, asyncRunner);
+        new SlashingProtector(
+            createSigningRecordStore(services, config, slashingProtectionPath), metricsSystem);
+    final ValidatorLoader validatorLoader =
+        new ValidatorLoader(slashingProtector, asyncRunner, metricsSystem);
     final Map<BLSPublicKey, Validator> validators =
         validatorLoader.initializeValidators(
             config.getValidatorConfig(), config.getGlobalConfiguration());
@@ -121,6 +128,23 @@ public class ValidatorClientService extends Service {
         beaconNodeApi);
   }
 
+  private static SigningRecordStore createSigningRecordStore(
+      final ServiceConfig services,
+      final ValidatorClientConfiguration config,
+      final Path slashingProtectionPath) {
+    try {
+      if (!config.getValidatorConfig().isSlashingProtectionGroupCommitEnabled()) {
+        return FileSigningRecordStore.create(new SyncDataAccessor(), slashingProtectionPath);
+      }
+      return GroupCommitSigningRecordStore.create(
+          slashingProtectionPath,
+          services.createAsyncRunner("slashingprotection", 1),
+          services.getMetricsSystem());
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Failed to open slashing protection records", e);
+    }
+  }
+
   public static Path getSlashingProtectionPath(final DataDirLayout dataDirLayout) {
     return dataDirLayout.getValidatorDataDirectory().resolve("slashprotection");
   }
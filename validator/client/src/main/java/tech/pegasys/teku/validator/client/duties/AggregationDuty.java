@@ -17,9 +17,13 @@ import static java.util.stream.Collectors.toList;
 import static tech.pegasys.teku.validator.client.duties.DutyResult.combine;
 
 import com.google.common.base.MoreObjects;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -87,17 +91,35 @@ public class AggregationDuty implements Duty {
   @Override
   public SafeFuture<DutyResult> performDuty() {
     LOG.trace("Aggregating attestations at slot {}", slot);
+    // Each committee sends the aggregates signed so far, so aggregates which complete together
+    // share a batch but a slow committee doesn't delay the others
+    final Queue<SignedAggregateAndProof> signedAggregates = new ConcurrentLinkedQueue<>();
     return combine(
         aggregatorsByCommitteeIndex.values().stream()
-            .map(this::aggregateCommittee)
+            .map(
+                aggregator ->
+                    aggregateCommittee(aggregator, signedAggregates)
+                        .alwaysRun(() -> sendAggregates(signedAggregates)))
             .collect(toList()));
   }
 
-  public SafeFuture<DutyResult> aggregateCommittee(final CommitteeAggregator aggregator) {
+  private void sendAggregates(final Queue<SignedAggregateAndProof> signedAggregates) {
+    final List<SignedAggregateAndProof> batch = new ArrayList<>();
+    SignedAggregateAndProof aggregate;
+    while ((aggregate = signedAggregates.poll()) != null) {
+      batch.add(aggregate);
+    }
+    if (!batch.isEmpty()) {
+      validatorApiChannel.sendAggregateAndProofs(batch);
+    }
+  }
+
+  public SafeFuture<DutyResult> aggregateCommittee(
+      final CommitteeAggregator aggregator, final Queue<SignedAggregateAndProof> signedAggregates) {
     return aggregator
         .unsignedAttestationFuture
         .thenCompose(this::createAggregate)
-        .thenCompose(maybeAggregate -> sendAggregate(aggregator, maybeAggregate));
+        .thenCompose(maybeAggregate -> signAggregate(aggregator, maybeAggregate, signedAggregates));
   }
 
   public CompletionStage<Optional<Attestation>> createAggregate(
@@ -110,8 +132,10 @@ public class AggregationDuty implements Duty {
     return validatorApiChannel.createAggregate(slot, attestationData.hashTreeRoot());
   }
 
-  private SafeFuture<DutyResult> sendAggregate(
-      final CommitteeAggregator aggregator, final Optional<Attestation> maybeAggregate) {
+  private SafeFuture<DutyResult> signAggregate(
+      final CommitteeAggregator aggregator,
+      final Optional<Attestation> maybeAggregate,
+      final Queue<SignedAggregateAndProof> signedAggregates) {
     if (maybeAggregate.isEmpty()) {
       validatorLogger.aggregationSkipped(slot, aggregator.attestationCommitteeIndex);
       return SafeFuture.completedFuture(DutyResult.NO_OP);
@@ -126,8 +150,7 @@ public class AggregationDuty implements Duty {
                 aggregator.validator.getSigner().signAggregateAndProof(aggregateAndProof, forkInfo))
         .thenApply(
             signature -> {
-              validatorApiChannel.sendAggregateAndProof(
-                  new SignedAggregateAndProof(aggregateAndProof, signature));
+              signedAggregates.add(new SignedAggregateAndProof(aggregateAndProof, signature));
               return DutyResult.success(
                   aggregateAndProof.getAggregate().getData().getBeacon_block_root());
             });
@@ -22,6 +22,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -91,16 +93,35 @@ public class AttestationProductionDuty implements Duty {
   }
 
   private SafeFuture<DutyResult> produceAttestations(final ForkInfo forkInfo) {
+    // Attestations are sent in batches as each committee completes, including any attestations
+    // already signed for other committees, so a slow committee doesn't delay the others
+    final Queue<Attestation> signedAttestations = new ConcurrentLinkedQueue<>();
     return DutyResult.combine(
         validatorsByCommitteeIndex.entrySet().stream()
             .map(
                 entry ->
-                    produceAttestationsForCommittee(forkInfo, entry.getKey(), entry.getValue()))
+                    produceAttestationsForCommittee(
+                            forkInfo, entry.getKey(), entry.getValue(), signedAttestations)
+                        .alwaysRun(() -> sendSignedAttestations(signedAttestations)))
             .collect(toList()));
   }
 
+  private void sendSignedAttestations(final Queue<Attestation> signedAttestations) {
+    final List<Attestation> batch = new ArrayList<>();
+    Attestation attestation;
+    while ((attestation = signedAttestations.poll()) != null) {
+      batch.add(attestation);
+    }
+    if (!batch.isEmpty()) {
+      validatorApiChannel.sendSignedAttestations(batch);
+    }
+  }
+
   private SafeFuture<DutyResult> produceAttestationsForCommittee(
-      final ForkInfo forkInfo, final int committeeIndex, final Committee committee) {
+      final ForkInfo forkInfo,
+      final int committeeIndex,
+      final Committee committee,
+      final Queue<Attestation> signedAttestations) {
     final SafeFuture<Optional<AttestationData>> unsignedAttestationFuture =
         validatorApiChannel.createAttestationData(slot, committeeIndex);
     unsignedAttestationFuture.propagateTo(committee.attestationDataFuture);
@@ -109,7 +130,8 @@ public class AttestationProductionDuty implements Duty {
             maybeUnsignedAttestation
                 .map(
                     attestationData ->
-                        signAttestationsForCommittee(forkInfo, committee, attestationData))
+                        signAttestationsForCommittee(
+                            forkInfo, committee, attestationData, signedAttestations))
                 .orElseGet(
                     () ->
                         failedFuture(
@@ -122,24 +144,27 @@ public class AttestationProductionDuty implements Duty {
   }
 
   private SafeFuture<DutyResult> signAttestationsForCommittee(
-      final ForkInfo forkInfo, final Committee validators, final AttestationData attestationData) {
+      final ForkInfo forkInfo,
+      final Committee validators,
+      final AttestationData attestationData,
+      final Queue<Attestation> signedAttestations) {
     return DutyResult.combine(
         validators.forEach(
-            validator -> signAttestationForValidator(forkInfo, attestationData, validator)));
+            validator ->
+                signAttestationForValidator(
+                    forkInfo, attestationData, validator, signedAttestations)));
   }
 
   private SafeFuture<DutyResult> signAttestationForValidator(
       final ForkInfo forkInfo,
       final AttestationData attestationData,
-      final ValidatorWithCommitteePositionAndIndex validator) {
+      final ValidatorWithCommitteePositionAndIndex validator,
+      final Queue<Attestation> signedAttestations) {
     return validator
         .getSigner()
         .signAttestationData(attestationData, forkInfo)
         .thenApply(signature -> createSignedAttestation(attestationData, validator, signature))
-        .thenAccept(
-            signedAttestation ->
-                validatorApiChannel.sendSignedAttestation(
-                    signedAttestation, Optional.of(validator.getValidatorIndex())))
+        .thenAccept(signedAttestations::add)
         .thenApply(__ -> DutyResult.success(attestationData.getBeacon_block_root()));
   }
 
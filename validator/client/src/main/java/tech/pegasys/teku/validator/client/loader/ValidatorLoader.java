@@ -18,6 +18,7 @@ import static tech.pegasys.teku.infrastructure.logging.StatusLogger.STATUS_LOG;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -25,6 +26,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.bls.BLSKeyPair;
 import tech.pegasys.teku.bls.BLSPublicKey;
 import tech.pegasys.teku.core.signatures.LocalSigner;
@@ -36,15 +38,21 @@ import tech.pegasys.teku.util.config.GlobalConfiguration;
 import tech.pegasys.teku.validator.api.ValidatorConfig;
 import tech.pegasys.teku.validator.client.Validator;
 import tech.pegasys.teku.validator.client.signer.ExternalSigner;
+import tech.pegasys.teku.validator.client.signer.ExternalSignerClient;
 
 public class ValidatorLoader {
 
   private final SlashingProtector slashingProtector;
   private final AsyncRunner asyncRunner;
+  private final MetricsSystem metricsSystem;
 
-  public ValidatorLoader(final SlashingProtector slashingProtector, final AsyncRunner asyncRunner) {
+  public ValidatorLoader(
+      final SlashingProtector slashingProtector,
+      final AsyncRunner asyncRunner,
+      final MetricsSystem metricsSystem) {
     this.slashingProtector = slashingProtector;
     this.asyncRunner = asyncRunner;
+    this.metricsSystem = metricsSystem;
   }
 
   public Map<BLSPublicKey, Validator> initializeValidators(
@@ -78,16 +86,23 @@ public class ValidatorLoader {
   }
 
   private Map<BLSPublicKey, Validator> createExternalSignerValidator(final ValidatorConfig config) {
+    if (config.getValidatorExternalSignerPublicKeys().isEmpty()) {
+      return Collections.emptyMap();
+    }
     final Duration timeout = Duration.ofMillis(config.getValidatorExternalSignerTimeout());
+    final ExternalSignerClient externalSignerClient =
+        new ExternalSignerClient(
+            config.getValidatorExternalSignerUrl(),
+            timeout,
+            ExternalSignerClient.DEFAULT_MAX_CONCURRENT_REQUESTS,
+            metricsSystem);
     return config.getValidatorExternalSignerPublicKeys().stream()
         .map(
             publicKey ->
                 new Validator(
                     publicKey,
                     createSlashingProtectedSigner(
-                        publicKey,
-                        new ExternalSigner(
-                            config.getValidatorExternalSignerUrl(), publicKey, timeout)),
+                        publicKey, new ExternalSigner(externalSignerClient, publicKey)),
                     Optional.ofNullable(config.getGraffiti())))
         .collect(toMap(Validator::getPublicKey, Function.identity()));
   }
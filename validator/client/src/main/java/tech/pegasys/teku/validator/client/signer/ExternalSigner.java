@@ -20,15 +20,6 @@ import static tech.pegasys.teku.core.signatures.SigningRootUtil.signingRootForSi
 import static tech.pegasys.teku.core.signatures.SigningRootUtil.signingRootForSignBlock;
 import static tech.pegasys.teku.core.signatures.SigningRootUtil.signingRootForSignVoluntaryExit;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import java.net.URI;
-import java.net.URL;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpRequest.BodyPublishers;
-import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
-import java.time.Duration;
 import java.util.Map;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.api.schema.Fork;
@@ -42,23 +33,17 @@ import tech.pegasys.teku.datastructures.operations.VoluntaryExit;
 import tech.pegasys.teku.datastructures.state.ForkInfo;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
-import tech.pegasys.teku.provider.JsonProvider;
 
 public class ExternalSigner implements Signer {
   public static final String EXTERNAL_SIGNER_ENDPOINT = "/api/v1/eth2/sign";
   private static final String FORK_INFO = "fork_info";
-  private final JsonProvider jsonProvider = new JsonProvider();
-  private final URL signingServiceUrl;
+  private final ExternalSignerClient externalSignerClient;
   private final BLSPublicKey blsPublicKey;
-  private final Duration timeout;
-  private final HttpClient httpClient =
-      HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
 
   public ExternalSigner(
-      final URL signingServiceUrl, final BLSPublicKey blsPublicKey, final Duration timeout) {
-    this.signingServiceUrl = signingServiceUrl;
+      final ExternalSignerClient externalSignerClient, final BLSPublicKey blsPublicKey) {
+    this.externalSignerClient = externalSignerClient;
     this.blsPublicKey = blsPublicKey;
-    this.timeout = timeout;
   }
 
   @Override
@@ -143,53 +128,7 @@ public class ExternalSigner implements Signer {
 
   private SafeFuture<BLSSignature> sign(
       final Bytes signingRoot, final SignType type, final Map<String, Object> metadata) {
-    final String publicKey = blsPublicKey.toBytesCompressed().toString();
-    return SafeFuture.ofComposed(
-        () -> {
-          final String requestBody = createSigningRequestBody(signingRoot, type, metadata);
-          final URI uri =
-              signingServiceUrl.toURI().resolve(EXTERNAL_SIGNER_ENDPOINT + "/" + publicKey);
-          final HttpRequest request =
-              HttpRequest.newBuilder()
-                  .uri(uri)
-                  .timeout(timeout)
-                  .header("Content-Type", "application/json")
-                  .POST(BodyPublishers.ofString(requestBody))
-                  .build();
-          return httpClient
-              .sendAsync(request, BodyHandlers.ofString())
-              .handleAsync(this::getBlsSignature);
-        });
-  }
-
-  private String createSigningRequestBody(
-      final Bytes signingRoot, final SignType type, final Map<String, Object> metadata) {
-    try {
-      return jsonProvider.objectToJSON(new SigningRequestBody(signingRoot, type, metadata));
-    } catch (final JsonProcessingException e) {
-      throw new ExternalSignerException("Unable to create external signing request", e);
-    }
-  }
-
-  private BLSSignature getBlsSignature(
-      final HttpResponse<String> response, final Throwable throwable) {
-    if (throwable != null) {
-      throw new ExternalSignerException(
-          "External signer failed to sign due to " + throwable.getMessage(), throwable);
-    }
-
-    if (response.statusCode() != 200) {
-      throw new ExternalSignerException(
-          "External signer failed to sign and returned invalid response status code: "
-              + response.statusCode());
-    }
-
-    try {
-      final Bytes signature = Bytes.fromHexString(response.body());
-      return BLSSignature.fromBytesCompressed(signature);
-    } catch (final IllegalArgumentException e) {
-      throw new ExternalSignerException(
-          "External signer returned an invalid signature: " + e.getMessage(), e);
-    }
+    return externalSignerClient.sign(
+        blsPublicKey, new SigningRequestBody(signingRoot, type, metadata));
   }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2020 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.client.signer;
+
+import static tech.pegasys.teku.validator.client.signer.ExternalSigner.EXTERNAL_SIGNER_ENDPOINT;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.provider.JsonProvider;
+
+/**
+ * Sends signing requests for any number of keys to a single external signing service.
+ *
+ * <p>All {@link ExternalSigner} instances share one {@link HttpClient} so connections to the
+ * signing service are kept alive and reused rather than each key opening its own. When the service
+ * is reached over TLS requests are multiplexed over HTTP/2. At most {@code maxConcurrentRequests}
+ * requests are in flight at once and further requests are queued until one completes, so a burst of
+ * signing requests when many validators attest in the same slot doesn't open a connection per key.
+ */
+public class ExternalSignerClient {
+  public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 32;
+
+  private final JsonProvider jsonProvider = new JsonProvider();
+  private final URL signingServiceUrl;
+  private final Duration timeout;
+  private final int maxConcurrentRequests;
+  private final HttpClient httpClient;
+  private final LabelledMetric<OperationTimer> signingDurationTimer;
+
+  private final Queue<Supplier<SafeFuture<?>>> queuedRequests = new ArrayDeque<>();
+  private int inFlightRequests = 0;
+  private boolean draining = false;
+
+  public ExternalSignerClient(
+      final URL signingServiceUrl,
+      final Duration timeout,
+      final int maxConcurrentRequests,
+      final MetricsSystem metricsSystem) {
+    this.signingServiceUrl = signingServiceUrl;
+    this.timeout = timeout;
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.httpClient =
+        HttpClient.newBuilder()
+            // Cleartext HTTP/2 requires an upgrade handshake that not all signers support
+            .version(
+                "https".equalsIgnoreCase(signingServiceUrl.getProtocol())
+                    ? HttpClient.Version.HTTP_2
+                    : HttpClient.Version.HTTP_1_1)
+            .build();
+    this.signingDurationTimer =
+        metricsSystem.createLabelledTimer(
+            TekuMetricCategory.VALIDATOR,
+            "external_signer_request_duration",
+            "Time taken to receive a signature from the external signer, including time queued",
+            "type");
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.VALIDATOR,
+        "external_signer_queued_requests",
+        "Number of signing requests waiting for a connection to the external signer",
+        this::getQueuedRequestCount);
+  }
+
+  /**
+   * Queues a signing request. The timeout applies from when the request is queued, so requests
+   * which wait for a free slot longer than the timeout fail without being sent.
+   */
+  public SafeFuture<BLSSignature> sign(
+      final BLSPublicKey publicKey, final SigningRequestBody signingRequestBody) {
+    final TimingContext timingContext =
+        signingDurationTimer
+            .labels(signingRequestBody.getType().name().toLowerCase(Locale.ROOT))
+            .startTimer();
+    final long deadlineNanos = System.nanoTime() + timeout.toNanos();
+    final SafeFuture<BLSSignature> result = new SafeFuture<>();
+    synchronized (this) {
+      queuedRequests.add(
+          () -> {
+            final Duration remainingTime = Duration.ofNanos(deadlineNanos - System.nanoTime());
+            if (result.isDone()) {
+              return SafeFuture.COMPLETE;
+            }
+            if (remainingTime.isNegative() || remainingTime.isZero()) {
+              result.completeExceptionally(new TimeoutException());
+              return SafeFuture.COMPLETE;
+            }
+            final SafeFuture<BLSSignature> signature =
+                sendRequest(
+                    publicKey.toBytesCompressed().toString(), signingRequestBody, remainingTime);
+            signature.propagateTo(result);
+            return signature;
+          });
+    }
+    processQueuedRequests();
+    return result
+        .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+        .exceptionallyCompose(
+            error ->
+                SafeFuture.failedFuture(
+                    error instanceof TimeoutException
+                        ? new ExternalSignerException(
+                            "External signer failed to sign due to request timed out", error)
+                        : error))
+        .alwaysRun(timingContext::stopTimer);
+  }
+
+  /**
+   * Sends queued requests until the concurrency limit is reached. Only one thread drains the queue
+   * at a time, so requests which complete immediately don't recurse back into this method.
+   */
+  private void processQueuedRequests() {
+    synchronized (this) {
+      if (draining) {
+        // The thread already draining the queue will see the updated state when it next checks
+        return;
+      }
+      draining = true;
+    }
+    while (true) {
+      final Supplier<SafeFuture<?>> request;
+      synchronized (this) {
+        if (inFlightRequests >= maxConcurrentRequests || queuedRequests.isEmpty()) {
+          draining = false;
+          return;
+        }
+        inFlightRequests++;
+        request = queuedRequests.remove();
+      }
+      request.get().always(this::onRequestComplete);
+    }
+  }
+
+  private void onRequestComplete() {
+    synchronized (this) {
+      inFlightRequests--;
+    }
+    processQueuedRequests();
+  }
+
+  private synchronized int getQueuedRequestCount() {
+    return queuedRequests.size();
+  }
+
+  private SafeFuture<BLSSignature> sendRequest(
+      final String publicKey,
+      final SigningRequestBody signingRequestBody,
+      final Duration requestTimeout) {
+    return SafeFuture.ofComposed(
+        () -> {
+          final String requestBody = createSigningRequestBody(signingRequestBody);
+          final URI uri =
+              signingServiceUrl.toURI().resolve(EXTERNAL_SIGNER_ENDPOINT + "/" + publicKey);
+          final HttpRequest request =
+              HttpRequest.newBuilder()
+                  .uri(uri)
+                  .timeout(requestTimeout)
+                  .header("Content-Type", "application/json")
+                  .POST(BodyPublishers.ofString(requestBody))
+                  .build();
+          return httpClient
+              .sendAsync(request, BodyHandlers.ofString())
+              .handleAsync(this::getBlsSignature);
+        });
+  }
+
+  private String createSigningRequestBody(final SigningRequestBody signingRequestBody) {
+    try {
+      return jsonProvider.objectToJSON(signingRequestBody);
+    } catch (final JsonProcessingException e) {
+      throw new ExternalSignerException("Unable to create external signing request", e);
+    }
+  }
+
+  private BLSSignature getBlsSignature(
+      final HttpResponse<String> response, final Throwable throwable) {
+    if (throwable != null) {
+      throw new ExternalSignerException(
+          "External signer failed to sign due to " + throwable.getMessage(), throwable);
+    }
+
+    if (response.statusCode() != 200) {
+      throw new ExternalSignerException(
+          "External signer failed to sign and returned invalid response status code: "
+              + response.statusCode());
+    }
+
+    try {
+      final Bytes signature = Bytes.fromHexString(response.body());
+      return BLSSignature.fromBytesCompressed(signature);
+    } catch (final IllegalArgumentException e) {
+      throw new ExternalSignerException(
+          "External signer returned an invalid signature: " + e.getMessage(), e);
+    }
+  }
+}
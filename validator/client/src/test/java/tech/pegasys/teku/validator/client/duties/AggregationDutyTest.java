@@ -16,9 +16,9 @@ package tech.pegasys.teku.validator.client.duties;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -26,10 +26,12 @@ import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.infrastructure.async.SafeFuture.completedFuture;
 import static tech.pegasys.teku.infrastructure.async.SafeFuture.failedFuture;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.core.signatures.Signer;
 import tech.pegasys.teku.datastructures.operations.AggregateAndProof;
@@ -104,9 +106,8 @@ class AggregationDutyTest {
 
     assertThat(duty.performDuty()).isCompleted();
 
-    verify(validatorApiChannel)
-        .sendAggregateAndProof(
-            new SignedAggregateAndProof(expectedAggregateAndProof, aggregateSignature));
+    verifyAggregatesSent(
+        new SignedAggregateAndProof(expectedAggregateAndProof, aggregateSignature));
   }
 
   @Test
@@ -156,13 +157,10 @@ class AggregationDutyTest {
 
     assertThat(duty.performDuty()).isCompleted();
 
-    verify(validatorApiChannel)
-        .sendAggregateAndProof(
-            new SignedAggregateAndProof(aggregateAndProof1, aggregateSignature1));
-
-    verify(validatorApiChannel)
-        .sendAggregateAndProof(
-            new SignedAggregateAndProof(aggregateAndProof2, aggregateSignature2));
+    // Aggregates for all committees are sent together
+    verifyAggregatesSent(
+        new SignedAggregateAndProof(aggregateAndProof1, aggregateSignature1),
+        new SignedAggregateAndProof(aggregateAndProof2, aggregateSignature2));
   }
 
   @Test
@@ -201,10 +199,8 @@ class AggregationDutyTest {
 
     performAndReportDuty();
 
-    verify(validatorApiChannel)
-        .sendAggregateAndProof(new SignedAggregateAndProof(aggregateAndProof, aggregateSignature1));
     // Only one proof should be sent.
-    verify(validatorApiChannel, times(1)).sendAggregateAndProof(any());
+    verifyAggregatesSent(new SignedAggregateAndProof(aggregateAndProof, aggregateSignature1));
     verify(validatorLogger)
         .dutyCompleted(
             duty.getProducedType(), SLOT, 1, Set.of(aggregate.getData().getBeacon_block_root()));
@@ -248,7 +244,7 @@ class AggregationDutyTest {
         .thenReturn(completedFuture(Optional.empty()));
 
     assertThat(duty.performDuty()).isCompleted();
-    verify(validatorApiChannel, never()).sendAggregateAndProof(any());
+    verify(validatorApiChannel, never()).sendAggregateAndProofs(any());
     verify(validatorLogger).aggregationSkipped(SLOT, 2);
     verifyNoMoreInteractions(validatorLogger);
   }
@@ -267,7 +263,7 @@ class AggregationDutyTest {
         .thenReturn(failedFuture(exception));
 
     performAndReportDuty();
-    verify(validatorApiChannel, never()).sendAggregateAndProof(any());
+    verify(validatorApiChannel, never()).sendAggregateAndProofs(any());
     verify(validatorLogger).dutyFailed(duty.getProducedType(), SLOT, exception);
     verifyNoMoreInteractions(validatorLogger);
   }
@@ -277,4 +273,13 @@ class AggregationDutyTest {
     assertThat(result).isCompleted();
     result.join().report(duty.getProducedType(), SLOT, validatorLogger);
   }
+
+  @SuppressWarnings("unchecked")
+  private void verifyAggregatesSent(final SignedAggregateAndProof... expectedAggregates) {
+    final ArgumentCaptor<List<SignedAggregateAndProof>> aggregatesCaptor =
+        ArgumentCaptor.forClass(List.class);
+    verify(validatorApiChannel, atLeastOnce()).sendAggregateAndProofs(aggregatesCaptor.capture());
+    assertThat(aggregatesCaptor.getAllValues().stream().flatMap(List::stream))
+        .containsExactlyInAnyOrder(expectedAggregates);
+  }
 }
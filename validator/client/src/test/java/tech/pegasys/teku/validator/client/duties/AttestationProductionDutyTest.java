@@ -18,7 +18,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -28,10 +30,12 @@ import static tech.pegasys.teku.infrastructure.async.SafeFuture.completedFuture;
 import static tech.pegasys.teku.infrastructure.async.SafeFuture.failedFuture;
 import static tech.pegasys.teku.util.config.Constants.MAX_VALIDATORS_PER_COMMITTEE;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.core.signatures.Signer;
 import tech.pegasys.teku.datastructures.operations.Attestation;
@@ -87,6 +91,7 @@ class AttestationProductionDutyTest {
     performAndReportDuty();
 
     assertThat(attestationFuture).isCompletedWithValue(Optional.empty());
+    verify(validatorApiChannel, never()).sendSignedAttestations(any());
     verify(validatorLogger)
         .dutyFailed(eq(duty.getProducedType()), eq(SLOT), any(IllegalStateException.class));
     verifyNoMoreInteractions(validatorLogger);
@@ -124,7 +129,7 @@ class AttestationProductionDutyTest {
     assertThat(attestationResult1).isCompletedWithValue(Optional.empty());
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation, Optional.of(10));
+    verifyAttestationsSent(expectedAttestation);
     verify(validatorLogger)
         .dutyCompleted(
             duty.getProducedType(), SLOT, 1, Set.of(attestationData.getBeacon_block_root()));
@@ -167,7 +172,7 @@ class AttestationProductionDutyTest {
     assertThatThrownBy(attestationResult1::join).hasRootCause(failure);
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation, Optional.of(10));
+    verifyAttestationsSent(expectedAttestation);
 
     verify(validatorLogger)
         .dutyCompleted(
@@ -204,7 +209,7 @@ class AttestationProductionDutyTest {
     assertThat(attestationResult1).isCompletedWithValue(Optional.of(attestationData));
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation, Optional.of(10));
+    verifyAttestationsSent(expectedAttestation);
 
     verify(validatorLogger)
         .dutyCompleted(
@@ -229,7 +234,7 @@ class AttestationProductionDutyTest {
     performAndReportDuty();
     assertThat(attestationResult).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation, Optional.of(10));
+    verifyAttestationsSent(expectedAttestation);
     verify(validatorLogger)
         .dutyCompleted(
             duty.getProducedType(), SLOT, 1, Set.of(attestationData.getBeacon_block_root()));
@@ -272,9 +277,7 @@ class AttestationProductionDutyTest {
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(attestationData));
     assertThat(attestationResult3).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation1, Optional.of(10));
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation2, Optional.of(10));
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation3, Optional.of(10));
+    verifyAttestationsSent(expectedAttestation1, expectedAttestation2, expectedAttestation3);
 
     // Should have only needed to create one unsigned attestation and reused it for each validator
     verify(validatorApiChannel, times(1)).createAttestationData(any(), anyInt());
@@ -324,9 +327,7 @@ class AttestationProductionDutyTest {
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(unsignedAttestation2));
     assertThat(attestationResult3).isCompletedWithValue(Optional.of(unsignedAttestation1));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation1, Optional.of(10));
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation2, Optional.of(10));
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation3, Optional.of(10));
+    verifyAttestationsSent(expectedAttestation1, expectedAttestation2, expectedAttestation3);
 
     // Need to create an unsigned attestation for each committee
     verify(validatorApiChannel, times(2)).createAttestationData(any(), anyInt());
@@ -341,6 +342,30 @@ class AttestationProductionDutyTest {
     verifyNoMoreInteractions(validatorLogger);
   }
 
+  @Test
+  public void shouldSendAttestationsForCommitteeWithoutWaitingForOtherCommittees() {
+    final int committeeIndex1 = 3;
+    final int committeeIndex2 = 5;
+    final int committeeSize = 15;
+    final int committeePosition = 6;
+    final Validator validator1 = createValidator();
+    final Validator validator2 = createValidator();
+
+    final AttestationData unsignedAttestation1 = expectCreateAttestationData(committeeIndex1);
+    final SafeFuture<Optional<AttestationData>> unsignedAttestation2Future = new SafeFuture<>();
+    when(validatorApiChannel.createAttestationData(SLOT, committeeIndex2))
+        .thenReturn(unsignedAttestation2Future);
+    final Attestation expectedAttestation1 =
+        expectSignAttestation(validator1, committeePosition, committeeSize, unsignedAttestation1);
+
+    duty.addValidator(validator1, committeeIndex1, committeePosition, 10, committeeSize);
+    duty.addValidator(validator2, committeeIndex2, committeePosition, 11, committeeSize);
+
+    final SafeFuture<DutyResult> result = duty.performDuty();
+    assertThat(result).isNotDone();
+    verifyAttestationsSent(expectedAttestation1);
+  }
+
   public Validator createValidator() {
     final Signer signer = mock(Signer.class);
     return new Validator(dataStructureUtil.randomPublicKey(), signer, Optional.empty());
@@ -379,4 +404,13 @@ class AttestationProductionDutyTest {
     assertThat(result).isCompleted();
     result.join().report(duty.getProducedType(), SLOT, validatorLogger);
   }
+
+  @SuppressWarnings("unchecked")
+  private void verifyAttestationsSent(final Attestation... expectedAttestations) {
+    final ArgumentCaptor<List<Attestation>> attestationsCaptor =
+        ArgumentCaptor.forClass(List.class);
+    verify(validatorApiChannel, atLeastOnce()).sendSignedAttestations(attestationsCaptor.capture());
+    assertThat(attestationsCaptor.getAllValues().stream().flatMap(List::stream))
+        .containsExactlyInAnyOrder(expectedAttestations);
+  }
 }
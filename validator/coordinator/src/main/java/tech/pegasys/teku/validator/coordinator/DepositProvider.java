@@ -20,6 +20,7 @@ import static tech.pegasys.teku.util.config.Constants.DEPOSIT_CONTRACT_TREE_DEPT
 import static tech.pegasys.teku.util.config.Constants.MAX_DEPOSITS;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicReference;
@@ -33,14 +34,15 @@ import tech.pegasys.teku.datastructures.operations.DepositWithIndex;
 import tech.pegasys.teku.datastructures.state.BeaconState;
 import tech.pegasys.teku.datastructures.state.Checkpoint;
 import tech.pegasys.teku.datastructures.util.DepositUtil;
-import tech.pegasys.teku.datastructures.util.MerkleTree;
 import tech.pegasys.teku.datastructures.util.OptimizedMerkleTree;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.api.Eth1EventsChannel;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.pow.event.MinGenesisTimeBlockEvent;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
+import tech.pegasys.teku.storage.api.Eth1DepositStorageChannel;
 import tech.pegasys.teku.storage.api.FinalizedCheckpointChannel;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 import tech.pegasys.teku.storage.client.RecentChainData;
 
 public class DepositProvider implements Eth1EventsChannel, FinalizedCheckpointChannel {
@@ -49,19 +51,30 @@ public class DepositProvider implements Eth1EventsChannel, FinalizedCheckpointCh
 
   private final RecentChainData recentChainData;
   private final Eth1DataCache eth1DataCache;
-  private final MerkleTree depositMerkleTree = new OptimizedMerkleTree(DEPOSIT_CONTRACT_TREE_DEPTH);
+  private final Eth1DepositStorageChannel eth1DepositStorageChannel;
+  private OptimizedMerkleTree depositMerkleTree =
+      new OptimizedMerkleTree(DEPOSIT_CONTRACT_TREE_DEPTH);
 
   private final NavigableMap<UInt64, DepositWithIndex> depositNavigableMap = new TreeMap<>();
+  // Block number of deposit events keyed by the index of the last deposit in the event
+  private final NavigableMap<UInt64, UInt64> depositBlockNumbers = new TreeMap<>();
 
-  public DepositProvider(RecentChainData recentChainData, final Eth1DataCache eth1DataCache) {
+  public DepositProvider(
+      RecentChainData recentChainData,
+      final Eth1DataCache eth1DataCache,
+      final Eth1DepositStorageChannel eth1DepositStorageChannel) {
     this.recentChainData = recentChainData;
     this.eth1DataCache = eth1DataCache;
+    this.eth1DepositStorageChannel = eth1DepositStorageChannel;
   }
 
   @Override
   public synchronized void onDepositsFromBlock(DepositsFromBlockEvent event) {
+    final UInt64 firstNewDepositIndex = UInt64.valueOf(depositMerkleTree.getNumberOfLeaves());
     event.getDeposits().stream()
         .map(DepositUtil::convertDepositEventToOperationDeposit)
+        // Deposits covered by a loaded deposit tree snapshot are already in the tree
+        .filter(deposit -> deposit.getIndex().isGreaterThanOrEqualTo(firstNewDepositIndex))
         .forEach(
             deposit -> {
               if (!recentChainData.isPreGenesis()) {
@@ -71,6 +84,7 @@ public class DepositProvider implements Eth1EventsChannel, FinalizedCheckpointCh
               depositNavigableMap.put(deposit.getIndex(), deposit);
               depositMerkleTree.add(deposit.getData().hash_tree_root());
             });
+    depositBlockNumbers.put(event.getLastDepositIndex(), event.getBlockNumber());
     eth1DataCache.onBlockWithDeposit(
         event.getBlockTimestamp(),
         new Eth1Data(
@@ -97,6 +111,41 @@ public class DepositProvider implements Eth1EventsChannel, FinalizedCheckpointCh
 
   private synchronized void pruneDeposits(final UInt64 fromIndex) {
     depositNavigableMap.headMap(fromIndex, false).clear();
+    pruneDepositMerkleTree(fromIndex);
+  }
+
+  /**
+   * Prunes the finalized deposits from the merkle tree and stores a snapshot of the pruned tree so
+   * that finalized deposits don't need to be replayed on restart.
+   *
+   * @param depositCount number of finalized deposits
+   */
+  private void pruneDepositMerkleTree(final UInt64 depositCount) {
+    if (depositCount.intValue() <= depositMerkleTree.getPrunedLeafCount()
+        || depositCount.intValue() > depositMerkleTree.getNumberOfLeaves()) {
+      return;
+    }
+    final Map.Entry<UInt64, UInt64> lastDepositBlock =
+        depositBlockNumbers.ceilingEntry(depositCount.decrement());
+    if (lastDepositBlock == null) {
+      LOG.warn("Unable to find eth1 block of deposit {}", depositCount.decrement());
+      return;
+    }
+    depositMerkleTree.prune(depositCount.intValue());
+    depositBlockNumbers.headMap(lastDepositBlock.getKey(), false).clear();
+    eth1DepositStorageChannel.onDepositTreeSnapshot(
+        new DepositTreeSnapshot(
+            depositCount, depositMerkleTree.getFrontier(), lastDepositBlock.getValue()));
+  }
+
+  @Override
+  public synchronized void onDepositTreeSnapshotLoaded(final DepositTreeSnapshot snapshot) {
+    LOG.debug("Loaded deposit tree snapshot of {} deposits", snapshot.getDepositCount());
+    depositMerkleTree =
+        OptimizedMerkleTree.fromFrontier(
+            DEPOSIT_CONTRACT_TREE_DEPTH,
+            snapshot.getDepositCount().intValue(),
+            snapshot.getFrontier());
   }
 
   @Override
@@ -408,6 +408,17 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
     sendSignedAttestation(attestation, Optional.empty());
   }
 
+  @Override
+  public void sendSignedAttestations(final List<Attestation> attestations) {
+    // Submitting back to back allows the signatures to be verified as a single batch
+    attestations.forEach(attestation -> sendSignedAttestation(attestation, Optional.empty()));
+  }
+
+  @Override
+  public void sendAggregateAndProofs(final List<SignedAggregateAndProof> aggregateAndProofs) {
+    aggregateAndProofs.forEach(this::sendAggregateAndProof);
+  }
+
   @Override
   public void sendAggregateAndProof(final SignedAggregateAndProof aggregateAndProof) {
     attestationManager
@@ -15,8 +15,10 @@ package tech.pegasys.teku.validator.coordinator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.datastructures.util.BeaconStateUtil.is_valid_merkle_branch;
@@ -45,6 +47,8 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.pow.event.DepositsFromBlockEvent;
 import tech.pegasys.teku.ssz.SSZTypes.SSZList;
 import tech.pegasys.teku.ssz.SSZTypes.SSZMutableList;
+import tech.pegasys.teku.storage.api.Eth1DepositStorageChannel;
+import tech.pegasys.teku.storage.api.schema.DepositTreeSnapshot;
 import tech.pegasys.teku.storage.client.RecentChainData;
 import tech.pegasys.teku.util.config.Constants;
 
@@ -54,9 +58,11 @@ public class DepositProviderTest {
   private final RecentChainData recentChainData = mock(RecentChainData.class);
   private final BeaconState state = mock(BeaconState.class);
   private final Eth1DataCache eth1DataCache = mock(Eth1DataCache.class);
+  private final Eth1DepositStorageChannel eth1DepositStorageChannel =
+      mock(Eth1DepositStorageChannel.class);
   private List<tech.pegasys.teku.pow.event.Deposit> allSeenDepositsList;
   private final DepositProvider depositProvider =
-      new DepositProvider(recentChainData, eth1DataCache);
+      new DepositProvider(recentChainData, eth1DataCache, eth1DepositStorageChannel);
   private final Eth1Data randomEth1Data = dataStructureUtil.randomEth1Data();
 
   private MerkleTree depositMerkleTree;
@@ -150,6 +156,61 @@ public class DepositProviderTest {
     assertThat(depositProvider.getDepositMapSize()).isEqualTo(10);
   }
 
+  @Test
+  void shouldPruneMerkleTreeAndStoreSnapshotWhenDepositsAreFinalized() {
+    Constants.MAX_DEPOSITS = 16;
+    final DepositsFromBlockEvent event1 = createDepositsFromBlockEvent(100, 0, 10);
+    final DepositsFromBlockEvent event2 = createDepositsFromBlockEvent(101, 10, 20);
+    depositProvider.onDepositsFromBlock(event1);
+    depositProvider.onDepositsFromBlock(event2);
+
+    finalizeDeposits(15);
+
+    verify(eth1DepositStorageChannel)
+        .onDepositTreeSnapshot(
+            new DepositTreeSnapshot(
+                UInt64.valueOf(15), createFrontier(15), event2.getBlockNumber()));
+
+    // Proofs for the unfinalized deposits are still available
+    addToDepositMerkleTree(0, 20);
+    mockEth1DataDepositCount(20);
+    SSZList<Deposit> deposits = depositProvider.getDeposits(state, randomEth1Data);
+    assertThat(deposits).hasSize(5);
+    checkThatDepositProofIsValid(deposits);
+  }
+
+  @Test
+  void shouldNotStoreSnapshotWhenFinalizedDepositCountIsUnchanged() {
+    depositProvider.onDepositsFromBlock(createDepositsFromBlockEvent(100, 0, 10));
+    finalizeDeposits(10);
+    finalizeDeposits(10);
+
+    verify(eth1DepositStorageChannel, times(1)).onDepositTreeSnapshot(any());
+  }
+
+  @Test
+  void shouldContinueMerkleTreeFromLoadedSnapshot() {
+    Constants.MAX_DEPOSITS = 16;
+    final DepositsFromBlockEvent event = createDepositsFromBlockEvent(101, 10, 20);
+    depositProvider.onDepositTreeSnapshotLoaded(
+        new DepositTreeSnapshot(UInt64.valueOf(15), createFrontier(15), event.getBlockNumber()));
+    // Replay starts from the block containing the last deposit in the snapshot
+    depositProvider.onDepositsFromBlock(event);
+
+    addToDepositMerkleTree(0, 20);
+    verify(eth1DataCache)
+        .onBlockWithDeposit(
+            event.getBlockTimestamp(),
+            new Eth1Data(depositMerkleTree.getRoot(), UInt64.valueOf(20), event.getBlockHash()));
+    assertThat(depositProvider.getDepositMapSize()).isEqualTo(5);
+
+    mockStateEth1DepositIndex(15);
+    mockEth1DataDepositCount(20);
+    SSZList<Deposit> deposits = depositProvider.getDeposits(state, randomEth1Data);
+    assertThat(deposits).hasSize(5);
+    checkThatDepositProofIsValid(deposits);
+  }
+
   @Test
   void shouldDelegateOnEth1BlockToEth1DataCache() {
     final Bytes32 blockHash = dataStructureUtil.randomBytes32();
@@ -268,9 +329,46 @@ public class DepositProviderTest {
     when(depositsFromBlockEvent.getDeposits())
         .thenReturn(allSeenDepositsList.subList(startIndex, startIndex + n));
     when(depositsFromBlockEvent.getBlockHash()).thenReturn(Bytes32.ZERO);
+    when(depositsFromBlockEvent.getBlockNumber()).thenReturn(UInt64.valueOf(startIndex));
+    when(depositsFromBlockEvent.getLastDepositIndex())
+        .thenReturn(UInt64.valueOf(startIndex + n - 1));
     depositProvider.onDepositsFromBlock(depositsFromBlockEvent);
   }
 
+  private DepositsFromBlockEvent createDepositsFromBlockEvent(
+      final long blockNumber, final int fromIndex, final int toIndex) {
+    return DepositsFromBlockEvent.create(
+        UInt64.valueOf(blockNumber),
+        dataStructureUtil.randomBytes32(),
+        dataStructureUtil.randomUInt64(),
+        allSeenDepositsList.subList(fromIndex, toIndex).stream());
+  }
+
+  private void addToDepositMerkleTree(final int fromIndex, final int toIndex) {
+    allSeenDepositsList.subList(fromIndex, toIndex).stream()
+        .map(DepositUtil::convertDepositEventToOperationDeposit)
+        .map(deposit -> deposit.getData().hash_tree_root())
+        .forEachOrdered(depositMerkleTree::add);
+  }
+
+  private List<Bytes32> createFrontier(final int depositCount) {
+    final OptimizedMerkleTree tree = new OptimizedMerkleTree(Constants.DEPOSIT_CONTRACT_TREE_DEPTH);
+    allSeenDepositsList.subList(0, depositCount).stream()
+        .map(DepositUtil::convertDepositEventToOperationDeposit)
+        .map(deposit -> deposit.getData().hash_tree_root())
+        .forEachOrdered(tree::add);
+    tree.prune(depositCount);
+    return tree.getFrontier();
+  }
+
+  private void finalizeDeposits(final int depositCount) {
+    final Bytes32 finalizedBlockRoot = dataStructureUtil.randomBytes32();
+    mockStateEth1DepositIndex(depositCount);
+    when(recentChainData.retrieveBlockState(eq(finalizedBlockRoot)))
+        .thenReturn(SafeFuture.completedFuture(Optional.of(state)));
+    depositProvider.onNewFinalizedCheckpoint(new Checkpoint(UInt64.ONE, finalizedBlockRoot));
+  }
+
   private void mockEth1DataDepositCount(int n) {
     Eth1Data eth1Data = mock(Eth1Data.class);
     when(state.getEth1_data()).thenReturn(eth1Data);
@@ -247,6 +247,20 @@ public class RemoteValidatorApiHandler implements ValidatorApiChannel {
     sendSignedAttestation(attestation);
   }
 
+  @Override
+  public void sendSignedAttestations(final List<Attestation> attestations) {
+    if (attestations.isEmpty()) {
+      return;
+    }
+    final List<tech.pegasys.teku.api.schema.Attestation> schemaAttestations =
+        attestations.stream()
+            .map(tech.pegasys.teku.api.schema.Attestation::new)
+            .collect(Collectors.toList());
+
+    sendRequest(() -> apiClient.sendSignedAttestations(schemaAttestations))
+        .finish(error -> LOG.error("Failed to send signed attestations", error));
+  }
+
   @Override
   public SafeFuture<Optional<BeaconBlock>> createUnsignedBlock(
       final UInt64 slot, final BLSSignature randaoReveal, final Optional<Bytes32> graffiti) {
@@ -288,6 +302,20 @@ public class RemoteValidatorApiHandler implements ValidatorApiChannel {
         .finish(error -> LOG.error("Failed to send aggregate and proof", error));
   }
 
+  @Override
+  public void sendAggregateAndProofs(final List<SignedAggregateAndProof> aggregateAndProofs) {
+    if (aggregateAndProofs.isEmpty()) {
+      return;
+    }
+    final List<tech.pegasys.teku.api.schema.SignedAggregateAndProof> schemaAggregateAndProofs =
+        aggregateAndProofs.stream()
+            .map(tech.pegasys.teku.api.schema.SignedAggregateAndProof::new)
+            .collect(Collectors.toList());
+
+    sendRequest(() -> apiClient.sendAggregateAndProofs(schemaAggregateAndProofs))
+        .finish(error -> LOG.error("Failed to send aggregate and proofs", error));
+  }
+
   @Override
   public void subscribeToBeaconCommittee(final List<CommitteeSubscriptionRequest> requests) {
     sendRequest(() -> apiClient.subscribeToBeaconCommittee(requests))
@@ -197,6 +197,11 @@ public class OkHttpValidatorRestApiClient implements ValidatorRestApiClient {
     post(SEND_SIGNED_ATTESTATION, attestation, createHandler());
   }
 
+  @Override
+  public void sendSignedAttestations(final List<Attestation> attestations) {
+    post(SEND_SIGNED_ATTESTATION, attestations, createHandler());
+  }
+
   @Override
   public Optional<Attestation> createAggregate(
       final UInt64 slot, final Bytes32 attestationHashTreeRoot) {
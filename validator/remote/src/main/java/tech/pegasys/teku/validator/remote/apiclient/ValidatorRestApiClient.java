@@ -62,6 +62,8 @@ public interface ValidatorRestApiClient {
 
   void sendSignedAttestation(Attestation attestation);
 
+  void sendSignedAttestations(List<Attestation> attestations);
+
   Optional<Attestation> createAggregate(UInt64 slot, Bytes32 attestationHashTreeRoot);
 
   void sendAggregateAndProofs(List<SignedAggregateAndProof> signedAggregateAndProof);
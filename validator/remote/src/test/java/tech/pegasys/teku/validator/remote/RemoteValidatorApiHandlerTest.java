@@ -25,6 +25,7 @@ import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
 import static tech.pegasys.teku.validator.remote.RemoteValidatorApiHandler.MAX_PUBLIC_KEY_BATCH_SIZE;
@@ -452,6 +453,35 @@ class RemoteValidatorApiHandlerTest {
     assertThat(argumentCaptor.getValue()).usingRecursiveComparison().isEqualTo(schemaAttestation);
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void sendSignedAttestations_InvokeApiOnceWithAllAttestations() {
+    final Attestation attestation1 = dataStructureUtil.randomAttestation();
+    final Attestation attestation2 = dataStructureUtil.randomAttestation();
+
+    ArgumentCaptor<List<tech.pegasys.teku.api.schema.Attestation>> argumentCaptor =
+        ArgumentCaptor.forClass(List.class);
+
+    apiHandler.sendSignedAttestations(List.of(attestation1, attestation2));
+    asyncRunner.executeQueuedActions();
+
+    verify(apiClient).sendSignedAttestations(argumentCaptor.capture());
+    assertThat(argumentCaptor.getValue())
+        .usingRecursiveComparison()
+        .isEqualTo(
+            List.of(
+                new tech.pegasys.teku.api.schema.Attestation(attestation1),
+                new tech.pegasys.teku.api.schema.Attestation(attestation2)));
+  }
+
+  @Test
+  public void sendSignedAttestations_DoesNotInvokeApiWhenEmpty() {
+    apiHandler.sendSignedAttestations(List.of());
+    asyncRunner.executeQueuedActions();
+
+    verifyNoInteractions(apiClient);
+  }
+
   @Test
   public void createUnsignedBlock_WhenNoneFound_ReturnsEmpty() {
     final BLSSignature blsSignature = dataStructureUtil.randomSignature();
@@ -558,6 +588,30 @@ class RemoteValidatorApiHandlerTest {
         .isEqualTo(List.of(schemaSignedAggAndProof));
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  public void sendAggregateAndProofs_InvokeApiOnceWithAllAggregates() {
+    final SignedAggregateAndProof signedAggregateAndProof1 =
+        dataStructureUtil.randomSignedAggregateAndProof();
+    final SignedAggregateAndProof signedAggregateAndProof2 =
+        dataStructureUtil.randomSignedAggregateAndProof();
+
+    ArgumentCaptor<List<tech.pegasys.teku.api.schema.SignedAggregateAndProof>> argumentCaptor =
+        ArgumentCaptor.forClass(List.class);
+
+    apiHandler.sendAggregateAndProofs(List.of(signedAggregateAndProof1, signedAggregateAndProof2));
+    asyncRunner.executeQueuedActions();
+
+    verify(apiClient).sendAggregateAndProofs(argumentCaptor.capture());
+    assertThat(argumentCaptor.getValue())
+        .usingRecursiveComparison()
+        .isEqualTo(
+            List.of(
+                new tech.pegasys.teku.api.schema.SignedAggregateAndProof(signedAggregateAndProof1),
+                new tech.pegasys.teku.api.schema.SignedAggregateAndProof(
+                    signedAggregateAndProof2)));
+  }
+
   @Test
   public void subscribeToBeaconCommitteeForAggregation_InvokeApi() {
     final int validatorIndex = 3;
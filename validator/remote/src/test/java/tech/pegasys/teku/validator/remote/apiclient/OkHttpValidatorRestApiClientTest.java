@@ -563,6 +563,24 @@ class OkHttpValidatorRestApiClientTest {
         .hasMessageContaining("Unexpected response from Beacon Node API");
   }
 
+  @Test
+  public void sendSignedAttestations_MakesExpectedRequest() throws Exception {
+    final List<Attestation> attestations =
+        List.of(schemaObjects.attestation(), schemaObjects.attestation());
+
+    mockWebServer.enqueue(new MockResponse().setResponseCode(SC_OK));
+
+    apiClient.sendSignedAttestations(attestations);
+
+    RecordedRequest request = mockWebServer.takeRequest();
+
+    assertThat(request.getMethod()).isEqualTo("POST");
+    assertThat(request.getPath())
+        .contains(ValidatorApiMethod.SEND_SIGNED_ATTESTATION.getPath(emptyMap()));
+    assertThat(request.getBody().readString(StandardCharsets.UTF_8))
+        .isEqualTo(asJson(attestations));
+  }
+
   @Test
   public void createAggregate_MakesExpectedRequest() throws Exception {
     final UInt64 slot = UInt64.valueOf(323);